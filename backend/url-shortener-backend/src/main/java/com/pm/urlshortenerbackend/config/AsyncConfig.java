@@ -42,4 +42,20 @@ public class AsyncConfig {
         executor.initialize();
         return executor;
     }
+
+    // Imports are long-running and heavy on the database, so only a couple run at a time and
+    // further uploads are turned away instead of queueing up behind them
+    @Bean(name = "linkImportExecutor")
+    public Executor linkImportExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(2);
+        executor.setQueueCapacity(8);
+        executor.setThreadNamePrefix("link-import-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(60);
+        executor.initialize();
+        return executor;
+    }
 }
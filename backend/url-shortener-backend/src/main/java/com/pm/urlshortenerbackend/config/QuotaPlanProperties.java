@@ -0,0 +1,30 @@
+package com.pm.urlshortenerbackend.config;
+
+import com.pm.urlshortenerbackend.model.QuotaPlan;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Quota plans assigned by user id in configuration, e.g. app.quota.plans.42=ENTERPRISE.
+ * An assignment here wins over the plan stored with the user.
+ *
+ * Author: Sathwik Pillalamarri
+ * Date: 2/27/26
+ * Project: url-shortener-backend
+ */
+@Component
+@ConfigurationProperties(prefix = "app.quota")
+public class QuotaPlanProperties {
+    private Map<Long, QuotaPlan> plans = new HashMap<>();
+
+    public Map<Long, QuotaPlan> getPlans() {
+        return plans;
+    }
+
+    public void setPlans(Map<Long, QuotaPlan> plans) {
+        this.plans = plans;
+    }
+}
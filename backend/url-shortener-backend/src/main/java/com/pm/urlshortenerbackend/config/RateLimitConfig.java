@@ -1,34 +1,71 @@
 package com.pm.urlshortenerbackend.config;
 
-import io.github.bucket4j.Bandwidth;
-import io.github.bucket4j.Bucket;
-import io.github.bucket4j.Refill;
+import io.github.bucket4j.distributed.ExpirationAfterWriteStrategy;
+import io.github.bucket4j.distributed.proxy.ProxyManager;
+import io.github.bucket4j.redis.lettuce.Bucket4jLettuce;
+import io.github.bucket4j.redis.lettuce.RedisApi;
+import io.lettuce.core.RedisFuture;
+import io.lettuce.core.ScriptOutputType;
+import io.lettuce.core.cluster.api.async.RedisClusterAsyncCommands;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.lettuce.LettuceConnection;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
+ * Bucket4j proxy manager that keeps rate limit buckets in Redis, so every replica draws from the
+ * same buckets. It runs on the shared Lettuce connection from RedisConfig rather than opening its
+ * own, and bucket keys expire once a bucket would have refilled, so Redis only holds active clients.
+ *
  * Author: Sathwik Pillalamarri
  * Date: 1/14/26
  * Project: url-shortener-backend
  */
 @Configuration
-public class RateLimitingConfig {
-    // Stores buckets per IP Address
-    private final Map<String, Bucket> cache = new ConcurrentHashMap<>();
-
-    // Creates a rate limit bucket for authentication endpoints
-    // Allows 5 requests per minute per IP
-    public Bucket resolveBucket(String key) {
-        return cache.computeIfAbsent(key, k -> createNewBucket());
-    }
+public class RateLimitConfig {
 
-    private Bucket createNewBucket() {
-        Bandwidth limit = Bandwidth.builder().capacity(5).refillIntervally(5, Duration.ofMinutes(1)).build();
-        return Bucket.builder()
-                .addLimit(limit)
+    @Bean
+    public ProxyManager<String> rateLimitProxyManager(RedisConnectionFactory connectionFactory,
+                                                      @Value("${app.rate-limit.redis-timeout:20ms}") Duration requestTimeout) {
+        ProxyManager<byte[]> proxyManager = new Bucket4jLettuce.LettuceBasedProxyManagerBuilder<byte[]>(sharedConnectionApi(connectionFactory))
+                .expirationAfterWrite(ExpirationAfterWriteStrategy.basedOnTimeForRefillingBucketUpToMax(Duration.ofSeconds(10)))
+                .requestTimeout(requestTimeout)
                 .build();
+        return proxyManager.withMapper(key -> key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // The native connection is looked up per call so a reconnect or late startup of Redis is picked up.
+    // Generic over the key because bucket4j hands keys over as an Object[], which a byte[][] override would fail to cast
+    private static <K> RedisApi<K> sharedConnectionApi(RedisConnectionFactory connectionFactory) {
+        return new RedisApi<>() {
+            @Override
+            public <V> RedisFuture<V> eval(String script, ScriptOutputType scriptOutputType, K[] keys, byte[][] args) {
+                byte[][] rawKeys = new byte[keys.length][];
+                for(int i = 0; i < keys.length; i++) {
+                    rawKeys[i] = (byte[]) keys[i];
+                }
+                return commands().eval(script, scriptOutputType, rawKeys, args);
+            }
+
+            @Override
+            public RedisFuture<byte[]> get(K key) {
+                return commands().get((byte[]) key);
+            }
+
+            @Override
+            public RedisFuture<?> delete(K key) {
+                return commands().del((byte[]) key);
+            }
+
+            private RedisClusterAsyncCommands<byte[], byte[]> commands() {
+                try(LettuceConnection connection = (LettuceConnection) connectionFactory.getConnection()) {
+                    return connection.getNativeConnection();
+                }
+            }
+        };
     }
 }
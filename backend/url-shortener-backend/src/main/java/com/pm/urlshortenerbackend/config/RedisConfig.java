@@ -5,40 +5,247 @@ import com.fasterxml.jackson.annotation.PropertyAccessor;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.pm.urlshortenerbackend.service.RedirectLocationCache;
+import com.pm.urlshortenerbackend.service.SessionCacheService;
+import com.pm.urlshortenerbackend.util.CacheKeys;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
+import io.lettuce.core.ClientOptions;
+import io.lettuce.core.ReadFrom;
+import io.lettuce.core.SocketOptions;
+import io.lettuce.core.TimeoutOptions;
+import io.lettuce.core.cluster.ClusterClientOptions;
+import io.lettuce.core.cluster.ClusterTopologyRefreshOptions;
+import io.lettuce.core.protocol.CommandType;
+import io.lettuce.core.protocol.ProtocolKeyword;
+import io.lettuce.core.protocol.RedisCommand;
+import org.springframework.data.redis.connection.RedisClusterConfiguration;
+import org.springframework.data.redis.connection.RedisConfiguration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisSentinelConfiguration;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.*;
 
 import java.time.Duration;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 @Configuration
 @EnableCaching
 public class RedisConfig {
 
-    @Value("${spring.data.redis.host}")
+    public enum Mode { STANDALONE, SENTINEL, CLUSTER }
+
+    private static final Set<CommandType> READ_COMMANDS = EnumSet.of(CommandType.GET, CommandType.MGET, CommandType.EXISTS);
+    private static final Set<CommandType> WRITE_COMMANDS = EnumSet.of(CommandType.SET, CommandType.SETEX, CommandType.DEL, CommandType.EXPIRE);
+
+    @Value("${app.redis.mode:standalone}")
+    private Mode mode;
+
+    @Value("${spring.data.redis.host:localhost}")
     private String redisHost;
 
-    @Value("${spring.data.redis.port}")
+    @Value("${spring.data.redis.port:6379}")
     private int redisPort;
 
+    // Comma separated host:port lists, only read for the matching mode
+    @Value("${spring.data.redis.sentinel.master:mymaster}")
+    private String sentinelMaster;
+
+    @Value("${spring.data.redis.sentinel.nodes:}")
+    private String sentinelNodes;
+
+    @Value("${spring.data.redis.cluster.nodes:}")
+    private String clusterNodes;
+
+    @Value("${spring.data.redis.cluster.max-redirects:3}")
+    private int clusterMaxRedirects;
+
+    // Redirect lookups tolerate slightly stale reads, so replicas serve GETs when any are available
+    @Value("${app.redis.read-from:replicaPreferred}")
+    private String readFrom;
+
+    @Value("${app.redis.cluster.topology-refresh:30s}")
+    private Duration topologyRefreshPeriod;
+
     @Value("${app.cache.ttl:86400}")
     private long defaultTtl;
 
+    // Upper bound for a single command; callers on the redirect path fall back to the database after this
+    @Value("${spring.data.redis.timeout:2000ms}")
+    private Duration commandTimeout;
+
+    // Per-command budgets for cache traffic only; a slow Redis costs a redirect this much before it falls back to the database
+    @Value("${app.redis.budget.read:5ms}")
+    private Duration readBudget;
+
+    @Value("${app.redis.budget.write:20ms}")
+    private Duration writeBudget;
+
+    @Value("${app.redis.connect-timeout:500ms}")
+    private Duration connectTimeout;
+
+    @Value("${app.redis.shutdown-timeout:100ms}")
+    private Duration shutdownTimeout;
+
+    @Bean
+    public LettuceClientConfiguration lettuceClientConfiguration() {
+        return clientConfiguration(TimeoutOptions.enabled(commandTimeout));
+    }
+
+    /**
+     * Rate limiting, quotas, idempotency keys, sessions and pub/sub. These answer from local state
+     * when Redis fails, but a miss there is not free, so they wait up to the full command timeout.
+     */
     @Bean
-    public RedisConnectionFactory redisConnectionFactory() {
-        return new LettuceConnectionFactory(redisHost, redisPort);
+    @Primary
+    public RedisConnectionFactory redisConnectionFactory(LettuceClientConfiguration lettuceClientConfiguration) {
+        return connectionFactory(lettuceClientConfiguration);
     }
 
+    /**
+     * The URL cache. A miss only costs a database read, so cache commands run on their own
+     * connection with the read and write budgets. Other callers never see those budgets, so a
+     * brief stall does not time them out or count their timeouts against the breaker.
+     */
     @Bean
-    public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory connectionFactory) {
+    public RedisConnectionFactory cacheRedisConnectionFactory() {
+        return connectionFactory(clientConfiguration(budgetTimeoutOptions()));
+    }
+
+    private LettuceClientConfiguration clientConfiguration(TimeoutOptions timeoutOptions) {
+        LettuceClientConfiguration.LettuceClientConfigurationBuilder builder = LettuceClientConfiguration.builder()
+                .commandTimeout(commandTimeout)
+                .shutdownTimeout(shutdownTimeout)
+                .clientOptions(clientOptions(timeoutOptions));
+
+        // A standalone node has no replicas to route to
+        if(mode != Mode.STANDALONE) {
+            builder.readFrom(ReadFrom.valueOf(readFrom));
+        }
+        return builder.build();
+    }
+
+    private LettuceConnectionFactory connectionFactory(LettuceClientConfiguration lettuceClientConfiguration) {
+        LettuceConnectionFactory factory = new LettuceConnectionFactory(serverConfiguration(), lettuceClientConfiguration);
+
+        // All request threads multiplex over one native connection, so no pool is needed for plain GET/SET
+        factory.setShareNativeConnection(true);
+        factory.setValidateConnection(false);
+        return factory;
+    }
+
+    private RedisConfiguration serverConfiguration() {
+        switch (mode) {
+            case SENTINEL:
+                RedisSentinelConfiguration sentinel = new RedisSentinelConfiguration();
+                sentinel.master(sentinelMaster);
+                parseNodes(sentinelNodes).forEach(node -> sentinel.sentinel(node[0], Integer.parseInt(node[1])));
+                return sentinel;
+            case CLUSTER:
+                RedisClusterConfiguration cluster = new RedisClusterConfiguration();
+                parseNodes(clusterNodes).forEach(node -> cluster.clusterNode(node[0], Integer.parseInt(node[1])));
+                cluster.setMaxRedirects(clusterMaxRedirects);
+                return cluster;
+            default:
+                return new RedisStandaloneConfiguration(redisHost, redisPort);
+        }
+    }
+
+    private ClientOptions clientOptions(TimeoutOptions timeoutOptions) {
+        SocketOptions socketOptions = SocketOptions.builder()
+                .connectTimeout(connectTimeout)
+                .keepAlive(true)
+                .build();
+
+        if(mode == Mode.CLUSTER) {
+            // Pick up failovers and resharding without waiting for MOVED errors on the redirect path
+            ClusterTopologyRefreshOptions refreshOptions = ClusterTopologyRefreshOptions.builder()
+                    .enablePeriodicRefresh(topologyRefreshPeriod)
+                    .enableAllAdaptiveRefreshTriggers()
+                    .build();
+
+            return ClusterClientOptions.builder()
+                    .autoReconnect(true)
+                    .disconnectedBehavior(ClientOptions.DisconnectedBehavior.REJECT_COMMANDS)
+                    .socketOptions(socketOptions)
+                    .timeoutOptions(timeoutOptions)
+                    .topologyRefreshOptions(refreshOptions)
+                    .build();
+        }
+
+        return ClientOptions.builder()
+                .autoReconnect(true)
+                // Fail fast while disconnected instead of buffering commands until the timeout expires
+                .disconnectedBehavior(ClientOptions.DisconnectedBehavior.REJECT_COMMANDS)
+                .socketOptions(socketOptions)
+                .timeoutOptions(timeoutOptions)
+                .build();
+    }
+
+    private TimeoutOptions budgetTimeoutOptions() {
+        long readMillis = readBudget.toMillis();
+        long writeMillis = writeBudget.toMillis();
+        long defaultMillis = commandTimeout.toMillis();
+
+        // Cache GET/SET get tight budgets, anything else (PING, KEYS, topology lookups) keeps the command timeout
+        return TimeoutOptions.builder()
+                .timeoutCommands()
+                .timeoutSource(new TimeoutOptions.TimeoutSource() {
+                    @Override
+                    public long getTimeout(RedisCommand<?, ?, ?> command) {
+                        ProtocolKeyword type = command.getType();
+                        if(READ_COMMANDS.contains(type)) {
+                            return readMillis;
+                        }
+                        if(WRITE_COMMANDS.contains(type)) {
+                            return writeMillis;
+                        }
+                        return defaultMillis;
+                    }
+
+                    @Override
+                    public TimeUnit getTimeUnit() {
+                        return TimeUnit.MILLISECONDS;
+                    }
+                })
+                .build();
+    }
+
+    private static List<String[]> parseNodes(String nodes) {
+        if(nodes == null || nodes.isBlank()) {
+            throw new IllegalStateException("Redis node list must be configured for sentinel and cluster modes");
+        }
+        return Arrays.stream(nodes.split(","))
+                .map(String::trim)
+                .filter(node -> !node.isEmpty())
+                .map(node -> {
+                    int separator = node.lastIndexOf(':');
+                    if(separator < 0) {
+                        throw new IllegalStateException("Invalid Redis node address: " + node);
+                    }
+                    return new String[]{node.substring(0, separator), node.substring(separator + 1)};
+                })
+                .toList();
+    }
+
+    @Bean
+    public RedisTemplate<String, Object> redisTemplate(@Qualifier("cacheRedisConnectionFactory") RedisConnectionFactory connectionFactory) {
         RedisTemplate<String, Object> template = new RedisTemplate<>();
         template.setConnectionFactory(connectionFactory);
 
@@ -59,14 +266,34 @@ public class RedisConfig {
         template.setValueSerializer(jacksonSerializer);
         template.setHashValueSerializer(jacksonSerializer);
 
-        template.setEnableTransactionSupport(true);
+        // The cache is called from inside @Transactional services. With transaction support enabled every
+        // transaction binds its own connection and wraps writes in MULTI/EXEC, which defeats multiplexing.
+        template.setEnableTransactionSupport(false);
         template.afterPropertiesSet();
 
         return template;
     }
 
+    // Carries redirect cache invalidations and session revocations between instances. Started by RedisSubscriptionScheduler, which
+    // retries the subscription, so that the application still starts while Redis is down
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                       RedirectLocationCache redirectLocations,
+                                                                       SessionCacheService sessionCacheService) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer() {
+            @Override
+            public boolean isAutoStartup() {
+                return false;
+            }
+        };
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(redirectLocations, new ChannelTopic(CacheKeys.REDIRECT_INVALIDATION_CHANNEL));
+        container.addMessageListener(sessionCacheService, new ChannelTopic(CacheKeys.SESSION_REVOCATION_CHANNEL));
+        return container;
+    }
+
     @Bean
-    public CacheManager cacheManager(RedisConnectionFactory connectionFactory) {
+    public CacheManager cacheManager(@Qualifier("cacheRedisConnectionFactory") RedisConnectionFactory connectionFactory) {
         // Use GenericJackson2JsonRedisSerializer with JavaTime support
         GenericJackson2JsonRedisSerializer serializer =
                 new GenericJackson2JsonRedisSerializer(new ObjectMapper()
@@ -0,0 +1,75 @@
+package com.pm.urlshortenerbackend.config;
+
+import com.pm.urlshortenerbackend.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Replaces the auto-configured DataSource when read replicas are listed in
+ * app.datasource.replicas.urls. The primary keeps the spring.datasource settings; replicas
+ * share its credentials and driver and get their own read-only pools.
+ *
+ * Author: Sathwik Pillalamarri
+ * Date: 2/24/26
+ * Project: url-shortener-backend
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.replicas.urls")
+public class ReplicaDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource routingDataSource(HikariDataSource primaryDataSource,
+                                                      DataSourceProperties properties,
+                                                      @Value("${app.datasource.replicas.urls}") List<String> urls,
+                                                      @Value("${app.datasource.replicas.maximum-pool-size:10}") int maximumPoolSize,
+                                                      @Value("${app.datasource.replicas.max-lag:1s}") Duration maxLag,
+                                                      @Value("${app.datasource.replicas.lag-query:}") String lagQuery) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for(String url : urls) {
+            String name = "replica-" + replicas.size();
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName(name);
+            replica.setJdbcUrl(url.trim());
+            replica.setUsername(properties.determineUsername());
+            replica.setPassword(properties.determinePassword());
+            replica.setDriverClassName(properties.determineDriverClassName());
+            replica.setReadOnly(true);
+            replica.setMaximumPoolSize(maximumPoolSize);
+            replica.setConnectionTimeout(primaryDataSource.getConnectionTimeout());
+            // Copies the driver settings, such as prepareThreshold
+            replica.setDataSourceProperties(primaryDataSource.getDataSourceProperties());
+            // Start without a connection so an unreachable replica does not stop the application starting
+            replica.setInitializationFailTimeout(-1);
+            replicas.put(name, replica);
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas, maxLag,
+                StringUtils.hasText(lagQuery) ? lagQuery : ReplicaRoutingDataSource.POSTGRES_LAG_QUERY);
+    }
+
+    // Defers taking a connection to the first statement, after the transaction's read-only flag is set
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+}
@@ -1,10 +1,16 @@
 package com.pm.urlshortenerbackend.config;
 
+import com.pm.urlshortenerbackend.health.UrlShortenerMetrics;
+import com.pm.urlshortenerbackend.security.BoundedPasswordEncoder;
 import com.pm.urlshortenerbackend.security.JwtAuthenticationEntryPoint;
 import com.pm.urlshortenerbackend.security.JwtAuthenticationFilter;
+import com.pm.urlshortenerbackend.security.RedirectRequestMatcher;
 import com.pm.urlshortenerbackend.service.impl.UserDetailsServiceImpl;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
@@ -12,14 +18,16 @@ import org.springframework.security.config.annotation.authentication.configurati
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfigurationSource;
 
+import java.time.Duration;
+
 /**
  * Author: Sathwik Pillalamarri
  * Date: 10/16/25
@@ -43,8 +51,14 @@ public class SecurityConfig {
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${app.security.bcrypt.target-latency:250ms}") Duration targetLatency,
+                                           @Value("${app.security.bcrypt.min-strength:10}") int minStrength,
+                                           @Value("${app.security.bcrypt.max-strength:14}") int maxStrength,
+                                           @Value("${app.security.bcrypt.threads:2}") int threads,
+                                           @Value("${app.security.bcrypt.queue-capacity:16}") int queueCapacity,
+                                           UrlShortenerMetrics metrics) {
+        int strength = BoundedPasswordEncoder.calibrateStrength(targetLatency, minStrength, maxStrength);
+        return new BoundedPasswordEncoder(strength, threads, queueCapacity, metrics);
     }
 
     @Bean
@@ -61,6 +75,34 @@ public class SecurityConfig {
         return config.getAuthenticationManager();
     }
 
+    /*
+    * Redirects are public and carry no token, session or CSRF state, so they get a chain with only
+    * the response headers left. Everything else falls through to the main chain below.
+    */
+    @Bean
+    @Order(1)
+    public SecurityFilterChain redirectFilterChain(HttpSecurity http) throws Exception {
+        http.securityMatcher(RedirectRequestMatcher.INSTANCE)
+                .csrf(AbstractHttpConfigurer::disable)
+                .logout(AbstractHttpConfigurer::disable)
+                .requestCache(AbstractHttpConfigurer::disable)
+                .anonymous(AbstractHttpConfigurer::disable)
+                .securityContext(AbstractHttpConfigurer::disable)
+                .sessionManagement(AbstractHttpConfigurer::disable)
+                .exceptionHandling(AbstractHttpConfigurer::disable)
+                .servletApi(AbstractHttpConfigurer::disable)
+                .authorizeHttpRequests(auth -> auth.anyRequest().permitAll());
+        return http.build();
+    }
+
+    // The JWT filter only belongs inside the security chain; stop Boot from also registering it for every request
+    @Bean
+    public FilterRegistrationBean<JwtAuthenticationFilter> jwtAuthenticationFilterRegistration(JwtAuthenticationFilter jwtAuthenticationFilter) {
+        FilterRegistrationBean<JwtAuthenticationFilter> registration = new FilterRegistrationBean<>(jwtAuthenticationFilter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http, 
                                          DaoAuthenticationProvider authenticationProvider,
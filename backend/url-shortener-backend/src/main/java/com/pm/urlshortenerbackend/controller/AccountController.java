@@ -0,0 +1,37 @@
+package com.pm.urlshortenerbackend.controller;
+
+import com.pm.urlshortenerbackend.dto.AuthResponse;
+import com.pm.urlshortenerbackend.dto.ChangePasswordRequest;
+import com.pm.urlshortenerbackend.security.UserPrincipal;
+import com.pm.urlshortenerbackend.service.AuthService;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Author: Sathwik Pillalamarri
+ * Date: 2/27/26
+ * Project: url-shortener-backend
+ */
+@RestController
+@RequestMapping("/api/account")
+public class AccountController {
+    private final AuthService authService;
+
+    public AccountController(AuthService authService) {
+        this.authService = authService;
+    }
+
+    //Changes the password and returns a fresh token; every token issued before it stops working
+    @PutMapping("/password")
+    public ResponseEntity<AuthResponse> changePassword(@Valid @RequestBody ChangePasswordRequest request,
+                                                       @AuthenticationPrincipal UserDetails userDetails) {
+        if(!(userDetails instanceof UserPrincipal principal)) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        return ResponseEntity.ok(authService.changePassword(principal.getId(), request));
+    }
+}
@@ -6,6 +6,7 @@ import com.pm.urlshortenerbackend.exception.UnauthorizedAccessException;
 import com.pm.urlshortenerbackend.exception.UrlNotFoundException;
 import com.pm.urlshortenerbackend.health.UrlShortenerMetrics;
 import com.pm.urlshortenerbackend.model.User;
+import com.pm.urlshortenerbackend.repository.UserRepository;
 import com.pm.urlshortenerbackend.security.UserPrincipal;
 import com.pm.urlshortenerbackend.service.AnalyticsService;
 import io.micrometer.core.instrument.Timer;
@@ -33,11 +34,13 @@ public class AnalyticsController {
     private static final Logger log = LoggerFactory.getLogger(AnalyticsController.class);
     private final AnalyticsService analyticsService;
     private final UrlShortenerMetrics metrics;
+    private final UserRepository userRepository;
 
 
-    public AnalyticsController(AnalyticsService analyticsService, UrlShortenerMetrics metrics) {
+    public AnalyticsController(AnalyticsService analyticsService, UrlShortenerMetrics metrics, UserRepository userRepository) {
         this.analyticsService = analyticsService;
         this.metrics = metrics;
+        this.userRepository = userRepository;
     }
 
     @GetMapping("/{shortCode}/stats")
@@ -173,7 +176,9 @@ public class AnalyticsController {
 
     private User getUserFromUserDetails(UserDetails userDetails) {
         if(userDetails instanceof UserPrincipal) {
-            return ((UserPrincipal) userDetails).getUser();
+            UserPrincipal principal = (UserPrincipal) userDetails;
+            // Principals rebuilt from the token only carry the id, so hand out a lazy reference instead of loading the row
+            return principal.getUser() != null ? principal.getUser() : userRepository.getReferenceById(principal.getId());
         }
 
         throw new RuntimeException("Unable to extract User from UserDetails");
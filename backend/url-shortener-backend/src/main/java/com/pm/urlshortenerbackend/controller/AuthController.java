@@ -5,6 +5,8 @@ import com.pm.urlshortenerbackend.dto.EmailAvailabilityResponse;
 import com.pm.urlshortenerbackend.dto.LoginRequest;
 import com.pm.urlshortenerbackend.dto.RegisterRequest;
 import com.pm.urlshortenerbackend.service.AuthService;
+import com.pm.urlshortenerbackend.util.ClientIpResolver;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -50,13 +52,13 @@ public class AuthController {
 
     //End point for authenticating a login request
     @PostMapping("/login")
-    public ResponseEntity<AuthResponse> login(@Valid @RequestBody LoginRequest request) {
+    public ResponseEntity<AuthResponse> login(@Valid @RequestBody LoginRequest request, HttpServletRequest httpRequest) {
         log.info("Login request received for email: {}", request.getEmail());
 
         long startTime = System.currentTimeMillis();
 
         try {
-            AuthResponse response = authService.login(request);
+            AuthResponse response = authService.login(request, ClientIpResolver.resolve(httpRequest));
             long duration = System.currentTimeMillis() - startTime;
 
             log.info("User logged in successfully: {} in {} ms", response.getEmail(), duration);
@@ -0,0 +1,78 @@
+package com.pm.urlshortenerbackend.controller;
+
+import com.pm.urlshortenerbackend.security.UserPrincipal;
+import com.pm.urlshortenerbackend.service.LinkExportService;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+
+/**
+ * Full exports of the caller's links and click events, streamed as CSV or NDJSON in a single
+ * response instead of paging through GET /api/links.
+ *
+ * Author: Sathwik Pillalamarri
+ * Date: 2/16/26
+ * Project: url-shortener-backend
+ */
+@RestController
+@RequestMapping("/api/links/export")
+public class LinkExportController {
+    private static final Logger log = LoggerFactory.getLogger(LinkExportController.class);
+
+    private final LinkExportService linkExportService;
+
+    public LinkExportController(LinkExportService linkExportService) {
+        this.linkExportService = linkExportService;
+    }
+
+    @GetMapping
+    public void exportLinks(@RequestParam(defaultValue = "csv") String format,
+                            @AuthenticationPrincipal UserDetails userDetails,
+                            HttpServletResponse response) throws IOException {
+        Long userId = extractUserId(userDetails);
+        if(userId == null) {
+            response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+            return;
+        }
+        LinkExportService.Format exportFormat = LinkExportService.Format.from(format);
+        log.info("Exporting links as {} for user: {}", exportFormat, userDetails.getUsername());
+        prepare(response, exportFormat, "links");
+        linkExportService.exportLinks(userId, exportFormat, response.getOutputStream());
+    }
+
+    @GetMapping("/clicks")
+    public void exportClicks(@RequestParam(defaultValue = "csv") String format,
+                             @AuthenticationPrincipal UserDetails userDetails,
+                             HttpServletResponse response) throws IOException {
+        Long userId = extractUserId(userDetails);
+        if(userId == null) {
+            response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+            return;
+        }
+        LinkExportService.Format exportFormat = LinkExportService.Format.from(format);
+        log.info("Exporting click events as {} for user: {}", exportFormat, userDetails.getUsername());
+        prepare(response, exportFormat, "clicks");
+        linkExportService.exportClicks(userId, exportFormat, response.getOutputStream());
+    }
+
+    private static void prepare(HttpServletResponse response, LinkExportService.Format format, String name) {
+        response.setContentType(format.getContentType());
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + name + "." + format.getExtension() + "\"");
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-store");
+    }
+
+    // Only the id is needed, so the user row is never loaded
+    private Long extractUserId(UserDetails userDetails) {
+        if(userDetails instanceof UserPrincipal) {
+            return ((UserPrincipal) userDetails).getId();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,86 @@
+package com.pm.urlshortenerbackend.controller;
+
+import com.pm.urlshortenerbackend.dto.ImportJobResponse;
+import com.pm.urlshortenerbackend.exception.InvalidImportException;
+import com.pm.urlshortenerbackend.model.User;
+import com.pm.urlshortenerbackend.repository.UserRepository;
+import com.pm.urlshortenerbackend.security.UserPrincipal;
+import com.pm.urlshortenerbackend.service.LinkImportService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+
+/**
+ * Bulk link imports. The file is sent as the raw request body (text/csv or application/x-ndjson)
+ * and processed in the background; clients poll the job resource for progress.
+ *
+ * Author: Sathwik Pillalamarri
+ * Date: 2/15/26
+ * Project: url-shortener-backend
+ */
+@RestController
+@RequestMapping("/api/links/import")
+public class LinkImportController {
+    private static final Logger log = LoggerFactory.getLogger(LinkImportController.class);
+    private static final String NDJSON = "application/x-ndjson";
+
+    private final LinkImportService linkImportService;
+    private final UserRepository userRepository;
+
+    public LinkImportController(LinkImportService linkImportService, UserRepository userRepository) {
+        this.linkImportService = linkImportService;
+        this.userRepository = userRepository;
+    }
+
+    @PostMapping(consumes = {"text/csv", NDJSON})
+    public ResponseEntity<ImportJobResponse> startImport(HttpServletRequest request, @AuthenticationPrincipal UserDetails userDetails) throws IOException {
+        User user = extractUser(userDetails);
+        if(user == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        MediaType contentType = MediaType.parseMediaType(request.getContentType());
+        ImportJobResponse.Format format;
+        if(contentType.isCompatibleWith(MediaType.parseMediaType(NDJSON))) {
+            format = ImportJobResponse.Format.NDJSON;
+        } else if(contentType.isCompatibleWith(MediaType.parseMediaType("text/csv"))) {
+            format = ImportJobResponse.Format.CSV;
+        } else {
+            throw new InvalidImportException("Unsupported import format: " + contentType);
+        }
+
+        log.info("Received {} import from user: {}", format, userDetails.getUsername());
+        ImportJobResponse job = linkImportService.startImport(request.getInputStream(), format, user);
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .header(HttpHeaders.LOCATION, "/api/links/import/" + job.getJobId())
+                .body(job);
+    }
+
+    @GetMapping("/{jobId}")
+    public ResponseEntity<ImportJobResponse> getImport(@PathVariable String jobId, @AuthenticationPrincipal UserDetails userDetails) {
+        User user = extractUser(userDetails);
+        if(user == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        ImportJobResponse job = linkImportService.getJob(jobId, user.getId());
+        return job != null ? ResponseEntity.ok(job) : ResponseEntity.notFound().build();
+    }
+
+    // Extract User from UserDetails
+    private User extractUser(UserDetails userDetails) {
+        if(userDetails instanceof UserPrincipal) {
+            UserPrincipal principal = (UserPrincipal) userDetails;
+            return principal.getUser() != null ? principal.getUser() : userRepository.getReferenceById(principal.getId());
+        }
+        return null;
+    }
+}
@@ -1,24 +1,24 @@
 package com.pm.urlshortenerbackend.controller;
 
 import com.pm.urlshortenerbackend.dto.ClickEventData;
+import com.pm.urlshortenerbackend.exception.ServiceOverloadedException;
 import com.pm.urlshortenerbackend.exception.UrlExpiredException;
 import com.pm.urlshortenerbackend.exception.UrlNotFoundException;
 import com.pm.urlshortenerbackend.health.UrlShortenerMetrics;
 import com.pm.urlshortenerbackend.service.ClickTrackingService;
 import com.pm.urlshortenerbackend.service.UrlService;
+import com.pm.urlshortenerbackend.util.ClientIpResolver;
 import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.constraints.Pattern;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.http.HttpStatus;
-import org.springframework.http.ResponseEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.net.URI;
-
 /**
  * Author: Sathwik Pillalamarri
  * Date: 12/2/25
@@ -37,58 +37,50 @@ public class RedirectController {
         this.metrics = urlShortenerMetrics;
     }
 
+    // Writes the 302 straight onto the response; there is no body, so no message converter is involved
     @GetMapping("/{shortCode}")
-    public ResponseEntity<Void> redirect(
+    public void redirect(
             @PathVariable
             @Pattern(regexp = "^[0-9a-zA-Z]{1,10}$", message = "Invalid short code format")
             String shortCode,
-            HttpServletRequest request
+            HttpServletRequest request,
+            HttpServletResponse response
     ) {
         Timer.Sample sample = metrics.startRedirectTimer();
         try {
             log.debug("Public redirect request for shortCode: {}", shortCode);
 
-            String originalUrl = urlService.getOriginalUrl(shortCode);
+            String location = urlService.getRedirectLocation(shortCode);
 
             ClickEventData clickEventData = extractClickEventData(request);
             clickTrackingService.logClick(shortCode, clickEventData);
 
-            log.debug("Redirecting {} to {}", shortCode, originalUrl);
+            log.debug("Redirecting {} to {}", shortCode, location);
 
-            return ResponseEntity.status(HttpStatus.FOUND).location(URI.create(originalUrl)).build();
+            response.setStatus(HttpServletResponse.SC_FOUND);
+            response.setHeader(HttpHeaders.LOCATION, location);
         } catch (UrlNotFoundException e) {
             log.warn("Short code not found: {}", shortCode);
-            return ResponseEntity.notFound().build();
+            response.setStatus(HttpServletResponse.SC_NOT_FOUND);
         } catch (UrlExpiredException e) {
             log.warn("Short code expired: {}", shortCode);
-            return ResponseEntity.status(HttpStatus.GONE).build();
+            response.setStatus(HttpServletResponse.SC_GONE);
+        } catch (ServiceOverloadedException e) {
+            log.warn("Redirect shed under database pressure: {}", shortCode);
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
         } catch (Exception e) {
             log.error("Error redirecting for short code: {}", shortCode, e);
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+            response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
         } finally {
             metrics.recordRedirectTime(sample);
         }
     }
 
     private ClickEventData extractClickEventData(HttpServletRequest request) {
-        String ipAddress = extractIpAddress(request);
+        String ipAddress = ClientIpResolver.resolve(request);
         String userAgent = request.getHeader("User-Agent");
         String referrer = request.getHeader("Referer");
         return new ClickEventData(ipAddress, userAgent, referrer);
     }
-
-    private String extractIpAddress(HttpServletRequest request) {
-        String ipAddress = request.getHeader("X-Forwarded-For");
-        if (ipAddress == null || ipAddress.isEmpty() || "unknown".equalsIgnoreCase(ipAddress)) {
-            ipAddress = request.getHeader("X-Real-IP");
-        }
-        if (ipAddress == null || ipAddress.isEmpty() || "unknown".equalsIgnoreCase(ipAddress)) {
-            ipAddress = request.getRemoteAddr();
-        }
-        if (ipAddress != null && ipAddress.contains(",")) {
-            ipAddress = ipAddress.split(",")[0].trim();
-        }
-
-        return ipAddress != null ? ipAddress : "unknown";
-    }
 }
@@ -1,15 +1,23 @@
 package com.pm.urlshortenerbackend.controller;
 
 import com.pm.urlshortenerbackend.dto.*;
+import com.pm.urlshortenerbackend.exception.IdempotencyKeyReusedException;
+import com.pm.urlshortenerbackend.exception.QuotaExceededException;
+import com.pm.urlshortenerbackend.exception.ServiceOverloadedException;
 import com.pm.urlshortenerbackend.exception.UrlExpiredException;
 import com.pm.urlshortenerbackend.exception.UrlNotFoundException;
 import com.pm.urlshortenerbackend.health.UrlShortenerMetrics;
 import com.pm.urlshortenerbackend.model.User;
+import com.pm.urlshortenerbackend.repository.UserRepository;
 import com.pm.urlshortenerbackend.security.UserPrincipal;
 import com.pm.urlshortenerbackend.service.ClickTrackingService;
+import com.pm.urlshortenerbackend.service.IdempotencyService;
+import com.pm.urlshortenerbackend.service.QuotaService;
 import com.pm.urlshortenerbackend.service.UrlService;
+import com.pm.urlshortenerbackend.util.ClientIpResolver;
 import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Pattern;
 import org.slf4j.Logger;
@@ -18,13 +26,15 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
-import java.net.URI;
+import java.util.Optional;
+
 
 /**
  * Author: sathwikpillalamarri
@@ -35,34 +45,74 @@ import java.net.URI;
 @RequestMapping("/api")
 public class UrlController {
     private static final Logger log = LoggerFactory.getLogger(UrlController.class);
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
     private final UrlService urlService;
     private final ClickTrackingService clickTrackingService;
     private final UrlShortenerMetrics metrics;
+    private final UserRepository userRepository;
+    private final QuotaService quotaService;
+    private final IdempotencyService idempotencyService;
 
-    public UrlController(UrlService urlService, ClickTrackingService clickTrackingService, UrlShortenerMetrics metrics) {
+    public UrlController(UrlService urlService, ClickTrackingService clickTrackingService, UrlShortenerMetrics metrics, UserRepository userRepository,
+                         QuotaService quotaService, IdempotencyService idempotencyService) {
         this.urlService = urlService;
         this.clickTrackingService = clickTrackingService;
         this.metrics = metrics;
+        this.userRepository = userRepository;
+        this.quotaService = quotaService;
+        this.idempotencyService = idempotencyService;
     }
     /*
     * Create short URL - supports both authenticated and anonymous users
     * Authenticated users get ownership, anonymous users can create public URLs
     * */
     @PostMapping("/links")
-    public ResponseEntity<CreateUrlResponse> createShortUrl(@Valid @RequestBody CreateUrlRequest request, @AuthenticationPrincipal UserDetails userDetails) {
+    public ResponseEntity<CreateUrlResponse> createShortUrl(@Valid @RequestBody CreateUrlRequest request,
+                                                            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+                                                            @AuthenticationPrincipal UserDetails userDetails) {
         log.info("Received createShortUrl request for: {}", request.getOriginalUrl());
+        if(idempotencyKey != null && !IdempotencyService.isValidKey(idempotencyKey)) {
+            return ResponseEntity.badRequest().build();
+        }
         Timer.Sample sample = metrics.startUrlCreationTimer();
 
         try {
             User user = extractUser(userDetails);
-            String userInfo = user != null ? user.getEmail() : "anonymous";
+            String userInfo = user != null ? userDetails.getUsername() : "anonymous";
             log.info("Creating short URL for user: {} with URL: {}", userInfo, request.getOriginalUrl());
 
             CreateUrlResponse response;
             if(user != null) {
-                // Authenticated user - create with ownership
-                response = urlService.createShortUrl(request, user);
-                log.info("Created authenticated short URL: {} for user: {}", response.getShortUrl(), user.getEmail());
+                // A retry under a known Idempotency-Key gets the original link back without touching the quota
+                if(idempotencyKey != null) {
+                    Optional<String> shortCode = idempotencyService.findShortCode(user.getId(), idempotencyKey, request);
+                    if(shortCode.isPresent()) {
+                        try {
+                            UrlMappingResponse existing = urlService.getUrlMapping(shortCode.get());
+                            log.info("Replayed short URL: {} for idempotency key of user: {}", existing.getShortUrl(), userDetails.getUsername());
+                            return ResponseEntity.status(HttpStatus.CREATED).body(new CreateUrlResponse(
+                                    existing.getShortCode(), existing.getShortUrl(), existing.getOriginalUrl(), existing.getCreatedAt()));
+                        } catch (UrlNotFoundException e) {
+                            // Deleted since the first request; create it again
+                        }
+                    }
+                }
+                // Authenticated user - create with ownership, within the user's quota
+                QuotaService.Reservation reservation = quotaService.acquire(user.getId(), 1);
+                try {
+                    response = urlService.createShortUrl(request, user);
+                } catch (RuntimeException e) {
+                    quotaService.release(reservation, 1);
+                    throw e;
+                }
+                if(!response.isCreated()) {
+                    // The user's existing link for this URL came back, so no quota was used
+                    quotaService.release(reservation, 1);
+                }
+                if(idempotencyKey != null) {
+                    idempotencyService.remember(user.getId(), idempotencyKey, request, response.getShortCode());
+                }
+                log.info("Created authenticated short URL: {} for user: {}", response.getShortUrl(), userDetails.getUsername());
             } else {
                 // Anonymous user - create public URL
                 response = urlService.createShortUrl(request);
@@ -71,6 +121,9 @@ public class UrlController {
 
             metrics.incrementUrlCreation();
             return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        } catch (QuotaExceededException | IdempotencyKeyReusedException e) {
+            // Answered with 429 and Retry-After, or 422, by GlobalExceptionHandler
+            throw e;
         } catch (Exception e) {
             log.error("Error creating short URL: {}", e.getMessage());
             metrics.incrementError();
@@ -80,6 +133,35 @@ public class UrlController {
         }
     }
 
+    /*
+    * Create up to BatchCreateUrlRequest.MAX_LINKS short URLs in one call
+    * Requires authentication; the whole batch counts against the user's quota and unused quota is returned
+    * A batch larger than the plan's per-minute limit is rejected outright
+    */
+    @PostMapping("/links/batch")
+    public ResponseEntity<BatchCreateUrlResponse> createShortUrls(@Valid @RequestBody BatchCreateUrlRequest request, @AuthenticationPrincipal UserDetails userDetails) {
+        User user = extractUser(userDetails);
+        if(user == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        int requested = request.getLinks().size();
+        log.info("Received batch of {} links from user: {}", requested, userDetails.getUsername());
+        QuotaService.Reservation reservation = quotaService.acquire(user.getId(), requested);
+
+        BatchCreateUrlResponse response;
+        try {
+            response = urlService.createShortUrls(request.getLinks(), user);
+        } catch (RuntimeException e) {
+            quotaService.release(reservation, requested);
+            throw e;
+        }
+        if(response.getCreated() < requested) {
+            quotaService.release(reservation, requested - response.getCreated());
+        }
+        return ResponseEntity.ok(response);
+    }
+
     /*
     * Get user's URLs with pagination
     * Requires authentication
@@ -100,7 +182,7 @@ public class UrlController {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
             }
 
-            log.debug("Getting URLs for user: {} (page: {}, size:{}, activeOnly: {})", user.getEmail(), page, size, activeOnly);
+            log.debug("Getting URLs for user: {} (page: {}, size:{}, activeOnly: {})", userDetails.getUsername(), page, size, activeOnly);
 
             Sort.Direction direction = sortDir.equalsIgnoreCase("desc") ? Sort.Direction.DESC : Sort.Direction.ASC;
             Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sortBy));
@@ -112,13 +194,36 @@ public class UrlController {
                 urls = urlService.getUserUrls(user, pageable);
             }
 
-            log.debug("Retrieved {} URLs for user: {}", urls.getNumberOfElements(), user.getEmail());
+            log.debug("Retrieved {} URLs for user: {}", urls.getNumberOfElements(), userDetails.getUsername());
             return ResponseEntity.ok(urls);
         } catch (Exception e) {
             log.error("Error retrieving user URLs: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
+
+    /*
+    * Get user's URLs newest first using an opaque continuation cursor
+    * Requires authentication
+    **/
+    @GetMapping("/links/cursor")
+    public ResponseEntity<CursorPageResponse<UrlMappingResponse>> getUserUrlsByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean activeOnly,
+            @RequestParam(defaultValue = "false") boolean includeTotal,
+            @AuthenticationPrincipal UserDetails userDetails
+    ) {
+        User user = extractUser(userDetails);
+        if(user == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        int pageSize = Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+        log.debug("Getting URLs for user: {} (cursor: {}, size: {}, activeOnly: {})", userDetails.getUsername(), cursor, pageSize, activeOnly);
+        return ResponseEntity.ok(urlService.getUserUrls(user, cursor, pageSize, activeOnly, includeTotal));
+    }
+
     /*
     * Get Specific URL details
     * Requires authentication and ownership
@@ -136,7 +241,7 @@ public class UrlController {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
             }
 
-            log.debug("Getting URL details for shortCode: {} by user: {}", shortCode, user.getEmail());
+            log.debug("Getting URL details for shortCode: {} by user: {}", shortCode, userDetails.getUsername());
 
             urlService.validateUrlOwnership(shortCode, user);
 
@@ -168,7 +273,7 @@ public class UrlController {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
             }
 
-            log.info("Updating URL shortCode: {} by user: {}", shortCode, user.getEmail());
+            log.info("Updating URL shortCode: {} by user: {}", shortCode, userDetails.getUsername());
 
             urlService.validateUrlOwnership(shortCode, user);
 
@@ -203,7 +308,7 @@ public class UrlController {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
             }
 
-            log.info("Deleting URL shortCode: {} by user: {}", shortCode, user.getEmail());
+            log.info("Deleting URL shortCode: {} by user: {}", shortCode, userDetails.getUsername());
 
             urlService.validateUrlOwnership(shortCode, user);
 
@@ -234,7 +339,7 @@ public class UrlController {
             if(user == null) {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
             }
-            log.info("Reactivating a URL shortCode: {} by user: {}", shortCode, user.getEmail());
+            log.info("Reactivating a URL shortCode: {} by user: {}", shortCode, userDetails.getUsername());
 
             urlService.reactivateUrl(shortCode, user);
             UrlMappingResponse urlMapping = urlService.getUrlMapping(shortCode);
@@ -266,11 +371,9 @@ public class UrlController {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
             }
 
-            log.debug("Getting URL summary for user: {}", user.getEmail());
+            log.debug("Getting URL summary for user: {}", userDetails.getUsername());
 
-            long totalUrls = urlService.getUserUrlCount(user);
-            long activeUrls = urlService.getUserActiveUrlCount(user);
-            UserUrlSummary summary = new UserUrlSummary(totalUrls, activeUrls);
+            UserUrlSummary summary = urlService.getUserUrlSummary(user);
 
             return ResponseEntity.ok(summary);
         } catch (Exception e) {
@@ -279,21 +382,44 @@ public class UrlController {
         }
     }
 
+    /*
+    * Get the user's link creation quota and current usage
+    * Requires authentication
+    */
+    @GetMapping("/links/quota")
+    public ResponseEntity<QuotaStatusResponse> getQuotaStatus(
+            @AuthenticationPrincipal UserDetails userDetails
+    ) {
+        try {
+            User user = extractUser(userDetails);
+            if(user == null) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+            }
+
+            log.debug("Getting quota status for user: {}", userDetails.getUsername());
+            return ResponseEntity.ok(quotaService.getStatus(user.getId()));
+        } catch (Exception e) {
+            log.error("Error getting quota status: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
     /*
     * Redirect endpoint - handles both authenticated and anonymous URLs
     */
     @GetMapping("/{shortCode}")
-    public ResponseEntity<Void> redirectToOriginalUrl(
+    public void redirectToOriginalUrl(
             @PathVariable
             @Pattern(regexp = "^[0-9a-zA-Z]{1,10}$", message = "Invalid Short Code Format")
             String shortCode,
-            HttpServletRequest request
+            HttpServletRequest request,
+            HttpServletResponse response
     ) {
         Timer.Sample sample = metrics.startRedirectTimer();
         try {
-            log.info("Redirect request for shortCode: {}", shortCode);
+            log.debug("Redirect request for shortCode: {}", shortCode);
 
-            String originalUrl = urlService.getOriginalUrl(shortCode);
+            String location = urlService.getRedirectLocation(shortCode);
 
             try {
                 ClickEventData clickEventData = extractClickEventData(request);
@@ -302,20 +428,23 @@ public class UrlController {
                 log.error("Failed to initiate click tracking for shortCode: {}, continuing with redirect", shortCode);
             }
 
-            log.info("Redirected {} -> {}", shortCode, originalUrl);
+            log.debug("Redirected {} -> {}", shortCode, location);
 
-            return ResponseEntity.status(HttpStatus.FOUND)
-                    .location(URI.create(originalUrl))
-                    .build();
+            response.setStatus(HttpServletResponse.SC_FOUND);
+            response.setHeader(HttpHeaders.LOCATION, location);
         } catch (UrlNotFoundException e) {
             log.warn("Short code not found: {}", shortCode);
-            return ResponseEntity.notFound().build();
+            response.setStatus(HttpServletResponse.SC_NOT_FOUND);
         } catch (UrlExpiredException e) {
             log.warn("Short code expired: {}", shortCode);
-            return ResponseEntity.status(HttpStatus.GONE).build();
+            response.setStatus(HttpServletResponse.SC_GONE);
+        } catch (ServiceOverloadedException e) {
+            log.warn("Redirect shed under database pressure: {}", shortCode);
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
         } catch (Exception e) {
             log.error("Error redirecting for short code: {}", shortCode, e);
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+            response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
         } finally {
             metrics.recordRedirectTime(sample);
         }
@@ -324,32 +453,18 @@ public class UrlController {
     // Extract User from UserDetails
     private User extractUser(UserDetails userDetails) {
         if(userDetails instanceof UserPrincipal) {
-            return ((UserPrincipal) userDetails).getUser();
+            UserPrincipal principal = (UserPrincipal) userDetails;
+            // Principals rebuilt from the token only carry the id, so hand out a lazy reference instead of loading the row
+            return principal.getUser() != null ? principal.getUser() : userRepository.getReferenceById(principal.getId());
         }
         return null;
     }
 
     // Extract click event data from request
     private ClickEventData extractClickEventData(HttpServletRequest request) {
-        String ipAddress = extractIpAddress(request);
+        String ipAddress = ClientIpResolver.resolve(request);
         String userAgent = request.getHeader("User-Agent");
         String referrer = request.getHeader("Referer");
         return new ClickEventData(ipAddress, userAgent, referrer);
     }
-
-    // Extracts IP address from request
-    private String extractIpAddress(HttpServletRequest request) {
-        String ipAddress = request.getHeader("X-Forwarded-For");
-        if(ipAddress == null || ipAddress.isEmpty() || "unknown".equalsIgnoreCase(ipAddress)) {
-            ipAddress = request.getHeader("X-Real-IP");
-        }
-        if(ipAddress == null || ipAddress.isEmpty() || "unknown".equalsIgnoreCase(ipAddress)) {
-            ipAddress = request.getRemoteAddr();
-        }
-        if(ipAddress != null && ipAddress.contains(",")) {
-            ipAddress = ipAddress.split(",")[0].trim();
-        }
-
-        return ipAddress != null ? ipAddress : "unknown";
-    }
 }
@@ -0,0 +1,44 @@
+package com.pm.urlshortenerbackend.datasource;
+
+import java.util.function.Supplier;
+
+/**
+ * Per-thread hints for {@link ReplicaRoutingDataSource}. Pinning sends read-only work to the
+ * primary, for requests that must see their own writes. A pin only affects connections taken
+ * after it is set, so it has to be in place before the transaction runs its first statement.
+ *
+ * Author: Sathwik Pillalamarri
+ * Date: 2/24/26
+ * Project: url-shortener-backend
+ */
+public final class ReadRouting {
+    // Depth, so nested pins do not release the outer one
+    private static final ThreadLocal<int[]> PINS = ThreadLocal.withInitial(() -> new int[1]);
+
+    private ReadRouting() {
+    }
+
+    public static void pin() {
+        PINS.get()[0]++;
+    }
+
+    public static void unpin() {
+        int[] pins = PINS.get();
+        if(pins[0] > 0) {
+            pins[0]--;
+        }
+    }
+
+    public static boolean isPinnedToPrimary() {
+        return PINS.get()[0] > 0;
+    }
+
+    public static <T> T onPrimary(Supplier<T> action) {
+        pin();
+        try {
+            return action.get();
+        } finally {
+            unpin();
+        }
+    }
+}
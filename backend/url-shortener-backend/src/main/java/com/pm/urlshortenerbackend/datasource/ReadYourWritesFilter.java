@@ -0,0 +1,80 @@
+package com.pm.urlshortenerbackend.datasource;
+
+import com.pm.urlshortenerbackend.security.RedirectRequestMatcher;
+import com.pm.urlshortenerbackend.security.UserPrincipal;
+import com.pm.urlshortenerbackend.service.ReadYourWritesService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * Keeps a user's reads on the primary for a short while after they change something, so a link
+ * shows up in their listing right after it is created. Runs after the security chain, where the
+ * user is known. Login and registration always read from the primary, since a login right after
+ * registering must find the new account.
+ *
+ * Author: Sathwik Pillalamarri
+ * Date: 2/24/26
+ * Project: url-shortener-backend
+ */
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER + 10)
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+    private static final Set<String> SAFE_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+
+    private final ReadYourWritesService readYourWrites;
+
+    public ReadYourWritesFilter(ReadYourWritesService readYourWrites) {
+        this.readYourWrites = readYourWrites;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !readYourWrites.isEnabled() || RedirectRequestMatcher.INSTANCE.matches(request);
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull FilterChain filterChain) throws ServletException, IOException {
+        Long userId = currentUserId();
+        boolean write = !SAFE_METHODS.contains(request.getMethod());
+        boolean pinned;
+        if(userId != null) {
+            pinned = write || readYourWrites.hasRecentWrite(userId);
+        } else {
+            pinned = request.getRequestURI().substring(request.getContextPath().length()).startsWith("/auth/");
+        }
+
+        if(pinned) {
+            ReadRouting.pin();
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if(pinned) {
+                ReadRouting.unpin();
+            }
+            if(write && userId != null && response.getStatus() < 400) {
+                readYourWrites.recordWrite(userId);
+            }
+        }
+    }
+
+    private static Long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if(authentication != null && authentication.getPrincipal() instanceof UserPrincipal principal) {
+            return principal.getId();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,133 @@
+package com.pm.urlshortenerbackend.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends connections for read-only transactions to a replica and everything else to the primary.
+ * Replicas take turns, and one whose replay lag is above the limit (or that cannot be reached)
+ * is taken out of rotation until a later {@link #refreshReplicaLag()} sees it caught up. With no
+ * replica in rotation, reads go to the primary.
+ *
+ * The read-only flag is only known once the transaction has started, so this must sit behind a
+ * LazyConnectionDataSourceProxy, which takes the real connection on the first statement.
+ *
+ * Author: Sathwik Pillalamarri
+ * Date: 2/24/26
+ * Project: url-shortener-backend
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+    public static final String PRIMARY = "primary";
+    // Seconds since the last replayed transaction; a replica that has replayed everything it received is only caught up
+    // while it is still streaming, since one cut off from the primary has replayed everything too. The status column
+    // of pg_stat_wal_receiver is null without pg_read_all_stats, which leaves the replica out of rotation
+    public static final String POSTGRES_LAG_QUERY =
+            "SELECT CASE WHEN NOT pg_is_in_recovery() THEN 0 " +
+            "WHEN NOT EXISTS (SELECT 1 FROM pg_stat_wal_receiver WHERE status = 'streaming') THEN 1e9 " +
+            "WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+            "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 1e9) END";
+
+    private final List<Replica> replicas = new ArrayList<>();
+    private final Duration maxLag;
+    private final String lagQuery;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas, Duration maxLag, String lagQuery) {
+        this.maxLag = maxLag;
+        this.lagQuery = lagQuery;
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        replicas.forEach((name, dataSource) -> {
+            this.replicas.add(new Replica(name, dataSource));
+            targets.put(name, dataSource);
+        });
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if(!TransactionSynchronizationManager.isCurrentTransactionReadOnly() || ReadRouting.isPinnedToPrimary()) {
+            return PRIMARY;
+        }
+        int size = replicas.size();
+        int start = size == 0 ? 0 : Math.floorMod(nextReplica.getAndIncrement(), size);
+        for(int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if(replica.inRotation) {
+                return replica.name;
+            }
+        }
+        return PRIMARY;
+    }
+
+    /**
+     * Measures each replica's lag and updates which replicas take reads. Replicas start out of
+     * rotation, so nothing is read from one before its first check.
+     */
+    public void refreshReplicaLag() {
+        for(Replica replica : replicas) {
+            boolean inRotation;
+            try(Connection connection = replica.dataSource.getConnection();
+                Statement statement = connection.createStatement();
+                ResultSet rs = statement.executeQuery(lagQuery)) {
+                rs.next();
+                double lagSeconds = rs.getDouble(1);
+                inRotation = lagSeconds * 1000 <= maxLag.toMillis();
+                if(!inRotation && replica.inRotation) {
+                    log.warn("Replica {} is {}s behind, sending its reads to the primary", replica.name, lagSeconds);
+                }
+            } catch (SQLException e) {
+                inRotation = false;
+                if(replica.inRotation) {
+                    log.warn("Replica {} is unreachable, sending its reads to the primary: {}", replica.name, e.getMessage());
+                }
+            }
+            if(inRotation && !replica.inRotation) {
+                log.info("Replica {} is in rotation for reads", replica.name);
+            }
+            replica.inRotation = inRotation;
+        }
+    }
+
+    public boolean isInRotation(String name) {
+        return replicas.stream().anyMatch(replica -> replica.name.equals(name) && replica.inRotation);
+    }
+
+    // The primary is a bean of its own; replicas only exist here
+    @Override
+    public void destroy() throws Exception {
+        for(Replica replica : replicas) {
+            if(replica.dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    private static final class Replica {
+        private final String name;
+        private final DataSource dataSource;
+        private volatile boolean inRotation;
+
+        private Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.pm.urlshortenerbackend.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * Author: Sathwik Pillalamarri
+ * Date: 2/14/26
+ * Project: url-shortener-backend
+ */
+public class BatchCreateUrlRequest {
+    public static final int MAX_LINKS = 1000;
+
+    @NotEmpty(message = "At least one link is required")
+    @Size(max = MAX_LINKS, message = "A batch can contain at most " + MAX_LINKS + " links")
+    private List<@Valid CreateUrlRequest> links;
+
+    public List<CreateUrlRequest> getLinks() {
+        return links;
+    }
+
+    public void setLinks(List<CreateUrlRequest> links) {
+        this.links = links;
+    }
+}
@@ -0,0 +1,58 @@
+package com.pm.urlshortenerbackend.dto;
+
+import java.util.List;
+
+/**
+ * Author: Sathwik Pillalamarri
+ * Date: 2/14/26
+ * Project: url-shortener-backend
+ */
+public class BatchCreateUrlResponse {
+    private int created;
+    private int existing;
+    private int failed;
+    private List<BatchCreateUrlResult> results;
+
+    public BatchCreateUrlResponse(List<BatchCreateUrlResult> results) {
+        this.results = results;
+        for(BatchCreateUrlResult result : results) {
+            switch(result.getStatus()) {
+                case CREATED -> created++;
+                case EXISTING -> existing++;
+                case FAILED -> failed++;
+            }
+        }
+    }
+
+    public int getCreated() {
+        return created;
+    }
+
+    public void setCreated(int created) {
+        this.created = created;
+    }
+
+    public int getExisting() {
+        return existing;
+    }
+
+    public void setExisting(int existing) {
+        this.existing = existing;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public void setFailed(int failed) {
+        this.failed = failed;
+    }
+
+    public List<BatchCreateUrlResult> getResults() {
+        return results;
+    }
+
+    public void setResults(List<BatchCreateUrlResult> results) {
+        this.results = results;
+    }
+}
@@ -0,0 +1,86 @@
+package com.pm.urlshortenerbackend.dto;
+
+/**
+ * Outcome for one link of a batch, in the same position as the request item.
+ *
+ * Author: Sathwik Pillalamarri
+ * Date: 2/14/26
+ * Project: url-shortener-backend
+ */
+public class BatchCreateUrlResult {
+    public enum Status {
+        CREATED,
+        EXISTING,
+        FAILED
+    }
+
+    private int index;
+    private Status status;
+    private String shortCode;
+    private String shortUrl;
+    private String originalUrl;
+    private String error;
+
+    public BatchCreateUrlResult(int index, Status status, CreateUrlResponse response) {
+        this.index = index;
+        this.status = status;
+        this.shortCode = response.getShortCode();
+        this.shortUrl = response.getShortUrl();
+        this.originalUrl = response.getOriginalUrl();
+    }
+
+    public BatchCreateUrlResult(int index, String originalUrl, String error) {
+        this.index = index;
+        this.status = Status.FAILED;
+        this.originalUrl = originalUrl;
+        this.error = error;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public String getShortCode() {
+        return shortCode;
+    }
+
+    public void setShortCode(String shortCode) {
+        this.shortCode = shortCode;
+    }
+
+    public String getShortUrl() {
+        return shortUrl;
+    }
+
+    public void setShortUrl(String shortUrl) {
+        this.shortUrl = shortUrl;
+    }
+
+    public String getOriginalUrl() {
+        return originalUrl;
+    }
+
+    public void setOriginalUrl(String originalUrl) {
+        this.originalUrl = originalUrl;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
@@ -1,5 +1,7 @@
 package com.pm.urlshortenerbackend.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import java.time.Instant;
 import java.time.LocalDateTime;
 
@@ -13,6 +15,9 @@ public class CreateUrlResponse {
     private String shortUrl;
     private String originalUrl;
     private LocalDateTime createdAt;
+    // False when the owner already had a link for the URL and that one was returned; not sent to clients
+    @JsonIgnore
+    private boolean created = true;
 
     public CreateUrlResponse(String shortCode, String shortUrl, String originalUrl, LocalDateTime createdAt) {
         this.shortCode = shortCode;
@@ -53,6 +58,14 @@ public class CreateUrlResponse {
         this.createdAt = createdAt;
     }
 
+    public boolean isCreated() {
+        return created;
+    }
+
+    public void setCreated(boolean created) {
+        this.created = created;
+    }
+
     @Override
     public String toString() {
         return "CreateUrlResponse{" +
@@ -0,0 +1,57 @@
+package com.pm.urlshortenerbackend.dto;
+
+import java.util.List;
+
+/**
+ * One page of a cursor listing. nextCursor is null on the last page; approximateTotal is only
+ * filled in when requested and may lag behind recent changes by up to a minute.
+ *
+ * Author: Sathwik Pillalamarri
+ * Date: 2/17/26
+ * Project: url-shortener-backend
+ */
+public class CursorPageResponse<T> {
+    private List<T> items;
+    private String nextCursor;
+    private boolean hasMore;
+    private Long approximateTotal;
+
+    public CursorPageResponse(List<T> items, String nextCursor, Long approximateTotal) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.hasMore = nextCursor != null;
+        this.approximateTotal = approximateTotal;
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public void setItems(List<T> items) {
+        this.items = items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+
+    public Long getApproximateTotal() {
+        return approximateTotal;
+    }
+
+    public void setApproximateTotal(Long approximateTotal) {
+        this.approximateTotal = approximateTotal;
+    }
+}
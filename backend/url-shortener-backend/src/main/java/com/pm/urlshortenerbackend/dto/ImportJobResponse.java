@@ -0,0 +1,156 @@
+package com.pm.urlshortenerbackend.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Progress snapshot of a link import. A new snapshot is published after every chunk,
+ * so readers always see consistent counts.
+ *
+ * Author: Sathwik Pillalamarri
+ * Date: 2/15/26
+ * Project: url-shortener-backend
+ */
+public class ImportJobResponse {
+    public enum Format {
+        CSV,
+        NDJSON
+    }
+
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    private String jobId;
+    private Long ownerId;
+    private Format format;
+    private Status status;
+    private long linesRead;
+    private long created;
+    private long existing;
+    private long failed;
+    // Only the first few row errors are kept so a bad file cannot grow the snapshot
+    private List<String> errors;
+    private String error;
+    private LocalDateTime startedAt;
+    private LocalDateTime updatedAt;
+
+    public ImportJobResponse() {
+    }
+
+    public ImportJobResponse(String jobId, Long ownerId, Format format, Status status, long linesRead,
+                             long created, long existing, long failed, List<String> errors, String error,
+                             LocalDateTime startedAt) {
+        this.jobId = jobId;
+        this.ownerId = ownerId;
+        this.format = format;
+        this.status = status;
+        this.linesRead = linesRead;
+        this.created = created;
+        this.existing = existing;
+        this.failed = failed;
+        this.errors = errors;
+        this.error = error;
+        this.startedAt = startedAt;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    public String getJobId() {
+        return jobId;
+    }
+
+    public void setJobId(String jobId) {
+        this.jobId = jobId;
+    }
+
+    public Long getOwnerId() {
+        return ownerId;
+    }
+
+    public void setOwnerId(Long ownerId) {
+        this.ownerId = ownerId;
+    }
+
+    public Format getFormat() {
+        return format;
+    }
+
+    public void setFormat(Format format) {
+        this.format = format;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public long getLinesRead() {
+        return linesRead;
+    }
+
+    public void setLinesRead(long linesRead) {
+        this.linesRead = linesRead;
+    }
+
+    public long getCreated() {
+        return created;
+    }
+
+    public void setCreated(long created) {
+        this.created = created;
+    }
+
+    public long getExisting() {
+        return existing;
+    }
+
+    public void setExisting(long existing) {
+        this.existing = existing;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    public void setFailed(long failed) {
+        this.failed = failed;
+    }
+
+    public List<String> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<String> errors) {
+        this.errors = errors;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
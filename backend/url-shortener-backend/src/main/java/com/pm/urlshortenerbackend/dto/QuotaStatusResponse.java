@@ -0,0 +1,84 @@
+package com.pm.urlshortenerbackend.dto;
+
+import com.pm.urlshortenerbackend.model.QuotaPlan;
+
+/**
+ * Author: Sathwik Pillalamarri
+ * Date: 2/13/26
+ * Project: url-shortener-backend
+ */
+public class QuotaStatusResponse {
+    private QuotaPlan plan;
+    private long minuteLimit;
+    private long minuteUsed;
+    private long dayLimit;
+    private long dayUsed;
+    private long totalLimit;
+    private long totalUsed;
+
+    public QuotaStatusResponse(QuotaPlan plan, long minuteUsed, long dayUsed, long totalUsed) {
+        this.plan = plan;
+        this.minuteLimit = plan.getPerMinute();
+        this.minuteUsed = minuteUsed;
+        this.dayLimit = plan.getPerDay();
+        this.dayUsed = dayUsed;
+        this.totalLimit = plan.getTotal();
+        this.totalUsed = totalUsed;
+    }
+
+    public QuotaPlan getPlan() {
+        return plan;
+    }
+
+    public void setPlan(QuotaPlan plan) {
+        this.plan = plan;
+    }
+
+    public long getMinuteLimit() {
+        return minuteLimit;
+    }
+
+    public void setMinuteLimit(long minuteLimit) {
+        this.minuteLimit = minuteLimit;
+    }
+
+    public long getMinuteUsed() {
+        return minuteUsed;
+    }
+
+    public void setMinuteUsed(long minuteUsed) {
+        this.minuteUsed = minuteUsed;
+    }
+
+    public long getDayLimit() {
+        return dayLimit;
+    }
+
+    public void setDayLimit(long dayLimit) {
+        this.dayLimit = dayLimit;
+    }
+
+    public long getDayUsed() {
+        return dayUsed;
+    }
+
+    public void setDayUsed(long dayUsed) {
+        this.dayUsed = dayUsed;
+    }
+
+    public long getTotalLimit() {
+        return totalLimit;
+    }
+
+    public void setTotalLimit(long totalLimit) {
+        this.totalLimit = totalLimit;
+    }
+
+    public long getTotalUsed() {
+        return totalUsed;
+    }
+
+    public void setTotalUsed(long totalUsed) {
+        this.totalUsed = totalUsed;
+    }
+}
@@ -9,6 +9,7 @@ public class UserUrlSummary {
     private long totalUrls;
     private long activeUrls;
     private long inactiveUrls;
+    private long totalClicks;
 
     public UserUrlSummary(long totalUrls, long activeUrls) {
         this.totalUrls = totalUrls;
@@ -16,6 +17,11 @@ public class UserUrlSummary {
         this.inactiveUrls = totalUrls - activeUrls;
     }
 
+    public UserUrlSummary(long totalUrls, long activeUrls, long totalClicks) {
+        this(totalUrls, activeUrls);
+        this.totalClicks = totalClicks;
+    }
+
     public long getTotalUrls() {
         return totalUrls;
     }
@@ -39,4 +45,12 @@ public class UserUrlSummary {
     public void setInactiveUrls(long inactiveUrls) {
         this.inactiveUrls = inactiveUrls;
     }
+
+    public long getTotalClicks() {
+        return totalClicks;
+    }
+
+    public void setTotalClicks(long totalClicks) {
+        this.totalClicks = totalClicks;
+    }
 }
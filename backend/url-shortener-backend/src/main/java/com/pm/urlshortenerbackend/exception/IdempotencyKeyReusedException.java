@@ -0,0 +1,12 @@
+package com.pm.urlshortenerbackend.exception;
+
+/**
+ * Author: Sathwik Pillalamarri
+ * Date: 2/21/26
+ * Project: url-shortener-backend
+ */
+public class IdempotencyKeyReusedException extends RuntimeException {
+    public IdempotencyKeyReusedException() {
+        super("Idempotency-Key was already used for a different request");
+    }
+}
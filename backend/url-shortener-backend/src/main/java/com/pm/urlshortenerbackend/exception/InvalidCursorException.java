@@ -0,0 +1,12 @@
+package com.pm.urlshortenerbackend.exception;
+
+/**
+ * Author: Sathwik Pillalamarri
+ * Date: 2/17/26
+ * Project: url-shortener-backend
+ */
+public class InvalidCursorException extends RuntimeException {
+    public InvalidCursorException(String cursor) {
+        super("Invalid cursor: " + cursor);
+    }
+}
@@ -0,0 +1,12 @@
+package com.pm.urlshortenerbackend.exception;
+
+/**
+ * Author: Sathwik Pillalamarri
+ * Date: 2/16/26
+ * Project: url-shortener-backend
+ */
+public class InvalidExportException extends RuntimeException {
+    public InvalidExportException(String message) {
+        super(message);
+    }
+}
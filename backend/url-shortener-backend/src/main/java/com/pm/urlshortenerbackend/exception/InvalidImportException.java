@@ -0,0 +1,12 @@
+package com.pm.urlshortenerbackend.exception;
+
+/**
+ * Author: Sathwik Pillalamarri
+ * Date: 2/15/26
+ * Project: url-shortener-backend
+ */
+public class InvalidImportException extends RuntimeException {
+    public InvalidImportException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,20 @@
+package com.pm.urlshortenerbackend.exception;
+
+/**
+ * Author: Sathwik Pillalamarri
+ * Date: 2/13/26
+ * Project: url-shortener-backend
+ */
+public class QuotaExceededException extends RuntimeException {
+    // Zero when waiting will not help, i.e. the lifetime quota is used up
+    private final long retryAfterSeconds;
+
+    public QuotaExceededException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -1,5 +1,6 @@
 package com.pm.urlshortenerbackend.health;
 
+import com.pm.urlshortenerbackend.resilience.RedisCircuitBreaker;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.actuate.health.Health;
 import org.springframework.boot.actuate.health.HealthIndicator;
@@ -16,12 +17,14 @@ import org.springframework.stereotype.Component;
 @Component
 public class RedisHealthIndicator implements HealthIndicator {
     private final RedisTemplate<String, Object> redisTemplate;
+    private final RedisCircuitBreaker circuitBreaker;
 
     @Value("${app.health.redis.timeout:5000}")
     private long timeout;
 
-    public RedisHealthIndicator(RedisTemplate<String, Object> redisTemplate) {
+    public RedisHealthIndicator(RedisTemplate<String, Object> redisTemplate, RedisCircuitBreaker circuitBreaker) {
         this.redisTemplate = redisTemplate;
+        this.circuitBreaker = circuitBreaker;
     }
 
     @Override
@@ -33,17 +36,20 @@ public class RedisHealthIndicator implements HealthIndicator {
                 return Health.up()
                         .withDetail("redis", "available")
                         .withDetail("response", result)
+                        .withDetail("circuitBreaker", circuitBreaker.getState())
                         .build();
             } else {
                 return Health.down()
                         .withDetail("redis", "Unexpected Response")
                         .withDetail("response", result)
+                        .withDetail("circuitBreaker", circuitBreaker.getState())
                         .build();
             }
         } catch (Exception e) {
             return Health.down()
                     .withDetail("redis", "Connection Failed")
                     .withDetail("error", e.getMessage())
+                    .withDetail("circuitBreaker", circuitBreaker.getState())
                     .build();
         }
     }
@@ -1,6 +1,8 @@
 package com.pm.urlshortenerbackend.health;
 
+import com.pm.urlshortenerbackend.resilience.RedisCircuitBreaker;
 import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
 import org.springframework.stereotype.Component;
@@ -15,6 +17,7 @@ import org.springframework.stereotype.Component;
 @Component
 public class UrlShortenerMetrics {
     
+    private final MeterRegistry meterRegistry;
     private final Counter urlCreationCounter;
     private final Counter urlRetrievalCounter;
     private final Counter urlDeactivationCounter;
@@ -26,6 +29,13 @@ public class UrlShortenerMetrics {
     private final Counter analyticsRequestCounter;
     private final Counter analyticsCacheHitCounter;
     private final Counter analyticsCacheMissCounter;
+    private final Counter redisCallRejectedCounter;
+    private final Counter redisCircuitOpenedCounter;
+    private final Counter redirectLookupShedCounter;
+    private final Counter managementRequestShedCounter;
+    private final Counter passwordHashRejectedCounter;
+    private final Counter loginBlockedByAccountCounter;
+    private final Counter loginBlockedByIpCounter;
     private final Timer clickTrackingTimer;
     private final Timer urlCreationTimer;
     private final Timer urlRetrievalTimer;
@@ -33,6 +43,8 @@ public class UrlShortenerMetrics {
     private final Timer analyticsCalculationTimer;
     
     public UrlShortenerMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+
         this.urlCreationCounter = Counter.builder("url_shortener_urls_created_total")
             .description("Total number of URLs created")
             .register(meterRegistry);
@@ -76,6 +88,38 @@ public class UrlShortenerMetrics {
         this.analyticsCacheMissCounter = Counter.builder("analytics_cache_misses_total")
                 .description("Total number of analytics cache misses")
                 .register(meterRegistry);
+
+        this.redisCallRejectedCounter = Counter.builder("redis_circuit_breaker_rejected_total")
+                .description("Total number of Redis calls skipped because the circuit breaker was open")
+                .register(meterRegistry);
+
+        this.redisCircuitOpenedCounter = Counter.builder("redis_circuit_breaker_opened_total")
+                .description("Total number of times the Redis circuit breaker opened")
+                .register(meterRegistry);
+
+        this.redirectLookupShedCounter = Counter.builder("db_bulkhead_shed_total")
+                .description("Total number of requests rejected by the database bulkhead")
+                .tag("priority", "redirect")
+                .register(meterRegistry);
+
+        this.managementRequestShedCounter = Counter.builder("db_bulkhead_shed_total")
+                .description("Total number of requests rejected by the database bulkhead")
+                .tag("priority", "management")
+                .register(meterRegistry);
+
+        this.passwordHashRejectedCounter = Counter.builder("password_hash_rejected_total")
+                .description("Total number of password hashes rejected because the hashing queue was full")
+                .register(meterRegistry);
+
+        this.loginBlockedByAccountCounter = Counter.builder("login_attempts_blocked_total")
+                .description("Total number of login attempts blocked after repeated failures")
+                .tag("scope", "account")
+                .register(meterRegistry);
+
+        this.loginBlockedByIpCounter = Counter.builder("login_attempts_blocked_total")
+                .description("Total number of login attempts blocked after repeated failures")
+                .tag("scope", "ip")
+                .register(meterRegistry);
             
         this.urlCreationTimer = Timer.builder("url_shortener_url_creation_duration")
             .description("Time taken to create URLs")
@@ -101,6 +145,8 @@ public class UrlShortenerMetrics {
     public void incrementUrlCreation() {
         urlCreationCounter.increment();
     }
+
+    public void incrementUrlCreation(int count) { urlCreationCounter.increment(count); }
     
     public void incrementUrlRetrieval() {
         urlRetrievalCounter.increment();
@@ -129,6 +175,44 @@ public class UrlShortenerMetrics {
     public void incrementAnalyticsCacheHit() { analyticsCacheHitCounter.increment(); }
 
     public void incrementAnalyticsCacheMiss() { analyticsCacheMissCounter.increment(); }
+
+    public void incrementRedisCallRejected() { redisCallRejectedCounter.increment(); }
+
+    public void incrementRedisCircuitOpened() { redisCircuitOpenedCounter.increment(); }
+
+    public void incrementRedirectLookupShed() { redirectLookupShedCounter.increment(); }
+
+    public void incrementManagementRequestShed() { managementRequestShedCounter.increment(); }
+
+    public void incrementPasswordHashRejected() { passwordHashRejectedCounter.increment(); }
+
+    public void incrementLoginBlockedByAccount() { loginBlockedByAccountCounter.increment(); }
+
+    public void incrementLoginBlockedByIp() { loginBlockedByIpCounter.increment(); }
+
+    // Registered lazily per policy; the registry returns the same counter on later calls
+    public void incrementRateLimited(String policy) {
+        Counter.builder("rate_limit_rejected_total")
+                .description("Total number of requests rejected by the rate limiter")
+                .tag("policy", policy)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    public void incrementQuotaExceeded(String window) {
+        Counter.builder("quota_exceeded_total")
+                .description("Total number of link creations rejected by a user quota")
+                .tag("window", window)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    // 0 = closed, 1 = open, 2 = half-open
+    public void registerRedisCircuitBreakerState(RedisCircuitBreaker circuitBreaker) {
+        Gauge.builder("redis_circuit_breaker_state", circuitBreaker, breaker -> breaker.getState().ordinal())
+                .description("Current state of the Redis circuit breaker")
+                .register(meterRegistry);
+    }
     
     public Timer.Sample startUrlCreationTimer() {
         return Timer.start();
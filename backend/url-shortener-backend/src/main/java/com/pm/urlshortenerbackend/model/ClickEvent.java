@@ -13,13 +13,16 @@ import java.util.Objects;
  */
 @Entity
 @Table(name = "click_events", indexes = {
-        @Index(name = "idx_click_events_urlmapping_id", columnList = "url_mapping_id"),
+        @Index(name = "idx_click_events_url_mapping_id_id", columnList = "url_mapping_id, id"),
         @Index(name = "idx_click_events_clicked_at", columnList = "clicked_at"),
         @Index(name = "idx_click_events_url_mapping_clicked_at", columnList = "url_mapping_id,clicked_at")
 })
 public class ClickEvent {
+    // IDENTITY would make Hibernate insert each event on persist to learn its id, which rules out
+    // JDBC batching; a pooled sequence hands out ids from memory and reads the sequence once per block
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "click_event_seq")
+    @SequenceGenerator(name = "click_event_seq", sequenceName = "click_events_id_seq", allocationSize = UrlMapping.ID_ALLOCATION_SIZE)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -0,0 +1,41 @@
+package com.pm.urlshortenerbackend.model;
+
+/**
+ * Link creation quota attached to each user. Limits are counted separately per minute, per
+ * UTC day and over the lifetime of the account. A single batch or import piece can never be
+ * larger than the per-minute limit, so plans meant for bulk use allow at least one full batch
+ * (BatchCreateUrlRequest.MAX_LINKS) per minute.
+ *
+ * Author: Sathwik Pillalamarri
+ * Date: 2/13/26
+ * Project: url-shortener-backend
+ */
+public enum QuotaPlan {
+    FREE(10, 500, 5_000),
+    PRO(60, 10_000, 500_000),
+    ENTERPRISE(1_000, 200_000, 10_000_000),
+    // Accounts that predate quotas
+    UNLIMITED(Long.MAX_VALUE, Long.MAX_VALUE, Long.MAX_VALUE);
+
+    private final long perMinute;
+    private final long perDay;
+    private final long total;
+
+    QuotaPlan(long perMinute, long perDay, long total) {
+        this.perMinute = perMinute;
+        this.perDay = perDay;
+        this.total = total;
+    }
+
+    public long getPerMinute() {
+        return perMinute;
+    }
+
+    public long getPerDay() {
+        return perDay;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+}
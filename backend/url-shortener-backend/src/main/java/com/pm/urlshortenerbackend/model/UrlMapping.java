@@ -1,5 +1,6 @@
 package com.pm.urlshortenerbackend.model;
 
+import com.pm.urlshortenerbackend.util.UrlHash;
 import jakarta.persistence.*;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.validator.constraints.URL;
@@ -15,14 +16,16 @@ import java.util.Objects;
  * Project: url-shortener-backend
  */
 @Entity
-@SequenceGenerator(name = "url_seq", sequenceName = "url_sequence", allocationSize = 1)
+@SequenceGenerator(name = "url_seq", sequenceName = "url_sequence", allocationSize = UrlMapping.ID_ALLOCATION_SIZE)
+// The partial and covering indexes from V11 and V12 (redirect lookup, active listings, expiry sweep) cannot be declared here
 @Table(name = "url_mappings", indexes = {
-        @Index(name = "idx_url_mappings_owner_id", columnList = "owner_id"),
-        @Index(name = "idx_url_mappings_expires_at", columnList = "expires_at"),
-        @Index(name = "idx_url_mappings_short_code", columnList = "shortCode"),
-        @Index(name = "idx_url_mappings_is_active", columnList = "is_active")
+        @Index(name = "idx_url_mappings_owner_created_id", columnList = "owner_id, created_at DESC, id DESC"),
+        @Index(name = "uq_url_mappings_url_hash_owner", columnList = "url_hash, owner_id", unique = true)
 })
 public class UrlMapping {
+    // INCREMENT BY of url_sequence and click_events_id_seq (V10); each sequence value reserves the block of ids ending at it
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "url_seq")
     private long id;
@@ -34,6 +37,10 @@ public class UrlMapping {
     @Column(nullable = false, length = 2048)
     private String originalUrl;
 
+    // Kept in step with originalUrl by the constructors and setter; null only on rows awaiting the backfill
+    @Column(name = "url_hash")
+    private Long urlHash;
+
     @CreationTimestamp
     @Column(updatable = false, nullable = false)
     private LocalDateTime createdAt;
@@ -60,17 +67,20 @@ public class UrlMapping {
     public UrlMapping(String shortCode, String originalUrl) {
         this.shortCode = shortCode;
         this.originalUrl = originalUrl;
+        this.urlHash = originalUrl != null ? UrlHash.of(originalUrl) : null;
     }
 
     public UrlMapping(String shortCode, String originalUrl, User owner) {
         this.shortCode = shortCode;
         this.originalUrl = originalUrl;
+        this.urlHash = originalUrl != null ? UrlHash.of(originalUrl) : null;
         this.owner = owner;
     }
 
     public UrlMapping(String shortCode, String originalUrl, User owner, LocalDateTime expiresAt) {
         this.shortCode = shortCode;
         this.originalUrl = originalUrl;
+        this.urlHash = originalUrl != null ? UrlHash.of(originalUrl) : null;
         this.owner = owner;
         this.expiresAt = expiresAt;
     }
@@ -97,6 +107,11 @@ public class UrlMapping {
 
     public void setOriginalUrl(String originalUrl) {
         this.originalUrl = originalUrl;
+        this.urlHash = originalUrl != null ? UrlHash.of(originalUrl) : null;
+    }
+
+    public Long getUrlHash() {
+        return urlHash;
     }
 
     public LocalDateTime getCreatedAt() {
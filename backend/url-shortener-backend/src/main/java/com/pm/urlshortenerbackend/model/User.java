@@ -7,6 +7,7 @@ import jakarta.validation.constraints.Size;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -44,6 +45,14 @@ public class User {
     @Size(max = 100, message = "Last name must be less than 100 characters")
     private String lastName;
 
+    @Enumerated(EnumType.STRING)
+    @Column(name = "quota_plan", nullable = false, length = 20)
+    private QuotaPlan quotaPlan = QuotaPlan.FREE;
+
+    // Tokens issued before this no longer authenticate; set by a password change
+    @Column(name = "tokens_valid_after")
+    private Instant tokensValidAfter;
+
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -105,6 +114,22 @@ public class User {
         this.lastName = lastName;
     }
 
+    public QuotaPlan getQuotaPlan() {
+        return quotaPlan;
+    }
+
+    public void setQuotaPlan(QuotaPlan quotaPlan) {
+        this.quotaPlan = quotaPlan;
+    }
+
+    public Instant getTokensValidAfter() {
+        return tokensValidAfter;
+    }
+
+    public void setTokensValidAfter(Instant tokensValidAfter) {
+        this.tokensValidAfter = tokensValidAfter;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -0,0 +1,98 @@
+package com.pm.urlshortenerbackend.model;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+/**
+ * Running link totals for one user, kept in step with url_mappings by the services that change
+ * links and corrected by the periodic reconciliation. Lives in its own table so counter updates
+ * never lock the users row.
+ *
+ * Author: Sathwik Pillalamarri
+ * Date: 2/19/26
+ * Project: url-shortener-backend
+ */
+@Entity
+@Table(name = "user_link_stats")
+public class UserLinkStats {
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "total_links", nullable = false)
+    private long totalLinks;
+
+    @Column(name = "active_links", nullable = false)
+    private long activeLinks;
+
+    @Column(name = "total_clicks", nullable = false)
+    private long totalClicks;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    // Set whenever the counters are recomputed from url_mappings; see UserLinkStatsService
+    @Column(name = "reconciled_at")
+    private Instant reconciledAt;
+
+    public UserLinkStats() {
+    }
+
+    public UserLinkStats(Long userId, long totalLinks, long activeLinks, long totalClicks) {
+        this.userId = userId;
+        this.totalLinks = totalLinks;
+        this.activeLinks = activeLinks;
+        this.totalClicks = totalClicks;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public long getTotalLinks() {
+        return totalLinks;
+    }
+
+    public void setTotalLinks(long totalLinks) {
+        this.totalLinks = totalLinks;
+    }
+
+    public long getActiveLinks() {
+        return activeLinks;
+    }
+
+    public void setActiveLinks(long activeLinks) {
+        this.activeLinks = activeLinks;
+    }
+
+    public long getTotalClicks() {
+        return totalClicks;
+    }
+
+    public void setTotalClicks(long totalClicks) {
+        this.totalClicks = totalClicks;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public Instant getReconciledAt() {
+        return reconciledAt;
+    }
+
+    public void setReconciledAt(Instant reconciledAt) {
+        this.reconciledAt = reconciledAt;
+    }
+}
@@ -0,0 +1,101 @@
+package com.pm.urlshortenerbackend.repository;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read side of account exports. Rows are walked in keyset pages (WHERE key > last seen key
+ * ORDER BY key LIMIT n) whose key is a prefix of an index: links by (created_at, id) on
+ * idx_url_mappings_owner_created_id (V6), and clicks link by link by id on
+ * idx_click_events_url_mapping_id_id (V14). Every page is then an index range scan without a
+ * sort no matter how deep the export is, and each page is a short statement instead of a cursor
+ * pinning a connection for the whole download. Rows are handed to the callback straight from
+ * the ResultSet without being mapped to entities.
+ *
+ * Author: Sathwik Pillalamarri
+ * Date: 2/16/26
+ * Project: url-shortener-backend
+ */
+@Repository
+public class LinkExportRepository {
+    static final String LINK_COLUMNS = "id, short_code, original_url, created_at, expires_at, click_count, is_active";
+    static final String FIRST_LINKS_SQL =
+            "SELECT %s FROM url_mappings WHERE owner_id = ? ORDER BY created_at, id LIMIT ?";
+    static final String NEXT_LINKS_SQL =
+            "SELECT %s FROM url_mappings WHERE owner_id = ? AND (created_at, id) > (?, ?) ORDER BY created_at, id LIMIT ?";
+    // One link at a time, so every page comes off the (url_mapping_id, id) index
+    static final String CLICKS_SQL =
+            "SELECT c.id, c.url_mapping_id, m.short_code, c.clicked_at, c.referrer, c.user_agent, c.device_type, " +
+            "c.browser, c.operating_system, c.country, c.city " +
+            "FROM click_events c JOIN url_mappings m ON m.id = c.url_mapping_id " +
+            "WHERE c.url_mapping_id = ? AND c.id > ? ORDER BY c.id LIMIT ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int pageSize;
+
+    public LinkExportRepository(JdbcTemplate jdbcTemplate,
+                                @Value("${app.export.page-size:1000}") int pageSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.pageSize = Math.max(1, pageSize);
+    }
+
+    // Columns: id, short_code, original_url, created_at, expires_at, click_count, is_active
+    public void forEachLink(Long ownerId, RowCallbackHandler handler) {
+        LinkKey after = null;
+        do {
+            after = linkPage(ownerId, LINK_COLUMNS, after, handler);
+        } while(after != null);
+    }
+
+    // Columns: id, url_mapping_id, short_code, clicked_at, referrer, user_agent, device_type, browser, operating_system, country, city
+    public void forEachClick(Long ownerId, RowCallbackHandler handler) {
+        LinkKey after = null;
+        do {
+            // Ids are read before walking their clicks so that no statement is open while another runs
+            List<Long> linkIds = new ArrayList<>(pageSize);
+            after = linkPage(ownerId, "id, created_at", after, rs -> linkIds.add(rs.getLong("id")));
+            for(Long linkId : linkIds) {
+                forEachClickOf(linkId, handler);
+            }
+        } while(after != null);
+    }
+
+    private void forEachClickOf(Long linkId, RowCallbackHandler handler) {
+        long[] lastId = {0};
+        int[] rows = new int[1];
+        do {
+            rows[0] = 0;
+            jdbcTemplate.query(CLICKS_SQL, rs -> {
+                handler.processRow(rs);
+                lastId[0] = rs.getLong("id");
+                rows[0]++;
+            }, linkId, lastId[0], pageSize);
+        } while(rows[0] == pageSize);
+    }
+
+    // Returns the key of the last row if the page was full, so there may be more, and null otherwise
+    private LinkKey linkPage(Long ownerId, String columns, LinkKey after, RowCallbackHandler handler) {
+        LinkKey[] last = new LinkKey[1];
+        int[] rows = new int[1];
+        RowCallbackHandler tracking = rs -> {
+            handler.processRow(rs);
+            last[0] = new LinkKey(rs.getTimestamp("created_at"), rs.getLong("id"));
+            rows[0]++;
+        };
+        if(after == null) {
+            jdbcTemplate.query(FIRST_LINKS_SQL.formatted(columns), tracking, ownerId, pageSize);
+        } else {
+            jdbcTemplate.query(NEXT_LINKS_SQL.formatted(columns), tracking, ownerId, after.createdAt(), after.id(), pageSize);
+        }
+        return rows[0] == pageSize ? last[0] : null;
+    }
+
+    private record LinkKey(Timestamp createdAt, long id) {
+    }
+}
@@ -0,0 +1,35 @@
+package com.pm.urlshortenerbackend.repository;
+
+import com.pm.urlshortenerbackend.model.UrlMapping;
+
+import java.time.LocalDateTime;
+
+/**
+ * The columns a redirect reads, all carried by the short_code index (V12), so the lookup never
+ * touches the table and never creates a managed UrlMapping.
+ *
+ * Author: Sathwik Pillalamarri
+ * Date: 2/26/26
+ * Project: url-shortener-backend
+ */
+public record RedirectTarget(String shortCode,
+                             String originalUrl,
+                             LocalDateTime createdAt,
+                             LocalDateTime expiresAt,
+                             Boolean isActive) {
+
+    public boolean isExpired() {
+        return expiresAt != null && LocalDateTime.now().isAfter(expiresAt);
+    }
+
+    /**
+     * Detached mapping with only these fields set, in the shape the url mapping cache stores.
+     * It has no id or owner and must never be saved.
+     */
+    public UrlMapping toUrlMapping() {
+        UrlMapping mapping = new UrlMapping(shortCode, originalUrl, null, expiresAt);
+        mapping.setCreatedAt(createdAt);
+        mapping.setIsActive(isActive);
+        return mapping;
+    }
+}
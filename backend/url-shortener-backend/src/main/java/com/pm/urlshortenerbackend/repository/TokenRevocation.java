@@ -0,0 +1,13 @@
+package com.pm.urlshortenerbackend.repository;
+
+import java.time.Instant;
+
+/**
+ * A user whose tokens issued before tokensValidAfter no longer authenticate.
+ *
+ * Author: Sathwik Pillalamarri
+ * Date: 2/27/26
+ * Project: url-shortener-backend
+ */
+public record TokenRevocation(Long userId, Instant tokensValidAfter) {
+}
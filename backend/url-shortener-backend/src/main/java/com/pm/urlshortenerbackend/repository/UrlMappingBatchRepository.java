@@ -0,0 +1,188 @@
+package com.pm.urlshortenerbackend.repository;
+
+import com.pm.urlshortenerbackend.model.UrlMapping;
+import com.pm.urlshortenerbackend.util.UrlHash;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Plain JDBC access for link creation. Ids come from pooled blocks of url_sequence and rows
+ * are written with JDBC batching, so a batch of links costs a handful of round trips instead
+ * of a sequence fetch and an insert per link. Inserts skip rows that would break the unique
+ * (url_hash, owner_id) index, which is how concurrent creates of the same link converge on
+ * one row. Runs in the caller's transaction.
+ *
+ * Author: Sathwik Pillalamarri
+ * Date: 2/14/26
+ * Project: url-shortener-backend
+ */
+@Repository
+public class UrlMappingBatchRepository {
+    private static final String INSERT_SQL =
+            "INSERT INTO url_mappings (id, short_code, original_url, url_hash, created_at, owner_id, expires_at, click_count, is_active) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?) ON CONFLICT (url_hash, owner_id) DO NOTHING";
+    private static final String INSERTED_IDS_SQL = "SELECT id FROM url_mappings WHERE id BETWEEN ? AND ?";
+    // Served by the partial index on rows without a hash, so it stays cheap once the backfill is done
+    private static final String UNHASHED_SQL =
+            "SELECT id, original_url FROM url_mappings WHERE url_hash IS NULL AND id > ? ORDER BY id LIMIT ?";
+    // Older duplicates of a link already hashed for the same owner keep a null hash; see V9
+    private static final String SET_HASH_SQL =
+            "UPDATE url_mappings SET url_hash = ? WHERE id = ? AND url_hash IS NULL AND NOT EXISTS (" +
+            "SELECT 1 FROM url_mappings d WHERE d.url_hash = ? AND d.owner_id = url_mappings.owner_id)";
+    private static final String ALLOCATE_SQL = "SELECT nextval('url_sequence') FROM generate_series(1, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+    // Current id block; guarded by allocateIds
+    private final ArrayDeque<Long> reservedBlocks = new ArrayDeque<>();
+    private long nextId = 1;
+    private long blockEnd = 0;
+
+    public UrlMappingBatchRepository(JdbcTemplate jdbcTemplate,
+                                     @Value("${app.url.batch.jdbc-batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Hands out new url_mappings ids the way Hibernate's pooled optimizer does for the entity: each
+     * url_sequence value reserves the {@link UrlMapping#ID_ALLOCATION_SIZE} ids ending at it, so the
+     * sequence is read once per block rather than once per link. Ids left in a block serve later calls.
+     */
+    public synchronized List<Long> allocateIds(int count) {
+        List<Long> ids = new ArrayList<>(count);
+        while(ids.size() < count) {
+            if(nextId > blockEnd) {
+                if(reservedBlocks.isEmpty()) {
+                    int blocks = (count - ids.size() + UrlMapping.ID_ALLOCATION_SIZE - 1) / UrlMapping.ID_ALLOCATION_SIZE;
+                    reservedBlocks.addAll(jdbcTemplate.queryForList(ALLOCATE_SQL, Long.class, blocks));
+                }
+                blockEnd = reservedBlocks.poll();
+                // A fresh sequence starts at 1, whose block would otherwise reach below the first id
+                nextId = Math.max(1, blockEnd - UrlMapping.ID_ALLOCATION_SIZE + 1);
+            }
+            ids.add(nextId++);
+        }
+        return ids;
+    }
+
+    /**
+     * Inserts the mappings, which must already carry their allocated id and short code, and
+     * returns the ones that were skipped because the owner already has a link for the same URL
+     * (usually written by a concurrent request). The caller resolves those to the existing rows.
+     */
+    public List<UrlMapping> insertAllIfAbsent(List<UrlMapping> mappings) {
+        int[][] counts = jdbcTemplate.batchUpdate(INSERT_SQL, mappings, batchSize, (ps, mapping) -> {
+            ps.setLong(1, mapping.getId());
+            ps.setString(2, mapping.getShortCode());
+            ps.setString(3, mapping.getOriginalUrl());
+            ps.setLong(4, mapping.getUrlHash());
+            ps.setTimestamp(5, Timestamp.valueOf(mapping.getCreatedAt()));
+            if(mapping.getOwner() != null) {
+                ps.setLong(6, mapping.getOwner().getId());
+            } else {
+                ps.setNull(6, Types.BIGINT);
+            }
+            if(mapping.getExpiresAt() != null) {
+                ps.setTimestamp(7, Timestamp.valueOf(mapping.getExpiresAt()));
+            } else {
+                ps.setNull(7, Types.TIMESTAMP);
+            }
+            ps.setLong(8, mapping.getClickCount());
+            ps.setBoolean(9, mapping.getIsActive());
+        });
+
+        List<UrlMapping> skipped = new ArrayList<>();
+        boolean unknown = false;
+        int index = 0;
+        for(int[] batch : counts) {
+            for(int count : batch) {
+                if(count == 0) {
+                    skipped.add(mappings.get(index));
+                } else if(count == Statement.SUCCESS_NO_INFO) {
+                    unknown = true;
+                }
+                index++;
+            }
+        }
+        // reWriteBatchedInserts reports no per-row counts, so look up which of our ids made it
+        return unknown ? notInserted(mappings) : skipped;
+    }
+
+    /**
+     * Hashes rows written before url_hash existed, one batch at a time. Each batch is its own
+     * short statement pair outside any transaction, so the backfill never holds locks on more
+     * than one batch of rows while the application keeps serving traffic. A create can commit
+     * the same link for the same owner between the NOT EXISTS check and the update; that fails
+     * the whole batch on the unique index, so the batch is retried row by row and the row that
+     * lost the race stays unhashed like any other older duplicate.
+     */
+    public int backfillUrlHashes() {
+        int updated = 0;
+        long afterId = 0;
+        List<Object[]> rows;
+        do {
+            rows = jdbcTemplate.query(UNHASHED_SQL, (rs, rowNum) -> new Object[]{rs.getLong(1), rs.getString(2)}, afterId, batchSize);
+            if(rows.isEmpty()) {
+                break;
+            }
+            try {
+                int[][] counts = jdbcTemplate.batchUpdate(SET_HASH_SQL, rows, batchSize, (ps, row) -> {
+                    long urlHash = UrlHash.of((String) row[1]);
+                    ps.setLong(1, urlHash);
+                    ps.setLong(2, (Long) row[0]);
+                    ps.setLong(3, urlHash);
+                });
+                for(int[] batch : counts) {
+                    for(int count : batch) {
+                        updated += Math.max(count, 0);
+                    }
+                }
+            } catch (DuplicateKeyException e) {
+                for(Object[] row : rows) {
+                    updated += setHash(row);
+                }
+            }
+            afterId = (Long) rows.get(rows.size() - 1)[0];
+        } while(rows.size() == batchSize);
+        return updated;
+    }
+
+    private List<UrlMapping> notInserted(List<UrlMapping> mappings) {
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+        for(UrlMapping mapping : mappings) {
+            min = Math.min(min, mapping.getId());
+            max = Math.max(max, mapping.getId());
+        }
+        // Ids come from one sequence call, so the range is tight and walks the primary key
+        Set<Long> inserted = new HashSet<>(jdbcTemplate.queryForList(INSERTED_IDS_SQL, Long.class, min, max));
+        List<UrlMapping> skipped = new ArrayList<>();
+        for(UrlMapping mapping : mappings) {
+            if(!inserted.contains(mapping.getId())) {
+                skipped.add(mapping);
+            }
+        }
+        return skipped;
+    }
+
+    private int setHash(Object[] row) {
+        long urlHash = UrlHash.of((String) row[1]);
+        try {
+            return jdbcTemplate.update(SET_HASH_SQL, urlHash, row[0], urlHash);
+        } catch (DuplicateKeyException e) {
+            return 0;
+        }
+    }
+}
@@ -2,15 +2,19 @@ package com.pm.urlshortenerbackend.repository;
 
 import com.pm.urlshortenerbackend.model.UrlMapping;
 import com.pm.urlshortenerbackend.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -21,13 +25,57 @@ import java.util.Optional;
  */
 @Repository
 public interface UrlMappingRepository extends JpaRepository<UrlMapping, Long> {
+    // Constructor expression for UrlMappingView; argument order must match the record components
+    String VIEW = "new com.pm.urlshortenerbackend.repository.UrlMappingView(" +
+            "u.id, u.shortCode, u.originalUrl, u.createdAt, u.expiresAt, u.isActive)";
+
     Optional<UrlMapping> findByShortCode(String shortCode);
+
+    boolean existsByShortCode(String shortCode);
+
+    // Redirect lookup: five columns and no managed entity. The SQL text never changes, so pgjdbc keeps it as one
+    // server-side prepared statement per connection; see prepareThreshold in application.properties.example.
+    // MANUAL flush stops Hibernate dirty checking the session before it runs
+    @Query("SELECT new com.pm.urlshortenerbackend.repository.RedirectTarget(" +
+            "u.shortCode, u.originalUrl, u.createdAt, u.expiresAt, u.isActive) FROM UrlMapping u WHERE u.shortCode = :shortCode")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "MANUAL")
+    })
+    Optional<RedirectTarget> findRedirectTarget(@Param("shortCode") String shortCode);
+
     Optional<UrlMapping> findByOriginalUrl(String originalUrl);
 
     Page<UrlMapping> findByOwner(User owner, Pageable pageable);
 
     Page<UrlMapping> findByOwnerAndIsActive(User owner, Boolean isActive, Pageable pageable);
 
+    // Listings read projections rather than entities; see UrlMappingView
+    Page<UrlMappingView> findViewsByOwner(User owner, Pageable pageable);
+
+    Page<UrlMappingView> findViewsByOwnerAndIsActive(User owner, Boolean isActive, Pageable pageable);
+
+    // Keyset listing, newest first. The Pageable only carries the limit; a List return type skips the count query.
+    // The row-value comparison is a single range bound on (owner_id, created_at, id), which the OR form is not
+    @Query("SELECT " + VIEW + " FROM UrlMapping u WHERE u.owner = :owner ORDER BY u.createdAt DESC, u.id DESC")
+    List<UrlMappingView> findFirstByOwner(@Param("owner") User owner, Pageable limit);
+
+    @Query("SELECT " + VIEW + " FROM UrlMapping u WHERE u.owner = :owner " +
+            "AND (u.createdAt, u.id) < (:createdAt, :id) " +
+            "ORDER BY u.createdAt DESC, u.id DESC")
+    List<UrlMappingView> findByOwnerBefore(@Param("owner") User owner, @Param("createdAt") LocalDateTime createdAt,
+                                           @Param("id") Long id, Pageable limit);
+
+    @Query("SELECT " + VIEW + " FROM UrlMapping u WHERE u.owner = :owner AND u.isActive = true " +
+            "ORDER BY u.createdAt DESC, u.id DESC")
+    List<UrlMappingView> findFirstActiveByOwner(@Param("owner") User owner, Pageable limit);
+
+    @Query("SELECT " + VIEW + " FROM UrlMapping u WHERE u.owner = :owner AND u.isActive = true " +
+            "AND (u.createdAt, u.id) < (:createdAt, :id) " +
+            "ORDER BY u.createdAt DESC, u.id DESC")
+    List<UrlMappingView> findActiveByOwnerBefore(@Param("owner") User owner, @Param("createdAt") LocalDateTime createdAt,
+                                                 @Param("id") Long id, Pageable limit);
+
     Optional<UrlMapping> findByShortCodeAndOwner(String shortCode, User owner);
 
     @Query("SELECT u FROM UrlMapping u WHERE u.expiresAt IS NOT NULL AND u.expiresAt < :now")
@@ -48,11 +96,38 @@ public interface UrlMappingRepository extends JpaRepository<UrlMapping, Long> {
     @Query("UPDATE UrlMapping u SET u.isActive = false WHERE u.expiresAt IS NOT NULL AND u.expiresAt < :now AND u.isActive = true")
     int deactivateExpiredUrls(@Param("now") LocalDateTime now);
 
+    // Owner id and number of links the next deactivateExpiredUrls call will switch off
+    @Query("SELECT u.owner.id, COUNT(u) FROM UrlMapping u WHERE u.owner IS NOT NULL AND u.expiresAt IS NOT NULL " +
+            "AND u.expiresAt < :now AND u.isActive = true GROUP BY u.owner.id")
+    List<Object[]> countExpiringActiveByOwner(@Param("now") LocalDateTime now);
+
+    // Owner id, total links, active links and total clicks, for counter reconciliation
+    @Query("SELECT u.owner.id, COUNT(u), SUM(CASE WHEN u.isActive = true THEN 1 ELSE 0 END), COALESCE(SUM(u.clickCount), 0) " +
+            "FROM UrlMapping u WHERE u.owner.id IN :ownerIds GROUP BY u.owner.id")
+    List<Object[]> summarizeByOwners(@Param("ownerIds") Collection<Long> ownerIds);
+
     //Method to find anonymous URLs (URLs with no owner)
     Page<UrlMapping> findByOwnerIsNull(Pageable pageable);
 
     @Query("SELECT u FROM UrlMapping u WHERE u.owner = :owner AND u.clickCount > :minClicks ORDER BY u.clickCount DESC")
     List<UrlMapping> findPopularUrlsByOwner(@Param("owner") User owner, @Param("minClicks") Long minClicks);
 
-    Optional<UrlMapping> findByOriginalUrlAndOwner(String originalUrl, User owner);
+    // Duplicate detection probes (url_hash, owner_id); rows the backfill has not reached yet are
+    // matched on the URL itself. Hash hits can collide, so callers confirm with UrlHash.sameUrl
+    @Query("SELECT u FROM UrlMapping u WHERE u.urlHash = :urlHash OR (u.urlHash IS NULL AND u.originalUrl = :originalUrl)")
+    List<UrlMapping> findDuplicateCandidates(@Param("urlHash") Long urlHash, @Param("originalUrl") String originalUrl);
+
+    @Query("SELECT u FROM UrlMapping u WHERE u.owner = :owner " +
+            "AND (u.urlHash = :urlHash OR (u.urlHash IS NULL AND u.originalUrl = :originalUrl))")
+    List<UrlMapping> findDuplicateCandidatesByOwner(@Param("owner") User owner, @Param("urlHash") Long urlHash,
+                                                    @Param("originalUrl") String originalUrl);
+
+    // Duplicate detection for a whole batch in one query
+    @Query("SELECT u FROM UrlMapping u WHERE u.owner = :owner " +
+            "AND (u.urlHash IN :urlHashes OR (u.urlHash IS NULL AND u.originalUrl IN :originalUrls))")
+    List<UrlMapping> findDuplicateCandidatesByOwnerIn(@Param("owner") User owner, @Param("urlHashes") Collection<Long> urlHashes,
+                                                      @Param("originalUrls") Collection<String> originalUrls);
+
+    @Query("SELECT u.shortCode FROM UrlMapping u WHERE u.shortCode IN :shortCodes")
+    List<String> findExistingShortCodes(@Param("shortCodes") Collection<String> shortCodes);
 }
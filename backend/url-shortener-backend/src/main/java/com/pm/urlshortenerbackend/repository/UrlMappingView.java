@@ -0,0 +1,22 @@
+package com.pm.urlshortenerbackend.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read model with just the columns a listing needs. Queries returning it select these columns
+ * through a constructor expression, so no UrlMapping entities, owner proxies or click
+ * collections are created and nothing ends up in the persistence context for dirty checking.
+ * A record rather than an interface projection: interface projections are backed by Spring
+ * proxies, which allocate more per row than the entities they replace.
+ *
+ * Author: Sathwik Pillalamarri
+ * Date: 2/18/26
+ * Project: url-shortener-backend
+ */
+public record UrlMappingView(Long id,
+                             String shortCode,
+                             String originalUrl,
+                             LocalDateTime createdAt,
+                             LocalDateTime expiresAt,
+                             Boolean isActive) {
+}
@@ -0,0 +1,30 @@
+package com.pm.urlshortenerbackend.repository;
+
+import com.pm.urlshortenerbackend.model.UserLinkStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+
+/**
+ * Author: Sathwik Pillalamarri
+ * Date: 2/19/26
+ * Project: url-shortener-backend
+ */
+@Repository
+public interface UserLinkStatsRepository extends JpaRepository<UserLinkStats, Long> {
+    // Relative updates so concurrent writers never overwrite each other; returns 0 if the user has no row yet
+    @Modifying
+    @Query("UPDATE UserLinkStats s SET s.totalLinks = s.totalLinks + :links, s.activeLinks = s.activeLinks + :active, " +
+            "s.updatedAt = CURRENT_TIMESTAMP WHERE s.userId = :userId")
+    int adjustLinks(@Param("userId") Long userId, @Param("links") long links, @Param("active") long active);
+
+    // Skips clicks recorded since before the last recount, which already included them
+    @Modifying
+    @Query("UPDATE UserLinkStats s SET s.totalClicks = s.totalClicks + :clicks, s.updatedAt = CURRENT_TIMESTAMP " +
+            "WHERE s.userId = :userId AND (s.reconciledAt IS NULL OR s.reconciledAt < :recordedSince)")
+    int adjustClicks(@Param("userId") Long userId, @Param("clicks") long clicks, @Param("recordedSince") Instant recordedSince);
+}
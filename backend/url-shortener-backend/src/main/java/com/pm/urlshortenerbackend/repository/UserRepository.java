@@ -1,14 +1,19 @@
 package com.pm.urlshortenerbackend.repository;
 
+import com.pm.urlshortenerbackend.model.QuotaPlan;
 import com.pm.urlshortenerbackend.model.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -28,4 +33,30 @@ public interface UserRepository extends JpaRepository<User, Long> {
     @Query("SELECT COUNT(u) > 0 FROM User u WHERE LOWER(u.email) = LOWER(:email)")
     boolean existsByEmailIgnoreCase(@Param("email") String email);
 
+    @Query("SELECT u.quotaPlan FROM User u WHERE u.id = :id")
+    Optional<QuotaPlan> findQuotaPlanById(@Param("id") Long id);
+
+    // Runs in its own short transaction so callers can hash outside of one
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.passwordHash = :passwordHash, u.updatedAt = CURRENT_TIMESTAMP WHERE u.id = :id")
+    int updatePasswordHash(@Param("id") Long id, @Param("passwordHash") String passwordHash);
+
+    // Password change: tokens issued before tokensValidAfter are revoked in the same statement, so both commit together
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.passwordHash = :passwordHash, u.tokensValidAfter = :tokensValidAfter, " +
+            "u.updatedAt = CURRENT_TIMESTAMP WHERE u.id = :id")
+    int updatePasswordHashAndRevokeTokens(@Param("id") Long id,
+                                          @Param("passwordHash") String passwordHash,
+                                          @Param("tokensValidAfter") Instant tokensValidAfter);
+
+    @Query("SELECT new com.pm.urlshortenerbackend.repository.TokenRevocation(u.id, u.tokensValidAfter) " +
+            "FROM User u WHERE u.tokensValidAfter > :cutoff")
+    List<TokenRevocation> findTokenRevocationsAfter(@Param("cutoff") Instant cutoff);
+
+    // Keyset walk over all user ids; the Pageable only carries the batch size
+    @Query("SELECT u.id FROM User u WHERE u.id > :afterId ORDER BY u.id")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Pageable limit);
+
 }
@@ -0,0 +1,98 @@
+package com.pm.urlshortenerbackend.resilience;
+
+import com.pm.urlshortenerbackend.exception.ServiceOverloadedException;
+import com.pm.urlshortenerbackend.health.UrlShortenerMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Caps how much of the connection pool each class of work can hold. Redirect lookups that
+ * miss the cache get the larger share; management and analytics requests get a small share
+ * and are shed outright while the redirect side is saturated, so a cache outage degrades
+ * the dashboard before it degrades redirects.
+ *
+ * Author: Sathwik Pillalamarri
+ * Date: 2/5/26
+ * Project: url-shortener-backend
+ */
+@Component
+public class DatabaseBulkhead {
+    private static final Logger log = LoggerFactory.getLogger(DatabaseBulkhead.class);
+
+    public enum Priority { REDIRECT, MANAGEMENT }
+
+    private final Semaphore redirectPermits;
+    private final Semaphore managementPermits;
+    private final long redirectQueueTimeoutNanos;
+    private final long managementQueueTimeoutNanos;
+    private final UrlShortenerMetrics metrics;
+
+    public DatabaseBulkhead(@Value("${app.db.bulkhead.redirect.max-concurrent:6}") int redirectMaxConcurrent,
+                            @Value("${app.db.bulkhead.redirect.queue-timeout:50ms}") Duration redirectQueueTimeout,
+                            @Value("${app.db.bulkhead.management.max-concurrent:4}") int managementMaxConcurrent,
+                            @Value("${app.db.bulkhead.management.queue-timeout:20ms}") Duration managementQueueTimeout,
+                            UrlShortenerMetrics metrics) {
+        this.redirectPermits = new Semaphore(redirectMaxConcurrent, true);
+        this.managementPermits = new Semaphore(managementMaxConcurrent, true);
+        this.redirectQueueTimeoutNanos = redirectQueueTimeout.toNanos();
+        this.managementQueueTimeoutNanos = managementQueueTimeout.toNanos();
+        this.metrics = metrics;
+    }
+
+    /**
+     * Runs the action while holding a permit of the given priority, or throws
+     * ServiceOverloadedException if none became available within the queue timeout.
+     */
+    public <T> T execute(Priority priority, Supplier<T> action) {
+        if(!tryAcquire(priority)) {
+            throw new ServiceOverloadedException("Database capacity exhausted for " + priority.name().toLowerCase() + " requests");
+        }
+        try {
+            return action.get();
+        } finally {
+            release(priority);
+        }
+    }
+
+    public boolean tryAcquire(Priority priority) {
+        if(priority == Priority.MANAGEMENT && redirectPermits.availablePermits() == 0) {
+            // Redirects are already queueing for the database, leave them every connection
+            metrics.incrementManagementRequestShed();
+            log.debug("Shedding management request while redirect lookups are saturated");
+            return false;
+        }
+
+        Semaphore permits = priority == Priority.REDIRECT ? redirectPermits : managementPermits;
+        long timeout = priority == Priority.REDIRECT ? redirectQueueTimeoutNanos : managementQueueTimeoutNanos;
+        try {
+            if(permits.tryAcquire(timeout, TimeUnit.NANOSECONDS)) {
+                return true;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        if(priority == Priority.REDIRECT) {
+            metrics.incrementRedirectLookupShed();
+        } else {
+            metrics.incrementManagementRequestShed();
+        }
+        log.warn("Database bulkhead full for {} requests", priority);
+        return false;
+    }
+
+    public void release(Priority priority) {
+        (priority == Priority.REDIRECT ? redirectPermits : managementPermits).release();
+    }
+
+    public int availablePermits(Priority priority) {
+        return (priority == Priority.REDIRECT ? redirectPermits : managementPermits).availablePermits();
+    }
+}
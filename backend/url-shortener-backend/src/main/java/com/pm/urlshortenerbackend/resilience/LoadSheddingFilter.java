@@ -0,0 +1,89 @@
+package com.pm.urlshortenerbackend.resilience;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Sheds management and analytics requests while the database is under redirect pressure. In
+ * normal operation requests pass straight through; only while the Redis breaker is open (every
+ * redirect lands on the database) or the redirect bulkhead is saturated do they need a
+ * management permit. Runs ahead of the security chain so the user lookup done during
+ * authentication is covered as well. Redirects are not filtered here; their cache-miss lookups
+ * hold redirect permits instead. Auth is bounded by the password encoder, and import and export
+ * stream for minutes, so neither holds a permit.
+ *
+ * Author: Sathwik Pillalamarri
+ * Date: 2/5/26
+ * Project: url-shortener-backend
+ */
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER - 10)
+public class LoadSheddingFilter extends OncePerRequestFilter {
+    private static final String[] MANAGEMENT_PATHS = {"/api/links", "/api/test-protected"};
+    private static final String[] LONG_RUNNING_PATHS = {"/api/links/import", "/api/links/export"};
+
+    private final DatabaseBulkhead bulkhead;
+    private final RedisCircuitBreaker circuitBreaker;
+
+    public LoadSheddingFilter(DatabaseBulkhead bulkhead, RedisCircuitBreaker circuitBreaker) {
+        this.bulkhead = bulkhead;
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        if(HttpMethod.OPTIONS.matches(request.getMethod())) {
+            return true;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for(String prefix : LONG_RUNNING_PATHS) {
+            if(path.startsWith(prefix)) {
+                return true;
+            }
+        }
+        for(String prefix : MANAGEMENT_PATHS) {
+            if(path.startsWith(prefix)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull FilterChain filterChain) throws ServletException, IOException {
+        if(!underPressure()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        if(!bulkhead.tryAcquire(DatabaseBulkhead.Priority.MANAGEMENT)) {
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getWriter().write("{\"error\":\"Service temporarily overloaded, please retry\"}");
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            bulkhead.release(DatabaseBulkhead.Priority.MANAGEMENT);
+        }
+    }
+
+    private boolean underPressure() {
+        return circuitBreaker.getState() != RedisCircuitBreaker.State.CLOSED
+                || bulkhead.availablePermits(DatabaseBulkhead.Priority.REDIRECT) == 0;
+    }
+}
@@ -0,0 +1,143 @@
+package com.pm.urlshortenerbackend.resilience;
+
+import com.pm.urlshortenerbackend.health.UrlShortenerMetrics;
+import io.lettuce.core.RedisException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Circuit breaker guarding cache calls to Redis. After a run of consecutive failures the
+ * breaker opens and callers skip Redis entirely; once the open interval has passed a single
+ * probe call is let through and its outcome decides whether the breaker closes again.
+ * Every Redis caller goes through {@link #call}, so they all fail over the same way.
+ *
+ * Author: Sathwik Pillalamarri
+ * Date: 2/4/26
+ * Project: url-shortener-backend
+ */
+@Component
+public class RedisCircuitBreaker {
+    private static final Logger log = LoggerFactory.getLogger(RedisCircuitBreaker.class);
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final int failureThreshold;
+    private final long openNanos;
+    private final UrlShortenerMetrics metrics;
+
+    private final AtomicReference<State> state = new AtomicReference<>(State.CLOSED);
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private volatile long openedAt;
+    private volatile long probeStartedAt;
+
+    public RedisCircuitBreaker(@Value("${app.redis.circuit-breaker.failure-threshold:5}") int failureThreshold,
+                               @Value("${app.redis.circuit-breaker.open-duration:10s}") Duration openDuration,
+                               UrlShortenerMetrics metrics) {
+        this.failureThreshold = failureThreshold;
+        this.openNanos = openDuration.toNanos();
+        this.metrics = metrics;
+        metrics.registerRedisCircuitBreakerState(this);
+    }
+
+    /**
+     * Returns true if the caller may talk to Redis. While open every call is rejected; once the
+     * open interval has elapsed exactly one caller is admitted as the half-open probe.
+     */
+    public boolean tryAcquire() {
+        State current = state.get();
+        if(current == State.CLOSED) {
+            return true;
+        }
+
+        long now = System.nanoTime();
+        if(current == State.OPEN && now - openedAt >= openNanos && state.compareAndSet(State.OPEN, State.HALF_OPEN)) {
+            probeStartedAt = now;
+            log.info("Redis circuit breaker half-open, probing");
+            return true;
+        }
+        // A probe that never reported back (e.g. an unexpected exception) must not wedge the breaker
+        if(current == State.HALF_OPEN && now - probeStartedAt >= openNanos) {
+            probeStartedAt = now;
+            return true;
+        }
+
+        metrics.incrementRedisCallRejected();
+        return false;
+    }
+
+    public void recordSuccess() {
+        consecutiveFailures.set(0);
+        // Only the probe closes the breaker; a slow call admitted before it opened must not
+        if(state.compareAndSet(State.HALF_OPEN, State.CLOSED)) {
+            log.info("Redis circuit breaker closed");
+        }
+    }
+
+    public void recordFailure() {
+        if(state.get() == State.HALF_OPEN) {
+            open();
+            return;
+        }
+        if(consecutiveFailures.incrementAndGet() < failureThreshold) {
+            return;
+        }
+        // Stamp before publishing OPEN so a concurrent tryAcquire never sees a stale open time
+        openedAt = System.nanoTime();
+        if(state.compareAndSet(State.CLOSED, State.OPEN)) {
+            metrics.incrementRedisCircuitOpened();
+            log.warn("Redis circuit breaker opened after {} consecutive failures", failureThreshold);
+        }
+    }
+
+    /**
+     * Runs a Redis operation behind the breaker. Failures and blown latency budgets are counted
+     * against the breaker and answered with the fallback, so callers carry on without Redis.
+     * Raw Lettuce exceptions are caught too, for callers (bucket4j) that bypass Spring Data.
+     */
+    public <T> T call(String operation, String key, Supplier<T> action, T fallback) {
+        if(!tryAcquire()) {
+            log.debug("Redis circuit open, skipping {} key={}", operation, key);
+            return fallback;
+        }
+        try {
+            T result = action.get();
+            recordSuccess();
+            return result;
+        } catch (QueryTimeoutException e) {
+            recordFailure();
+            log.warn("Redis {} key={} exceeded its latency budget -> {}", operation, key, e.getMessage());
+        } catch (RedisConnectionFailureException e) {
+            recordFailure();
+            log.warn("Redis unavailable while {} key={} -> {}", operation, key, e.getMessage());
+        } catch (DataAccessException | RedisException e) {
+            recordFailure();
+            log.error("Redis data access error while {} key={} -> {}", operation, key, e.getMessage());
+        }
+        return fallback;
+    }
+
+    public <T> T call(String operation, String key, Supplier<T> action) {
+        return call(operation, key, action, null);
+    }
+
+    public State getState() {
+        return state.get();
+    }
+
+    private void open() {
+        openedAt = System.nanoTime();
+        state.set(State.OPEN);
+        metrics.incrementRedisCircuitOpened();
+        log.warn("Redis circuit breaker probe failed, staying open");
+    }
+}
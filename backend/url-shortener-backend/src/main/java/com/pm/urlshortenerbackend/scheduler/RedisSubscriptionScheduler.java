@@ -0,0 +1,55 @@
+package com.pm.urlshortenerbackend.scheduler;
+
+import com.pm.urlshortenerbackend.service.RedirectLocationCache;
+import com.pm.urlshortenerbackend.service.SessionCacheService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the pub/sub subscription up. The listener container gives up for good when its first
+ * subscription fails, so it is started from here and restarted until Redis answers. Whatever was
+ * broadcast while the subscription was down is caught up on once it is back.
+ *
+ * Author: Sathwik Pillalamarri
+ * Date: 2/27/26
+ * Project: url-shortener-backend
+ */
+@Component
+public class RedisSubscriptionScheduler {
+    private static final Logger log = LoggerFactory.getLogger(RedisSubscriptionScheduler.class);
+
+    private final RedisMessageListenerContainer container;
+    private final RedirectLocationCache redirectLocations;
+    private final SessionCacheService sessionCacheService;
+
+    public RedisSubscriptionScheduler(RedisMessageListenerContainer container,
+                                      RedirectLocationCache redirectLocations,
+                                      SessionCacheService sessionCacheService) {
+        this.container = container;
+        this.redirectLocations = redirectLocations;
+        this.sessionCacheService = sessionCacheService;
+    }
+
+    // Runs straight away so the subscription is in place shortly after startup
+    @Scheduled(fixedDelayString = "${app.redis.subscription-check-interval-ms:5000}")
+    public void ensureSubscribed() {
+        if(container.isListening()) {
+            return;
+        }
+        try {
+            container.stop();
+            container.start();
+        } catch (RuntimeException e) {
+            log.warn("Redis subscription failed, retrying -> {}", e.getMessage());
+            return;
+        }
+        if(container.isListening()) {
+            redirectLocations.invalidateAll();
+            sessionCacheService.loadRevocations();
+            log.info("Subscribed to redirect cache invalidations and session revocations");
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.pm.urlshortenerbackend.scheduler;
+
+import com.pm.urlshortenerbackend.datasource.ReplicaRoutingDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Author: Sathwik Pillalamarri
+ * Date: 2/24/26
+ * Project: url-shortener-backend
+ */
+@Component
+@ConditionalOnProperty(name = "app.datasource.replicas.urls")
+public class ReplicaLagScheduler {
+    private final ReplicaRoutingDataSource routingDataSource;
+
+    public ReplicaLagScheduler(ReplicaRoutingDataSource routingDataSource) {
+        this.routingDataSource = routingDataSource;
+    }
+
+    // Runs straight away so replicas join the rotation shortly after startup
+    @Scheduled(fixedDelayString = "${app.datasource.replicas.lag-check-interval-ms:1000}")
+    public void checkLag() {
+        routingDataSource.refreshReplicaLag();
+    }
+}
@@ -0,0 +1,26 @@
+package com.pm.urlshortenerbackend.scheduler;
+
+import com.pm.urlshortenerbackend.service.SessionCacheService;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Author: Sathwik Pillalamarri
+ * Date: 2/27/26
+ * Project: url-shortener-backend
+ */
+@Component
+public class SessionRevocationScheduler {
+
+    private final SessionCacheService sessionCacheService;
+
+    public SessionRevocationScheduler(SessionCacheService sessionCacheService) {
+        this.sessionCacheService = sessionCacheService;
+    }
+
+    // Runs straight away, so revocations stored before startup apply to the first request
+    @Scheduled(fixedDelayString = "${app.security.session-revocation.reload-interval-ms:30000}")
+    public void reloadRevocations() {
+        sessionCacheService.loadRevocations();
+    }
+}
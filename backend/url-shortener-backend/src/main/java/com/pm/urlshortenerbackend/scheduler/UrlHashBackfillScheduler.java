@@ -0,0 +1,37 @@
+package com.pm.urlshortenerbackend.scheduler;
+
+import com.pm.urlshortenerbackend.repository.UrlMappingBatchRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Author: Sathwik Pillalamarri
+ * Date: 2/20/26
+ * Project: url-shortener-backend
+ */
+@Component
+public class UrlHashBackfillScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(UrlHashBackfillScheduler.class);
+    private final UrlMappingBatchRepository batchRepository;
+
+    public UrlHashBackfillScheduler(UrlMappingBatchRepository batchRepository) {
+        this.batchRepository = batchRepository;
+    }
+
+    // After the first run this only finds rows written by instances that predate url_hash
+    @Scheduled(initialDelayString = "${app.url.hash-backfill.initial-delay-ms:30000}",
+            fixedDelayString = "${app.url.hash-backfill.interval-ms:600000}")
+    public void backfill() {
+        try {
+            int updated = batchRepository.backfillUrlHashes();
+            if(updated > 0) {
+                log.info("Backfilled url_hash for {} URLs", updated);
+            }
+        } catch (Exception e) {
+            log.error("Error during url_hash backfill", e);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.pm.urlshortenerbackend.scheduler;
+
+import com.pm.urlshortenerbackend.service.UserLinkStatsService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Author: Sathwik Pillalamarri
+ * Date: 2/19/26
+ * Project: url-shortener-backend
+ */
+@Component
+public class UserLinkStatsReconciliationScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(UserLinkStatsReconciliationScheduler.class);
+    private final UserLinkStatsService linkStats;
+
+    public UserLinkStatsReconciliationScheduler(UserLinkStatsService linkStats) {
+        this.linkStats = linkStats;
+    }
+
+    @Scheduled(fixedDelayString = "${app.link-stats.click-flush-interval-ms:5000}")
+    public void flushClicks() {
+        try {
+            linkStats.flushClicks();
+        } catch (Exception e) {
+            log.error("Error flushing click counters", e);
+        }
+    }
+
+    // Off-peak by default; counters only drift through rare races, so once a day is enough
+    @Scheduled(cron = "${app.link-stats.reconcile.cron:0 30 3 * * *}")
+    public void reconcile() {
+        log.info("Starting scheduled link counter reconciliation");
+
+        try {
+            linkStats.reconcile();
+        } catch (Exception e) {
+            log.error("Error during link counter reconciliation", e);
+        }
+    }
+}
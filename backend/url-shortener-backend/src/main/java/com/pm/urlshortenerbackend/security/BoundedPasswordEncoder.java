@@ -0,0 +1,130 @@
+package com.pm.urlshortenerbackend.security;
+
+import com.pm.urlshortenerbackend.exception.ServiceOverloadedException;
+import com.pm.urlshortenerbackend.health.UrlShortenerMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * BCrypt encoder that runs every hash on a small dedicated pool instead of the request thread.
+ * The pool and its queue are bounded, so a login burst can occupy at most a fixed number of
+ * cores and callers beyond the queue are turned away with a 503 rather than piling up on
+ * Tomcat threads that redirects need.
+ *
+ * Author: Sathwik Pillalamarri
+ * Date: 2/10/26
+ * Project: url-shortener-backend
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder, DisposableBean {
+    private static final Logger log = LoggerFactory.getLogger(BoundedPasswordEncoder.class);
+
+    private final BCryptPasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final UrlShortenerMetrics metrics;
+    private final int strength;
+
+    public BoundedPasswordEncoder(int strength, int threads, int queueCapacity, UrlShortenerMetrics metrics) {
+        this.delegate = new BCryptPasswordEncoder(strength);
+        this.strength = strength;
+        this.metrics = metrics;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Picks the highest BCrypt cost between min and max whose hash time on this machine stays
+     * within the target. Each extra cost step doubles the work, so one timed hash at the minimum
+     * cost is enough to extrapolate the rest.
+     */
+    public static int calibrateStrength(Duration targetLatency, int minStrength, int maxStrength) {
+        if(targetLatency.isZero() || targetLatency.isNegative()) {
+            return minStrength;
+        }
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(minStrength);
+        probe.encode("calibration-warmup");
+
+        long start = System.nanoTime();
+        probe.encode("calibration-probe");
+        long baseNanos = Math.max(1, System.nanoTime() - start);
+
+        int strength = minStrength;
+        long estimate = baseNanos;
+        while(strength < maxStrength && estimate * 2 <= targetLatency.toNanos()) {
+            estimate *= 2;
+            strength++;
+        }
+        log.info("Calibrated BCrypt cost to {} (~{} ms per hash, target {} ms)",
+                strength, TimeUnit.NANOSECONDS.toMillis(estimate), targetLatency.toMillis());
+        return strength;
+    }
+
+    public int getStrength() {
+        return strength;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return submit(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return submit(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    // True for hashes created with a lower cost than the calibrated one
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private <T> T submit(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            metrics.incrementPasswordHashRejected();
+            log.warn("Password hashing queue is full, rejecting request");
+            throw new ServiceOverloadedException("Password hashing capacity exhausted");
+        }
+
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+        } catch (ExecutionException e) {
+            if(e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+}
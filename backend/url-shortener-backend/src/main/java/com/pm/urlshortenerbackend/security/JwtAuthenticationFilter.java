@@ -1,5 +1,7 @@
 package com.pm.urlshortenerbackend.security;
 
+import com.pm.urlshortenerbackend.service.SessionCacheService;
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.UnsupportedJwtException;
@@ -12,6 +14,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -22,6 +25,7 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.List;
 
 /**
  * Author: Sathwik Pillalamarri
@@ -36,10 +40,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     
     private final UserDetailsService userDetailsService;
     private final JwtUtil jwtUtil;
+    private final SessionCacheService sessionCacheService;
 
-    public JwtAuthenticationFilter(UserDetailsService userDetailsService, JwtUtil jwtUtil) {
+    public JwtAuthenticationFilter(UserDetailsService userDetailsService, JwtUtil jwtUtil, SessionCacheService sessionCacheService) {
         this.userDetailsService = userDetailsService;
         this.jwtUtil = jwtUtil;
+        this.sessionCacheService = sessionCacheService;
     }
 
 
@@ -69,15 +75,26 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         return null;
     }
 
-    //Authenticate a user based on the JWT token
+    //Authenticate a user based on the JWT token - the token is parsed and verified exactly once
     private void authenticateUser(String jwt, HttpServletRequest request) {
         try {
-            String username = jwtUtil.extractUsername(jwt);
+            Claims claims = jwtUtil.parseClaims(jwt);
+            String username = claims.getSubject();
 
             if(username != null) {
-                UserDetails userDetails = loadUserDetails(username);
+                UserDetails userDetails = principalFromClaims(claims, username);
+                if(userDetails == null) {
+                    // Tokens issued before the id claim was added still need a lookup
+                    userDetails = loadUserDetails(username);
+                }
+
+                if(userDetails instanceof UserPrincipal principal
+                        && sessionCacheService.isRevoked(principal.getId(), claims.getIssuedAt())) {
+                    log.warn("JWT token was issued before the sessions of user id {} were revoked", principal.getId());
+                    return;
+                }
 
-                if(userDetails != null && jwtUtil.validateToken(jwt, userDetails)) {
+                if(userDetails != null && username.equals(userDetails.getUsername())) {
                     setAuthenticationContext(userDetails, request);
                     log.debug("Successfully authorized user: {}", username);
                 }
@@ -99,10 +116,29 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
     }
 
-    //Load user details safely with error handling
+    //Rebuild the principal from signed claims without touching the database
+    private UserDetails principalFromClaims(Claims claims, String username) {
+        Long userId = claims.get(JwtUtil.USER_ID_CLAIM, Long.class);
+        List<?> roles = claims.get(JwtUtil.ROLES_CLAIM, List.class);
+        if(userId == null || roles == null) {
+            return null;
+        }
+        List<SimpleGrantedAuthority> authorities = roles.stream()
+                .map(role -> new SimpleGrantedAuthority(role.toString()))
+                .toList();
+        return new UserPrincipal(userId, username, authorities);
+    }
+
+    //Load user details from the session cache, falling back to the database
     private UserDetails loadUserDetails(String username) {
+        UserDetails cached = sessionCacheService.getPrincipal(username);
+        if(cached != null) {
+            return cached;
+        }
         try {
-            return userDetailsService.loadUserByUsername(username);
+            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            sessionCacheService.putPrincipal(username, userDetails);
+            return userDetails;
         } catch (UsernameNotFoundException e) {
             log.warn("User not found: {}", username);
             return null;
@@ -129,6 +165,6 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         return path.startsWith("/auth/") ||
                 path.startsWith("/actuator/") ||
                 path.equals("/error") ||
-                (path.matches("^/[a-zA-Z0-9]{1,10}$") && "GET".equals(request.getMethod())); // Short URL redirects
+                RedirectRequestMatcher.INSTANCE.matches(request); // Short URL redirects
     }
 }
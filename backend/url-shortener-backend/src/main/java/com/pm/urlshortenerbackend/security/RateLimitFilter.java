@@ -1,8 +1,139 @@
 package com.pm.urlshortenerbackend.security;
 
+import com.pm.urlshortenerbackend.health.UrlShortenerMetrics;
+import com.pm.urlshortenerbackend.resilience.RedisCircuitBreaker;
+import com.pm.urlshortenerbackend.util.CacheKeys;
+import com.pm.urlshortenerbackend.util.ClientIpResolver;
+import com.pm.urlshortenerbackend.util.LocalTtlCache;
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.BucketConfiguration;
+import io.github.bucket4j.ConsumptionProbe;
+import io.github.bucket4j.distributed.proxy.ProxyManager;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
 /**
+ * Per-IP token bucket rate limiting for each endpoint class. Buckets live in Redis, so the limit holds
+ * across all instances instead of multiplying with the replica count. Redirects only use local buckets,
+ * and so do the other classes while Redis is unavailable; local buckets are bounded in number and expire
+ * once they would be full again.
+ * Runs ahead of load shedding so rejected requests never take a database permit.
+ *
  * Author: Sathwik Pillalamarri
  * Date: 1/14/26
  * Project: url-shortener-backend
- */public class RateLimitingFilter {
+ */
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER - 20)
+public class RateLimitFilter extends OncePerRequestFilter {
+    private final ProxyManager<String> proxyManager;
+    private final RedisCircuitBreaker circuitBreaker;
+    private final UrlShortenerMetrics metrics;
+    private final Map<RateLimitPolicy, BucketConfiguration> configurations = new EnumMap<>(RateLimitPolicy.class);
+    private final Map<RateLimitPolicy, Duration> periods = new EnumMap<>(RateLimitPolicy.class);
+    private final LocalTtlCache<String, Bucket> localBuckets;
+
+    public RateLimitFilter(ProxyManager<String> proxyManager,
+                           RedisCircuitBreaker circuitBreaker,
+                           UrlShortenerMetrics metrics,
+                           @Value("${app.rate-limit.auth.capacity:5}") long authCapacity,
+                           @Value("${app.rate-limit.auth.period:1m}") Duration authPeriod,
+                           @Value("${app.rate-limit.create.capacity:30}") long createCapacity,
+                           @Value("${app.rate-limit.create.period:1m}") Duration createPeriod,
+                           @Value("${app.rate-limit.redirect.capacity:600}") long redirectCapacity,
+                           @Value("${app.rate-limit.redirect.period:1m}") Duration redirectPeriod,
+                           @Value("${app.rate-limit.analytics.capacity:60}") long analyticsCapacity,
+                           @Value("${app.rate-limit.analytics.period:1m}") Duration analyticsPeriod,
+                           @Value("${app.rate-limit.local.max-size:10000}") int localMaxSize) {
+        this.proxyManager = proxyManager;
+        this.circuitBreaker = circuitBreaker;
+        this.metrics = metrics;
+        addPolicy(RateLimitPolicy.AUTH, authCapacity, authPeriod);
+        addPolicy(RateLimitPolicy.CREATE, createCapacity, createPeriod);
+        addPolicy(RateLimitPolicy.REDIRECT, redirectCapacity, redirectPeriod);
+        addPolicy(RateLimitPolicy.ANALYTICS, analyticsCapacity, analyticsPeriod);
+
+        Duration longestPeriod = periods.values().stream().max(Duration::compareTo).orElse(Duration.ofMinutes(1));
+        this.localBuckets = new LocalTtlCache<>(localMaxSize, longestPeriod);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return HttpMethod.OPTIONS.matches(request.getMethod()) || RateLimitPolicy.resolve(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull FilterChain filterChain) throws ServletException, IOException {
+        RateLimitPolicy policy = RateLimitPolicy.resolve(request);
+        String policyName = policy.name().toLowerCase();
+        String key = CacheKeys.rateLimit(policyName, ClientIpResolver.resolve(request));
+
+        ConsumptionProbe probe = tryConsume(policy, key);
+        if(probe.isConsumed()) {
+            response.setHeader("X-RateLimit-Remaining", String.valueOf(probe.getRemainingTokens()));
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        metrics.incrementRateLimited(policyName);
+        long retryAfterSeconds = Math.max(1, (probe.getNanosToWaitForRefill() + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"error\":\"Rate limit exceeded, please retry later\"}");
+    }
+
+    private ConsumptionProbe tryConsume(RateLimitPolicy policy, String key) {
+        // Redirects are the hot path; a Redis round trip per redirect costs more than a per-instance limit
+        if(policy != RateLimitPolicy.REDIRECT) {
+            ConsumptionProbe probe = circuitBreaker.call("EVAL", key, () -> proxyManager.builder()
+                    .build(key, configurations.get(policy))
+                    .tryConsumeAndReturnRemaining(1));
+            if(probe != null) {
+                return probe;
+            }
+        }
+        return localBucket(policy, key).tryConsumeAndReturnRemaining(1);
+    }
+
+    // Re-put on every use, so a bucket expires one period after its last request, once it would be full again.
+    // A racing put may replace a fresh bucket, which at worst lets one extra request through
+    private Bucket localBucket(RateLimitPolicy policy, String key) {
+        Bucket bucket = localBuckets.get(key);
+        if(bucket == null) {
+            bucket = Bucket.builder()
+                    .addLimit(configurations.get(policy).getBandwidths()[0])
+                    .build();
+        }
+        localBuckets.put(key, bucket, periods.get(policy));
+        return bucket;
+    }
+
+    private void addPolicy(RateLimitPolicy policy, long capacity, Duration period) {
+        Bandwidth limit = Bandwidth.builder()
+                .capacity(capacity)
+                .refillGreedy(capacity, period)
+                .build();
+        configurations.put(policy, BucketConfiguration.builder().addLimit(limit).build());
+        periods.put(policy, period);
+    }
 }
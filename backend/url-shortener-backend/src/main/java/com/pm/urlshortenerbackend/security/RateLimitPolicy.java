@@ -0,0 +1,40 @@
+package com.pm.urlshortenerbackend.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpMethod;
+
+/**
+ * Endpoint classes that get their own rate limit. Each client IP has a separate bucket per class,
+ * so a burst of redirects cannot use up the allowance for logins and vice versa.
+ *
+ * Author: Sathwik Pillalamarri
+ * Date: 2/12/26
+ * Project: url-shortener-backend
+ */
+public enum RateLimitPolicy {
+    AUTH,
+    CREATE,
+    REDIRECT,
+    ANALYTICS;
+
+    /**
+     * Returns the policy covering the request, or null if the endpoint is not rate limited.
+     */
+    public static RateLimitPolicy resolve(HttpServletRequest request) {
+        if(RedirectRequestMatcher.INSTANCE.matches(request)) {
+            return REDIRECT;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if(path.startsWith("/auth/")) {
+            return AUTH;
+        }
+        // Exports walk the whole account, so they share the analytics allowance
+        if(path.startsWith("/api/links/") && (path.contains("/stats") || path.startsWith("/api/links/export"))) {
+            return ANALYTICS;
+        }
+        if(HttpMethod.POST.matches(request.getMethod()) && path.startsWith("/api/links")) {
+            return CREATE;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,34 @@
+package com.pm.urlshortenerbackend.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+
+import java.util.regex.Pattern;
+
+/**
+ * Matches public short-link redirects, both {@code GET /{shortCode}} and {@code GET /api/{shortCode}}.
+ * The pattern is compiled once; {@code String.matches} would recompile it on every request.
+ *
+ * Author: Sathwik Pillalamarri
+ * Date: 2/7/26
+ * Project: url-shortener-backend
+ */
+public final class RedirectRequestMatcher implements RequestMatcher {
+    public static final RedirectRequestMatcher INSTANCE = new RedirectRequestMatcher();
+
+    private static final Pattern REDIRECT_PATH = Pattern.compile("^/(?:api/)?[a-zA-Z0-9]{1,10}$");
+    // Same shape as a short code but mapped to the link listing
+    private static final String LINKS_PATH = "/api/links";
+
+    private RedirectRequestMatcher() {
+    }
+
+    @Override
+    public boolean matches(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        return path != null
+                && REDIRECT_PATH.matcher(path).matches()
+                && !LINKS_PATH.equals(path)
+                && "GET".equals(request.getMethod());
+    }
+}
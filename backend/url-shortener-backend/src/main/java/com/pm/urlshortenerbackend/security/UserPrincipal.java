@@ -9,34 +9,54 @@ import java.util.Collection;
 import java.util.Collections;
 
 /**
+ * Authenticated user. Principals loaded from the database wrap the full User entity; principals
+ * rebuilt from JWT claims carry only the id, email and roles, and getUser() returns null for them.
+ *
  * Author: Sathwik Pillalamarri
  * Date: 12/9/25
  * Project: url-shortener-backend
  */
 public class UserPrincipal implements UserDetails {
+    private final Long id;
+    private final String email;
+    private final Collection<? extends GrantedAuthority> authorities;
     private final User user;
 
     public UserPrincipal(User user) {
+        this.id = user.getId();
+        this.email = user.getEmail();
+        this.authorities = Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER"));
         this.user = user;
     }
 
+    public UserPrincipal(Long id, String email, Collection<? extends GrantedAuthority> authorities) {
+        this.id = id;
+        this.email = email;
+        this.authorities = authorities;
+        this.user = null;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
     public User getUser() {
         return user;
     }
 
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        return Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER"));
+        return authorities;
     }
 
     @Override
     public String getPassword() {
-        return user.getPasswordHash();
+        return user != null ? user.getPasswordHash() : null;
     }
 
     @Override
     public String getUsername() {
-        return user.getEmail();
+        return email;
     }
 
     @Override
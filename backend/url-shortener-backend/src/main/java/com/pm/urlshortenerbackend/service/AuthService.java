@@ -1,6 +1,7 @@
 package com.pm.urlshortenerbackend.service;
 
 import com.pm.urlshortenerbackend.dto.AuthResponse;
+import com.pm.urlshortenerbackend.dto.ChangePasswordRequest;
 import com.pm.urlshortenerbackend.dto.LoginRequest;
 import com.pm.urlshortenerbackend.dto.RegisterRequest;
 
@@ -12,7 +13,9 @@ import com.pm.urlshortenerbackend.dto.RegisterRequest;
 public interface AuthService {
     AuthResponse register(RegisterRequest request);
 
-    AuthResponse login(LoginRequest request);
+    AuthResponse login(LoginRequest request, String clientIp);
 
     boolean isEmailAvailable(String email);
+
+    AuthResponse changePassword(Long userId, ChangePasswordRequest request);
 }
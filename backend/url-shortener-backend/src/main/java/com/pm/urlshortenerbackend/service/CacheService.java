@@ -1,5 +1,6 @@
 package com.pm.urlshortenerbackend.service;
 
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -20,9 +21,17 @@ public interface CacheService {
 
     void putUrlMapping(String shortCode, Object urlMapping, long ttlSeconds);
 
+    void putUrlMappings(Map<String, ?> urlMappingsByShortCode, long ttlSeconds);
+
     boolean deleteUrlMapping(String shortCode);
 
     boolean existsUrlMapping(String shortCode);
 
+    <T> Optional<T> getStats(String shortCode, Class<T> type);
+
+    void putStats(String shortCode, Object stats, long ttlSeconds);
+
+    boolean deleteStats(String shortCode);
+
     void evictPattern(String pattern);
 }
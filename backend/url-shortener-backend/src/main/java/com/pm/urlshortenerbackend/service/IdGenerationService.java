@@ -1,5 +1,7 @@
 package com.pm.urlshortenerbackend.service;
 
+import java.util.List;
+
 /**
  * Author: sathwikpillalamarri
  * Date: 9/29/25
@@ -9,4 +11,5 @@ public interface IdGenerationService {
     String generateUniqueId(long value);
 
     String generateUniqueShortCode();
+    List<String> generateUniqueShortCodes(List<Long> ids);
 }
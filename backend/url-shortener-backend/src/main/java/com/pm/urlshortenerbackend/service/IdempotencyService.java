@@ -0,0 +1,83 @@
+package com.pm.urlshortenerbackend.service;
+
+import com.pm.urlshortenerbackend.dto.CreateUrlRequest;
+import com.pm.urlshortenerbackend.exception.IdempotencyKeyReusedException;
+import com.pm.urlshortenerbackend.resilience.RedisCircuitBreaker;
+import com.pm.urlshortenerbackend.util.CacheKeys;
+import com.pm.urlshortenerbackend.util.LocalTtlCache;
+import com.pm.urlshortenerbackend.util.UrlHash;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Remembers which link an Idempotency-Key on POST /api/links produced, per user, so a client
+ * retrying a create gets the same link back. Entries live in Redis with a local fallback. Two
+ * concurrent requests with the same key can both miss; they still end up on the same link
+ * through the unique (url_hash, owner_id) index, and the first to finish keeps the key.
+ *
+ * Author: Sathwik Pillalamarri
+ * Date: 2/21/26
+ * Project: url-shortener-backend
+ */
+@Service
+public class IdempotencyService {
+    public static final int MAX_KEY_LENGTH = 255;
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisCircuitBreaker circuitBreaker;
+    private final Duration ttl;
+    private final LocalTtlCache<String, String> localEntries;
+
+    public IdempotencyService(StringRedisTemplate redisTemplate,
+                              RedisCircuitBreaker circuitBreaker,
+                              @Value("${app.url.idempotency.ttl:24h}") Duration ttl,
+                              @Value("${app.url.idempotency.local.max-size:10000}") int localMaxSize) {
+        this.redisTemplate = redisTemplate;
+        this.circuitBreaker = circuitBreaker;
+        this.ttl = ttl;
+        this.localEntries = new LocalTtlCache<>(localMaxSize, ttl);
+    }
+
+    public static boolean isValidKey(String key) {
+        return key != null && !key.isBlank() && key.length() <= MAX_KEY_LENGTH;
+    }
+
+    /**
+     * Returns the short code created earlier under this key, or empty if the key is new.
+     * Throws IdempotencyKeyReusedException when the key was used for a different URL or expiry.
+     */
+    public Optional<String> findShortCode(Long userId, String key, CreateUrlRequest request) {
+        String redisKey = CacheKeys.idempotency(userId, key);
+        String entry = localEntries.get(redisKey);
+        if(entry == null) {
+            // Null while Redis is unavailable; the local entry still serves retries to this instance
+            entry = circuitBreaker.call("GET", redisKey, () -> redisTemplate.opsForValue().get(redisKey));
+        }
+        if(entry == null) {
+            return Optional.empty();
+        }
+        int separator = entry.lastIndexOf('|');
+        if(!entry.substring(0, separator).equals(fingerprint(request))) {
+            throw new IdempotencyKeyReusedException();
+        }
+        return Optional.of(entry.substring(separator + 1));
+    }
+
+    public void remember(Long userId, String key, CreateUrlRequest request, String shortCode) {
+        String redisKey = CacheKeys.idempotency(userId, key);
+        String entry = fingerprint(request) + "|" + shortCode;
+        localEntries.put(redisKey, entry);
+        // First writer wins, so a key never switches to another link once it has been answered
+        circuitBreaker.call("SETNX", redisKey, () -> redisTemplate.opsForValue().setIfAbsent(redisKey, entry, ttl));
+    }
+
+    // Same key with a different URL or expiry is a client bug, not a retry
+    private static String fingerprint(CreateUrlRequest request) {
+        String url = request.getOriginalUrl() != null ? Long.toHexString(UrlHash.of(request.getOriginalUrl())) : "";
+        return url + ":" + request.getExpiresAt();
+    }
+}
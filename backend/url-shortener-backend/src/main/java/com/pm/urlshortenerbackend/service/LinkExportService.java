@@ -0,0 +1,170 @@
+package com.pm.urlshortenerbackend.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pm.urlshortenerbackend.exception.InvalidExportException;
+import com.pm.urlshortenerbackend.repository.LinkExportRepository;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.function.Consumer;
+
+/**
+ * Writes a user's links or click events to an output stream as CSV or NDJSON. Rows go from
+ * the keyset reader straight to the stream one at a time, so an export of any size needs the
+ * same memory as a single row and never builds entities or response lists.
+ *
+ * Author: Sathwik Pillalamarri
+ * Date: 2/16/26
+ * Project: url-shortener-backend
+ */
+@Service
+public class LinkExportService {
+    public enum Format {
+        CSV("text/csv", "csv"),
+        NDJSON("application/x-ndjson", "ndjson");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public static Format from(String value) {
+            for(Format format : values()) {
+                if(format.name().equalsIgnoreCase(value)) {
+                    return format;
+                }
+            }
+            throw new InvalidExportException("Unsupported export format: " + value);
+        }
+    }
+
+    // Field names in the order of the columns selected by LinkExportRepository
+    private static final String[] LINK_FIELDS = {
+            "id", "shortCode", "originalUrl", "createdAt", "expiresAt", "clickCount", "isActive"
+    };
+    private static final String[] CLICK_FIELDS = {
+            "id", "urlMappingId", "shortCode", "clickedAt", "referrer", "userAgent", "deviceType",
+            "browser", "operatingSystem", "country", "city"
+    };
+
+    private final LinkExportRepository exportRepository;
+    private final ObjectMapper objectMapper;
+
+    public LinkExportService(LinkExportRepository exportRepository, ObjectMapper objectMapper) {
+        this.exportRepository = exportRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    public void exportLinks(Long ownerId, Format format, OutputStream out) throws IOException {
+        export(LINK_FIELDS, handler -> exportRepository.forEachLink(ownerId, handler), format, out);
+    }
+
+    public void exportClicks(Long ownerId, Format format, OutputStream out) throws IOException {
+        export(CLICK_FIELDS, handler -> exportRepository.forEachClick(ownerId, handler), format, out);
+    }
+
+    private void export(String[] fields, Consumer<RowCallbackHandler> source, Format format, OutputStream out) throws IOException {
+        try {
+            if(format == Format.CSV) {
+                Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+                writer.write(String.join(",", fields));
+                writer.write('\n');
+                source.accept(rs -> writeCsvRow(writer, rs, fields.length));
+                writer.flush();
+            } else {
+                JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+                // The generator must not close the servlet stream; the container does that
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                source.accept(rs -> writeJsonRow(generator, rs, fields));
+                generator.flush();
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static void writeCsvRow(Writer writer, ResultSet rs, int columns) throws SQLException {
+        try {
+            for(int i = 1; i <= columns; i++) {
+                if(i > 1) {
+                    writer.write(',');
+                }
+                Object value = value(rs, i);
+                if(value instanceof String text) {
+                    writer.write(csvEscape(neutralizeFormula(text)));
+                } else if(value != null) {
+                    writer.write(csvEscape(value.toString()));
+                }
+            }
+            writer.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeJsonRow(JsonGenerator generator, ResultSet rs, String[] fields) throws SQLException {
+        try {
+            generator.writeStartObject();
+            for(int i = 1; i <= fields.length; i++) {
+                Object value = value(rs, i);
+                generator.writeFieldName(fields[i - 1]);
+                if(value == null) {
+                    generator.writeNull();
+                } else if(value instanceof Number number) {
+                    generator.writeNumber(number.longValue());
+                } else if(value instanceof Boolean bool) {
+                    generator.writeBoolean(bool);
+                } else {
+                    generator.writeString(value.toString());
+                }
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Timestamps are written as ISO local date-times to match the JSON API
+    private static Object value(ResultSet rs, int column) throws SQLException {
+        Object value = rs.getObject(column);
+        return value instanceof Timestamp timestamp ? timestamp.toLocalDateTime() : value;
+    }
+
+    // Spreadsheets run cells starting with these as formulas; referrers and URLs are user supplied
+    private static String neutralizeFormula(String value) {
+        if(!value.isEmpty() && "=+-@\t\r".indexOf(value.charAt(0)) >= 0) {
+            return "'" + value;
+        }
+        return value;
+    }
+
+    private static String csvEscape(String value) {
+        if(value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
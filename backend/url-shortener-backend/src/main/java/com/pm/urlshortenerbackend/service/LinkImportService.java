@@ -0,0 +1,369 @@
+package com.pm.urlshortenerbackend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pm.urlshortenerbackend.dto.BatchCreateUrlResponse;
+import com.pm.urlshortenerbackend.dto.BatchCreateUrlResult;
+import com.pm.urlshortenerbackend.dto.CreateUrlRequest;
+import com.pm.urlshortenerbackend.dto.ImportJobResponse;
+import com.pm.urlshortenerbackend.exception.InvalidImportException;
+import com.pm.urlshortenerbackend.exception.QuotaExceededException;
+import com.pm.urlshortenerbackend.exception.ServiceOverloadedException;
+import com.pm.urlshortenerbackend.model.User;
+import com.pm.urlshortenerbackend.resilience.RedisCircuitBreaker;
+import com.pm.urlshortenerbackend.util.CacheKeys;
+import com.pm.urlshortenerbackend.util.LocalTtlCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Imports links from CSV or NDJSON files of any length. The upload is spooled to a temp file
+ * so the request thread is released straight away, then a bounded import pool reads it line
+ * by line and writes the links in fixed-size chunks, each in its own transaction. Memory use
+ * depends on the chunk size only, never on the file size. Progress is published as a job
+ * snapshot after every chunk, kept locally and mirrored to Redis so any instance can answer.
+ *
+ * Chunks are never larger than the owner's per-minute quota. When a window runs out the job
+ * waits for it to reopen, as long as that is within app.import.quota-wait, so a large file is
+ * paced through the quota instead of failing on the first full minute.
+ *
+ * Author: Sathwik Pillalamarri
+ * Date: 2/15/26
+ * Project: url-shortener-backend
+ */
+@Service
+public class LinkImportService {
+    private static final Logger log = LoggerFactory.getLogger(LinkImportService.class);
+    private static final int MAX_ERROR_SAMPLES = 20;
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    private final UrlService urlService;
+    private final QuotaService quotaService;
+    private final StringRedisTemplate redisTemplate;
+    private final RedisCircuitBreaker circuitBreaker;
+    private final ObjectMapper objectMapper;
+    private final Executor executor;
+    private final int chunkSize;
+    private final long maxBytes;
+    private final Duration jobTtl;
+    private final long maxQuotaWaitSeconds;
+    private final LocalTtlCache<String, ImportJobResponse> localJobs;
+
+    public LinkImportService(UrlService urlService,
+                             QuotaService quotaService,
+                             StringRedisTemplate redisTemplate,
+                             RedisCircuitBreaker circuitBreaker,
+                             ObjectMapper objectMapper,
+                             @Qualifier("linkImportExecutor") Executor executor,
+                             @Value("${app.import.chunk-size:1000}") int chunkSize,
+                             @Value("${app.import.max-size:512MB}") DataSize maxSize,
+                             @Value("${app.import.job-ttl:24h}") Duration jobTtl,
+                             @Value("${app.import.quota-wait:1m}") Duration maxQuotaWait,
+                             @Value("${app.import.local.max-size:1000}") int localMaxSize) {
+        this.urlService = urlService;
+        this.quotaService = quotaService;
+        this.redisTemplate = redisTemplate;
+        this.circuitBreaker = circuitBreaker;
+        this.objectMapper = objectMapper;
+        this.executor = executor;
+        this.chunkSize = Math.max(1, chunkSize);
+        this.maxBytes = maxSize.toBytes();
+        this.jobTtl = jobTtl;
+        this.maxQuotaWaitSeconds = maxQuotaWait.toSeconds();
+        this.localJobs = new LocalTtlCache<>(localMaxSize, jobTtl);
+    }
+
+    /**
+     * Spools the upload to disk and queues the import. Throws InvalidImportException when the
+     * upload is larger than the configured limit and ServiceOverloadedException when the import
+     * pool is saturated.
+     */
+    public ImportJobResponse startImport(InputStream body, ImportJobResponse.Format format, User owner) {
+        String jobId = UUID.randomUUID().toString();
+        Path file = spool(body);
+
+        ImportJob job = new ImportJob(jobId, owner.getId(), format);
+        publish(job.snapshot(ImportJobResponse.Status.QUEUED, null));
+        try {
+            executor.execute(() -> run(job, file, owner));
+        } catch (RejectedExecutionException e) {
+            deleteQuietly(file);
+            publish(job.snapshot(ImportJobResponse.Status.FAILED, "Import capacity exhausted"));
+            log.warn("Import queue is full, rejecting import for user {}", owner.getId());
+            throw new ServiceOverloadedException("Import capacity exhausted, try again later");
+        }
+        log.info("Queued {} import {} for user {}", format, jobId, owner.getId());
+        return localJobs.get(jobId);
+    }
+
+    // Returns null for unknown or expired jobs and for jobs that belong to another user
+    public ImportJobResponse getJob(String jobId, Long ownerId) {
+        ImportJobResponse job = localJobs.get(jobId);
+        if(job == null) {
+            String json = circuitBreaker.call("GET", CacheKeys.importJob(jobId),
+                    () -> redisTemplate.opsForValue().get(CacheKeys.importJob(jobId)));
+            if(json != null) {
+                try {
+                    job = objectMapper.readValue(json, ImportJobResponse.class);
+                } catch (JsonProcessingException e) {
+                    log.warn("Unreadable snapshot for import {}: {}", jobId, e.getMessage());
+                }
+            }
+        }
+        return job != null && job.getOwnerId().equals(ownerId) ? job : null;
+    }
+
+    private void run(ImportJob job, Path file, User owner) {
+        publish(job.snapshot(ImportJobResponse.Status.RUNNING, null));
+        // A chunk larger than the per-minute quota could never be reserved
+        int jobChunkSize = (int) Math.max(1, Math.min(chunkSize, quotaService.getPlan(owner.getId()).getPerMinute()));
+        List<CreateUrlRequest> chunk = new ArrayList<>(jobChunkSize);
+        List<Long> lineNumbers = new ArrayList<>(jobChunkSize);
+        try(BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            long lineNumber = 0;
+            while((line = reader.readLine()) != null) {
+                lineNumber++;
+                job.linesRead = lineNumber;
+                if(line.isBlank()) {
+                    continue;
+                }
+                CreateUrlRequest request;
+                try {
+                    request = job.format == ImportJobResponse.Format.CSV ? parseCsv(line, lineNumber) : parseNdjson(line);
+                } catch (InvalidImportException e) {
+                    job.recordFailure(lineNumber, e.getMessage());
+                    continue;
+                }
+                if(request == null) {
+                    continue;
+                }
+                chunk.add(request);
+                lineNumbers.add(lineNumber);
+                if(chunk.size() == jobChunkSize) {
+                    writeChunk(job, chunk, lineNumbers, owner);
+                }
+            }
+            if(!chunk.isEmpty()) {
+                writeChunk(job, chunk, lineNumbers, owner);
+            }
+            publish(job.snapshot(ImportJobResponse.Status.COMPLETED, null));
+            log.info("Import {} completed: {} created, {} existing, {} failed",
+                    job.jobId, job.created, job.existing, job.failed);
+        } catch (QuotaExceededException e) {
+            publish(job.snapshot(ImportJobResponse.Status.FAILED, e.getMessage()));
+            log.info("Import {} stopped at line {}: {}", job.jobId, job.linesRead, e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            publish(job.snapshot(ImportJobResponse.Status.FAILED, "Import interrupted at line " + job.linesRead));
+            log.warn("Import {} interrupted at line {}", job.jobId, job.linesRead);
+        } catch (Exception e) {
+            publish(job.snapshot(ImportJobResponse.Status.FAILED, "Import failed at line " + job.linesRead));
+            log.error("Import {} failed at line {}", job.jobId, job.linesRead, e);
+        } finally {
+            deleteQuietly(file);
+        }
+    }
+
+    // Quota is reserved for the whole chunk up front and whatever did not turn into a new link is handed back
+    private void writeChunk(ImportJob job, List<CreateUrlRequest> chunk, List<Long> lineNumbers, User owner) throws InterruptedException {
+        QuotaService.Reservation reservation = acquireQuota(job, owner, chunk.size());
+        int created = 0;
+        try {
+            BatchCreateUrlResponse response = urlService.createShortUrls(chunk, owner, false);
+            created = response.getCreated();
+            job.created += created;
+            job.existing += response.getExisting();
+            for(BatchCreateUrlResult result : response.getResults()) {
+                if(result.getStatus() == BatchCreateUrlResult.Status.FAILED) {
+                    job.recordFailure(lineNumbers.get(result.getIndex()), result.getError());
+                }
+            }
+        } finally {
+            if(created < chunk.size()) {
+                quotaService.release(reservation, chunk.size() - created);
+            }
+            chunk.clear();
+            lineNumbers.clear();
+        }
+        publish(job.snapshot(ImportJobResponse.Status.RUNNING, null));
+    }
+
+    // Waits out a full window when it reopens soon enough; a longer wait or a used-up total ends the job
+    private QuotaService.Reservation acquireQuota(ImportJob job, User owner, int count) throws InterruptedException {
+        while(true) {
+            try {
+                return quotaService.acquire(owner.getId(), count);
+            } catch (QuotaExceededException e) {
+                if(e.getRetryAfterSeconds() <= 0 || e.getRetryAfterSeconds() > maxQuotaWaitSeconds) {
+                    throw e;
+                }
+                log.debug("Import {} waiting {}s for quota", job.jobId, e.getRetryAfterSeconds());
+                Thread.sleep(Duration.ofSeconds(e.getRetryAfterSeconds()).toMillis());
+            }
+        }
+    }
+
+    // url[,expiresAt] with optional double quotes; a leading header row is skipped
+    private CreateUrlRequest parseCsv(String line, long lineNumber) {
+        List<String> fields = splitCsv(line);
+        String url = fields.get(0).trim();
+        if(lineNumber == 1 && (url.equalsIgnoreCase("url") || url.equalsIgnoreCase("originalUrl"))) {
+            return null;
+        }
+        if(fields.size() > 2) {
+            throw new InvalidImportException("Expected url[,expiresAt] but found " + fields.size() + " columns");
+        }
+        CreateUrlRequest request = new CreateUrlRequest();
+        request.setOriginalUrl(url);
+        if(fields.size() == 2 && !fields.get(1).isBlank()) {
+            try {
+                request.setExpiresAt(LocalDateTime.parse(fields.get(1).trim()));
+            } catch (DateTimeParseException e) {
+                throw new InvalidImportException("Invalid expiresAt: " + fields.get(1).trim());
+            }
+        }
+        return request;
+    }
+
+    private CreateUrlRequest parseNdjson(String line) {
+        try {
+            return objectMapper.readValue(line, CreateUrlRequest.class);
+        } catch (JsonProcessingException e) {
+            throw new InvalidImportException("Malformed JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    private static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>(2);
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for(int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if(quoted) {
+                if(c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if(c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if(c == '"') {
+                quoted = true;
+            } else if(c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if(quoted) {
+            throw new InvalidImportException("Unterminated quoted field");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private Path spool(InputStream body) {
+        Path file;
+        try {
+            file = Files.createTempFile("link-import-", ".tmp");
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not create import spool file", e);
+        }
+        try(OutputStream out = Files.newOutputStream(file)) {
+            byte[] buffer = new byte[COPY_BUFFER_SIZE];
+            long total = 0;
+            int read;
+            while((read = body.read(buffer)) != -1) {
+                total += read;
+                if(total > maxBytes) {
+                    throw new InvalidImportException("Import exceeds the maximum size of " + maxBytes + " bytes");
+                }
+                out.write(buffer, 0, read);
+            }
+            return file;
+        } catch (IOException e) {
+            deleteQuietly(file);
+            throw new UncheckedIOException("Could not read import upload", e);
+        } catch (RuntimeException e) {
+            deleteQuietly(file);
+            throw e;
+        }
+    }
+
+    private void publish(ImportJobResponse snapshot) {
+        localJobs.put(snapshot.getJobId(), snapshot);
+        try {
+            String json = objectMapper.writeValueAsString(snapshot);
+            circuitBreaker.call("SET", CacheKeys.importJob(snapshot.getJobId()), () -> {
+                redisTemplate.opsForValue().set(CacheKeys.importJob(snapshot.getJobId()), json, jobTtl);
+                return json;
+            });
+        } catch (JsonProcessingException e) {
+            log.warn("Could not serialize snapshot for import {}: {}", snapshot.getJobId(), e.getMessage());
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete import spool file {}: {}", file, e.getMessage());
+        }
+    }
+
+    // Mutable progress owned by the single import thread; readers only ever see published snapshots
+    private static final class ImportJob {
+        private final String jobId;
+        private final Long ownerId;
+        private final ImportJobResponse.Format format;
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private final List<String> errors = new ArrayList<>();
+        private long linesRead;
+        private long created;
+        private long existing;
+        private long failed;
+
+        private ImportJob(String jobId, Long ownerId, ImportJobResponse.Format format) {
+            this.jobId = jobId;
+            this.ownerId = ownerId;
+            this.format = format;
+        }
+
+        void recordFailure(long lineNumber, String error) {
+            failed++;
+            if(errors.size() < MAX_ERROR_SAMPLES) {
+                errors.add("line " + lineNumber + ": " + error);
+            }
+        }
+
+        ImportJobResponse snapshot(ImportJobResponse.Status status, String error) {
+            return new ImportJobResponse(jobId, ownerId, format, status, linesRead, created, existing, failed,
+                    List.copyOf(errors), error, startedAt);
+        }
+    }
+}
@@ -1,8 +1,220 @@
 package com.pm.urlshortenerbackend.service;
 
+import com.pm.urlshortenerbackend.exception.TooManyLoginAttemptsException;
+import com.pm.urlshortenerbackend.health.UrlShortenerMetrics;
+import com.pm.urlshortenerbackend.resilience.RedisCircuitBreaker;
+import com.pm.urlshortenerbackend.util.CacheKeys;
+import com.pm.urlshortenerbackend.util.LocalTtlCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
 /**
+ * Tracks failed logins per account and per client IP in sliding windows so that credential
+ * stuffing is cut off before it reaches the user lookup and BCrypt. Each window is a Redis
+ * sorted set of failure timestamps shared by all instances; failures are mirrored into a
+ * bounded local window that takes over while Redis is unavailable.
+ *
+ * A client IP over its limit is blocked for the window. An account over its limit is never
+ * locked, since anyone who knows the email could keep the owner out: each further attempt
+ * waits for a delay that doubles with every failure, and clients that have logged in to the
+ * account before skip the delay altogether.
+ *
  * Author: Sathwik Pillalamarri
  * Date: 1/14/26
  * Project: url-shortener-backend
- */public class LoginAttemptService {
+ */
+@Service
+public class LoginAttemptService {
+    // The account delay stops doubling after this many failures past the limit
+    private static final int MAX_DOUBLINGS = 16;
+
+    // Drop failures that left the window, add this one and return the new count in a single round trip
+    private static final RedisScript<Long> RECORD_FAILURE = new DefaultRedisScript<>(
+            "redis.call('ZREMRANGEBYSCORE', KEYS[1], '-inf', tonumber(ARGV[1]) - tonumber(ARGV[2])) " +
+            "redis.call('ZADD', KEYS[1], ARGV[1], ARGV[3]) " +
+            "redis.call('PEXPIRE', KEYS[1], ARGV[2]) " +
+            "return redis.call('ZCARD', KEYS[1])", Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisCircuitBreaker circuitBreaker;
+    private final UrlShortenerMetrics metrics;
+    private final long windowMillis;
+    private final int maxAccountFailures;
+    private final int maxIpFailures;
+    private final long accountMaxDelayMillis;
+    private final Duration knownClientTtl;
+    private final LocalTtlCache<String, FailureWindow> localWindows;
+    private final LocalTtlCache<String, Boolean> localKnownClients;
+
+    public LoginAttemptService(StringRedisTemplate redisTemplate,
+                               RedisCircuitBreaker circuitBreaker,
+                               UrlShortenerMetrics metrics,
+                               @Value("${app.security.login-attempts.window:15m}") Duration window,
+                               @Value("${app.security.login-attempts.account.max-failures:5}") int maxAccountFailures,
+                               @Value("${app.security.login-attempts.ip.max-failures:20}") int maxIpFailures,
+                               @Value("${app.security.login-attempts.account.max-delay:1m}") Duration accountMaxDelay,
+                               @Value("${app.security.login-attempts.known-client-ttl:30d}") Duration knownClientTtl,
+                               @Value("${app.security.login-attempts.local.max-size:10000}") int localMaxSize) {
+        this.redisTemplate = redisTemplate;
+        this.circuitBreaker = circuitBreaker;
+        this.metrics = metrics;
+        this.windowMillis = window.toMillis();
+        this.maxAccountFailures = maxAccountFailures;
+        this.maxIpFailures = maxIpFailures;
+        this.accountMaxDelayMillis = accountMaxDelay.toMillis();
+        this.knownClientTtl = knownClientTtl;
+        this.localWindows = new LocalTtlCache<>(localMaxSize, window);
+        this.localKnownClients = new LocalTtlCache<>(localMaxSize, knownClientTtl);
+    }
+
+    /**
+     * Throws TooManyLoginAttemptsException if the client IP has reached its failure limit within
+     * the window, or if the account is over its limit and its current delay has not passed yet.
+     * Called before any user lookup or password check. The messages name neither the account
+     * nor the address, since they end up in the logs.
+     */
+    public void checkAllowed(String email, String clientIp) {
+        if(clientIp != null && failureCount(CacheKeys.loginFailuresByIp(clientIp)) >= maxIpFailures) {
+            metrics.incrementLoginBlockedByIp();
+            throw new TooManyLoginAttemptsException("Too many failed logins from one client", windowMillis / 1000);
+        }
+        String key = accountKey(email);
+        long failures = failureCount(key);
+        if(failures < maxAccountFailures || (clientIp != null && isKnownClient(email, clientIp))) {
+            return;
+        }
+        long waitMillis = lastFailure(key) + accountDelayMillis(failures) - System.currentTimeMillis();
+        if(waitMillis > 0) {
+            metrics.incrementLoginBlockedByAccount();
+            throw new TooManyLoginAttemptsException("Too many failed logins for one account", (waitMillis + 999) / 1000);
+        }
+    }
+
+    public void recordFailure(String email, String clientIp) {
+        recordFailure(accountKey(email), maxAccountFailures + MAX_DOUBLINGS);
+        if(clientIp != null) {
+            recordFailure(CacheKeys.loginFailuresByIp(clientIp), maxIpFailures);
+        }
+    }
+
+    /**
+     * A successful login clears the account window and remembers the client, so later failures
+     * from other addresses do not slow the owner down. The IP window is left to expire on its own.
+     */
+    public void recordSuccess(String email, String clientIp) {
+        String key = accountKey(email);
+        localWindows.invalidate(key);
+        circuitBreaker.call("DELETE", key, () -> redisTemplate.delete(key));
+        if(clientIp == null) {
+            return;
+        }
+        String knownKey = CacheKeys.loginKnownClients(normalize(email));
+        localKnownClients.put(knownKey + "|" + clientIp, Boolean.TRUE);
+        circuitBreaker.call("SADD", knownKey, () -> {
+            redisTemplate.opsForSet().add(knownKey, clientIp);
+            return redisTemplate.expire(knownKey, knownClientTtl);
+        });
+    }
+
+    // One second at the limit, doubling with each further failure up to the configured maximum
+    private long accountDelayMillis(long failures) {
+        int doublings = (int) Math.min(failures - maxAccountFailures, MAX_DOUBLINGS);
+        return Math.min(accountMaxDelayMillis, 1000L << doublings);
+    }
+
+    private boolean isKnownClient(String email, String clientIp) {
+        String knownKey = CacheKeys.loginKnownClients(normalize(email));
+        if(localKnownClients.get(knownKey + "|" + clientIp) != null) {
+            return true;
+        }
+        return Boolean.TRUE.equals(circuitBreaker.call("SISMEMBER", knownKey,
+                () -> redisTemplate.opsForSet().isMember(knownKey, clientIp)));
+    }
+
+    private long failureCount(String key) {
+        long now = System.currentTimeMillis();
+        Long count = circuitBreaker.call("ZCOUNT", key,
+                () -> redisTemplate.opsForZSet().count(key, now - windowMillis, Double.POSITIVE_INFINITY));
+        if(count != null) {
+            return count;
+        }
+        FailureWindow local = localWindows.get(key);
+        return local != null ? local.count(now, windowMillis) : 0;
+    }
+
+    private long lastFailure(String key) {
+        Set<String> last = circuitBreaker.call("ZREVRANGE", key, () -> redisTemplate.opsForZSet().reverseRange(key, 0, 0));
+        if(last != null && !last.isEmpty()) {
+            // Members are "timestamp:nonce"
+            String member = last.iterator().next();
+            return Long.parseLong(member.substring(0, member.indexOf(':')));
+        }
+        FailureWindow local = localWindows.get(key);
+        return local != null ? local.last() : 0;
+    }
+
+    private void recordFailure(String key, int limit) {
+        long now = System.currentTimeMillis();
+        String member = now + ":" + ThreadLocalRandom.current().nextInt(1_000_000);
+        circuitBreaker.call("RECORD", key, () -> redisTemplate.execute(RECORD_FAILURE, List.of(key),
+                String.valueOf(now), String.valueOf(windowMillis), member));
+
+        // Mirrored locally so the fallback already knows about recent failures when Redis drops out
+        FailureWindow local = localWindows.get(key);
+        if(local == null) {
+            local = new FailureWindow(limit);
+        }
+        local.add(now, windowMillis);
+        localWindows.put(key, local);
+    }
+
+    private static String accountKey(String email) {
+        return CacheKeys.loginFailuresByAccount(normalize(email));
+    }
+
+    private static String normalize(String email) {
+        return email.trim().toLowerCase();
+    }
+
+    // Keeps at most as many timestamps as the limit, which is all the blocking and delay checks need
+    private static final class FailureWindow {
+        private final ArrayDeque<Long> timestamps = new ArrayDeque<>();
+        private final int capacity;
+
+        private FailureWindow(int capacity) {
+            this.capacity = Math.max(1, capacity);
+        }
+
+        synchronized void add(long now, long windowMillis) {
+            evictExpired(now, windowMillis);
+            if(timestamps.size() == capacity) {
+                timestamps.pollFirst();
+            }
+            timestamps.addLast(now);
+        }
+
+        synchronized int count(long now, long windowMillis) {
+            evictExpired(now, windowMillis);
+            return timestamps.size();
+        }
+
+        synchronized long last() {
+            return timestamps.isEmpty() ? 0 : timestamps.peekLast();
+        }
+
+        private void evictExpired(long now, long windowMillis) {
+            while(!timestamps.isEmpty() && timestamps.peekFirst() <= now - windowMillis) {
+                timestamps.pollFirst();
+            }
+        }
+    }
 }
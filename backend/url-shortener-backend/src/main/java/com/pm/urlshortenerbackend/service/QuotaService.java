@@ -0,0 +1,276 @@
+package com.pm.urlshortenerbackend.service;
+
+import com.pm.urlshortenerbackend.config.QuotaPlanProperties;
+import com.pm.urlshortenerbackend.dto.QuotaStatusResponse;
+import com.pm.urlshortenerbackend.exception.QuotaExceededException;
+import com.pm.urlshortenerbackend.health.UrlShortenerMetrics;
+import com.pm.urlshortenerbackend.model.QuotaPlan;
+import com.pm.urlshortenerbackend.repository.UrlMappingRepository;
+import com.pm.urlshortenerbackend.repository.UserRepository;
+import com.pm.urlshortenerbackend.resilience.RedisCircuitBreaker;
+import com.pm.urlshortenerbackend.util.CacheKeys;
+import com.pm.urlshortenerbackend.util.LocalTtlCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Enforces the per-user link creation quotas from QuotaPlan. Usage is kept in Redis counters:
+ * fixed per-minute and per-UTC-day windows that expire on their own, plus a lifetime total seeded
+ * from the database on first use. A single script checks and increments all three atomically, so a
+ * burst from one account is cut off without any row locks. While Redis is unavailable the window
+ * counters fall back to this instance and the total is read from the database.
+ *
+ * The plan comes from app.quota.plans when the user is listed there, otherwise from the users table.
+ *
+ * Author: Sathwik Pillalamarri
+ * Date: 2/13/26
+ * Project: url-shortener-backend
+ */
+@Service
+public class QuotaService {
+    private static final Logger log = LoggerFactory.getLogger(QuotaService.class);
+
+    private static final long MINUTE_MILLIS = Duration.ofMinutes(1).toMillis();
+    private static final long DAY_MILLIS = Duration.ofDays(1).toMillis();
+
+    private static final int ALLOWED = 0;
+    private static final int MINUTE_EXCEEDED = 1;
+    private static final int DAY_EXCEEDED = 2;
+    private static final int TOTAL_EXCEEDED = 3;
+    private static final int TOTAL_MISSING = -1;
+
+    // KEYS: minute, day, total. ARGV: count, minute limit, day limit, total limit, minute ttl, day ttl.
+    // Returns {status, minute used, day used, total used}; nothing is incremented unless all limits allow it
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> ACQUIRE = new DefaultRedisScript<>(
+            "local total = redis.call('GET', KEYS[3]) " +
+            "if not total then return {-1, 0, 0, 0} end " +
+            "local n = tonumber(ARGV[1]) " +
+            "local m = tonumber(redis.call('GET', KEYS[1]) or '0') " +
+            "local d = tonumber(redis.call('GET', KEYS[2]) or '0') " +
+            "total = tonumber(total) " +
+            "if m + n > tonumber(ARGV[2]) then return {1, m, d, total} end " +
+            "if d + n > tonumber(ARGV[3]) then return {2, m, d, total} end " +
+            "if total + n > tonumber(ARGV[4]) then return {3, m, d, total} end " +
+            "m = redis.call('INCRBY', KEYS[1], n) " +
+            "redis.call('PEXPIRE', KEYS[1], ARGV[5]) " +
+            "d = redis.call('INCRBY', KEYS[2], n) " +
+            "redis.call('PEXPIRE', KEYS[2], ARGV[6]) " +
+            "total = redis.call('INCRBY', KEYS[3], n) " +
+            "return {0, m, d, total}", List.class);
+
+    // Only touches counters that still exist, so a window that rolled over is not recreated without a TTL
+    private static final RedisScript<Long> RELEASE = new DefaultRedisScript<>(
+            "for _, key in ipairs(KEYS) do " +
+            "if redis.call('EXISTS', key) == 1 then redis.call('DECRBY', key, ARGV[1]) end " +
+            "end " +
+            "return 1", Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisCircuitBreaker circuitBreaker;
+    private final UserRepository userRepository;
+    private final UrlMappingRepository urlMappingRepository;
+    private final UrlShortenerMetrics metrics;
+    private final Map<Long, QuotaPlan> assignedPlans;
+    private final LocalTtlCache<Long, QuotaPlan> plans;
+    private final LocalTtlCache<String, AtomicLong> localWindows;
+
+    public QuotaService(StringRedisTemplate redisTemplate,
+                        RedisCircuitBreaker circuitBreaker,
+                        UserRepository userRepository,
+                        UrlMappingRepository urlMappingRepository,
+                        UrlShortenerMetrics metrics,
+                        QuotaPlanProperties planProperties,
+                        @Value("${app.quota.plan-cache.ttl:5m}") Duration planCacheTtl,
+                        @Value("${app.quota.local.max-size:10000}") int localMaxSize) {
+        this.redisTemplate = redisTemplate;
+        this.circuitBreaker = circuitBreaker;
+        this.userRepository = userRepository;
+        this.urlMappingRepository = urlMappingRepository;
+        this.metrics = metrics;
+        this.assignedPlans = Map.copyOf(planProperties.getPlans());
+        this.plans = new LocalTtlCache<>(localMaxSize, planCacheTtl);
+        this.localWindows = new LocalTtlCache<>(localMaxSize, Duration.ofDays(1));
+    }
+
+    /**
+     * Quota taken by one acquire call. Releasing through it returns the quota to the windows it
+     * was counted in, even once the clock has moved on to the next minute or day.
+     */
+    public record Reservation(Long userId, long acquiredAt) {
+    }
+
+    /**
+     * Reserves quota for count new links or throws QuotaExceededException without using any of it.
+     * A count larger than the plan's per-minute or per-day limit can never be granted and is
+     * rejected without a Retry-After.
+     */
+    public Reservation acquire(Long userId, int count) {
+        QuotaPlan plan = getPlan(userId);
+        if(count > plan.getPerMinute()) {
+            rejectOversized(userId, "minute", plan.getPerMinute());
+        }
+        if(count > plan.getPerDay()) {
+            rejectOversized(userId, "day", plan.getPerDay());
+        }
+        long now = System.currentTimeMillis();
+        String minuteKey = minuteKey(userId, now);
+        String dayKey = dayKey(userId, now);
+        String totalKey = CacheKeys.quota(userId, "total");
+
+        List<?> result = circuitBreaker.call("ACQUIRE", totalKey, () -> runAcquire(minuteKey, dayKey, totalKey, count, plan, now));
+        if(result != null && toInt(result.get(0)) == TOTAL_MISSING) {
+            seedTotal(userId, totalKey);
+            result = circuitBreaker.call("ACQUIRE", totalKey, () -> runAcquire(minuteKey, dayKey, totalKey, count, plan, now));
+        }
+
+        int status = result != null ? toInt(result.get(0)) : acquireLocally(userId, minuteKey, dayKey, count, plan, now);
+        switch(status) {
+            case ALLOWED, TOTAL_MISSING -> { }
+            case MINUTE_EXCEEDED -> reject(userId, "minute", plan.getPerMinute(), untilNextWindow(now, MINUTE_MILLIS));
+            case DAY_EXCEEDED -> reject(userId, "day", plan.getPerDay(), untilNextWindow(now, DAY_MILLIS));
+            default -> reject(userId, "total", plan.getTotal(), 0);
+        }
+        return new Reservation(userId, now);
+    }
+
+    // Gives back count of a reservation for links that were not created after all
+    public void release(Reservation reservation, int count) {
+        Long userId = reservation.userId();
+        String minuteKey = minuteKey(userId, reservation.acquiredAt());
+        String dayKey = dayKey(userId, reservation.acquiredAt());
+        String totalKey = CacheKeys.quota(userId, "total");
+        circuitBreaker.call("RELEASE", totalKey,
+                () -> redisTemplate.execute(RELEASE, List.of(minuteKey, dayKey, totalKey), String.valueOf(count)));
+        AtomicLong minute = localWindows.get(minuteKey);
+        if(minute != null) {
+            minute.addAndGet(-count);
+        }
+        AtomicLong day = localWindows.get(dayKey);
+        if(day != null) {
+            day.addAndGet(-count);
+        }
+    }
+
+    public QuotaStatusResponse getStatus(Long userId) {
+        QuotaPlan plan = getPlan(userId);
+        long now = System.currentTimeMillis();
+        String minuteKey = minuteKey(userId, now);
+        String dayKey = dayKey(userId, now);
+        String totalKey = CacheKeys.quota(userId, "total");
+
+        List<String> values = circuitBreaker.call("MGET", totalKey, () -> redisTemplate.opsForValue().multiGet(List.of(minuteKey, dayKey, totalKey)));
+        if(values == null) {
+            return new QuotaStatusResponse(plan, localCount(minuteKey), localCount(dayKey), countLinks(userId));
+        }
+        long total = values.get(2) != null ? Long.parseLong(values.get(2)) : countLinks(userId);
+        return new QuotaStatusResponse(plan, parse(values.get(0)), parse(values.get(1)), total);
+    }
+
+    // Plans change rarely, so a short-lived local copy saves a query on every create
+    public QuotaPlan getPlan(Long userId) {
+        QuotaPlan assigned = assignedPlans.get(userId);
+        if(assigned != null) {
+            return assigned;
+        }
+        QuotaPlan plan = plans.get(userId);
+        if(plan == null) {
+            plan = userRepository.findQuotaPlanById(userId).orElse(QuotaPlan.FREE);
+            plans.put(userId, plan);
+        }
+        return plan;
+    }
+
+    private List<?> runAcquire(String minuteKey, String dayKey, String totalKey, int count, QuotaPlan plan, long now) {
+        return redisTemplate.execute(ACQUIRE, List.of(minuteKey, dayKey, totalKey),
+                String.valueOf(count),
+                String.valueOf(plan.getPerMinute()),
+                String.valueOf(plan.getPerDay()),
+                String.valueOf(plan.getTotal()),
+                String.valueOf(untilNextWindow(now, MINUTE_MILLIS) * 1000),
+                String.valueOf(untilNextWindow(now, DAY_MILLIS) * 1000));
+    }
+
+    // SETNX so that concurrent first requests seed the counter only once
+    private void seedTotal(Long userId, String totalKey) {
+        long links = countLinks(userId);
+        circuitBreaker.call("SETNX", totalKey, () -> redisTemplate.opsForValue().setIfAbsent(totalKey, String.valueOf(links)));
+    }
+
+    private int acquireLocally(Long userId, String minuteKey, String dayKey, int count, QuotaPlan plan, long now) {
+        AtomicLong minute = localWindow(minuteKey, untilNextWindow(now, MINUTE_MILLIS));
+        AtomicLong day = localWindow(dayKey, untilNextWindow(now, DAY_MILLIS));
+        if(minute.get() + count > plan.getPerMinute()) {
+            return MINUTE_EXCEEDED;
+        }
+        if(day.get() + count > plan.getPerDay()) {
+            return DAY_EXCEEDED;
+        }
+        if(countLinks(userId) + count > plan.getTotal()) {
+            return TOTAL_EXCEEDED;
+        }
+        minute.addAndGet(count);
+        day.addAndGet(count);
+        return ALLOWED;
+    }
+
+    private AtomicLong localWindow(String key, long ttlSeconds) {
+        AtomicLong counter = localWindows.get(key);
+        if(counter == null) {
+            counter = new AtomicLong();
+            localWindows.put(key, counter, Duration.ofSeconds(ttlSeconds));
+        }
+        return counter;
+    }
+
+    private long localCount(String key) {
+        AtomicLong counter = localWindows.get(key);
+        return counter != null ? counter.get() : 0;
+    }
+
+    private long countLinks(Long userId) {
+        return urlMappingRepository.countByOwner(userRepository.getReferenceById(userId));
+    }
+
+    private void reject(Long userId, String window, long limit, long retryAfterSeconds) {
+        metrics.incrementQuotaExceeded(window);
+        log.info("Quota exceeded for user: {} (window: {}, limit: {})", userId, window, limit);
+        throw new QuotaExceededException("Link creation quota exceeded: " + limit + " per " + window, retryAfterSeconds);
+    }
+
+    private void rejectOversized(Long userId, String window, long limit) {
+        metrics.incrementQuotaExceeded(window);
+        log.info("Quota request larger than the {} limit of {} for user: {}", window, limit, userId);
+        throw new QuotaExceededException("At most " + limit + " links can be created per " + window + " on this plan", 0);
+    }
+
+    private static String minuteKey(Long userId, long at) {
+        return CacheKeys.quota(userId, "m:" + at / MINUTE_MILLIS);
+    }
+
+    private static String dayKey(Long userId, long at) {
+        return CacheKeys.quota(userId, "d:" + at / DAY_MILLIS);
+    }
+
+    private static long untilNextWindow(long now, long windowMillis) {
+        return Math.max(1, (windowMillis - now % windowMillis + 999) / 1000);
+    }
+
+    private static int toInt(Object value) {
+        return ((Number) value).intValue();
+    }
+
+    private static long parse(String value) {
+        return value != null ? Long.parseLong(value) : 0;
+    }
+}
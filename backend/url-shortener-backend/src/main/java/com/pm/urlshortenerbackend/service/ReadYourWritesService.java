@@ -0,0 +1,69 @@
+package com.pm.urlshortenerbackend.service;
+
+import com.pm.urlshortenerbackend.resilience.RedisCircuitBreaker;
+import com.pm.urlshortenerbackend.util.CacheKeys;
+import com.pm.urlshortenerbackend.util.LocalTtlCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.time.Duration;
+
+/**
+ * Remembers which users wrote recently so their reads stay on the primary until the replicas
+ * have caught up. The window should cover the replica lag limit plus one lag check. Marks are
+ * kept in Redis so the next request can land on any instance, with a local copy for when Redis
+ * is down. Does nothing when no replicas are configured.
+ *
+ * Author: Sathwik Pillalamarri
+ * Date: 2/24/26
+ * Project: url-shortener-backend
+ */
+@Service
+public class ReadYourWritesService {
+    private final StringRedisTemplate redisTemplate;
+    private final RedisCircuitBreaker circuitBreaker;
+    private final boolean enabled;
+    private final Duration window;
+    private final LocalTtlCache<Long, Boolean> localWrites;
+
+    public ReadYourWritesService(StringRedisTemplate redisTemplate,
+                                 RedisCircuitBreaker circuitBreaker,
+                                 @Value("${app.datasource.replicas.urls:}") String replicaUrls,
+                                 @Value("${app.datasource.replicas.read-your-writes-window:3s}") Duration window,
+                                 @Value("${app.datasource.replicas.read-your-writes-local-max-size:10000}") int localMaxSize) {
+        this.redisTemplate = redisTemplate;
+        this.circuitBreaker = circuitBreaker;
+        this.enabled = StringUtils.hasText(replicaUrls);
+        this.window = window;
+        this.localWrites = new LocalTtlCache<>(localMaxSize, window);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void recordWrite(Long userId) {
+        if(!enabled) {
+            return;
+        }
+        localWrites.put(userId, Boolean.TRUE);
+        String key = CacheKeys.recentWrite(userId);
+        circuitBreaker.call("SET", key, () -> {
+            redisTemplate.opsForValue().set(key, "1", window);
+            return null;
+        });
+    }
+
+    public boolean hasRecentWrite(Long userId) {
+        if(!enabled) {
+            return false;
+        }
+        if(localWrites.get(userId) != null) {
+            return true;
+        }
+        String key = CacheKeys.recentWrite(userId);
+        return Boolean.TRUE.equals(circuitBreaker.call("EXISTS", key, () -> redisTemplate.hasKey(key)));
+    }
+}
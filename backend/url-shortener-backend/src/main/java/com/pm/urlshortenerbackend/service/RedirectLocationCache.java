@@ -0,0 +1,87 @@
+package com.pm.urlshortenerbackend.service;
+
+import com.pm.urlshortenerbackend.resilience.RedisCircuitBreaker;
+import com.pm.urlshortenerbackend.util.CacheKeys;
+import com.pm.urlshortenerbackend.util.LocalTtlCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+/**
+ * In-process cache of encoded redirect Location headers, keyed by short code. Invalidations are
+ * broadcast over Redis pub/sub so every instance drops an edited link at once; the TTL only
+ * bounds staleness while Redis is unreachable and a broadcast is missed.
+ *
+ * Author: Sathwik Pillalamarri
+ * Date: 2/27/26
+ * Project: url-shortener-backend
+ */
+@Service
+public class RedirectLocationCache implements MessageListener {
+    private final LocalTtlCache<String, String> locations;
+    private final StringRedisTemplate redisTemplate;
+    private final RedisCircuitBreaker circuitBreaker;
+
+    public RedirectLocationCache(StringRedisTemplate redisTemplate,
+                                 RedisCircuitBreaker circuitBreaker,
+                                 @Value("${app.url.redirect-cache.max-size:10000}") int maxSize,
+                                 @Value("${app.url.redirect-cache.ttl:30s}") Duration ttl) {
+        this.locations = new LocalTtlCache<>(maxSize, ttl);
+        this.redisTemplate = redisTemplate;
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    public String get(String shortCode) {
+        return locations.get(shortCode);
+    }
+
+    public void put(String shortCode, String location) {
+        locations.put(shortCode, location);
+    }
+
+    public void put(String shortCode, String location, Duration ttl) {
+        locations.put(shortCode, location, ttl);
+    }
+
+    /**
+     * Drops the link here and on every other instance. Inside a transaction the broadcast waits
+     * for the commit, otherwise another instance could reload the old row before it changes.
+     */
+    public void invalidate(String shortCode) {
+        locations.invalidate(shortCode);
+        if(!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publish(shortCode);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                publish(shortCode);
+            }
+        });
+    }
+
+    // Anything cached while the subscription was down may have missed an invalidation
+    public void invalidateAll() {
+        locations.invalidateAll();
+    }
+
+    @Override
+    public void onMessage(@NonNull Message message, byte[] pattern) {
+        locations.invalidate(new String(message.getBody(), StandardCharsets.UTF_8));
+    }
+
+    private void publish(String shortCode) {
+        // The publishing instance receives its own message too, which also clears anything cached before the commit
+        circuitBreaker.call("PUBLISH", CacheKeys.REDIRECT_INVALIDATION_CHANNEL,
+                () -> redisTemplate.convertAndSend(CacheKeys.REDIRECT_INVALIDATION_CHANNEL, shortCode));
+    }
+}
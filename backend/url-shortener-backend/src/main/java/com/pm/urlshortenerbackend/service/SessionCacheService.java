@@ -1,8 +1,130 @@
 package com.pm.urlshortenerbackend.service;
 
+import com.pm.urlshortenerbackend.repository.TokenRevocation;
+import com.pm.urlshortenerbackend.repository.UserRepository;
+import com.pm.urlshortenerbackend.resilience.RedisCircuitBreaker;
+import com.pm.urlshortenerbackend.util.CacheKeys;
+import com.pm.urlshortenerbackend.util.LocalTtlCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
+ * Holds principals that have already been loaded for a verified JWT so that authenticated
+ * requests do not hit the users table every time, and the per-user revocations that reject
+ * tokens issued before them. Revocations are stored in users.tokens_valid_after by the password
+ * change itself and reloaded from there by every instance on an interval, so they hold while
+ * Redis is down; the pub/sub broadcast only applies them on running instances before the next
+ * reload. Every instance keeps all live revocations in memory, so the check is a map lookup.
+ *
  * Author: Sathwik Pillalamarri
  * Date: 1/23/26
  * Project: url-shortener-backend
- */public class SessionCacheService {
+ */
+@Service
+public class SessionCacheService implements MessageListener {
+    private static final Logger log = LoggerFactory.getLogger(SessionCacheService.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisCircuitBreaker circuitBreaker;
+    private final UserRepository userRepository;
+    private final LocalTtlCache<String, UserDetails> principals;
+    // Not size capped: dropping an entry would let revoked tokens back in. Revocations are rare and expire with the tokens
+    private final Map<Long, Long> revokedBefore = new ConcurrentHashMap<>();
+    private final long jwtExpiration;
+
+    public SessionCacheService(StringRedisTemplate redisTemplate,
+                               RedisCircuitBreaker circuitBreaker,
+                               UserRepository userRepository,
+                               @Value("${app.security.session-cache.max-size:10000}") int maxSize,
+                               @Value("${app.security.session-cache.ttl:60s}") Duration ttl,
+                               @Value("${jwt.expiration:86400000}") long jwtExpiration) {
+        this.redisTemplate = redisTemplate;
+        this.circuitBreaker = circuitBreaker;
+        this.userRepository = userRepository;
+        this.principals = new LocalTtlCache<>(maxSize, ttl);
+        this.jwtExpiration = jwtExpiration;
+    }
+
+    public UserDetails getPrincipal(String username) {
+        return principals.get(username);
+    }
+
+    public void putPrincipal(String username, UserDetails userDetails) {
+        principals.put(username, userDetails);
+    }
+
+    /**
+     * Returns true if the token was issued before its user was revoked. JWT timestamps only
+     * carry whole seconds, so a token minted in the same second as the revocation still passes.
+     */
+    public boolean isRevoked(Long userId, Date issuedAt) {
+        Long revokedAt = revokedBefore.get(userId);
+        if(revokedAt == null) {
+            return false;
+        }
+        return issuedAt == null || issuedAt.getTime() < revokedAt;
+    }
+
+    /**
+     * Applies a revocation already stored in users.tokens_valid_after here at once and broadcasts
+     * it. A lost broadcast only delays other instances until their next reload.
+     */
+    public void revokeUser(Long userId, String username, Instant tokensValidAfter) {
+        long revokedAt = tokensValidAfter.toEpochMilli();
+        record(userId, revokedAt);
+        principals.invalidate(username);
+        circuitBreaker.call("PUBLISH", CacheKeys.SESSION_REVOCATION_CHANNEL,
+                () -> redisTemplate.convertAndSend(CacheKeys.SESSION_REVOCATION_CHANNEL, userId + ":" + revokedAt));
+        log.info("Revoked sessions for user id: {}", userId);
+    }
+
+    // Drops the cached principal only, e.g. after a profile update
+    public void evictUser(String username) {
+        principals.invalidate(username);
+    }
+
+    /**
+     * Loads every revocation younger than the token lifetime from the users table. Runs on an
+     * interval and whenever the pub/sub subscription is (re)established, covering broadcasts this
+     * instance missed. Keeps what it already has if the database is unavailable.
+     */
+    public void loadRevocations() {
+        try {
+            for(TokenRevocation revocation : userRepository.findTokenRevocationsAfter(Instant.now().minusMillis(jwtExpiration))) {
+                record(revocation.userId(), revocation.tokensValidAfter().toEpochMilli());
+            }
+        } catch (DataAccessException e) {
+            log.warn("Loading session revocations failed, retrying on the next reload -> {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(@NonNull Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split(":");
+        record(Long.valueOf(parts[0]), Long.parseLong(parts[1]));
+        // Messages carry the user id only; principals are rebuilt from the database within a minute anyway
+        principals.invalidateAll();
+    }
+
+    private void record(Long userId, long revokedAt) {
+        revokedBefore.merge(userId, revokedAt, Math::max);
+        // Once every token it applies to has expired a revocation can go
+        long cutoff = System.currentTimeMillis() - jwtExpiration;
+        revokedBefore.values().removeIf(at -> at < cutoff);
+    }
 }
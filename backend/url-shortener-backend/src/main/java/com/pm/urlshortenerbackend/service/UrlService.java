@@ -1,8 +1,11 @@
 package com.pm.urlshortenerbackend.service;
 
+import com.pm.urlshortenerbackend.dto.BatchCreateUrlResponse;
 import com.pm.urlshortenerbackend.dto.CreateUrlRequest;
 import com.pm.urlshortenerbackend.dto.CreateUrlResponse;
+import com.pm.urlshortenerbackend.dto.CursorPageResponse;
 import com.pm.urlshortenerbackend.dto.UrlMappingResponse;
+import com.pm.urlshortenerbackend.dto.UserUrlSummary;
 import com.pm.urlshortenerbackend.exception.UnauthorizedAccessException;
 import com.pm.urlshortenerbackend.exception.UrlExpiredException;
 import com.pm.urlshortenerbackend.model.UrlMapping;
@@ -22,15 +25,25 @@ public interface UrlService {
 
     String getOriginalUrl(String shortCode);
 
+    //Ready-to-send Location header value for redirects, served from a local cache when hot
+    String getRedirectLocation(String shortCode);
+
     UrlMappingResponse getUrlMapping(String shortCode);
 
     //Methods for URL Ownership
     CreateUrlResponse createShortUrl(CreateUrlRequest request, User owner);
 
+    BatchCreateUrlResponse createShortUrls(List<CreateUrlRequest> requests, User owner);
+
+    BatchCreateUrlResponse createShortUrls(List<CreateUrlRequest> requests, User owner, boolean populateCache);
+
     Page<UrlMappingResponse> getUserUrls(User owner, Pageable pageable);
 
     Page<UrlMappingResponse> getUserActiveUrls(User owner, Pageable pageable);
 
+    // Cursor listing, newest first; cursor is null for the first page
+    CursorPageResponse<UrlMappingResponse> getUserUrls(User owner, String cursor, int size, boolean activeOnly, boolean includeTotal);
+
     boolean isUrlOwnedByUser(String shortCode, User user);
 
     void validateUrlOwnership(String shortCode, User user) throws UnauthorizedAccessException;
@@ -39,6 +52,8 @@ public interface UrlService {
 
     long getUserActiveUrlCount(User owner);
 
+    UserUrlSummary getUserUrlSummary(User owner);
+
     //Methods for handling link expiration
     boolean isUrlExpired(String shortCode);
 
@@ -0,0 +1,250 @@
+package com.pm.urlshortenerbackend.service;
+
+import com.pm.urlshortenerbackend.dto.UserUrlSummary;
+import com.pm.urlshortenerbackend.model.UserLinkStats;
+import com.pm.urlshortenerbackend.repository.UrlMappingRepository;
+import com.pm.urlshortenerbackend.repository.UserLinkStatsRepository;
+import com.pm.urlshortenerbackend.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-user link counters, so the dashboard summary is a primary key lookup instead of COUNTs
+ * over url_mappings. The record* methods run inside the transaction that changes the links,
+ * so counters commit or roll back together with them. Counters for users without a row are
+ * created on first read; reconcile() recomputes every row from url_mappings to undo any drift
+ * from races between the two.
+ *
+ * Clicks are the exception: a popular owner would otherwise take a lock on one counter row per
+ * redirect. Once its transaction commits, a click is summed in memory per owner, and
+ * flushClicks() applies each owner's total in one relative UPDATE every few seconds. Clicks
+ * still pending when an instance dies are lost from the counters until the next reconcile.
+ * Every recount stamps the row with reconciled_at. Any instance's pending clicks recorded
+ * before that are already in the recount, so the flush skips them. The clicks of the one flush
+ * interval in which a recount happens can be skipped with them, until the next reconcile.
+ *
+ * Author: Sathwik Pillalamarri
+ * Date: 2/19/26
+ * Project: url-shortener-backend
+ */
+@Service
+public class UserLinkStatsService {
+    private static final Logger log = LoggerFactory.getLogger(UserLinkStatsService.class);
+
+    private final UserLinkStatsRepository statsRepository;
+    private final UrlMappingRepository urlMappingRepository;
+    private final UserRepository userRepository;
+    private final TransactionTemplate newTransaction;
+    private final int reconcileBatchSize;
+    // Owner id -> clicks not yet written to user_link_stats
+    private final Map<Long, PendingClicks> pendingClicks = new ConcurrentHashMap<>();
+
+    public UserLinkStatsService(UserLinkStatsRepository statsRepository,
+                                UrlMappingRepository urlMappingRepository,
+                                UserRepository userRepository,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${app.link-stats.reconcile.batch-size:500}") int reconcileBatchSize) {
+        this.statsRepository = statsRepository;
+        this.urlMappingRepository = urlMappingRepository;
+        this.userRepository = userRepository;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.reconcileBatchSize = Math.max(1, reconcileBatchSize);
+    }
+
+    @Transactional
+    public void recordCreated(Long userId, int links) {
+        adjustLinks(userId, links, links);
+    }
+
+    // delta is +1 for a reactivation and -1 for a deactivation
+    @Transactional
+    public void recordActiveChange(Long userId, int delta) {
+        adjustLinks(userId, 0, delta);
+    }
+
+    // Map of owner id to the number of that owner's links that just expired
+    @Transactional
+    public void recordExpired(Map<Long, Long> expiredByOwner) {
+        expiredByOwner.forEach((userId, expired) -> adjustLinks(userId, 0, -expired));
+    }
+
+    // Called inside the click's transaction; a click that rolls back was never in url_mappings either
+    public void recordClick(Long userId) {
+        if(userId == null) {
+            return;
+        }
+        if(TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    addPendingClick(userId);
+                }
+            });
+        } else {
+            addPendingClick(userId);
+        }
+    }
+
+    private void addPendingClick(Long userId) {
+        pendingClicks.merge(userId, new PendingClicks(1, Instant.now()), PendingClicks::plus);
+    }
+
+    /**
+     * Writes the clicks summed since the last flush, one short transaction per owner. A failed
+     * update puts its clicks back for the next flush.
+     */
+    @PreDestroy
+    public int flushClicks() {
+        int flushed = 0;
+        for(Long userId : pendingClicks.keySet()) {
+            // remove() is atomic with merge(), so a click lands either in this flush or the next one
+            PendingClicks clicks = pendingClicks.remove(userId);
+            if(clicks == null) {
+                continue;
+            }
+            try {
+                // No row yet: the first read computes clicks from url_mappings, which already has them
+                newTransaction.executeWithoutResult(status -> statsRepository.adjustClicks(userId, clicks.count(), clicks.since()));
+                flushed++;
+            } catch (RuntimeException e) {
+                pendingClicks.merge(userId, clicks, PendingClicks::plus);
+                log.warn("Could not flush {} clicks for user {}: {}", clicks.count(), userId, e.getMessage());
+            }
+        }
+        return flushed;
+    }
+
+    public UserUrlSummary getSummary(Long userId) {
+        Optional<UserLinkStats> existing = statsRepository.findById(userId);
+        if(existing.isEmpty()) {
+            // The fresh row is computed from url_mappings and so already includes the pending clicks
+            UserLinkStats stats = initialize(userId);
+            return new UserUrlSummary(stats.getTotalLinks(), stats.getActiveLinks(), stats.getTotalClicks());
+        }
+        UserLinkStats stats = existing.get();
+        PendingClicks pending = pendingClicks.get(userId);
+        long clicks = stats.getTotalClicks() + (pending != null ? pending.count() : 0);
+        return new UserUrlSummary(stats.getTotalLinks(), stats.getActiveLinks(), clicks);
+    }
+
+    /**
+     * Recomputes every user's counters from url_mappings in batches of user ids, each batch in
+     * its own short transaction so the job never holds locks across the whole table.
+     */
+    public int reconcile() {
+        int corrected = 0;
+        long afterId = 0;
+        List<Long> userIds;
+        do {
+            userIds = userRepository.findIdsAfter(afterId, PageRequest.of(0, reconcileBatchSize));
+            if(userIds.isEmpty()) {
+                break;
+            }
+            List<Long> batch = userIds;
+            Integer batchCorrected = newTransaction.execute(status -> reconcileBatch(batch));
+            corrected += batchCorrected != null ? batchCorrected : 0;
+            afterId = userIds.get(userIds.size() - 1);
+        } while(userIds.size() == reconcileBatchSize);
+        log.info("Link counter reconciliation finished, corrected {} users", corrected);
+        return corrected;
+    }
+
+    private int reconcileBatch(List<Long> userIds) {
+        Map<Long, long[]> actual = countLinks(userIds);
+        // Taken after the count, so clicks recorded before it are in the count
+        Instant reconciledAt = Instant.now();
+        Map<Long, UserLinkStats> existing = new HashMap<>();
+        for(UserLinkStats stats : statsRepository.findAllById(userIds)) {
+            existing.put(stats.getUserId(), stats);
+        }
+
+        int corrected = 0;
+        for(Long userId : userIds) {
+            long[] counts = actual.getOrDefault(userId, new long[3]);
+            UserLinkStats stats = existing.get(userId);
+            if(stats == null) {
+                statsRepository.save(recounted(userId, counts, reconciledAt));
+                corrected++;
+            } else if(stats.getTotalLinks() != counts[0] || stats.getActiveLinks() != counts[1] || stats.getTotalClicks() != counts[2]) {
+                log.debug("Correcting link counters for user {}: {}/{}/{} -> {}/{}/{}", userId,
+                        stats.getTotalLinks(), stats.getActiveLinks(), stats.getTotalClicks(), counts[0], counts[1], counts[2]);
+                stats.setTotalLinks(counts[0]);
+                stats.setActiveLinks(counts[1]);
+                stats.setTotalClicks(counts[2]);
+                stats.setUpdatedAt(LocalDateTime.now());
+                stats.setReconciledAt(reconciledAt);
+                corrected++;
+            }
+        }
+        return corrected;
+    }
+
+    private void adjustLinks(Long userId, long links, long active) {
+        if(userId == null) {
+            return;
+        }
+        if(statsRepository.adjustLinks(userId, links, active) == 0) {
+            // No row yet; the first read computes it from url_mappings, which already includes this change
+            log.debug("No link counters for user {} yet, skipping adjustment", userId);
+        }
+    }
+
+    // Runs in its own transaction so a concurrent first read inserting the same row cannot fail the caller
+    private UserLinkStats initialize(Long userId) {
+        try {
+            return newTransaction.execute(status -> {
+                long[] values = countLinks(List.of(userId)).getOrDefault(userId, new long[3]);
+                return statsRepository.saveAndFlush(recounted(userId, values, Instant.now()));
+            });
+        } catch (DataIntegrityViolationException e) {
+            Optional<UserLinkStats> stats = statsRepository.findById(userId);
+            return stats.orElseThrow(() -> e);
+        }
+    }
+
+    private static UserLinkStats recounted(Long userId, long[] counts, Instant reconciledAt) {
+        UserLinkStats stats = new UserLinkStats(userId, counts[0], counts[1], counts[2]);
+        stats.setReconciledAt(reconciledAt);
+        return stats;
+    }
+
+    // Owner id -> {total links, active links, total clicks}; owners without links are absent
+    private Map<Long, long[]> countLinks(List<Long> userIds) {
+        Map<Long, long[]> counts = new HashMap<>();
+        for(Object[] row : urlMappingRepository.summarizeByOwners(userIds)) {
+            counts.put((Long) row[0], new long[]{toLong(row[1]), toLong(row[2]), toLong(row[3])});
+        }
+        return counts;
+    }
+
+    private static long toLong(Object value) {
+        return value != null ? ((Number) value).longValue() : 0L;
+    }
+
+    // since is when the oldest of the clicks was recorded
+    private record PendingClicks(long count, Instant since) {
+        PendingClicks plus(PendingClicks other) {
+            return new PendingClicks(count + other.count, since.isBefore(other.since) ? since : other.since);
+        }
+    }
+}
@@ -9,6 +9,7 @@ import com.pm.urlshortenerbackend.repository.UrlMappingRepository;
 import com.pm.urlshortenerbackend.service.AnalyticsService;
 import com.pm.urlshortenerbackend.service.CacheService;
 import com.pm.urlshortenerbackend.service.UrlService;
+import com.pm.urlshortenerbackend.util.CacheKeys;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -51,8 +52,7 @@ public class AnalyticsServiceImpl implements AnalyticsService {
         log.debug("Getting click statistics for shortCode: {}", shortCode);
 
         // Trying the cache first for analytics
-        String cacheKey = "stats:" + shortCode;
-        Optional<ClickStatsResponse> cached = cacheService.getUrlMapping(cacheKey, ClickStatsResponse.class);
+        Optional<ClickStatsResponse> cached = cacheService.getStats(shortCode, ClickStatsResponse.class);
         if(cached.isPresent()) {
             log.debug("Cache hit for analytics: {}", shortCode);
             return cached.get();
@@ -62,7 +62,7 @@ public class AnalyticsServiceImpl implements AnalyticsService {
 
         ClickStatsResponse stats = calculateClickStats(urlMapping);
 
-        cacheService.putUrlMapping(cacheKey, stats, analyticsCacheTtl);
+        cacheService.putStats(shortCode, stats, analyticsCacheTtl);
         return stats;
     }
 
@@ -116,8 +116,7 @@ public class AnalyticsServiceImpl implements AnalyticsService {
     public void refreshCachedStats(String shortCode) {
         log.debug("Refreshing cached statistics for shortCode: {}", shortCode);
 
-        String cacheKey = "stats:" + shortCode;
-        cacheService.delete(cacheKey);
+        cacheService.deleteStats(shortCode);
 
         getClickStats(shortCode);
     }
@@ -126,7 +125,7 @@ public class AnalyticsServiceImpl implements AnalyticsService {
     public void clearAllCachedStats() {
         log.info("Clearing all cached analytics statistics");
 
-        cacheService.evictPattern("stats:");
+        cacheService.evictPattern(CacheKeys.STATS_PREFIX);
     }
 
     private UrlMapping getUrlMapping(String shortCode) {
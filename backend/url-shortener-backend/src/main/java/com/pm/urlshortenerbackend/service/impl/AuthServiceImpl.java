@@ -1,6 +1,7 @@
 package com.pm.urlshortenerbackend.service.impl;
 
 import com.pm.urlshortenerbackend.dto.AuthResponse;
+import com.pm.urlshortenerbackend.dto.ChangePasswordRequest;
 import com.pm.urlshortenerbackend.dto.LoginRequest;
 import com.pm.urlshortenerbackend.dto.RegisterRequest;
 import com.pm.urlshortenerbackend.exception.EmailAlreadyExistsException;
@@ -9,36 +10,51 @@ import com.pm.urlshortenerbackend.model.User;
 import com.pm.urlshortenerbackend.repository.UserRepository;
 import com.pm.urlshortenerbackend.security.JwtUtil;
 import com.pm.urlshortenerbackend.service.AuthService;
+import com.pm.urlshortenerbackend.service.LoginAttemptService;
+import com.pm.urlshortenerbackend.service.SessionCacheService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
 /**
+ * No method holds a transaction across a BCrypt hash: hashes queue on the bounded encoder pool
+ * and take tens of milliseconds, and a pooled connection must not wait on them. Each user read
+ * and write runs in its own repository transaction instead.
+ *
  * Author: Sathwik Pillalamarri
  * Date: 11/4/25
  * Project: url-shortener-backend
  */
 @Service
-@Transactional
 public class AuthServiceImpl implements AuthService {
     private static final Logger log = LoggerFactory.getLogger(AuthServiceImpl.class);
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtUtil jwtUtil;
     private final UserDetailsService userDetailsService;
+    private final LoginAttemptService loginAttemptService;
+    private final SessionCacheService sessionCacheService;
 
     public AuthServiceImpl(UserRepository userRepository,
                            PasswordEncoder passwordEncoder,
                            JwtUtil jwtUtil,
-                           UserDetailsService userDetailsService) {
+                           UserDetailsService userDetailsService,
+                           LoginAttemptService loginAttemptService,
+                           SessionCacheService sessionCacheService) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.jwtUtil = jwtUtil;
         this.userDetailsService = userDetailsService;
+        this.loginAttemptService = loginAttemptService;
+        this.sessionCacheService = sessionCacheService;
     }
 
     @Override
@@ -56,7 +72,13 @@ public class AuthServiceImpl implements AuthService {
         user.setFirstName(request.getFirstName().trim());
         user.setLastName(request.getLastName().trim());
 
-        User savedUser = userRepository.save(user);
+        User savedUser;
+        try {
+            savedUser = userRepository.save(user);
+        } catch (DataIntegrityViolationException e) {
+            //Lost a race with a concurrent registration for the same email
+            throw new EmailAlreadyExistsException(request.getEmail());
+        }
         log.info("User registered successfully with ID: {} and email: {}", savedUser.getId(), savedUser.getEmail());
 
         UserDetails userDetails = userDetailsService.loadUserByUsername(savedUser.getEmail());
@@ -66,23 +88,35 @@ public class AuthServiceImpl implements AuthService {
     }
 
     @Override
-    public AuthResponse login(LoginRequest request) {
+    public AuthResponse login(LoginRequest request, String clientIp) {
         log.info("Attempting to authenticate user with email: {}", request.getEmail());
 
+        //Blocked accounts and IPs are turned away before the lookup and the password hash
+        loginAttemptService.checkAllowed(request.getEmail(), clientIp);
+
         //Finding the  user by email
         User user = userRepository.findByEmailIgnoreCase(request.getEmail())
                 .orElseThrow(() -> {
-                    log.warn("Login failed - user not found: {}", request.getEmail());
+                    log.warn("Login failed - no user with the given email");
+                    loginAttemptService.recordFailure(request.getEmail(), clientIp);
                     return new InvalidCredentialsException("Invalid email or password");
                 });
 
         //User successfully fetched - validate the password
         if(!passwordEncoder.matches(request.getPassword(), user.getPasswordHash())) {
-            log.warn("Login failed - invalid password for user: {}", request.getEmail());
+            log.warn("Login failed - invalid password for user id: {}", user.getId());
+            loginAttemptService.recordFailure(request.getEmail(), clientIp);
             throw new InvalidCredentialsException("Invalid email or password");
         }
 
         log.info("User authenticated successfully: {}", user.getEmail());
+        loginAttemptService.recordSuccess(request.getEmail(), clientIp);
+
+        //Hashes from before the cost was raised are replaced while the plain password is at hand
+        if(passwordEncoder.upgradeEncoding(user.getPasswordHash())) {
+            userRepository.updatePasswordHash(user.getId(), passwordEncoder.encode(request.getPassword()));
+            log.info("Re-hashed password with current cost for user: {}", user.getEmail());
+        }
 
         //User is successfully authenticated - generate a JWT token
         UserDetails userDetails = userDetailsService.loadUserByUsername(user.getEmail());
@@ -96,6 +130,26 @@ public class AuthServiceImpl implements AuthService {
         return !userRepository.existsByEmailIgnoreCase(email);
     }
 
+    @Override
+    public AuthResponse changePassword(Long userId, ChangePasswordRequest request) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new InvalidCredentialsException("Invalid email or password"));
+
+        if(!passwordEncoder.matches(request.getCurrentPassword(), user.getPasswordHash())) {
+            log.warn("Password change failed - invalid current password for user id: {}", userId);
+            throw new InvalidCredentialsException("Current password is incorrect");
+        }
+
+        //Tokens issued before the change stop working everywhere; JWT timestamps are whole seconds, so the one returned here still passes
+        Instant tokensValidAfter = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        userRepository.updatePasswordHashAndRevokeTokens(user.getId(), passwordEncoder.encode(request.getNewPassword()), tokensValidAfter);
+        sessionCacheService.revokeUser(user.getId(), user.getEmail(), tokensValidAfter);
+        log.info("Password changed for user id: {}", userId);
+
+        UserDetails userDetails = userDetailsService.loadUserByUsername(user.getEmail());
+        return buildAuthResponse(user, jwtUtil.generateToken(userDetails));
+    }
+
     private AuthResponse buildAuthResponse(User user, String token) {
         return new AuthResponse(
                 token,
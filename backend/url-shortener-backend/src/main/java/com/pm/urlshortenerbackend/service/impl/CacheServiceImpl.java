@@ -1,16 +1,20 @@
 package com.pm.urlshortenerbackend.service.impl;
 
+import com.pm.urlshortenerbackend.resilience.RedisCircuitBreaker;
 import com.pm.urlshortenerbackend.service.CacheService;
+import com.pm.urlshortenerbackend.util.CacheKeys;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.dao.DataAccessException;
-import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
 import org.springframework.data.redis.core.ValueOperations;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 /**
  * Author: Sathwik Pillalamarri
@@ -21,114 +25,131 @@ import java.util.Optional;
 public class CacheServiceImpl implements CacheService {
     private static final Logger log = LoggerFactory.getLogger(CacheServiceImpl.class);
     private final RedisTemplate<String, Object> redisTemplate;
+    private final RedisCircuitBreaker circuitBreaker;
 
-    private static final String URL_PREFIX = "url:";
-
-    public CacheServiceImpl(RedisTemplate<String, Object> redisTemplate) {
+    public CacheServiceImpl(RedisTemplate<String, Object> redisTemplate, RedisCircuitBreaker circuitBreaker) {
         this.redisTemplate = redisTemplate;
+        this.circuitBreaker = circuitBreaker;
     }
 
     @Override
     public <T> Optional<T> get(String key, Class<T> type) {
-        try{
+        return execute("GET", key, () -> {
             ValueOperations<String, Object> ops = redisTemplate.opsForValue();
             Object value = ops.get(key);
             if(value == null) {
                 log.debug("Cache miss for key: {}", key);
-                return Optional.empty();
+                return Optional.<T>empty();
             }
             if(type.isInstance(value)) {
                 log.debug("Cache hit for key: {}", key);
                 return Optional.of(type.cast(value));
             } else {
                 log.debug("Cache miss for key: {}", key);
-                return Optional.empty();
+                return Optional.<T>empty();
             }
-        } catch (RedisConnectionFailureException e) {
-            log.warn("Redis unavailable while GET key={} -> {}", key, e.getMessage());
-            return Optional.empty();
-        } catch (DataAccessException e) {
-            log.error("Redis data access error while GET key={} -> {}", key, e.getMessage());
-            return Optional.empty();
-        }
+        }, Optional.empty());
     }
 
     @Override
     public void put(String key, Object value, long ttlSeconds) {
-        try{
+        execute("PUT", key, () -> {
             ValueOperations<String, Object> ops = redisTemplate.opsForValue();
             ops.set(key, value, Duration.ofSeconds(ttlSeconds));
             log.debug("Cache put key={} with TTL={}s", key, ttlSeconds);
-        } catch (RedisConnectionFailureException e) {
-            log.warn("Redis unavailable while PUT key={} -> {}", key, e.getMessage());
-        } catch (DataAccessException e) {
-            log.error("Redis data access error while PUT key={} -> {}", key, e.getMessage());
-        }
+            return null;
+        }, null);
     }
 
     @Override
     public boolean delete(String key) {
-        try{
+        return execute("DELETE", key, () -> {
             Boolean result = redisTemplate.delete(key);
             log.debug("Cache delete key={} result={}", key, result);
             return result != null && result;
-        } catch (RedisConnectionFailureException e) {
-            log.warn("Redis unavailable while DELETE key={} -> {}", key, e.getMessage());
-            return false;
-        } catch (DataAccessException e) {
-            log.error("Redis data access error while DELETE key={} -> {}", key, e.getMessage());
-            return false;
-        }
+        }, false);
     }
 
     @Override
     public boolean exists(String key) {
-        try{
+        return execute("EXISTS", key, () -> {
             Boolean result = redisTemplate.hasKey(key);
             return result != null && result;
-        } catch (RedisConnectionFailureException e) {
-            log.warn("Redis unavailable while EXISTS key={} -> {}", key, e.getMessage());
-            return false;
-        } catch (DataAccessException e) {
-            log.error("Redis data access error while EXISTS key={} -> {}", key, e.getMessage());
-            return false;
-        }
+        }, false);
     }
 
     @Override
     public <T> Optional<T> getUrlMapping(String shortCode, Class<T> type) {
-        return get(URL_PREFIX + shortCode, type);
+        return get(CacheKeys.url(shortCode), type);
     }
 
     @Override
     public void putUrlMapping(String shortCode, Object urlMapping, long ttlSeconds) {
-        put(URL_PREFIX + shortCode, urlMapping, ttlSeconds);
+        put(CacheKeys.url(shortCode), urlMapping, ttlSeconds);
+    }
+
+    // One pipelined round trip for the whole batch instead of one per link
+    @Override
+    public void putUrlMappings(Map<String, ?> urlMappingsByShortCode, long ttlSeconds) {
+        if(urlMappingsByShortCode.isEmpty()) {
+            return;
+        }
+        execute("PIPELINED PUT", urlMappingsByShortCode.size() + " keys", () -> {
+            Duration ttl = Duration.ofSeconds(ttlSeconds);
+            redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public Object execute(RedisOperations operations) {
+                    urlMappingsByShortCode.forEach((shortCode, urlMapping) ->
+                            operations.opsForValue().set(CacheKeys.url(shortCode), urlMapping, ttl));
+                    return null;
+                }
+            });
+            log.debug("Cache put {} url mappings with TTL={}s", urlMappingsByShortCode.size(), ttlSeconds);
+            return null;
+        }, null);
     }
 
     @Override
     public boolean deleteUrlMapping(String shortCode) {
-        return delete(URL_PREFIX + shortCode);
+        return delete(CacheKeys.url(shortCode));
     }
 
     @Override
     public boolean existsUrlMapping(String shortCode) {
-        return exists(URL_PREFIX + shortCode);
+        return exists(CacheKeys.url(shortCode));
+    }
+
+    @Override
+    public <T> Optional<T> getStats(String shortCode, Class<T> type) {
+        return get(CacheKeys.stats(shortCode), type);
+    }
+
+    @Override
+    public void putStats(String shortCode, Object stats, long ttlSeconds) {
+        put(CacheKeys.stats(shortCode), stats, ttlSeconds);
+    }
+
+    @Override
+    public boolean deleteStats(String shortCode) {
+        return delete(CacheKeys.stats(shortCode));
     }
 
 
     @Override
     public void evictPattern(String pattern) {
-        try {
+        execute("EVICT", pattern, () -> {
             // For Redis, use SCAN with pattern matching
             var keys = redisTemplate.keys(pattern + "*");
             if (keys != null && !keys.isEmpty()) {
                 redisTemplate.delete(keys);
                 log.debug("Evicted {} cache keys matching pattern: {}", keys.size(), pattern);
             }
-        } catch (RedisConnectionFailureException e) {
-            log.warn("Redis unavailable while EVICT pattern={} -> {}", pattern, e.getMessage());
-        } catch (DataAccessException e) {
-            log.error("Redis data access error while EVICT pattern={} -> {}", pattern, e.getMessage());
-        }
+            return null;
+        }, null);
+    }
+
+    private <T> T execute(String operation, String key, Supplier<T> action, T fallback) {
+        return circuitBreaker.call(operation, key, action, fallback);
     }
 }
@@ -7,6 +7,7 @@ import com.pm.urlshortenerbackend.model.UrlMapping;
 import com.pm.urlshortenerbackend.repository.ClickEventRepository;
 import com.pm.urlshortenerbackend.repository.UrlMappingRepository;
 import com.pm.urlshortenerbackend.service.ClickTrackingService;
+import com.pm.urlshortenerbackend.service.UserLinkStatsService;
 import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
@@ -31,13 +32,16 @@ public class ClickTrackingServiceImpl implements ClickTrackingService {
     private final ClickEventRepository clickEventRepository;
     private final UrlMappingRepository urlMappingRepository;
     private final UrlShortenerMetrics metrics;
+    private final UserLinkStatsService linkStats;
 
     public ClickTrackingServiceImpl(ClickEventRepository clickEventRepository,
                                     UrlMappingRepository urlMappingRepository,
-                                    UrlShortenerMetrics metrics) {
+                                    UrlShortenerMetrics metrics,
+                                    UserLinkStatsService linkStats) {
         this.clickEventRepository = clickEventRepository;
         this.urlMappingRepository = urlMappingRepository;
         this.metrics = metrics;
+        this.linkStats = linkStats;
     }
 
     @Override
@@ -72,6 +76,10 @@ public class ClickTrackingServiceImpl implements ClickTrackingService {
 
             urlMapping.incrementClickCount();
             urlMappingRepository.save(urlMapping);
+            // The owner proxy already holds its id, so this does not load the user
+            if(urlMapping.getOwner() != null) {
+                linkStats.recordClick(urlMapping.getOwner().getId());
+            }
 
             metrics.incrementClickTrackingSuccess();
             log.debug("Successfully logged click for shortCode: {}", shortCode);
@@ -5,6 +5,11 @@ import com.pm.urlshortenerbackend.service.IdGenerationService;
 import com.pm.urlshortenerbackend.util.Base62Util;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
 /**
  * Author: sathwikpillalamarri
  * Date: 9/14/25
@@ -12,6 +17,9 @@ import org.springframework.stereotype.Service;
  */
 @Service
 public class IdGenerationServiceImpl implements IdGenerationService {
+    // 62^7: sequence-based codes start at eight characters, above the range of timestamp-based codes
+    static final long SEQUENCE_CODE_OFFSET = 3_521_614_606_208L;
+
     private final UrlMappingRepository urlMappingRepository;
 
     public IdGenerationServiceImpl(UrlMappingRepository urlMappingRepository) {
@@ -24,7 +32,7 @@ public class IdGenerationServiceImpl implements IdGenerationService {
         String shortCode = Base62Util.encode(value);
         long currentValue = value;
 
-        while(urlMappingRepository.findByShortCode(shortCode).isPresent()) {
+        while(urlMappingRepository.existsByShortCode(shortCode)) {
             currentValue++;
             shortCode = Base62Util.encode(currentValue);
         }
@@ -38,10 +46,32 @@ public class IdGenerationServiceImpl implements IdGenerationService {
 
         // Check for collisions and retry if needed
         long currentValue = uniqueId;
-        while(urlMappingRepository.findByShortCode(shortCode).isPresent()) {
+        while(urlMappingRepository.existsByShortCode(shortCode)) {
             currentValue++;
             shortCode = Base62Util.encode(currentValue);
         }
         return shortCode;
     }
+
+    /**
+     * Derives one short code per pre-allocated sequence id. Distinct ids give distinct codes, so the
+     * collision check is a single set query; the rare code that is already taken falls back to the
+     * timestamp-based generator.
+     */
+    @Override
+    public List<String> generateUniqueShortCodes(List<Long> ids) {
+        List<String> shortCodes = new ArrayList<>(ids.size());
+        for(Long id : ids) {
+            shortCodes.add(Base62Util.encode(SEQUENCE_CODE_OFFSET + id));
+        }
+        if(shortCodes.isEmpty()) {
+            return shortCodes;
+        }
+
+        Set<String> taken = new HashSet<>(urlMappingRepository.findExistingShortCodes(shortCodes));
+        if(!taken.isEmpty()) {
+            shortCodes.replaceAll(shortCode -> taken.contains(shortCode) ? generateUniqueShortCode() : shortCode);
+        }
+        return shortCodes;
+    }
 }
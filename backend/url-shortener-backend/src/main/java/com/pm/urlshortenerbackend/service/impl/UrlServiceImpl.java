@@ -1,32 +1,58 @@
 package com.pm.urlshortenerbackend.service.impl;
 
+import com.pm.urlshortenerbackend.datasource.ReadRouting;
+import com.pm.urlshortenerbackend.dto.BatchCreateUrlResponse;
+import com.pm.urlshortenerbackend.dto.BatchCreateUrlResult;
 import com.pm.urlshortenerbackend.dto.CreateUrlRequest;
 import com.pm.urlshortenerbackend.dto.CreateUrlResponse;
+import com.pm.urlshortenerbackend.dto.CursorPageResponse;
 import com.pm.urlshortenerbackend.dto.UrlMappingResponse;
+import com.pm.urlshortenerbackend.dto.UserUrlSummary;
 import com.pm.urlshortenerbackend.exception.InvalidUrlException;
+import com.pm.urlshortenerbackend.exception.ServiceOverloadedException;
 import com.pm.urlshortenerbackend.exception.UnauthorizedAccessException;
 import com.pm.urlshortenerbackend.exception.UrlExpiredException;
 import com.pm.urlshortenerbackend.exception.UrlNotFoundException;
 import com.pm.urlshortenerbackend.health.UrlShortenerMetrics;
 import com.pm.urlshortenerbackend.model.UrlMapping;
 import com.pm.urlshortenerbackend.model.User;
+import com.pm.urlshortenerbackend.repository.RedirectTarget;
+import com.pm.urlshortenerbackend.repository.UrlMappingBatchRepository;
 import com.pm.urlshortenerbackend.repository.UrlMappingRepository;
+import com.pm.urlshortenerbackend.repository.UrlMappingView;
+import com.pm.urlshortenerbackend.resilience.DatabaseBulkhead;
 import com.pm.urlshortenerbackend.service.CacheService;
+import com.pm.urlshortenerbackend.service.RedirectLocationCache;
 import com.pm.urlshortenerbackend.service.UrlService;
+import com.pm.urlshortenerbackend.service.UserLinkStatsService;
+import com.pm.urlshortenerbackend.util.LinkCursor;
+import com.pm.urlshortenerbackend.util.UrlHash;
 import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.net.MalformedURLException;
+import java.net.URI;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Author: sathwikpillalamarri
@@ -38,10 +64,15 @@ import java.util.Optional;
 public class UrlServiceImpl implements UrlService {
 
     private static final Logger logger = LoggerFactory.getLogger(UrlServiceImpl.class);
+    // original_url is part of the redirect index entry (V11), and Postgres caps a btree entry at 2704 bytes
+    private static final int MAX_URL_BYTES = 2600;
     private final UrlMappingRepository repository;
     private final IdGenerationServiceImpl idGenerationServiceImpl;
     private final CacheService cacheService;
     private final UrlShortenerMetrics metrics;
+    private final DatabaseBulkhead bulkhead;
+    private final UrlMappingBatchRepository batchRepository;
+    private final UserLinkStatsService linkStats;
 
     private final String baseUrl;
 
@@ -51,10 +82,16 @@ public class UrlServiceImpl implements UrlService {
 
     private final boolean enableDuplicateDetection;
 
+    private final RedirectLocationCache redirectLocations;
+
     public UrlServiceImpl(UrlMappingRepository repository,
                           IdGenerationServiceImpl idGenerationServiceImpl,
                           CacheService cacheService,
                           UrlShortenerMetrics metrics,
+                          DatabaseBulkhead bulkhead,
+                          UrlMappingBatchRepository batchRepository,
+                          UserLinkStatsService linkStats,
+                          RedirectLocationCache redirectLocations,
                           @Value("${app.base-url}") String baseUrl,
                           @Value("${app.url.max-length:2048}") int maxLength,
                           @Value("${app.url.cache-ttl:3600}") long cacheTtl,
@@ -63,6 +100,10 @@ public class UrlServiceImpl implements UrlService {
         this.idGenerationServiceImpl = idGenerationServiceImpl;
         this.cacheService = cacheService;
         this.metrics = metrics;
+        this.bulkhead = bulkhead;
+        this.batchRepository = batchRepository;
+        this.linkStats = linkStats;
+        this.redirectLocations = redirectLocations;
         this.baseUrl = baseUrl;
         this.maxLength = maxLength;
         this.cacheTtl = cacheTtl;
@@ -76,7 +117,9 @@ public class UrlServiceImpl implements UrlService {
     }
 
 
+    // The redirect path must not open a transaction up front, otherwise every cache hit would hold a pooled connection
     @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public String getOriginalUrl(String shortCode) {
         logger.debug("Retrieving original URL for short code: {}", shortCode);
         Timer.Sample sample = metrics.startUrlRetrievalTimer();
@@ -84,8 +127,8 @@ public class UrlServiceImpl implements UrlService {
         try {
             UrlMappingResponse mappingResponse = getUrlMapping(shortCode);
 
-            //Check if the original URL is expired
-            if(isUrlExpired(shortCode)) {
+            //Check if the original URL is expired, using the mapping already loaded above
+            if(mappingResponse.getExpiresAt() != null && LocalDateTime.now().isAfter(mappingResponse.getExpiresAt())) {
                 logger.warn("Attempted access to expired URL: {}", shortCode);
                 metrics.incrementError();
                 throw new UrlExpiredException(shortCode);
@@ -102,6 +145,9 @@ public class UrlServiceImpl implements UrlService {
             logger.warn("Short code expired: {}", shortCode);
             metrics.incrementError();
             throw e;
+        } catch (ServiceOverloadedException e) {
+            // Already counted by the bulkhead
+            throw e;
         }
         catch (Exception e) {
             logger.error("Failed to retrieve URL for short code: {}, error: {}", shortCode, e.getMessage());
@@ -113,6 +159,36 @@ public class UrlServiceImpl implements UrlService {
     }
 
     @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public String getRedirectLocation(String shortCode) {
+        String location = redirectLocations.get(shortCode);
+        if(location != null) {
+            metrics.incrementCacheHit();
+            metrics.incrementUrlRetrieval();
+            return location;
+        }
+
+        UrlMappingResponse mapping = getUrlMapping(shortCode);
+        LocalDateTime expiresAt = mapping.getExpiresAt();
+        LocalDateTime now = LocalDateTime.now();
+        if(expiresAt != null && now.isAfter(expiresAt)) {
+            logger.warn("Attempted access to expired URL: {}", shortCode);
+            metrics.incrementError();
+            throw new UrlExpiredException(shortCode);
+        }
+
+        // Parse and encode once; the cached value goes straight into the Location header
+        location = URI.create(mapping.getOriginalUrl()).toASCIIString();
+        if(expiresAt != null) {
+            redirectLocations.put(shortCode, location, Duration.between(now, expiresAt));
+        } else {
+            redirectLocations.put(shortCode, location);
+        }
+        return location;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public UrlMappingResponse getUrlMapping(String shortCode) {
         // Check cache first
         Optional<UrlMapping> cached = cacheService.getUrlMapping(shortCode, UrlMapping.class);
@@ -126,8 +202,11 @@ public class UrlServiceImpl implements UrlService {
         logger.debug("Cache miss for short code: {}, querying database", shortCode);
         metrics.incrementCacheMiss();
 
-        UrlMapping mapping = repository.findByShortCode(shortCode)
-            .orElseThrow(() -> new UrlNotFoundException(shortCode));
+        // Bounded so that a cache outage cannot drain the connection pool. The row fills both caches, so it is read
+        // from the primary: a lagging replica could still hold a link that was just deactivated or edited
+        Optional<RedirectTarget> found = bulkhead.execute(DatabaseBulkhead.Priority.REDIRECT,
+                () -> ReadRouting.onPrimary(() -> repository.findRedirectTarget(shortCode)));
+        UrlMapping mapping = found.orElseThrow(() -> new UrlNotFoundException(shortCode)).toUrlMapping();
 
         // Cache the result for future requests
         cacheService.putUrlMapping(shortCode, mapping, cacheTtl);
@@ -137,7 +216,7 @@ public class UrlServiceImpl implements UrlService {
 
     @Override
     public CreateUrlResponse createShortUrl(CreateUrlRequest request, User owner) {
-        logger.info("Creating short URL for user {} with URL: {}", owner != null ? owner.getEmail() : "anonymous", request.getOriginalUrl());
+        logger.info("Creating short URL for user {} with URL: {}", owner != null ? owner.getId() : "anonymous", request.getOriginalUrl());
         Timer.Sample sample = metrics.startUrlCreationTimer();
 
         try {
@@ -148,27 +227,22 @@ public class UrlServiceImpl implements UrlService {
                 validateExpirationDate(request.getExpiresAt());
             }
 
+            if(owner != null) {
+                // One link per owner and URL is enforced by the unique (url_hash, owner_id) index
+                return createOwnedUrl(originalUrl, request.getExpiresAt(), owner);
+            }
+
             if(enableDuplicateDetection) {
-                if(owner != null) {
-                    // For authenticated users, check if there is already an existing original URL and retrieve the short if exists
-                    Optional<UrlMapping> existing = repository.findByOriginalUrlAndOwner(originalUrl, owner);
-                    if (existing.isPresent()) {
-                        UrlMapping mapping = existing.get();
-                        cacheService.putUrlMapping(mapping.getShortCode(), mapping, cacheTtl);
-                        logger.info("Returned existing short URL : {} for user {}", mapping.getShortCode(), owner.getEmail());
-                        metrics.incrementUrlCreation();
-                        return buildResponse(mapping);
-                    }
-                } else {
-                    // For anonymous users, check global duplicates
-                    Optional<UrlMapping> existing = repository.findByOriginalUrl(originalUrl);
-                    if (existing.isPresent()) {
-                        UrlMapping mapping = existing.get();
-                        cacheService.putUrlMapping(mapping.getShortCode(), mapping, cacheTtl);
-                        logger.info("Returned existing short URL : {} for anonymous user", mapping.getShortCode());
-                        metrics.incrementUrlCreation();
-                        return buildResponse(mapping);
-                    }
+                // For anonymous users, check global duplicates
+                Optional<UrlMapping> existing = findDuplicate(originalUrl, null);
+                if (existing.isPresent()) {
+                    UrlMapping mapping = existing.get();
+                    cacheService.putUrlMapping(mapping.getShortCode(), mapping, cacheTtl);
+                    logger.info("Returned existing short URL : {} for anonymous user", mapping.getShortCode());
+                    metrics.incrementUrlCreation();
+                    CreateUrlResponse response = buildResponse(mapping);
+                    response.setCreated(false);
+                    return response;
                 }
             }
 
@@ -178,7 +252,6 @@ public class UrlServiceImpl implements UrlService {
             mapping.setOriginalUrl(originalUrl);
             mapping.setCreatedAt(LocalDateTime.now());
             mapping.setShortCode(shortCode);
-            mapping.setOwner(owner);
 
             if(request.getExpiresAt() != null) {
                 mapping.setExpiresAt(request.getExpiresAt());
@@ -186,17 +259,129 @@ public class UrlServiceImpl implements UrlService {
 
             repository.save(mapping);
 
-            //Updating the user's URL list if the owner exists
-            if(owner != null) {
-                owner.addUrlMapping(mapping);
-            }
-
             cacheService.putUrlMapping(shortCode, mapping, cacheTtl);
-            logger.info("Successfully created new short URL : {} for user: {}", mapping.getShortCode(), owner != null ? owner.getEmail() : "anonymous");
+            logger.info("Successfully created new short URL : {} for user: anonymous", mapping.getShortCode());
             metrics.incrementUrlCreation();
             return buildResponse(mapping);
         } catch (Exception e) {
-            logger.error("Failed to create short URL for user: {}, error: {}", owner != null ? owner.getEmail() : "anonymous", e.getMessage());
+            logger.error("Failed to create short URL for user: {}, error: {}", owner != null ? owner.getId() : "anonymous", e.getMessage());
+            metrics.incrementError();
+            throw e;
+        } finally {
+            metrics.recordUrlCreationTime(sample);
+        }
+    }
+
+    @Override
+    public BatchCreateUrlResponse createShortUrls(List<CreateUrlRequest> requests, User owner) {
+        return createShortUrls(requests, owner, true);
+    }
+
+    /**
+     * Creates a batch of links for one owner. Invalid items fail on their own; duplicates are
+     * resolved with one set query, ids come from a single sequence call and the rows are written
+     * with JDBC batching, then the cache is filled in one pipelined round trip. Bulk imports skip
+     * the cache so that millions of cold links do not push hot ones out of Redis.
+     */
+    @Override
+    public BatchCreateUrlResponse createShortUrls(List<CreateUrlRequest> requests, User owner, boolean populateCache) {
+        if(owner == null) {
+            throw new IllegalArgumentException("Owner cannot be null");
+        }
+        logger.info("Creating {} short URLs in batch for user {}", requests.size(), owner.getId());
+        Timer.Sample sample = metrics.startUrlCreationTimer();
+
+        try {
+            BatchCreateUrlResult[] results = new BatchCreateUrlResult[requests.size()];
+            CreateUrlResponse[] responses = new CreateUrlResponse[requests.size()];
+            String[] originalUrls = new String[requests.size()];
+            // First index of each distinct normalized URL; repeats within the batch resolve to the same link
+            Map<String, Integer> firstIndexByUrl = new LinkedHashMap<>();
+            Map<Integer, Integer> repeatOf = new HashMap<>();
+            List<Integer> candidates = new ArrayList<>();
+
+            for(int i = 0; i < requests.size(); i++) {
+                CreateUrlRequest request = requests.get(i);
+                try {
+                    originalUrls[i] = validateUrl(request.getOriginalUrl());
+                    if(request.getExpiresAt() != null) {
+                        validateExpirationDate(request.getExpiresAt());
+                    }
+                } catch (InvalidUrlException e) {
+                    results[i] = new BatchCreateUrlResult(i, request.getOriginalUrl(), e.getMessage());
+                    continue;
+                }
+                if(enableDuplicateDetection) {
+                    Integer first = firstIndexByUrl.putIfAbsent(UrlHash.normalize(originalUrls[i]), i);
+                    if(first != null) {
+                        repeatOf.put(i, first);
+                        continue;
+                    }
+                }
+                candidates.add(i);
+            }
+
+            Map<String, UrlMapping> existing = new HashMap<>();
+            if(enableDuplicateDetection && !firstIndexByUrl.isEmpty()) {
+                Set<Long> urlHashes = new HashSet<>();
+                List<String> distinctUrls = new ArrayList<>(firstIndexByUrl.size());
+                for(int i : firstIndexByUrl.values()) {
+                    urlHashes.add(UrlHash.of(originalUrls[i]));
+                    distinctUrls.add(originalUrls[i]);
+                }
+                // Hash collisions drop out here because candidates are keyed by their own normalized URL
+                for(UrlMapping mapping : repository.findDuplicateCandidatesByOwnerIn(owner, urlHashes, distinctUrls)) {
+                    existing.putIfAbsent(UrlHash.normalize(mapping.getOriginalUrl()), mapping);
+                }
+            }
+
+            Map<String, UrlMapping> toCache = new LinkedHashMap<>();
+            List<Integer> toCreate = new ArrayList<>();
+            for(int i : candidates) {
+                UrlMapping mapping = existing.get(UrlHash.normalize(originalUrls[i]));
+                if(mapping != null) {
+                    responses[i] = buildResponse(mapping);
+                    results[i] = new BatchCreateUrlResult(i, BatchCreateUrlResult.Status.EXISTING, responses[i]);
+                    toCache.put(mapping.getShortCode(), mapping);
+                } else {
+                    toCreate.add(i);
+                }
+            }
+
+            int created = 0;
+            if(!toCreate.isEmpty()) {
+                List<Long> ids = batchRepository.allocateIds(toCreate.size());
+                List<String> shortCodes = idGenerationServiceImpl.generateUniqueShortCodes(ids);
+                LocalDateTime now = LocalDateTime.now();
+                List<UrlMapping> mappings = new ArrayList<>(toCreate.size());
+                for(int k = 0; k < toCreate.size(); k++) {
+                    int i = toCreate.get(k);
+                    UrlMapping mapping = new UrlMapping(shortCodes.get(k), originalUrls[i], owner, requests.get(i).getExpiresAt());
+                    mapping.setId(ids.get(k));
+                    mapping.setCreatedAt(now);
+                    mappings.add(mapping);
+                    responses[i] = buildResponse(mapping);
+                    results[i] = new BatchCreateUrlResult(i, BatchCreateUrlResult.Status.CREATED, responses[i]);
+                    toCache.put(mapping.getShortCode(), mapping);
+                }
+                List<UrlMapping> skipped = batchRepository.insertAllIfAbsent(mappings);
+                if(!skipped.isEmpty()) {
+                    resolveSkipped(skipped, owner, toCreate, mappings, responses, results, toCache);
+                }
+                created = mappings.size() - skipped.size();
+                linkStats.recordCreated(owner.getId(), created);
+                metrics.incrementUrlCreation(created);
+            }
+
+            repeatOf.forEach((i, first) -> results[i] = new BatchCreateUrlResult(i, BatchCreateUrlResult.Status.EXISTING, responses[first]));
+
+            if(populateCache) {
+                cacheService.putUrlMappings(toCache, cacheTtl);
+            }
+            logger.info("Batch for user {}: {} created, {} links in total", owner.getId(), created, requests.size());
+            return new BatchCreateUrlResponse(Arrays.asList(results));
+        } catch (Exception e) {
+            logger.error("Failed to create short URL batch for user: {}, error: {}", owner.getId(), e.getMessage());
             metrics.incrementError();
             throw e;
         } finally {
@@ -216,48 +401,103 @@ public class UrlServiceImpl implements UrlService {
         }
     }
 
+    // Read-only: Hibernate skips flushing and dirty checking for the whole listing
     @Override
+    @Transactional(readOnly = true)
     public Page<UrlMappingResponse> getUserUrls(User owner, Pageable pageable) {
         if(owner == null) {
             throw new IllegalArgumentException("Owner cannot be null");
         }
         
-        logger.debug("Retrieving URLs for user: {} with pagination: {}", owner.getEmail(), pageable);
+        logger.debug("Retrieving URLs for user: {} with pagination: {}", owner.getId(), pageable);
 
         try {
-            Page<UrlMapping> urlMappings = repository.findByOwner(owner, pageable);
+            Page<UrlMappingView> urlMappings = repository.findViewsByOwner(owner, pageable);
             Page<UrlMappingResponse> responses = urlMappings.map(this::buildMappingResponse);
 
-            logger.debug("Retrieved {} URLs for user: {}", responses.getNumberOfElements(), owner.getEmail());
+            logger.debug("Retrieved {} URLs for user: {}", responses.getNumberOfElements(), owner.getId());
             return responses;
         } catch (Exception e) {
-            logger.error("Failed to retrieve URLs for user: {}, error: {}", owner.getEmail(), e.getMessage());
+            logger.error("Failed to retrieve URLs for user: {}, error: {}", owner.getId(), e.getMessage());
             metrics.incrementError();
             throw e;
         }
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Page<UrlMappingResponse> getUserActiveUrls(User owner, Pageable pageable) {
         if(owner == null) {
             throw new IllegalArgumentException("Owner cannot be null");
         }
         
-        logger.debug("Retrieving active URLs for users: {} with pagination: {}", owner.getEmail(), pageable);
+        logger.debug("Retrieving active URLs for users: {} with pagination: {}", owner.getId(), pageable);
 
         try {
-            Page<UrlMapping> urlMappings = repository.findByOwnerAndIsActive(owner, true, pageable);
+            Page<UrlMappingView> urlMappings = repository.findViewsByOwnerAndIsActive(owner, true, pageable);
             Page<UrlMappingResponse> responses = urlMappings.map(this::buildMappingResponse);
 
-            logger.debug("Retrieved {} active URLs for user: {}", responses.getNumberOfElements(), owner.getEmail());
+            logger.debug("Retrieved {} active URLs for user: {}", responses.getNumberOfElements(), owner.getId());
             return responses;
         } catch (Exception e) {
-            logger.error("Failed to retrieve active URLs for user: {}, error: {}", owner.getEmail(), e.getMessage());
+            logger.error("Failed to retrieve active URLs for user: {}, error: {}", owner.getId(), e.getMessage());
             metrics.incrementError();
             throw e;
         }
     }
 
+    /**
+     * Seeks past the cursor on (created_at, id) instead of skipping rows with OFFSET, so every
+     * page costs the same. One extra row is fetched to know whether another page follows. The
+     * total is optional and comes from the user's link counters rather than a COUNT per page.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponse<UrlMappingResponse> getUserUrls(User owner, String cursor, int size, boolean activeOnly, boolean includeTotal) {
+        if(owner == null) {
+            throw new IllegalArgumentException("Owner cannot be null");
+        }
+
+        LinkCursor after = cursor != null && !cursor.isBlank() ? LinkCursor.decode(cursor) : null;
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<UrlMappingView> mappings;
+        if(after == null) {
+            mappings = activeOnly ? repository.findFirstActiveByOwner(owner, limit) : repository.findFirstByOwner(owner, limit);
+        } else if(activeOnly) {
+            mappings = repository.findActiveByOwnerBefore(owner, after.getCreatedAt(), after.getId(), limit);
+        } else {
+            mappings = repository.findByOwnerBefore(owner, after.getCreatedAt(), after.getId(), limit);
+        }
+
+        String nextCursor = null;
+        if(mappings.size() > size) {
+            mappings = mappings.subList(0, size);
+            UrlMappingView last = mappings.get(size - 1);
+            nextCursor = new LinkCursor(last.createdAt(), last.id()).encode();
+        }
+        List<UrlMappingResponse> items = new ArrayList<>(mappings.size());
+        for(UrlMappingView mapping : mappings) {
+            items.add(buildMappingResponse(mapping));
+        }
+
+        Long total = null;
+        if(includeTotal) {
+            UserUrlSummary summary = linkStats.getSummary(owner.getId());
+            total = activeOnly ? summary.getActiveUrls() : summary.getTotalUrls();
+        }
+        logger.debug("Retrieved {} URLs for user: {} (cursor page, more: {})", items.size(), owner.getId(), nextCursor != null);
+        return new CursorPageResponse<>(items, nextCursor, total);
+    }
+
+    // O(1): served from the user's link counters instead of two COUNT queries
+    @Override
+    public UserUrlSummary getUserUrlSummary(User owner) {
+        if(owner == null) {
+            throw new IllegalArgumentException("Owner cannot be null");
+        }
+        return linkStats.getSummary(owner.getId());
+    }
+
     @Override
     public boolean isUrlOwnedByUser(String shortCode, User user) {
         if(user == null || shortCode == null) {
@@ -267,25 +507,25 @@ public class UrlServiceImpl implements UrlService {
             Optional<UrlMapping> mapping = repository.findByShortCodeAndOwner(shortCode, user);
             return mapping.isPresent();
         } catch (Exception e) {
-            logger.error("Error checking URL ownership for shortCode: {} and user: {}", shortCode, user.getEmail(), e);
+            logger.error("Error checking URL ownership for shortCode: {} and user: {}", shortCode, user.getId(), e);
             return false;
         }
     }
 
     @Override
     public void validateUrlOwnership(String shortCode, User user) throws UnauthorizedAccessException {
-        logger.debug("Validating URL ownership for shortCode: {} and user: {}", shortCode, user != null ? user.getEmail() : "null");
+        logger.debug("Validating URL ownership for shortCode: {} and user: {}", shortCode, user != null ? user.getId() : "null");
 
         if(user == null) {
             throw new UnauthorizedAccessException("User Authentication Required");
         }
 
         if(!isUrlOwnedByUser(shortCode, user)) {
-            logger.warn("Unauthorized access attempt: User {} tried to access shortCode: {}", user.getEmail(), shortCode);
+            logger.warn("Unauthorized access attempt: User {} tried to access shortCode: {}", user.getId(), shortCode);
             throw new UnauthorizedAccessException("You don't have permission to access this URL");
         }
 
-        logger.debug("URL ownership validated successfully for shortCode: {} and user: {}", shortCode, user.getEmail());
+        logger.debug("URL ownership validated successfully for shortCode: {} and user: {}", shortCode, user.getId());
     }
 
     @Override
@@ -296,10 +536,10 @@ public class UrlServiceImpl implements UrlService {
 
         try {
             long count = repository.countByOwner(owner);
-            logger.debug("User {} has {} total URLs", owner.getEmail(), count);
+            logger.debug("User {} has {} total URLs", owner.getId(), count);
             return count;
         } catch (Exception e) {
-            logger.error("Failed to count URLs for user: {}, error: {}", owner.getEmail(), e.getMessage());
+            logger.error("Failed to count URLs for user: {}, error: {}", owner.getId(), e.getMessage());
             metrics.incrementError();
             throw e;
         }
@@ -313,16 +553,17 @@ public class UrlServiceImpl implements UrlService {
 
         try {
             long count = repository.countByOwnerAndIsActive(owner, true);
-            logger.debug("User {} has {} active URLs", owner.getEmail(), count);
+            logger.debug("User {} has {} active URLs", owner.getId(), count);
             return count;
         } catch (Exception e) {
-            logger.error("Failed to count active URLs for user: {}, error: {}", owner.getEmail(), e.getMessage());
+            logger.error("Failed to count active URLs for user: {}, error: {}", owner.getId(), e.getMessage());
             metrics.incrementError();
             throw e;
         }
     }
 
     @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public boolean isUrlExpired(String shortCode) {
         try {
             //Check the cache first for the original URL
@@ -332,8 +573,8 @@ public class UrlServiceImpl implements UrlService {
             }
 
             //If cache is a miss, fetch from the database
-            Optional<UrlMapping> mapping = repository.findByShortCode(shortCode);
-            return mapping.map(UrlMapping::isExpired).orElse(false);
+            Optional<RedirectTarget> target = bulkhead.execute(DatabaseBulkhead.Priority.REDIRECT, () -> repository.findRedirectTarget(shortCode));
+            return target.map(RedirectTarget::isExpired).orElse(false);
         } catch (Exception e) {
             logger.error("Error checking expiration for shortCode: {}", shortCode, e);
             return false;
@@ -363,7 +604,14 @@ public class UrlServiceImpl implements UrlService {
     @Override
     public int deactivateExpiredUrls() {
         try {
-            int deactivatedCount = repository.deactivateExpiredUrls(LocalDateTime.now());
+            LocalDateTime now = LocalDateTime.now();
+            // Counted per owner before the bulk update, which cannot report whose links it switched off
+            Map<Long, Long> expiredByOwner = new HashMap<>();
+            for(Object[] row : repository.countExpiringActiveByOwner(now)) {
+                expiredByOwner.put((Long) row[0], (Long) row[1]);
+            }
+            int deactivatedCount = repository.deactivateExpiredUrls(now);
+            linkStats.recordExpired(expiredByOwner);
             logger.info("Deactivated {} expired URLs", deactivatedCount);
             metrics.incrementUrlDeactivation(deactivatedCount);
             return  deactivatedCount;
@@ -377,7 +625,7 @@ public class UrlServiceImpl implements UrlService {
     @Override
     @Transactional
     public UrlMappingResponse updateUrl(String shortCode, CreateUrlRequest updateRequest, User user) {
-        logger.info("Updating URL shortCode: {} by user: {}", shortCode, user.getEmail());
+        logger.info("Updating URL shortCode: {} by user: {}", shortCode, user.getId());
 
         validateUrlOwnership(shortCode, user);
 
@@ -392,34 +640,40 @@ public class UrlServiceImpl implements UrlService {
         repository.save(urlMapping);
 
         if(cacheService != null) {
-            cacheService.delete(shortCode);
+            cacheService.deleteUrlMapping(shortCode);
         }
+        redirectLocations.invalidate(shortCode);
         logger.info("Successfully updated URL shortCode: {}", shortCode);
         return buildMappingResponse(urlMapping);
     }
 
     @Override
     public void deactivateUrl(String shortCode, User user) {
-        logger.info("Deactivating URL shortCode: {} by user: {}", shortCode, user.getEmail());
+        logger.info("Deactivating URL shortCode: {} by user: {}", shortCode, user.getId());
 
         validateUrlOwnership(shortCode, user);
 
         UrlMapping urlMapping = repository.findByShortCode(shortCode)
                 .orElseThrow(() -> new UrlNotFoundException(shortCode));
 
+        boolean wasActive = Boolean.TRUE.equals(urlMapping.getIsActive());
         urlMapping.setIsActive(false);
         repository.save(urlMapping);
+        if(wasActive) {
+            linkStats.recordActiveChange(user.getId(), -1);
+        }
 
         if(cacheService != null) {
-            cacheService.delete(shortCode);
+            cacheService.deleteUrlMapping(shortCode);
         }
+        redirectLocations.invalidate(shortCode);
 
         logger.info("Successfully deactivated URL short: {}", shortCode);
     }
 
     @Override
     public void reactivateUrl(String shortCode, User user) {
-        logger.info("Reactivating URL shortCode: {} by user: {}", shortCode, user.getEmail());
+        logger.info("Reactivating URL shortCode: {} by user: {}", shortCode, user.getId());
 
         validateUrlOwnership(shortCode, user);
 
@@ -430,18 +684,100 @@ public class UrlServiceImpl implements UrlService {
             throw new UrlExpiredException(shortCode, "Cannot reactivate expired URL");
         }
 
+        boolean wasActive = Boolean.TRUE.equals(urlMapping.getIsActive());
         urlMapping.setIsActive(true);
         repository.save(urlMapping);
+        if(!wasActive) {
+            linkStats.recordActiveChange(user.getId(), 1);
+        }
 
         if(cacheService != null) {
-            cacheService.delete(shortCode);
+            cacheService.deleteUrlMapping(shortCode);
         }
+        redirectLocations.invalidate(shortCode);
 
         logger.info("Successfully reactivate URL shortCode: {}", shortCode);
     }
 
+    /*
+     * Rows skipped by the insert lost to a link the owner already has for the same URL, usually
+     * written by a concurrent request, or to an earlier item of this batch when duplicate
+     * detection is off. Their results are switched to that link.
+     */
+    private void resolveSkipped(List<UrlMapping> skipped, User owner, List<Integer> toCreate, List<UrlMapping> mappings,
+                                CreateUrlResponse[] responses, BatchCreateUrlResult[] results, Map<String, UrlMapping> toCache) {
+        Map<Long, Integer> indexById = new HashMap<>();
+        for(int k = 0; k < mappings.size(); k++) {
+            indexById.put(mappings.get(k).getId(), toCreate.get(k));
+        }
+        Set<Long> urlHashes = new HashSet<>();
+        List<String> urls = new ArrayList<>(skipped.size());
+        for(UrlMapping mapping : skipped) {
+            urlHashes.add(mapping.getUrlHash());
+            urls.add(mapping.getOriginalUrl());
+        }
+        Map<String, UrlMapping> existing = new HashMap<>();
+        for(UrlMapping mapping : repository.findDuplicateCandidatesByOwnerIn(owner, urlHashes, urls)) {
+            existing.putIfAbsent(UrlHash.normalize(mapping.getOriginalUrl()), mapping);
+        }
+
+        for(UrlMapping mapping : skipped) {
+            int i = indexById.get(mapping.getId());
+            toCache.remove(mapping.getShortCode());
+            UrlMapping winner = existing.get(UrlHash.normalize(mapping.getOriginalUrl()));
+            if(winner == null) {
+                // Another URL of this owner has the same 64-bit hash
+                results[i] = new BatchCreateUrlResult(i, mapping.getOriginalUrl(), "URL conflicts with an existing link");
+                responses[i] = null;
+                continue;
+            }
+            responses[i] = buildResponse(winner);
+            results[i] = new BatchCreateUrlResult(i, BatchCreateUrlResult.Status.EXISTING, responses[i]);
+            toCache.put(winner.getShortCode(), winner);
+        }
+    }
+
+    /*
+     * Inserts with ON CONFLICT DO NOTHING instead of looking for a duplicate first. A skipped
+     * insert means the owner already has a link for this URL, possibly written by a concurrent
+     * request a moment ago, and that link is returned instead.
+     */
+    private CreateUrlResponse createOwnedUrl(String originalUrl, LocalDateTime expiresAt, User owner) {
+        List<Long> ids = batchRepository.allocateIds(1);
+        UrlMapping mapping = new UrlMapping(idGenerationServiceImpl.generateUniqueShortCodes(ids).get(0), originalUrl, owner, expiresAt);
+        mapping.setId(ids.get(0));
+        mapping.setCreatedAt(LocalDateTime.now());
+
+        boolean created = batchRepository.insertAllIfAbsent(List.of(mapping)).isEmpty();
+        if(created) {
+            linkStats.recordCreated(owner.getId(), 1);
+            logger.info("Successfully created new short URL : {} for user: {}", mapping.getShortCode(), owner.getId());
+        } else {
+            mapping = findDuplicate(originalUrl, owner)
+                    .orElseThrow(() -> new InvalidUrlException("URL conflicts with an existing link"));
+            logger.info("Returned existing short URL : {} for user {}", mapping.getShortCode(), owner.getId());
+        }
+
+        cacheService.putUrlMapping(mapping.getShortCode(), mapping, cacheTtl);
+        metrics.incrementUrlCreation();
+        CreateUrlResponse response = buildResponse(mapping);
+        response.setCreated(created);
+        return response;
+    }
+
+    // The hash narrows the lookup to an index probe; equality is confirmed on the normalized URL
+    private Optional<UrlMapping> findDuplicate(String originalUrl, User owner) {
+        long urlHash = UrlHash.of(originalUrl);
+        List<UrlMapping> candidates = owner != null
+                ? repository.findDuplicateCandidatesByOwner(owner, urlHash, originalUrl)
+                : repository.findDuplicateCandidates(urlHash, originalUrl);
+        return candidates.stream()
+                .filter(candidate -> UrlHash.sameUrl(candidate.getOriginalUrl(), originalUrl))
+                .findFirst();
+    }
+
     private String validateUrl(String url) {
-        if(url == null || url.length() > maxLength) {
+        if(url == null || url.length() > maxLength || url.getBytes(StandardCharsets.UTF_8).length > MAX_URL_BYTES) {
             throw new InvalidUrlException("URL is null or exceeds max length");
         }
         try {
@@ -472,4 +808,13 @@ public class UrlServiceImpl implements UrlService {
                 mapping.getExpiresAt(),
                 mapping.getIsActive());
     }
+
+    private UrlMappingResponse buildMappingResponse(UrlMappingView view) {
+        return new UrlMappingResponse(view.shortCode(),
+                baseUrl + "/" + view.shortCode(),
+                view.originalUrl(),
+                view.createdAt(),
+                view.expiresAt(),
+                Boolean.TRUE.equals(view.isActive()));
+    }
 }
@@ -0,0 +1,74 @@
+package com.pm.urlshortenerbackend.util;
+
+/**
+ * Builds Redis keys for per-link cache entries. The short code is wrapped in a
+ * hash tag so that every key belonging to one link lands in the same cluster slot.
+ *
+ * Author: Sathwik Pillalamarri
+ * Date: 2/3/26
+ * Project: url-shortener-backend
+ */
+public final class CacheKeys {
+    public static final String URL_PREFIX = "url:";
+    public static final String STATS_PREFIX = "stats:";
+    public static final String LOGIN_FAILURES_ACCOUNT_PREFIX = "login:fail:account:";
+    public static final String LOGIN_FAILURES_IP_PREFIX = "login:fail:ip:";
+    public static final String LOGIN_KNOWN_CLIENTS_PREFIX = "login:known:";
+    public static final String RATE_LIMIT_PREFIX = "rate:";
+    public static final String QUOTA_PREFIX = "quota:";
+    public static final String IMPORT_JOB_PREFIX = "import:job:";
+    public static final String IDEMPOTENCY_PREFIX = "idem:";
+    public static final String RECENT_WRITE_PREFIX = "rw:";
+    public static final String REDIRECT_INVALIDATION_CHANNEL = "redirect:invalidate";
+    public static final String SESSION_REVOCATION_CHANNEL = "session:revoked";
+
+    private CacheKeys() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    public static String url(String shortCode) {
+        return URL_PREFIX + hashTag(shortCode);
+    }
+
+    public static String stats(String shortCode) {
+        return STATS_PREFIX + hashTag(shortCode);
+    }
+
+    public static String loginFailuresByAccount(String email) {
+        return LOGIN_FAILURES_ACCOUNT_PREFIX + email;
+    }
+
+    public static String loginFailuresByIp(String ipAddress) {
+        return LOGIN_FAILURES_IP_PREFIX + ipAddress;
+    }
+
+    public static String loginKnownClients(String email) {
+        return LOGIN_KNOWN_CLIENTS_PREFIX + email;
+    }
+
+    public static String rateLimit(String policy, String ipAddress) {
+        return RATE_LIMIT_PREFIX + policy + ":" + ipAddress;
+    }
+
+    // The user id is hash tagged so one script can update all of a user's quota counters in cluster mode
+    public static String quota(Long userId, String window) {
+        return QUOTA_PREFIX + "{" + userId + "}:" + window;
+    }
+
+    public static String importJob(String jobId) {
+        return IMPORT_JOB_PREFIX + jobId;
+    }
+
+    public static String idempotency(Long userId, String key) {
+        return IDEMPOTENCY_PREFIX + userId + ":" + key;
+    }
+
+    public static String recentWrite(Long userId) {
+        return RECENT_WRITE_PREFIX + userId;
+    }
+
+    // Only the part between the braces is hashed by Redis Cluster
+    private static String hashTag(String shortCode) {
+        return "{" + shortCode + "}";
+    }
+}
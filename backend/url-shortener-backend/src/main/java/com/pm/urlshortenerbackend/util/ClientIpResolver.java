@@ -0,0 +1,24 @@
+package com.pm.urlshortenerbackend.util;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Resolves the client address of a request. Forwarded headers are not read here: any client can
+ * send them. Behind a reverse proxy set server.forward-headers-strategy=native, and Tomcat rewrites
+ * the remote address from X-Forwarded-For only when the connection comes from a trusted proxy
+ * (server.tomcat.remoteip.internal-proxies).
+ *
+ * Author: Sathwik Pillalamarri
+ * Date: 2/12/26
+ * Project: url-shortener-backend
+ */
+public final class ClientIpResolver {
+    private ClientIpResolver() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    public static String resolve(HttpServletRequest request) {
+        String ipAddress = request.getRemoteAddr();
+        return ipAddress != null ? ipAddress : "unknown";
+    }
+}
@@ -0,0 +1,54 @@
+package com.pm.urlshortenerbackend.util;
+
+import com.pm.urlshortenerbackend.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Continuation token for link listings: the (createdAt, id) of the last link on the previous
+ * page, URL-safe base64 encoded so clients treat it as opaque and never build one themselves.
+ *
+ * Author: Sathwik Pillalamarri
+ * Date: 2/17/26
+ * Project: url-shortener-backend
+ */
+public final class LinkCursor {
+    private static final String VERSION = "v1";
+
+    private final LocalDateTime createdAt;
+    private final long id;
+
+    public LinkCursor(LocalDateTime createdAt, long id) {
+        this.createdAt = createdAt;
+        this.id = id;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String encode() {
+        String raw = VERSION + "|" + createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static LinkCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|");
+            if(parts.length != 3 || !VERSION.equals(parts[0])) {
+                throw new InvalidCursorException(token);
+            }
+            return new LinkCursor(LocalDateTime.parse(parts[1]), Long.parseLong(parts[2]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidCursorException(token);
+        }
+    }
+}
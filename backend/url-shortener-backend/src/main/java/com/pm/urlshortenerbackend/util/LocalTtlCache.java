@@ -0,0 +1,86 @@
+package com.pm.urlshortenerbackend.util;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Small in-process cache with a per-entry TTL and a hard size cap. Reads are a single
+ * map lookup; when the cap is reached, expired entries are purged first and then
+ * arbitrary entries are dropped, which is good enough for hot-key workloads.
+ *
+ * Author: Sathwik Pillalamarri
+ * Date: 2/6/26
+ * Project: url-shortener-backend
+ */
+public final class LocalTtlCache<K, V> {
+    private final ConcurrentHashMap<K, Entry<V>> entries;
+    private final int maxSize;
+    private final long defaultTtlNanos;
+
+    private record Entry<V>(V value, long expiresAt) {
+    }
+
+    public LocalTtlCache(int maxSize, Duration defaultTtl) {
+        this.entries = new ConcurrentHashMap<>(Math.min(maxSize, 1024));
+        this.maxSize = maxSize;
+        this.defaultTtlNanos = defaultTtl.toNanos();
+    }
+
+    public V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if(entry == null) {
+            return null;
+        }
+        if(System.nanoTime() - entry.expiresAt() >= 0) {
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry.value();
+    }
+
+    public void put(K key, V value) {
+        put(key, value, defaultTtlNanos);
+    }
+
+    // The TTL is capped at the cache default so callers can only shorten it
+    public void put(K key, V value, Duration ttl) {
+        put(key, value, Math.min(ttl.toNanos(), defaultTtlNanos));
+    }
+
+    public void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    public void invalidateAll() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void put(K key, V value, long ttlNanos) {
+        if(maxSize <= 0 || ttlNanos <= 0) {
+            return;
+        }
+        if(entries.size() >= maxSize && !entries.containsKey(key)) {
+            evict();
+        }
+        entries.put(key, new Entry<>(value, System.nanoTime() + ttlNanos));
+    }
+
+    private void evict() {
+        long now = System.nanoTime();
+        entries.values().removeIf(entry -> now - entry.expiresAt() >= 0);
+
+        // Still full: drop roughly a tenth of the entries rather than one per put
+        int toRemove = entries.size() - maxSize + Math.max(1, maxSize / 10);
+        Iterator<Map.Entry<K, Entry<V>>> iterator = entries.entrySet().iterator();
+        while(toRemove-- > 0 && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+}
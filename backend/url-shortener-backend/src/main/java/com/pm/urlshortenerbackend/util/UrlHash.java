@@ -0,0 +1,62 @@
+package com.pm.urlshortenerbackend.util;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Locale;
+
+/**
+ * 64-bit hash of a normalized original URL, stored in url_mappings.url_hash so duplicate
+ * detection is an index probe instead of a comparison against every 2048-char URL. Hashes
+ * can collide, so a hit only narrows the candidates; callers confirm with {@link #sameUrl}.
+ *
+ * Author: Sathwik Pillalamarri
+ * Date: 2/20/26
+ * Project: url-shortener-backend
+ */
+public final class UrlHash {
+    private UrlHash() {
+    }
+
+    // First 8 bytes of SHA-256; stable across JVMs and releases, unlike String.hashCode
+    public static long of(String url) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(normalize(url).getBytes(StandardCharsets.UTF_8));
+            return ByteBuffer.wrap(digest, 0, Long.BYTES).getLong();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    public static boolean sameUrl(String a, String b) {
+        return a != null && b != null && normalize(a).equals(normalize(b));
+    }
+
+    /**
+     * Lower-cases the scheme and host, which are case-insensitive, and gives an empty path
+     * its implicit "/". Path, query and fragment are case-sensitive and kept as they are.
+     */
+    public static String normalize(String url) {
+        String trimmed = url.trim();
+        int schemeEnd = trimmed.indexOf("://");
+        if(schemeEnd < 0) {
+            return trimmed;
+        }
+        int authorityStart = schemeEnd + 3;
+        int authorityEnd = authorityStart;
+        while(authorityEnd < trimmed.length() && "/?#".indexOf(trimmed.charAt(authorityEnd)) < 0) {
+            authorityEnd++;
+        }
+        // User info before '@' is case-sensitive
+        int hostStart = trimmed.lastIndexOf('@', authorityEnd - 1) + 1;
+        if(hostStart < authorityStart) {
+            hostStart = authorityStart;
+        }
+        String rest = trimmed.substring(authorityEnd);
+        return trimmed.substring(0, schemeEnd).toLowerCase(Locale.ROOT) + "://"
+                + trimmed.substring(authorityStart, hostStart)
+                + trimmed.substring(hostStart, authorityEnd).toLowerCase(Locale.ROOT)
+                + (rest.isEmpty() || rest.charAt(0) != '/' ? "/" + rest : rest);
+    }
+}
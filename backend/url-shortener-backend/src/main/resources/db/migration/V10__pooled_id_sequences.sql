@@ -0,0 +1,9 @@
+-- V10__pooled_id_sequences.sql
+-- UrlMapping and ClickEvent use Hibernate's pooled optimizer with allocationSize = 50: each nextval
+-- reserves the 50 ids ending at the returned value. The increments must match or Hibernate refuses
+-- to start. Ids already issued are below the next value, so existing rows are unaffected.
+
+ALTER SEQUENCE url_sequence INCREMENT BY 50;
+
+-- click_events.id keeps its BIGSERIAL default, but the application now assigns ids itself
+ALTER SEQUENCE click_events_id_seq INCREMENT BY 50;
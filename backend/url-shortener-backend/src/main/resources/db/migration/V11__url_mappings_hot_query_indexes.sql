@@ -0,0 +1,28 @@
+-- V11__url_mappings_hot_query_indexes.sql
+-- Runs outside a transaction (V11__url_mappings_hot_query_indexes.sql.conf) so indexes are built and dropped
+-- CONCURRENTLY without blocking writes. This needs spring.flyway.postgresql.transactional-lock=false, since a
+-- concurrent build waits for every open transaction, including the one holding Flyway's default lock.
+-- A failed concurrent build leaves an INVALID index; drop it before re-running.
+-- None of these index click_count or original_url as a key, so the per-click UPDATE stays a HOT update.
+
+-- Redirect lookup: unique on short_code and carrying what a redirect needs, so the lookup is an index-only scan
+CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS uq_url_mappings_short_code_redirect
+    ON url_mappings (short_code) INCLUDE (original_url, expires_at, is_active);
+
+-- Active-only listings and counts (activeOnly cursor pages, findViewsByOwnerAndIsActive, countByOwnerAndIsActive)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_url_mappings_owner_active_created_id
+    ON url_mappings (owner_id, created_at DESC, id DESC) WHERE is_active;
+
+-- Expiry sweep (deactivateExpiredUrls, countExpiringActiveByOwner) only looks at active links that can expire
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_url_mappings_active_expires_at
+    ON url_mappings (expires_at) WHERE is_active AND expires_at IS NOT NULL;
+
+-- owner_id is the leading column of idx_url_mappings_owner_created_id (V6), which also serves the foreign key
+DROP INDEX CONCURRENTLY IF EXISTS idx_url_mappings_owner_id;
+-- Nearly every row is active, so this was never selective enough to be used
+DROP INDEX CONCURRENTLY IF EXISTS idx_url_mappings_is_active;
+-- Replaced by the partial index above; no query filters on expiry alone
+DROP INDEX CONCURRENTLY IF EXISTS idx_url_mappings_expires_at;
+-- short_code had a plain index next to its unique constraint; the redirect index now enforces uniqueness
+DROP INDEX CONCURRENTLY IF EXISTS idx_url_mappings_short_code;
+ALTER TABLE url_mappings DROP CONSTRAINT IF EXISTS uk_url_mappings_short_code;
@@ -0,0 +1,8 @@
+-- V12__url_mappings_redirect_index_created_at.sql
+-- Non-transactional like V11 (see its header). The redirect lookup (UrlMappingRepository.findRedirectTarget) also
+-- returns created_at for the cached mapping, so the covering index carries it to keep the lookup index-only.
+-- Both unique indexes exist briefly while the new one is built; the old one is dropped once it is valid.
+CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS uq_url_mappings_short_code_lookup
+    ON url_mappings (short_code) INCLUDE (original_url, created_at, expires_at, is_active);
+
+DROP INDEX CONCURRENTLY IF EXISTS uq_url_mappings_short_code_redirect;
@@ -0,0 +1,10 @@
+-- V13__users_tokens_valid_after.sql
+-- Non-transactional like V11 (see its header). A password change sets tokens_valid_after in the same UPDATE as
+-- the new hash, so the revocation of older tokens is stored with it rather than only broadcast through Redis.
+-- Every instance reloads recent revocations from here. The column is nullable without a default, so adding it
+-- does not rewrite the table.
+ALTER TABLE users ADD COLUMN IF NOT EXISTS tokens_valid_after TIMESTAMP WITH TIME ZONE;
+
+-- Only users who revoked their tokens are indexed; the reload reads those within the token lifetime
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_users_tokens_valid_after
+    ON users (tokens_valid_after) WHERE tokens_valid_after IS NOT NULL;
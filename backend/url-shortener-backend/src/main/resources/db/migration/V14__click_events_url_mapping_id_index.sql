@@ -0,0 +1,9 @@
+-- V14__click_events_url_mapping_id_index.sql
+-- Non-transactional like V11 (see its header). Click exports (LinkExportRepository) walk each link's clicks in
+-- keyset pages (WHERE url_mapping_id = ? AND id > ? ORDER BY id), which this serves as one index range scan per
+-- page. It has the same leading column as the single-column index from V4, so it also serves the foreign key
+-- and per-link lookups, and replaces it.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_click_events_url_mapping_id_id
+    ON click_events (url_mapping_id, id);
+
+DROP INDEX CONCURRENTLY IF EXISTS idx_click_events_url_mapping_id;
@@ -0,0 +1,5 @@
+-- V15__user_link_stats_reconciled_at.sql
+-- When a row's counters were last recomputed from url_mappings, by the nightly reconcile or the first read. The
+-- recount already includes clicks that other instances still hold in memory, so their flush skips clicks
+-- recorded before this. Nullable without a default, so adding it does not rewrite the table.
+ALTER TABLE user_link_stats ADD COLUMN IF NOT EXISTS reconciled_at TIMESTAMP WITH TIME ZONE;
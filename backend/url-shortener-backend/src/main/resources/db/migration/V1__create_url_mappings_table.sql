@@ -0,0 +1,12 @@
+-- Baseline schema: anonymous short links, as they existed before accounts (V2) and ownership (V3)
+CREATE SEQUENCE IF NOT EXISTS url_sequence START WITH 1 INCREMENT BY 1;
+
+CREATE TABLE IF NOT EXISTS url_mappings (
+    id BIGINT PRIMARY KEY,
+    short_code VARCHAR(255) NOT NULL,
+    original_url VARCHAR(2048) NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    CONSTRAINT uk_url_mappings_short_code UNIQUE (short_code)
+);
+
+CREATE INDEX IF NOT EXISTS idx_url_mappings_short_code ON url_mappings(short_code);
@@ -0,0 +1,6 @@
+-- Link creation quota plan per user. Accounts that existed before quotas keep unlimited creation
+-- until a plan is assigned; new accounts start on the free plan
+ALTER TABLE users
+    ADD COLUMN quota_plan VARCHAR(20) DEFAULT 'UNLIMITED' NOT NULL;
+ALTER TABLE users
+    ALTER COLUMN quota_plan SET DEFAULT 'FREE';
@@ -0,0 +1,6 @@
+-- V6__url_mappings_owner_listing_index.sql
+-- Non-transactional like V11 (see its header), so the index is built without blocking writes.
+-- Serves cursor listings (WHERE owner_id = ? AND (created_at, id) < (?, ?) ORDER BY created_at DESC, id DESC)
+-- as a single index range scan, however deep the page
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_url_mappings_owner_created_id
+    ON url_mappings (owner_id, created_at DESC, id DESC);
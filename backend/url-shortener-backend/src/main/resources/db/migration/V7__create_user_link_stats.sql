@@ -0,0 +1,22 @@
+-- Per-user link counters behind GET /api/links/summary, seeded from the current links
+CREATE TABLE IF NOT EXISTS user_link_stats (
+    user_id BIGINT PRIMARY KEY,
+    total_links BIGINT NOT NULL DEFAULT 0,
+    active_links BIGINT NOT NULL DEFAULT 0,
+    total_clicks BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT fk_user_link_stats_user
+        FOREIGN KEY (user_id)
+            REFERENCES users(id)
+            ON DELETE CASCADE
+);
+
+INSERT INTO user_link_stats (user_id, total_links, active_links, total_clicks)
+SELECT u.id,
+       COUNT(m.id),
+       COUNT(m.id) FILTER (WHERE m.is_active),
+       COALESCE(SUM(m.click_count), 0)
+FROM users u
+LEFT JOIN url_mappings m ON m.owner_id = u.id
+GROUP BY u.id
+ON CONFLICT (user_id) DO NOTHING;
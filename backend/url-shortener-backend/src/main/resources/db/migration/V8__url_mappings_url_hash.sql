@@ -0,0 +1,16 @@
+-- V8__url_mappings_url_hash.sql
+-- Non-transactional like V11 (see its header), so the indexes are built without blocking writes.
+-- Hash of the normalized original URL (see UrlHash), so duplicate detection probes an index
+-- instead of comparing 2048-char strings. The column is nullable and has no default, so adding
+-- it does not rewrite the table; existing rows are hashed by UrlHashBackfillScheduler in small
+-- batches while the application runs, since the hash is computed in Java.
+ALTER TABLE url_mappings ADD COLUMN IF NOT EXISTS url_hash BIGINT;
+
+-- Hash first so the same index serves both the per-owner and the global (anonymous) lookup
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_url_mappings_url_hash_owner
+    ON url_mappings (url_hash, owner_id);
+
+-- Rows still waiting for the backfill; empty afterwards, which keeps both the backfill query and
+-- the url_hash IS NULL fallback branch of the duplicate lookup free
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_url_mappings_url_hash_pending
+    ON url_mappings (id) WHERE url_hash IS NULL;
@@ -0,0 +1,25 @@
+-- V9__url_mappings_unique_owner_url_hash.sql
+-- Non-transactional like V11 (see its header), so the unique index is built without blocking writes.
+-- One link per owner and URL. Creates insert with ON CONFLICT (url_hash, owner_id) DO NOTHING and
+-- read back the existing row, so concurrent or retried requests converge on the same link instead
+-- of racing a SELECT. Anonymous links (owner_id NULL) and rows without a hash never conflict.
+
+-- Links duplicated before this constraint keep working; all but the oldest lose their hash, which
+-- exempts them from the index. Duplicate lookups still match them on original_url, and the
+-- backfill skips them for the same reason. A duplicate written between this and the build fails
+-- the build; drop the INVALID index and re-run, which clears the new duplicate too.
+UPDATE url_mappings m
+SET url_hash = NULL
+WHERE m.owner_id IS NOT NULL
+  AND m.url_hash IS NOT NULL
+  AND EXISTS (SELECT 1
+              FROM url_mappings o
+              WHERE o.url_hash = m.url_hash
+                AND o.owner_id = m.owner_id
+                AND o.id < m.id);
+
+-- Replaces the plain index from V8, which keeps serving lookups until the unique one is valid; hash
+-- first still serves the global lookup for anonymous links
+CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS uq_url_mappings_url_hash_owner
+    ON url_mappings (url_hash, owner_id);
+DROP INDEX CONCURRENTLY IF EXISTS idx_url_mappings_url_hash_owner;
@@ -0,0 +1,38 @@
+-- beforeBaseline.sql
+-- Flyway callback, run when an existing database is adopted (spring.flyway.baseline-on-migrate=true,
+-- baseline-version=5). Baselining records V1-V5 as applied without running them, so everything they create
+-- must already be there; a database built by ddl-auto=update before quota plans existed has no
+-- users.quota_plan, for example. Fails before the baseline is recorded, so the next start checks again once
+-- the missing objects have been added by hand (the V1-V5 scripts show their definitions).
+DO $$
+DECLARE
+    missing TEXT;
+BEGIN
+    SELECT string_agg(required.name, ', ' ORDER BY required.name)
+    INTO missing
+    FROM (VALUES ('url_mappings.id'), ('url_mappings.short_code'), ('url_mappings.original_url'),
+                 ('url_mappings.created_at'), ('url_mappings.owner_id'), ('url_mappings.expires_at'),
+                 ('url_mappings.click_count'), ('url_mappings.is_active'),
+                 ('users.id'), ('users.email'), ('users.password_hash'), ('users.first_name'),
+                 ('users.last_name'), ('users.created_at'), ('users.updated_at'), ('users.quota_plan'),
+                 ('click_events.id'), ('click_events.url_mapping_id'), ('click_events.clicked_at'),
+                 ('click_events.ip_address_hash'), ('click_events.user_agent'), ('click_events.referrer'),
+                 ('click_events.device_type'), ('click_events.browser'), ('click_events.operating_system'),
+                 ('click_events.country'), ('click_events.city')) AS required(name)
+    WHERE NOT EXISTS (SELECT 1
+                      FROM information_schema.columns c
+                      WHERE c.table_schema = current_schema()
+                        AND c.table_name || '.' || c.column_name = required.name);
+
+    -- V10 changes the increments of both id sequences
+    IF to_regclass('url_sequence') IS NULL THEN
+        missing := concat_ws(', ', missing, 'url_sequence');
+    END IF;
+    IF to_regclass('click_events_id_seq') IS NULL THEN
+        missing := concat_ws(', ', missing, 'click_events_id_seq');
+    END IF;
+
+    IF missing IS NOT NULL THEN
+        RAISE EXCEPTION 'Cannot baseline at version 5, the schema is missing: %', missing;
+    END IF;
+END $$;
@@ -0,0 +1,138 @@
+package com.pm.urlshortenerbackend.config;
+
+import com.pm.urlshortenerbackend.health.UrlShortenerMetrics;
+import com.pm.urlshortenerbackend.resilience.RedisCircuitBreaker;
+import com.pm.urlshortenerbackend.service.impl.CacheServiceImpl;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisFuture;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.codec.StringCodec;
+import io.lettuce.core.output.StatusOutput;
+import io.lettuce.core.protocol.CommandArgs;
+import io.lettuce.core.protocol.CommandType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import redis.embedded.RedisServer;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Stalls a local Redis with DEBUG SLEEP and checks that cache reads give up after the read
+ * budget rather than the full command timeout, and that repeated stalls open the breaker. Only
+ * the cache connection has the budgets; other Redis traffic keeps the command timeout.
+ *
+ * Author: Sathwik Pillalamarri
+ * Date: 2/4/26
+ * Project: url-shortener-backend
+ */
+public class RedisLatencyBudgetTest {
+    private static final int PORT = 6372;
+
+    private static RedisServer redisServer;
+    private static RedisClient adminClient;
+    private static StatefulRedisConnection<String, String> adminConnection;
+    private static LettuceConnectionFactory connectionFactory;
+    private static LettuceConnectionFactory sharedFactory;
+    private static RedisTemplate<String, Object> template;
+
+    @BeforeAll
+    static void startRedis() {
+        redisServer = new RedisServer(PORT);
+        redisServer.start();
+        adminClient = RedisClient.create("redis://localhost:" + PORT);
+        adminConnection = adminClient.connect();
+
+        RedisConfig config = new RedisConfig();
+        ReflectionTestUtils.setField(config, "mode", RedisConfig.Mode.STANDALONE);
+        ReflectionTestUtils.setField(config, "redisHost", "localhost");
+        ReflectionTestUtils.setField(config, "redisPort", PORT);
+        ReflectionTestUtils.setField(config, "commandTimeout", Duration.ofMillis(2000));
+        ReflectionTestUtils.setField(config, "readBudget", Duration.ofMillis(5));
+        ReflectionTestUtils.setField(config, "writeBudget", Duration.ofMillis(500));
+        ReflectionTestUtils.setField(config, "connectTimeout", Duration.ofMillis(500));
+        ReflectionTestUtils.setField(config, "shutdownTimeout", Duration.ofMillis(100));
+
+        connectionFactory = (LettuceConnectionFactory) config.cacheRedisConnectionFactory();
+        connectionFactory.afterPropertiesSet();
+        sharedFactory = (LettuceConnectionFactory) config.redisConnectionFactory(config.lettuceClientConfiguration());
+        sharedFactory.afterPropertiesSet();
+        template = config.redisTemplate(connectionFactory);
+        template.opsForValue().set("url:{budget}", "https://example.com");
+    }
+
+    @AfterAll
+    static void stopRedis() {
+        connectionFactory.destroy();
+        sharedFactory.destroy();
+        adminConnection.close();
+        adminClient.shutdown();
+        redisServer.stop();
+    }
+
+    @Test
+    void testReadGivesUpAfterBudget() throws Exception {
+        RedisFuture<String> sleep = stallRedis();
+        try {
+            long start = System.nanoTime();
+            assertThrows(QueryTimeoutException.class, () -> template.opsForValue().get("url:{budget}"));
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+            assertTrue(elapsedMillis < 500, "GET waited " + elapsedMillis + "ms, expected the 5ms read budget to apply");
+        } finally {
+            sleep.get(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    void testOtherReadsKeepTheCommandTimeout() throws Exception {
+        StringRedisTemplate shared = new StringRedisTemplate(sharedFactory);
+        shared.opsForValue().set("rate:{budget}", "1");
+
+        RedisFuture<String> sleep = stallRedis();
+        try {
+            // Waits out the one second stall instead of failing after the cache read budget
+            assertEquals("1", shared.opsForValue().get("rate:{budget}"));
+        } finally {
+            sleep.get(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    void testStalledRedisOpensBreaker() throws Exception {
+        RedisCircuitBreaker circuitBreaker = new RedisCircuitBreaker(3, Duration.ofSeconds(30),
+                new UrlShortenerMetrics(new SimpleMeterRegistry()));
+        CacheServiceImpl cacheService = new CacheServiceImpl(template, circuitBreaker);
+
+        RedisFuture<String> sleep = stallRedis();
+        try {
+            for (int i = 0; i < 3; i++) {
+                assertTrue(cacheService.getUrlMapping("budget", String.class).isEmpty());
+            }
+
+            assertEquals(RedisCircuitBreaker.State.OPEN, circuitBreaker.getState());
+            long start = System.nanoTime();
+            assertTrue(cacheService.getUrlMapping("budget", String.class).isEmpty());
+            assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 5);
+        } finally {
+            sleep.get(5, TimeUnit.SECONDS);
+        }
+    }
+
+    // Blocks the single-threaded server for a second from a separate connection
+    private static RedisFuture<String> stallRedis() throws InterruptedException {
+        RedisFuture<String> sleep = adminConnection.async().dispatch(CommandType.DEBUG, new StatusOutput<>(StringCodec.UTF8),
+                new CommandArgs<>(StringCodec.UTF8).add("SLEEP").add(1));
+        Thread.sleep(50);
+        return sleep;
+    }
+}
@@ -0,0 +1,160 @@
+package com.pm.urlshortenerbackend.config;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares redirect-style cache lookups made from inside a transaction with the
+ * old transaction-bound template against the shared-connection template from RedisConfig.
+ * The throughput comparison is tagged benchmark and only runs with -Pbenchmarks.
+ *
+ * Author: Sathwik Pillalamarri
+ * Date: 2/2/26
+ * Project: url-shortener-backend
+ */
+public class RedisTemplateBenchmarkTest {
+    private static final int PORT = 6371;
+    private static final int THREADS = 8;
+    private static final int LOOKUPS_PER_THREAD = 500;
+
+    private static RedisServer redisServer;
+    private static LettuceConnectionFactory connectionFactory;
+
+    @BeforeAll
+    static void startRedis() throws IOException {
+        redisServer = new RedisServer(PORT);
+        redisServer.start();
+
+        RedisConfig config = new RedisConfig();
+        ReflectionTestUtils.setField(config, "mode", RedisConfig.Mode.STANDALONE);
+        ReflectionTestUtils.setField(config, "redisHost", "localhost");
+        ReflectionTestUtils.setField(config, "redisPort", PORT);
+        ReflectionTestUtils.setField(config, "commandTimeout", Duration.ofMillis(2000));
+        ReflectionTestUtils.setField(config, "readBudget", Duration.ofMillis(500));
+        ReflectionTestUtils.setField(config, "writeBudget", Duration.ofMillis(500));
+        ReflectionTestUtils.setField(config, "connectTimeout", Duration.ofMillis(500));
+        ReflectionTestUtils.setField(config, "shutdownTimeout", Duration.ofMillis(100));
+
+        connectionFactory = (LettuceConnectionFactory) config.redisConnectionFactory(config.lettuceClientConfiguration());
+        connectionFactory.afterPropertiesSet();
+    }
+
+    @AfterAll
+    static void stopRedis() {
+        connectionFactory.destroy();
+        redisServer.stop();
+    }
+
+    @Test
+    void testCacheTemplateIsNotTransactionBound() {
+        RedisTemplate<String, Object> template = new RedisConfig().redisTemplate(connectionFactory);
+        template.opsForValue().set("url:bench", "https://example.com");
+
+        Object value = new TransactionTemplate(new NoOpTransactionManager())
+                .execute(status -> template.opsForValue().get("url:bench"));
+
+        assertNotNull(value);
+        assertFalse((Boolean) ReflectionTestUtils.getField(template, "enableTransactionSupport"));
+    }
+
+    @Test
+    @Tag("benchmark")
+    void benchmarkRedirectLookupsInsideTransactions() throws Exception {
+        RedisTemplate<String, Object> cacheTemplate = new RedisConfig().redisTemplate(connectionFactory);
+        RedisTemplate<String, Object> transactionalTemplate = transactionalTemplate(connectionFactory);
+        cacheTemplate.opsForValue().set("url:bench", "https://example.com");
+
+        // Warm up both paths so JIT and connection setup are not measured
+        runLookups(transactionalTemplate, 200);
+        runLookups(cacheTemplate, 200);
+
+        LookupResult transactional = runLookups(transactionalTemplate, LOOKUPS_PER_THREAD);
+        LookupResult shared = runLookups(cacheTemplate, LOOKUPS_PER_THREAD);
+
+        System.out.printf("Transactional template: %.0f lookups/s, %d hits%n", transactional.opsPerSecond(), transactional.hits());
+        System.out.printf("Shared-connection template: %.0f lookups/s, %d hits%n", shared.opsPerSecond(), shared.hits());
+
+        assertEquals((long) THREADS * LOOKUPS_PER_THREAD, shared.hits());
+        assertTrue(shared.opsPerSecond() > transactional.opsPerSecond(),
+                "Shared-connection lookups should outperform connection-per-transaction lookups");
+    }
+
+    private LookupResult runLookups(RedisTemplate<String, Object> template, int lookupsPerThread) throws Exception {
+        TransactionTemplate tx = new TransactionTemplate(new NoOpTransactionManager());
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        AtomicLong hits = new AtomicLong();
+        try {
+            long start = System.nanoTime();
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(pool.submit(() -> {
+                    for (int i = 0; i < lookupsPerThread; i++) {
+                        Object value = tx.execute(status -> template.opsForValue().get("url:bench"));
+                        if (value != null) {
+                            hits.incrementAndGet();
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            long elapsed = System.nanoTime() - start;
+            return new LookupResult((double) THREADS * lookupsPerThread / (elapsed / 1_000_000_000.0), hits.get());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    // Mirrors the template configuration that shipped before transaction support was switched off
+    private static RedisTemplate<String, Object> transactionalTemplate(RedisConnectionFactory factory) {
+        RedisTemplate<String, Object> template = new RedisConfig().redisTemplate(factory);
+        template.setEnableTransactionSupport(true);
+        return template;
+    }
+
+    private record LookupResult(double opsPerSecond, long hits) {
+    }
+
+    // Activates Spring transaction synchronization the same way a JPA transaction would around UrlServiceImpl
+    private static class NoOpTransactionManager extends AbstractPlatformTransactionManager {
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+}
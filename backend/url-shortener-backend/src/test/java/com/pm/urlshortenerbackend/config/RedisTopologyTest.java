@@ -0,0 +1,136 @@
+package com.pm.urlshortenerbackend.config;
+
+import com.pm.urlshortenerbackend.util.CacheKeys;
+import io.lettuce.core.ReadFrom;
+import io.lettuce.core.cluster.SlotHash;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStaticMasterReplicaConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import redis.embedded.RedisServer;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Covers the topology options in RedisConfig and the key layout used for cluster slots.
+ * Replica reads run against a local master/replica pair; the bundled Redis 2.8 binary
+ * predates the sentinel commands Lettuce needs, so sentinel mode is checked at configuration level.
+ *
+ * Author: Sathwik Pillalamarri
+ * Date: 2/3/26
+ * Project: url-shortener-backend
+ */
+public class RedisTopologyTest {
+    private static final int MASTER_PORT = 6380;
+    private static final int REPLICA_PORT = 6381;
+
+    private static RedisServer master;
+    private static RedisServer replica;
+
+    @BeforeAll
+    static void startTopology() {
+        master = new RedisServer(MASTER_PORT);
+        master.start();
+        replica = RedisServer.builder().port(REPLICA_PORT).slaveOf("localhost", MASTER_PORT).build();
+        replica.start();
+    }
+
+    @AfterAll
+    static void stopTopology() {
+        replica.stop();
+        master.stop();
+    }
+
+    @Test
+    void testUrlAndStatsKeysShareClusterSlot() {
+        assertEquals("url:{abc123}", CacheKeys.url("abc123"));
+        assertEquals("stats:{abc123}", CacheKeys.stats("abc123"));
+        assertEquals(SlotHash.getSlot(CacheKeys.url("abc123")), SlotHash.getSlot(CacheKeys.stats("abc123")));
+    }
+
+    @Test
+    void testStandaloneModeDoesNotRouteReads() {
+        LettuceClientConfiguration clientConfig = configFor(RedisConfig.Mode.STANDALONE).lettuceClientConfiguration();
+
+        assertTrue(clientConfig.getReadFrom().isEmpty());
+    }
+
+    @Test
+    void testClusterModeRequiresNodes() {
+        RedisConfig config = configFor(RedisConfig.Mode.CLUSTER);
+
+        assertThrows(IllegalStateException.class, () -> config.redisConnectionFactory(config.lettuceClientConfiguration()));
+    }
+
+    @Test
+    void testClusterModeUsesConfiguredNodes() {
+        RedisConfig config = configFor(RedisConfig.Mode.CLUSTER);
+        ReflectionTestUtils.setField(config, "clusterNodes", "10.0.0.1:7000,10.0.0.2:7000,10.0.0.3:7000");
+
+        LettuceConnectionFactory factory = (LettuceConnectionFactory) config.redisConnectionFactory(config.lettuceClientConfiguration());
+
+        assertNotNull(factory.getClusterConfiguration());
+        assertEquals(3, factory.getClusterConfiguration().getClusterNodes().size());
+        assertEquals(ReadFrom.REPLICA_PREFERRED, factory.getClientConfiguration().getReadFrom().orElseThrow());
+    }
+
+    @Test
+    void testSentinelModeRoutesReadsToReplicas() {
+        RedisConfig config = configFor(RedisConfig.Mode.SENTINEL);
+        ReflectionTestUtils.setField(config, "sentinelNodes", "localhost:26380, localhost:26381");
+
+        LettuceConnectionFactory factory = (LettuceConnectionFactory) config.redisConnectionFactory(config.lettuceClientConfiguration());
+
+        assertNotNull(factory.getSentinelConfiguration());
+        assertEquals("mymaster", factory.getSentinelConfiguration().getMaster().getName());
+        assertEquals(2, factory.getSentinelConfiguration().getSentinels().size());
+        assertEquals(ReadFrom.REPLICA_PREFERRED, factory.getClientConfiguration().getReadFrom().orElseThrow());
+    }
+
+    @Test
+    void testReplicaServesCacheReads() {
+        RedisConfig config = configFor(RedisConfig.Mode.SENTINEL);
+        RedisStaticMasterReplicaConfiguration topology = new RedisStaticMasterReplicaConfiguration("localhost", MASTER_PORT);
+        topology.node("localhost", REPLICA_PORT);
+
+        LettuceConnectionFactory factory = new LettuceConnectionFactory(topology, config.lettuceClientConfiguration());
+        factory.afterPropertiesSet();
+        try {
+            RedisTemplate<String, Object> template = config.redisTemplate(factory);
+            template.opsForValue().set(CacheKeys.url("replica1"), "https://example.com", Duration.ofMinutes(1));
+
+            // Replication is asynchronous, so the first reads from the replica may still miss
+            await().atMost(5, TimeUnit.SECONDS)
+                    .until(() -> "https://example.com".equals(template.opsForValue().get(CacheKeys.url("replica1"))));
+        } finally {
+            factory.destroy();
+        }
+    }
+
+    private RedisConfig configFor(RedisConfig.Mode mode) {
+        RedisConfig config = new RedisConfig();
+        ReflectionTestUtils.setField(config, "mode", mode);
+        ReflectionTestUtils.setField(config, "redisHost", "localhost");
+        ReflectionTestUtils.setField(config, "redisPort", MASTER_PORT);
+        ReflectionTestUtils.setField(config, "sentinelMaster", "mymaster");
+        ReflectionTestUtils.setField(config, "sentinelNodes", "");
+        ReflectionTestUtils.setField(config, "clusterNodes", "");
+        ReflectionTestUtils.setField(config, "clusterMaxRedirects", 3);
+        ReflectionTestUtils.setField(config, "readFrom", "replicaPreferred");
+        ReflectionTestUtils.setField(config, "topologyRefreshPeriod", Duration.ofSeconds(30));
+        ReflectionTestUtils.setField(config, "commandTimeout", Duration.ofMillis(2000));
+        ReflectionTestUtils.setField(config, "readBudget", Duration.ofMillis(500));
+        ReflectionTestUtils.setField(config, "writeBudget", Duration.ofMillis(500));
+        ReflectionTestUtils.setField(config, "connectTimeout", Duration.ofMillis(500));
+        ReflectionTestUtils.setField(config, "shutdownTimeout", Duration.ofMillis(100));
+        return config;
+    }
+}
@@ -118,7 +118,7 @@ class AuthControllerIntegrationTest {
         LoginRequest request = new LoginRequest("test@example.com", "password123");
         AuthResponse response = new AuthResponse("jwt-token", 1L, "test@example.com", "John", "Doe", LocalDateTime.now());
 
-        when(authService.login(any(LoginRequest.class))).thenReturn(response);
+        when(authService.login(any(LoginRequest.class), any())).thenReturn(response);
 
         // When & Then
         mockMvc.perform(post("/auth/login")
@@ -135,7 +135,7 @@ class AuthControllerIntegrationTest {
         // Given
         LoginRequest request = new LoginRequest("test@example.com", "wrongpassword");
 
-        when(authService.login(any(LoginRequest.class)))
+        when(authService.login(any(LoginRequest.class), any()))
                 .thenThrow(new InvalidCredentialsException("Invalid email or password"));
 
         // When & Then
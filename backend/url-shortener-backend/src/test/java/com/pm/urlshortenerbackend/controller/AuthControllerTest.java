@@ -12,6 +12,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
 
 import java.time.LocalDateTime;
 
@@ -56,10 +57,10 @@ class AuthControllerTest {
         LoginRequest request = new LoginRequest("test@example.com", "password123");
         AuthResponse authResponse = new AuthResponse("jwt-token", 1L, "test@example.com", "John", "Doe", LocalDateTime.now());
 
-        when(authService.login(any(LoginRequest.class))).thenReturn(authResponse);
+        when(authService.login(any(LoginRequest.class), any())).thenReturn(authResponse);
 
         // When
-        ResponseEntity<AuthResponse> response = authController.login(request);
+        ResponseEntity<AuthResponse> response = authController.login(request, new MockHttpServletRequest());
 
         // Then
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
@@ -0,0 +1,185 @@
+package com.pm.urlshortenerbackend.controller;
+
+import com.pm.urlshortenerbackend.health.UrlShortenerMetrics;
+import com.pm.urlshortenerbackend.model.UrlMapping;
+import com.pm.urlshortenerbackend.repository.UrlMappingRepository;
+import com.pm.urlshortenerbackend.resilience.DatabaseBulkhead;
+import com.pm.urlshortenerbackend.resilience.RedisCircuitBreaker;
+import com.pm.urlshortenerbackend.service.CacheService;
+import com.pm.urlshortenerbackend.service.RedirectLocationCache;
+import com.pm.urlshortenerbackend.service.UrlService;
+import com.pm.urlshortenerbackend.service.impl.UrlServiceImpl;
+import com.sun.management.ThreadMXBean;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Measures heap allocated per cache-hit redirect: the old path (cached mapping, response DTO,
+ * URI parse, ResponseEntity) against the local Location cache used by the redirect controllers.
+ * The cache is an in-memory stub, so the Redis round trip and JSON decoding the old path
+ * also paid are not included; the real saving is larger than what is printed here. The
+ * measurement is tagged benchmark and only runs with -Pbenchmarks.
+ *
+ * Author: Sathwik Pillalamarri
+ * Date: 2/6/26
+ * Project: url-shortener-backend
+ */
+public class RedirectAllocationBenchmarkTest {
+    private static final int ITERATIONS = 20_000;
+    private static final String SHORT_CODE = "abc123";
+
+    private UrlService urlService;
+    private StubCacheService cacheService;
+
+    @BeforeEach
+    void setup() {
+        UrlMapping mapping = new UrlMapping();
+        mapping.setShortCode(SHORT_CODE);
+        mapping.setOriginalUrl("https://www.example.com/some/landing/page?utm_source=newsletter&utm_medium=email");
+        mapping.setCreatedAt(LocalDateTime.now());
+
+        UrlShortenerMetrics metrics = new UrlShortenerMetrics(new SimpleMeterRegistry());
+        cacheService = new StubCacheService(mapping);
+        RedirectLocationCache redirectLocations = new RedirectLocationCache(mock(StringRedisTemplate.class),
+                new RedisCircuitBreaker(3, Duration.ofSeconds(30), metrics), 10000, Duration.ofSeconds(30));
+        urlService = new UrlServiceImpl(mock(UrlMappingRepository.class), null, cacheService, metrics,
+                new DatabaseBulkhead(4, Duration.ofMillis(10), 2, Duration.ofMillis(10), metrics), null, null,
+                redirectLocations, "http://localhost:8080", 2048, 3600, true);
+    }
+
+    @Test
+    void testFastPathReusesTheEncodedLocation() {
+        String first = urlService.getRedirectLocation(SHORT_CODE);
+        String second = urlService.getRedirectLocation(SHORT_CODE);
+
+        // The header value is built once and then served without touching the cache service
+        assertSame(first, second);
+        assertEquals(1, cacheService.lookups);
+    }
+
+    @Test
+    @Tag("benchmark")
+    void benchmarkRedirectAllocation() {
+        ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported());
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        // Warm up so JIT escape analysis has settled for both paths
+        for(int i = 0; i < ITERATIONS; i++) {
+            legacyRedirect();
+            fastRedirect();
+        }
+
+        long legacy = measure(threads, this::legacyRedirect);
+        long fast = measure(threads, this::fastRedirect);
+
+        System.out.printf("Legacy redirect: %d bytes/op, fast path: %d bytes/op%n", legacy, fast);
+        assertTrue(fast < legacy, "Cached Location header should allocate less per redirect");
+    }
+
+    private long measure(ThreadMXBean threads, Runnable redirect) {
+        long threadId = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(threadId);
+        for(int i = 0; i < ITERATIONS; i++) {
+            redirect.run();
+        }
+        return (threads.getThreadAllocatedBytes(threadId) - before) / ITERATIONS;
+    }
+
+    // What the controllers did before: mapping DTO, expiry check, URI parse and a ResponseEntity
+    private void legacyRedirect() {
+        String originalUrl = urlService.getOriginalUrl(SHORT_CODE);
+        ResponseEntity<Void> response = ResponseEntity.status(HttpStatus.FOUND).location(URI.create(originalUrl)).build();
+        assertNotNull(response.getHeaders().getLocation());
+    }
+
+    private void fastRedirect() {
+        assertNotNull(urlService.getRedirectLocation(SHORT_CODE));
+    }
+
+    private static class StubCacheService implements CacheService {
+        private final UrlMapping mapping;
+        private int lookups;
+
+        StubCacheService(UrlMapping mapping) {
+            this.mapping = mapping;
+        }
+
+        @Override
+        public <T> Optional<T> get(String key, Class<T> type) {
+            return Optional.empty();
+        }
+
+        @Override
+        public void put(String key, Object value, long ttlSeconds) {
+        }
+
+        @Override
+        public boolean delete(String key) {
+            return false;
+        }
+
+        @Override
+        public boolean exists(String key) {
+            return false;
+        }
+
+        @Override
+        public <T> Optional<T> getUrlMapping(String shortCode, Class<T> type) {
+            lookups++;
+            return Optional.of(type.cast(mapping));
+        }
+
+        @Override
+        public void putUrlMapping(String shortCode, Object urlMapping, long ttlSeconds) {
+        }
+
+        @Override
+        public void putUrlMappings(Map<String, ?> urlMappingsByShortCode, long ttlSeconds) {
+        }
+
+        @Override
+        public boolean deleteUrlMapping(String shortCode) {
+            return false;
+        }
+
+        @Override
+        public boolean existsUrlMapping(String shortCode) {
+            return true;
+        }
+
+        @Override
+        public <T> Optional<T> getStats(String shortCode, Class<T> type) {
+            return Optional.empty();
+        }
+
+        @Override
+        public void putStats(String shortCode, Object stats, long ttlSeconds) {
+        }
+
+        @Override
+        public boolean deleteStats(String shortCode) {
+            return false;
+        }
+
+        @Override
+        public void evictPattern(String pattern) {
+        }
+    }
+}
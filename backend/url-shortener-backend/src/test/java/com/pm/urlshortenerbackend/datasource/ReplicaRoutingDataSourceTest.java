@@ -0,0 +1,174 @@
+package com.pm.urlshortenerbackend.datasource;
+
+import com.pm.urlshortenerbackend.model.UrlMapping;
+import com.pm.urlshortenerbackend.repository.UrlMappingRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Routes between two in-memory H2 databases that each report which one they are; the replica's
+ * lag is read from a table so tests can make it fall behind.
+ *
+ * Author: Sathwik Pillalamarri
+ * Date: 2/24/26
+ * Project: url-shortener-backend
+ */
+public class ReplicaRoutingDataSourceTest {
+    private static final String LAG_QUERY = "SELECT seconds FROM replica_lag";
+
+    private DataSource primary;
+    private DataSource replica;
+    private ReplicaRoutingDataSource routing;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        primary = database("primary");
+        replica = database("replica");
+        new JdbcTemplate(replica).execute("CREATE TABLE replica_lag (seconds DOUBLE)");
+        new JdbcTemplate(replica).update("INSERT INTO replica_lag VALUES (0)");
+
+        routing = routing(Map.of("replica-0", replica));
+        routing.refreshReplicaLag();
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @Test
+    void testReadOnlyTransactionsGoToTheReplica() {
+        assertEquals("primary", readWrite.execute(status -> node()));
+        assertEquals("replica", readOnly.execute(status -> node()));
+        // Statements outside a transaction may write, so they stay on the primary
+        assertEquals("primary", node());
+    }
+
+    @Test
+    void testReplicasStayOutOfRotationUntilChecked() {
+        ReplicaRoutingDataSource unchecked = routing(Map.of("replica-0", replica));
+        JdbcTemplate template = new JdbcTemplate(new LazyConnectionDataSourceProxy(unchecked));
+
+        assertFalse(unchecked.isInRotation("replica-0"));
+        assertEquals("primary", readOnly.execute(status -> template.queryForObject("SELECT name FROM node", String.class)));
+    }
+
+    @Test
+    void testLaggingReplicaFallsBackToPrimaryUntilCaughtUp() {
+        new JdbcTemplate(replica).update("UPDATE replica_lag SET seconds = 5");
+        routing.refreshReplicaLag();
+        assertEquals("primary", readOnly.execute(status -> node()));
+
+        new JdbcTemplate(replica).update("UPDATE replica_lag SET seconds = 0.2");
+        routing.refreshReplicaLag();
+        assertEquals("replica", readOnly.execute(status -> node()));
+    }
+
+    @Test
+    void testUnreachableReplicaIsSkipped() {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-0", new DriverManagerDataSource("jdbc:h2:tcp://localhost:1/unreachable", "sa", ""));
+        replicas.put("replica-1", replica);
+        ReplicaRoutingDataSource twoReplicas = routing(replicas);
+        twoReplicas.refreshReplicaLag();
+        JdbcTemplate template = new JdbcTemplate(new LazyConnectionDataSourceProxy(twoReplicas));
+
+        assertFalse(twoReplicas.isInRotation("replica-0"));
+        for(int i = 0; i < 4; i++) {
+            assertEquals("replica", readOnly.execute(status -> template.queryForObject("SELECT name FROM node", String.class)));
+        }
+    }
+
+    @Test
+    void testPinnedReadsUseThePrimary() {
+        assertEquals("primary", ReadRouting.onPrimary(() -> readOnly.execute(status -> node())));
+        assertFalse(ReadRouting.isPinnedToPrimary());
+    }
+
+    @Test
+    void testPinnedLookupReadsThePrimaryWithinTheReadScope() {
+        // Same shape as the redirect lookup: a SUPPORTS read-only scope around repository calls
+        createSchema(primary);
+        createSchema(replica);
+        LocalContainerEntityManagerFactoryBean factoryBean = entityManagerFactory(new LazyConnectionDataSourceProxy(routing), "none");
+        try {
+            EntityManagerFactory factory = factoryBean.getObject();
+            UrlMappingRepository repository = new JpaRepositoryFactory(SharedEntityManagerCreator.createSharedEntityManager(factory))
+                    .getRepository(UrlMappingRepository.class);
+            JpaTransactionManager transactionManager = new JpaTransactionManager(factory);
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> repository.save(new UrlMapping("fresh1", "https://example.com/new")));
+
+            TransactionTemplate supports = new TransactionTemplate(transactionManager);
+            supports.setPropagationBehavior(TransactionDefinition.PROPAGATION_SUPPORTS);
+            supports.setReadOnly(true);
+            // Spring Data runs query methods in a read-only transaction of their own
+            TransactionTemplate query = new TransactionTemplate(transactionManager);
+            query.setReadOnly(true);
+
+            // The replica has not seen the row; the lookup behind the redirect caches must not read it from there
+            assertTrue(supports.execute(status -> query.execute(s -> repository.findByShortCode("fresh1"))).isEmpty());
+            Optional<UrlMapping> found = supports.execute(status ->
+                    ReadRouting.onPrimary(() -> query.execute(s -> repository.findByShortCode("fresh1"))));
+
+            assertTrue(found.isPresent());
+        } finally {
+            factoryBean.destroy();
+        }
+    }
+
+    private String node() {
+        return jdbcTemplate.queryForObject("SELECT name FROM node", String.class);
+    }
+
+    private ReplicaRoutingDataSource routing(Map<String, DataSource> replicas) {
+        ReplicaRoutingDataSource routingDataSource = new ReplicaRoutingDataSource(primary, replicas, Duration.ofSeconds(1), LAG_QUERY);
+        routingDataSource.afterPropertiesSet();
+        return routingDataSource;
+    }
+
+    private static DataSource database(String name) {
+        DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + name + "-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+        template.execute("CREATE TABLE node (name VARCHAR(20))");
+        template.update("INSERT INTO node VALUES (?)", name);
+        return dataSource;
+    }
+
+    private static void createSchema(DataSource dataSource) {
+        entityManagerFactory(dataSource, "create").destroy();
+    }
+
+    private static LocalContainerEntityManagerFactoryBean entityManagerFactory(DataSource dataSource, String ddlAuto) {
+        LocalContainerEntityManagerFactoryBean factoryBean = new LocalContainerEntityManagerFactoryBean();
+        factoryBean.setDataSource(dataSource);
+        factoryBean.setPackagesToScan("com.pm.urlshortenerbackend.model");
+        factoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factoryBean.setJpaPropertyMap(Map.of("hibernate.hbm2ddl.auto", ddlAuto));
+        factoryBean.afterPropertiesSet();
+        return factoryBean;
+    }
+}
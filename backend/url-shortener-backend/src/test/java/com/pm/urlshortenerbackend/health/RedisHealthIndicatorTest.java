@@ -1,5 +1,7 @@
 package com.pm.urlshortenerbackend.health;
 
+import com.pm.urlshortenerbackend.resilience.RedisCircuitBreaker;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -27,9 +29,17 @@ class RedisHealthIndicatorTest {
     @Mock
     private RedisTemplate<String, Object> redisTemplate;
     
+    @Mock
+    private RedisCircuitBreaker circuitBreaker;
+    
     @InjectMocks
     private RedisHealthIndicator redisHealthIndicator;
     
+    @BeforeEach
+    void setUp() {
+        when(circuitBreaker.getState()).thenReturn(RedisCircuitBreaker.State.CLOSED);
+    }
+    
     @Test
     void testHealthUp_WhenRedisRespondsWithPong() {
         // Arrange
@@ -42,6 +52,22 @@ class RedisHealthIndicatorTest {
         assertThat(health.getStatus()).isEqualTo(Status.UP);
         assertThat(health.getDetails()).containsEntry("redis", "available");
         assertThat(health.getDetails()).containsEntry("response", "PONG");
+        assertThat(health.getDetails()).containsEntry("circuitBreaker", RedisCircuitBreaker.State.CLOSED);
+    }
+    
+    @Test
+    void testHealthReportsOpenCircuitBreaker() {
+        // Arrange
+        when(circuitBreaker.getState()).thenReturn(RedisCircuitBreaker.State.OPEN);
+        when(redisTemplate.execute(any(RedisCallback.class)))
+            .thenThrow(new RuntimeException("Connection failed"));
+        
+        // Act
+        Health health = redisHealthIndicator.health();
+        
+        // Assert
+        assertThat(health.getStatus()).isEqualTo(Status.DOWN);
+        assertThat(health.getDetails()).containsEntry("circuitBreaker", RedisCircuitBreaker.State.OPEN);
     }
     
     @Test
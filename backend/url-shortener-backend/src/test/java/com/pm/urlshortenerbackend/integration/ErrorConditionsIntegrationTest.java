@@ -7,6 +7,7 @@ import com.pm.urlshortenerbackend.exception.UrlNotFoundException;
 import com.pm.urlshortenerbackend.model.UrlMapping;
 import com.pm.urlshortenerbackend.repository.UrlMappingRepository;
 import com.pm.urlshortenerbackend.service.UrlService;
+import com.pm.urlshortenerbackend.util.CacheKeys;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -327,7 +328,7 @@ public class ErrorConditionsIntegrationTest {
         }
 
         // Verify cache entry exists
-        String cacheKey = "url:concurrent001";
+        String cacheKey = CacheKeys.url("concurrent001");
         assertThat(redisTemplate.hasKey(cacheKey)).isTrue();
 
         executor.shutdown();
@@ -371,7 +372,7 @@ public class ErrorConditionsIntegrationTest {
         assertThat(retrievedUrl).isEqualTo("https://www.example.com/cache-recovery-test");
 
         // Verify cache was repopulated
-        String cacheKey = "url:resilience002";
+        String cacheKey = CacheKeys.url("resilience002");
         assertThat(redisTemplate.hasKey(cacheKey)).isTrue();
     }
 
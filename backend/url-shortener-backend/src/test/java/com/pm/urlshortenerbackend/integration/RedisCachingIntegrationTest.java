@@ -4,6 +4,7 @@ import com.pm.urlshortenerbackend.model.UrlMapping;
 import com.pm.urlshortenerbackend.repository.UrlMappingRepository;
 import com.pm.urlshortenerbackend.service.CacheService;
 import com.pm.urlshortenerbackend.service.UrlService;
+import com.pm.urlshortenerbackend.util.CacheKeys;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -87,7 +88,7 @@ public class RedisCachingIntegrationTest {
         urlMappingRepository.save(mapping);
 
         // Ensure no cache entry exists
-        String cacheKey = "url:cache001";
+        String cacheKey = CacheKeys.url("cache001");
         assertThat(redisTemplate.hasKey(cacheKey)).isFalse();
 
         // Act: Retrieve URL (should trigger cache miss and database load)
@@ -105,7 +106,7 @@ public class RedisCachingIntegrationTest {
     @Test
     void testCacheAsidePattern_CacheHit_SkipDatabase() {
         // Arrange: Pre-populate cache without database entry
-        String cacheKey = "url:cache002";
+        String cacheKey = CacheKeys.url("cache002");
         String originalUrl = "https://www.example.com/cache-hit-test";
         redisTemplate.opsForValue().set(cacheKey, originalUrl);
 
@@ -145,7 +146,7 @@ public class RedisCachingIntegrationTest {
 
         // Verify both database and cache have correct data
         Optional<UrlMapping> dbMapping = urlMappingRepository.findByShortCode(shortCode);
-        String cacheKey = "url:" + shortCode;
+        String cacheKey = CacheKeys.url(shortCode);
         Object cachedValue = redisTemplate.opsForValue().get(cacheKey);
 
         assertThat(dbMapping).isPresent();
@@ -164,7 +165,7 @@ public class RedisCachingIntegrationTest {
         mapping.setOriginalUrl("https://www.example.com/ttl-test");
         urlMappingRepository.save(mapping);
 
-        String cacheKey = "url:ttl001";
+        String cacheKey = CacheKeys.url("ttl001");
         
         // Set cache entry with 2-second TTL
         redisTemplate.opsForValue().set(cacheKey, mapping.getOriginalUrl(), Duration.ofSeconds(2));
@@ -223,7 +224,7 @@ public class RedisCachingIntegrationTest {
         urlMappingRepository.save(mapping);
 
         // Clear any existing cache
-        String cacheKey = "url:fallback001";
+        String cacheKey = CacheKeys.url("fallback001");
         redisTemplate.delete(cacheKey);
 
         // Act: Retrieve URL (should work even if Redis operations fail)
@@ -307,7 +308,7 @@ public class RedisCachingIntegrationTest {
         }
 
         // Verify cache entry exists
-        String cacheKey = "url:" + shortCode;
+        String cacheKey = CacheKeys.url(shortCode);
         assertThat(redisTemplate.hasKey(cacheKey)).isTrue();
     }
 
@@ -369,7 +370,7 @@ public class RedisCachingIntegrationTest {
             assertThat(result).isEqualTo("https://www.example.com/stats-test-" + i);
             
             // Verify cache entry exists
-            String cacheKey = "url:" + shortCode;
+            String cacheKey = CacheKeys.url(shortCode);
             assertThat(redisTemplate.hasKey(cacheKey)).isTrue();
         }
     }
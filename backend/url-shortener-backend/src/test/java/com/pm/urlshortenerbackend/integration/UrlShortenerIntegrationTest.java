@@ -5,6 +5,7 @@ import com.pm.urlshortenerbackend.dto.CreateUrlRequest;
 import com.pm.urlshortenerbackend.dto.CreateUrlResponse;
 import com.pm.urlshortenerbackend.model.UrlMapping;
 import com.pm.urlshortenerbackend.repository.UrlMappingRepository;
+import com.pm.urlshortenerbackend.util.CacheKeys;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -129,7 +130,7 @@ public class UrlShortenerIntegrationTest {
                 .andExpect(content().string(""));
 
         // Verify Redis caching occurred (Requirement 3.1)
-        String cacheKey = "url:" + shortCode;
+        String cacheKey = CacheKeys.url(shortCode);
         Object cachedUrl = redisTemplate.opsForValue().get(cacheKey);
         assertThat(cachedUrl).isNotNull();
         assertThat(cachedUrl.toString()).isEqualTo(originalUrl);
@@ -223,7 +224,7 @@ public class UrlShortenerIntegrationTest {
                 .andExpect(header().string("Location", originalUrl));
 
         // Verify cache entry exists
-        String cacheKey = "url:" + shortCode;
+        String cacheKey = CacheKeys.url(shortCode);
         Object cachedUrl = redisTemplate.opsForValue().get(cacheKey);
         assertThat(cachedUrl).isNotNull();
         assertThat(cachedUrl.toString()).isEqualTo(originalUrl);
@@ -246,7 +247,7 @@ public class UrlShortenerIntegrationTest {
         urlMappingRepository.save(mapping);
 
         // Ensure no cache entry exists
-        String cacheKey = "url:manual123";
+        String cacheKey = CacheKeys.url("manual123");
         redisTemplate.delete(cacheKey);
 
         // First redirect - cache miss, should query database and cache result
@@ -278,7 +279,7 @@ public class UrlShortenerIntegrationTest {
         String shortCode = response.getShortCode();
 
         // Set a very short TTL for testing
-        String cacheKey = "url:" + shortCode;
+        String cacheKey = CacheKeys.url(shortCode);
         redisTemplate.opsForValue().set(cacheKey, originalUrl, Duration.ofSeconds(1));
 
         // Verify cache entry exists
@@ -488,7 +489,7 @@ public class UrlShortenerIntegrationTest {
 
         // Verify database and cache have same data
         Optional<UrlMapping> dbMapping = urlMappingRepository.findByShortCode(shortCode);
-        String cacheKey = "url:" + shortCode;
+        String cacheKey = CacheKeys.url(shortCode);
         Object cachedUrl = redisTemplate.opsForValue().get(cacheKey);
 
         assertThat(dbMapping).isPresent();
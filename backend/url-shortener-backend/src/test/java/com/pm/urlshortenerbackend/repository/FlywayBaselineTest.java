@@ -0,0 +1,83 @@
+package com.pm.urlshortenerbackend.repository;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.api.configuration.FluentConfiguration;
+import org.flywaydb.core.api.output.MigrateResult;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Adopting an existing database with baseline-on-migrate and baseline-version=5. A schema migrated
+ * up to some version and stripped of its history table stands in for one built by ddl-auto=update.
+ * Needs Docker and is skipped without it.
+ *
+ * Author: Sathwik Pillalamarri
+ * Date: 2/27/26
+ * Project: url-shortener-backend
+ */
+@Testcontainers(disabledWithoutDocker = true)
+public class FlywayBaselineTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("urlshortener_baseline")
+            .withUsername("test")
+            .withPassword("test");
+
+    private static JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    static void connect() {
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword()));
+    }
+
+    @Test
+    void testBaselineAdoptsASchemaAtVersionFive() {
+        unmanagedSchemaAt("adopted", "5");
+
+        MigrateResult result = baseline("adopted").migrate();
+
+        assertEquals("5", result.initialSchemaVersion);
+        assertEquals("15", result.targetSchemaVersion);
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT count(*) FROM adopted.flyway_schema_history WHERE type = 'BASELINE'", Integer.class));
+    }
+
+    @Test
+    void testBaselineRefusesASchemaMissingVersionFive() {
+        unmanagedSchemaAt("outdated", "4");
+
+        FlywayException e = assertThrows(FlywayException.class, () -> baseline("outdated").migrate());
+
+        assertTrue(e.getMessage().contains("the schema is missing: users.quota_plan"), e.getMessage());
+        // Nothing was recorded, so the check runs again on the next start
+        assertNull(jdbcTemplate.queryForObject("SELECT to_regclass('outdated.flyway_schema_history')", String.class));
+        assertNull(jdbcTemplate.queryForObject("SELECT to_regclass('outdated.user_link_stats')", String.class));
+    }
+
+    private static void unmanagedSchemaAt(String schema, String version) {
+        configure(schema).target(version).load().migrate();
+        jdbcTemplate.execute("DROP TABLE " + schema + ".flyway_schema_history");
+    }
+
+    private static Flyway baseline(String schema) {
+        return configure(schema).baselineOnMigrate(true).baselineVersion("5").load();
+    }
+
+    private static FluentConfiguration configure(String schema) {
+        return Flyway.configure()
+                .dataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())
+                .schemas(schema)
+                // Same as spring.flyway.postgresql.transactional-lock; see V11
+                .configuration(Map.of("flyway.postgresql.transactional.lock", "false"));
+    }
+}
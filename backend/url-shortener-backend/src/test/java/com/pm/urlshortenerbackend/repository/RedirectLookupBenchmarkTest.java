@@ -0,0 +1,158 @@
+package com.pm.urlshortenerbackend.repository;
+
+import com.pm.urlshortenerbackend.model.UrlMapping;
+import com.sun.management.ThreadMXBean;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Compares the redirect lookup (projection, read-only transaction) with the entity lookup
+ * it replaces, on time and heap allocated per lookup. Runs Hibernate against in-memory H2, so it
+ * measures the ORM side only; prepared statement reuse is a pgjdbc setting and does not show here.
+ * The comparison is tagged benchmark and only runs with -Pbenchmarks.
+ *
+ * Author: Sathwik Pillalamarri
+ * Date: 2/26/26
+ * Project: url-shortener-backend
+ */
+public class RedirectLookupBenchmarkTest {
+    private static final int LINKS = 1000;
+    private static final int ITERATIONS = 5000;
+
+    private LocalContainerEntityManagerFactoryBean factoryBean;
+    private UrlMappingRepository repository;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        factoryBean = new LocalContainerEntityManagerFactoryBean();
+        factoryBean.setDataSource(new DriverManagerDataSource("jdbc:h2:mem:redirect-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1", "sa", ""));
+        factoryBean.setPackagesToScan("com.pm.urlshortenerbackend.model");
+        factoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        // Statistics count flushes; the per-session metrics they would log are switched off
+        factoryBean.setJpaPropertyMap(Map.of("hibernate.hbm2ddl.auto", "create-drop",
+                "hibernate.generate_statistics", "true", "hibernate.session.events.log", "false"));
+        factoryBean.afterPropertiesSet();
+        EntityManagerFactory factory = factoryBean.getObject();
+
+        EntityManager entityManager = SharedEntityManagerCreator.createSharedEntityManager(factory);
+        repository = new JpaRepositoryFactory(entityManager).getRepository(UrlMappingRepository.class);
+        JpaTransactionManager transactionManager = new JpaTransactionManager(factory);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        statistics = factory.unwrap(SessionFactory.class).getStatistics();
+
+        readWrite.executeWithoutResult(status -> {
+            List<UrlMapping> mappings = new ArrayList<>();
+            for(int i = 0; i < LINKS; i++) {
+                mappings.add(new UrlMapping("code" + i, "https://www.example.com/landing/page/" + i + "?utm_source=newsletter",
+                        null, i % 2 == 0 ? LocalDateTime.now().plusDays(1) : null));
+            }
+            repository.saveAll(mappings);
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        factoryBean.destroy();
+    }
+
+    @Test
+    void testRedirectTargetMatchesEntity() {
+        UrlMapping entity = readOnly.execute(status -> repository.findByShortCode("code42").orElseThrow());
+        RedirectTarget target = readOnly.execute(status -> repository.findRedirectTarget("code42").orElseThrow());
+
+        assertEquals(entity.getShortCode(), target.shortCode());
+        assertEquals(entity.getOriginalUrl(), target.originalUrl());
+        assertEquals(entity.getCreatedAt(), target.createdAt());
+        assertEquals(entity.getExpiresAt(), target.expiresAt());
+        assertEquals(entity.getIsActive(), target.isActive());
+        assertEquals(Optional.empty(), readOnly.execute(status -> repository.findRedirectTarget("missing")));
+    }
+
+    @Test
+    void testRedirectLookupDoesNotFlushTheSession() {
+        statistics.clear();
+        readWrite.executeWithoutResult(status -> {
+            repository.findByShortCode("code1").orElseThrow().setIsActive(false);
+
+            // The entity query flushes the pending change before it runs; the redirect lookup leaves it
+            assertTrue(repository.findRedirectTarget("code2").isPresent());
+            assertEquals(0, statistics.getFlushCount());
+            assertTrue(repository.findByShortCode("code2").isPresent());
+            assertEquals(1, statistics.getFlushCount());
+            status.setRollbackOnly();
+        });
+    }
+
+    @Test
+    @Tag("benchmark")
+    void benchmarkRedirectLookup() {
+        ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported());
+        threads.setThreadAllocatedMemoryEnabled(true);
+        // Warm up so both paths have their query plans cached and are compiled
+        for(int i = 0; i < ITERATIONS; i++) {
+            entityLookup(i);
+            redirectLookup(i);
+        }
+        long[] entity = measure(threads, this::entityLookup);
+        long[] target = measure(threads, this::redirectLookup);
+        System.out.printf("Entity lookup: %d ns, %d bytes; redirect lookup: %d ns, %d bytes%n",
+                entity[0], entity[1], target[0], target[1]);
+        assertTrue(target[1] < entity[1], "Redirect lookup should allocate less per lookup");
+    }
+
+    // Average nanoseconds and bytes allocated per lookup
+    private long[] measure(ThreadMXBean threads, IntFunction<String> lookup) {
+        long threadId = Thread.currentThread().getId();
+        long bytes = threads.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        for(int i = 0; i < ITERATIONS; i++) {
+            assertNotNull(lookup.apply(i));
+        }
+        long elapsed = System.nanoTime() - start;
+        return new long[]{elapsed / ITERATIONS, (threads.getThreadAllocatedBytes(threadId) - bytes) / ITERATIONS};
+    }
+
+    // The lookup as it was: a managed entity, loaded in the same read-only transaction getUrlMapping uses
+    private String entityLookup(int i) {
+        return lookup(() -> repository.findByShortCode("code" + i % LINKS).map(UrlMapping::getOriginalUrl));
+    }
+
+    private String redirectLookup(int i) {
+        return lookup(() -> repository.findRedirectTarget("code" + i % LINKS).map(RedirectTarget::originalUrl));
+    }
+
+    private String lookup(Supplier<Optional<String>> query) {
+        return readOnly.execute(status -> query.get().orElseThrow());
+    }
+}
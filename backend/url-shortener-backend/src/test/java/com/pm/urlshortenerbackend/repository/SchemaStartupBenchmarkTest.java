@@ -0,0 +1,105 @@
+package com.pm.urlshortenerbackend.repository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+
+import javax.sql.DataSource;
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Measures entity manager factory startup against an existing schema with ddl-auto=update
+ * (the old setting) and none (the prod profile, where Flyway owns the schema). H2 metadata
+ * reads are in-process, so against Postgres the gap is larger by a round trip per table. The
+ * timing is tagged benchmark and only runs with -Pbenchmarks.
+ *
+ * Author: Sathwik Pillalamarri
+ * Date: 2/22/26
+ * Project: url-shortener-backend
+ */
+public class SchemaStartupBenchmarkTest {
+    private static final int RUNS = 15;
+
+    private DataSource dataSource;
+    private LocalContainerEntityManagerFactoryBean schema;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new DriverManagerDataSource("jdbc:h2:mem:startup-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        // Stands in for the migrated schema; kept open so every run sees the same tables
+        schema = factory("create");
+    }
+
+    @AfterEach
+    void tearDown() {
+        schema.destroy();
+    }
+
+    @Test
+    void testNoneLeavesTheSchemaAlone() {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("ALTER TABLE users DROP COLUMN quota_plan");
+
+        factory("none").destroy();
+        assertFalse(hasColumn(jdbcTemplate, "USERS", "QUOTA_PLAN"));
+
+        // update compares the entities with the database metadata and adds what is missing
+        factory("update").destroy();
+        assertTrue(hasColumn(jdbcTemplate, "USERS", "QUOTA_PLAN"));
+    }
+
+    @Test
+    @Tag("benchmark")
+    void benchmarkStartupWithUpdateAndNone() {
+        // Warm up class loading and Hibernate's metamodel building for both modes
+        for(int i = 0; i < 3; i++) {
+            startupNanos("update");
+            startupNanos("none");
+        }
+        long update = median("update");
+        long none = median("none");
+        System.out.printf("EntityManagerFactory startup: ddl-auto=update %.1f ms, ddl-auto=none %.1f ms%n",
+                update / 1_000_000.0, none / 1_000_000.0);
+        assertTrue(none < update, "Skipping schema update should start faster");
+    }
+
+    private static boolean hasColumn(JdbcTemplate jdbcTemplate, String table, String column) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM INFORMATION_SCHEMA.COLUMNS WHERE TABLE_NAME = ? AND COLUMN_NAME = ?",
+                Integer.class, table, column) > 0;
+    }
+
+    private long median(String ddlAuto) {
+        long[] samples = new long[RUNS];
+        for(int i = 0; i < RUNS; i++) {
+            samples[i] = startupNanos(ddlAuto);
+        }
+        Arrays.sort(samples);
+        return samples[RUNS / 2];
+    }
+
+    private long startupNanos(String ddlAuto) {
+        long start = System.nanoTime();
+        LocalContainerEntityManagerFactoryBean factory = factory(ddlAuto);
+        long elapsed = System.nanoTime() - start;
+        factory.destroy();
+        return elapsed;
+    }
+
+    private LocalContainerEntityManagerFactoryBean factory(String ddlAuto) {
+        LocalContainerEntityManagerFactoryBean factoryBean = new LocalContainerEntityManagerFactoryBean();
+        factoryBean.setDataSource(dataSource);
+        factoryBean.setPackagesToScan("com.pm.urlshortenerbackend.model");
+        factoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factoryBean.setJpaPropertyMap(Map.of("hibernate.hbm2ddl.auto", ddlAuto));
+        factoryBean.afterPropertiesSet();
+        return factoryBean;
+    }
+}
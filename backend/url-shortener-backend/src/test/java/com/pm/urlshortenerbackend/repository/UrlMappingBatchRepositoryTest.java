@@ -0,0 +1,209 @@
+package com.pm.urlshortenerbackend.repository;
+
+import com.pm.urlshortenerbackend.model.UrlMapping;
+import com.pm.urlshortenerbackend.model.User;
+import com.pm.urlshortenerbackend.util.UrlHash;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the batch SQL against the migrated Postgres schema, so the ON CONFLICT (url_hash, owner_id)
+ * inserts are checked against the real unique index. Needs Docker and is skipped without it.
+ *
+ * Author: Sathwik Pillalamarri
+ * Date: 2/14/26
+ * Project: url-shortener-backend
+ */
+@Testcontainers(disabledWithoutDocker = true)
+public class UrlMappingBatchRepositoryTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("urlshortener_batch")
+            .withUsername("test")
+            .withPassword("test");
+
+    private static JdbcTemplate jdbcTemplate;
+    private UrlMappingBatchRepository batchRepository;
+
+    @BeforeAll
+    static void migrate() {
+        Flyway.configure()
+                .dataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())
+                // Same as spring.flyway.postgresql.transactional-lock; see V11
+                .configuration(Map.of("flyway.postgresql.transactional.lock", "false"))
+                .load()
+                .migrate();
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword()));
+    }
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("TRUNCATE url_mappings, users CASCADE");
+        jdbcTemplate.execute("ALTER SEQUENCE url_sequence RESTART WITH 1");
+        jdbcTemplate.update("INSERT INTO users (id, email, password_hash, first_name, last_name) VALUES (9, 'owner@example.com', 'hash', 'First', 'Last')");
+        batchRepository = new UrlMappingBatchRepository(jdbcTemplate, 2);
+    }
+
+    @Test
+    void testAllocateIdsReturnsDistinctSequenceValues() {
+        List<Long> first = batchRepository.allocateIds(3);
+        List<Long> second = batchRepository.allocateIds(2);
+
+        assertEquals(List.of(1L, 2L, 3L), first);
+        assertEquals(List.of(4L, 5L), second);
+    }
+
+    @Test
+    void testAllocateIdsReadsTheSequenceOncePerBlock() {
+        assertEquals(List.of(1L), batchRepository.allocateIds(1));
+
+        // 60 ids need the two blocks ending at 51 and 101; 62..101 are kept for later calls
+        List<Long> ids = batchRepository.allocateIds(60);
+        assertEquals(60, ids.size());
+        assertEquals(2L, ids.get(0));
+        assertEquals(61L, ids.get(59));
+        assertEquals(List.of(62L, 63L), batchRepository.allocateIds(2));
+        assertEquals(151L, jdbcTemplate.queryForObject("SELECT nextval('url_sequence')", Long.class));
+    }
+
+    @Test
+    void testInsertAllWritesEveryRowAcrossBatches() {
+        User owner = new User();
+        owner.setId(9L);
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+
+        List<UrlMapping> mappings = new ArrayList<>();
+        List<Long> ids = batchRepository.allocateIds(5);
+        for(int i = 0; i < ids.size(); i++) {
+            UrlMapping mapping = new UrlMapping("code" + i, "https://example.com/" + i, i % 2 == 0 ? owner : null, i == 0 ? now.plusDays(1) : null);
+            mapping.setId(ids.get(i));
+            mapping.setCreatedAt(now);
+            mappings.add(mapping);
+        }
+
+        assertTrue(batchRepository.insertAllIfAbsent(mappings).isEmpty());
+
+        assertEquals(5, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM url_mappings", Long.class));
+        assertEquals(3, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM url_mappings WHERE owner_id = 9", Long.class));
+        assertEquals("https://example.com/4", jdbcTemplate.queryForObject("SELECT original_url FROM url_mappings WHERE short_code = 'code4'", String.class));
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM url_mappings WHERE expires_at IS NOT NULL AND is_active AND click_count = 0", Long.class));
+    }
+
+    @Test
+    void testInsertAllWritesUrlHash() {
+        UrlMapping mapping = new UrlMapping("code0", "https://Example.com/a");
+        mapping.setId(batchRepository.allocateIds(1).get(0));
+        mapping.setCreatedAt(LocalDateTime.now());
+
+        assertTrue(batchRepository.insertAllIfAbsent(List.of(mapping)).isEmpty());
+
+        assertEquals(UrlHash.of("https://example.com/a"), jdbcTemplate.queryForObject("SELECT url_hash FROM url_mappings", Long.class));
+    }
+
+    @Test
+    void testInsertAllIfAbsentSkipsLinksTheOwnerAlreadyHas() {
+        User owner = new User();
+        owner.setId(9L);
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        List<Long> ids = batchRepository.allocateIds(4);
+        UrlMapping first = mapping(ids.get(0), "https://example.com/a", owner, now);
+        assertTrue(batchRepository.insertAllIfAbsent(List.of(first)).isEmpty());
+
+        // Same URL for the same owner conflicts; other owners and anonymous links do not
+        UrlMapping again = mapping(ids.get(1), "https://EXAMPLE.com/a", owner, now);
+        UrlMapping anonymous = mapping(ids.get(2), "https://example.com/a", null, now);
+        UrlMapping anonymousAgain = mapping(ids.get(3), "https://example.com/a", null, now);
+        List<UrlMapping> skipped = batchRepository.insertAllIfAbsent(List.of(again, anonymous, anonymousAgain));
+
+        assertEquals(List.of(again), skipped);
+        assertEquals(3, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM url_mappings", Long.class));
+        assertEquals("code" + ids.get(0), jdbcTemplate.queryForObject("SELECT short_code FROM url_mappings WHERE owner_id = 9", String.class));
+    }
+
+    @Test
+    void testBackfillHashesOnlyRowsWithoutHashAcrossBatches() {
+        for(long id = 1; id <= 5; id++) {
+            jdbcTemplate.update("INSERT INTO url_mappings (id, short_code, original_url, url_hash, created_at) VALUES (?, ?, ?, ?, CURRENT_TIMESTAMP)",
+                    id, "code" + id, "https://example.com/" + id, id == 3 ? 42L : null);
+        }
+
+        assertEquals(4, batchRepository.backfillUrlHashes());
+
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM url_mappings WHERE url_hash IS NULL", Long.class));
+        assertEquals(UrlHash.of("https://example.com/5"), jdbcTemplate.queryForObject("SELECT url_hash FROM url_mappings WHERE id = 5", Long.class));
+        // Rows that already had a hash are left alone
+        assertEquals(42L, jdbcTemplate.queryForObject("SELECT url_hash FROM url_mappings WHERE id = 3", Long.class));
+        assertEquals(0, batchRepository.backfillUrlHashes());
+    }
+
+    @Test
+    void testBackfillLeavesOlderDuplicatesUnhashed() {
+        for(long id = 1; id <= 3; id++) {
+            jdbcTemplate.update("INSERT INTO url_mappings (id, short_code, original_url, created_at, owner_id) VALUES (?, ?, ?, CURRENT_TIMESTAMP, 9)",
+                    id, "code" + id, id == 3 ? "https://example.com/other" : "https://example.com/dup");
+        }
+
+        assertEquals(2, batchRepository.backfillUrlHashes());
+
+        assertEquals(UrlHash.of("https://example.com/dup"), jdbcTemplate.queryForObject("SELECT url_hash FROM url_mappings WHERE id = 1", Long.class));
+        assertNull(jdbcTemplate.queryForObject("SELECT url_hash FROM url_mappings WHERE id = 2", Long.class));
+        assertEquals(0, batchRepository.backfillUrlHashes());
+    }
+
+    @Test
+    void testBackfillSkipsARowWhoseLinkIsCreatedConcurrently() throws Exception {
+        jdbcTemplate.update("INSERT INTO url_mappings (id, short_code, original_url, created_at, owner_id) VALUES " +
+                "(1, 'code1', 'https://example.com/dup', CURRENT_TIMESTAMP, 9), (3, 'code3', 'https://example.com/other', CURRENT_TIMESTAMP, 9)");
+
+        try(Connection create = DriverManager.getConnection(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())) {
+            // A create that has inserted the same link but not committed yet, so NOT EXISTS cannot see it
+            create.setAutoCommit(false);
+            try(PreparedStatement insert = create.prepareStatement("INSERT INTO url_mappings (id, short_code, original_url, url_hash, created_at, owner_id) " +
+                    "VALUES (2, 'code2', 'https://example.com/dup', ?, CURRENT_TIMESTAMP, 9)")) {
+                insert.setLong(1, UrlHash.of("https://example.com/dup"));
+                insert.executeUpdate();
+            }
+
+            CompletableFuture<Integer> backfill = CompletableFuture.supplyAsync(batchRepository::backfillUrlHashes);
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while(!backfill.isDone() && System.nanoTime() < deadline && jdbcTemplate.queryForObject(
+                    "SELECT count(*) FROM pg_stat_activity WHERE wait_event_type = 'Lock' AND query LIKE 'UPDATE url_mappings%'", Long.class) == 0) {
+                Thread.sleep(10);
+            }
+            // The backfill is waiting on the unique index and fails once the create commits
+            create.commit();
+
+            assertEquals(1, backfill.get(10, TimeUnit.SECONDS));
+        }
+
+        assertNull(jdbcTemplate.queryForObject("SELECT url_hash FROM url_mappings WHERE id = 1", Long.class));
+        assertEquals(UrlHash.of("https://example.com/other"), jdbcTemplate.queryForObject("SELECT url_hash FROM url_mappings WHERE id = 3", Long.class));
+    }
+
+    private static UrlMapping mapping(long id, String url, User owner, LocalDateTime createdAt) {
+        UrlMapping mapping = new UrlMapping("code" + id, url, owner);
+        mapping.setId(id);
+        mapping.setCreatedAt(createdAt);
+        return mapping;
+    }
+}
@@ -0,0 +1,160 @@
+package com.pm.urlshortenerbackend.repository;
+
+import com.pm.urlshortenerbackend.dto.UrlMappingResponse;
+import com.pm.urlshortenerbackend.model.UrlMapping;
+import com.pm.urlshortenerbackend.model.User;
+import com.sun.management.ThreadMXBean;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Measures heap allocated per listing page: entity pages in a read-write transaction (the old
+ * path) against projection pages in a read-only one. Runs Hibernate against in-memory H2, so
+ * only the ORM side is compared; network and driver costs are the same for both. The allocation
+ * comparison is tagged benchmark and only runs with -Pbenchmarks.
+ *
+ * Author: Sathwik Pillalamarri
+ * Date: 2/18/26
+ * Project: url-shortener-backend
+ */
+public class UrlMappingListingBenchmarkTest {
+    private static final int LINKS = 500;
+    private static final int ITERATIONS = 200;
+    private static final Pageable PAGE = PageRequest.of(0, 100, Sort.by(Sort.Direction.DESC, "createdAt"));
+
+    private LocalContainerEntityManagerFactoryBean factoryBean;
+    private EntityManager entityManager;
+    private UrlMappingRepository repository;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+    private User owner;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        factoryBean = new LocalContainerEntityManagerFactoryBean();
+        factoryBean.setDataSource(new DriverManagerDataSource("jdbc:h2:mem:listing-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1", "sa", ""));
+        factoryBean.setPackagesToScan("com.pm.urlshortenerbackend.model");
+        factoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factoryBean.setJpaPropertyMap(Map.of("hibernate.hbm2ddl.auto", "create-drop", "hibernate.generate_statistics", "true"));
+        factoryBean.afterPropertiesSet();
+        EntityManagerFactory factory = factoryBean.getObject();
+        statistics = factory.unwrap(SessionFactory.class).getStatistics();
+
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(factory);
+        repository = new JpaRepositoryFactory(entityManager).getRepository(UrlMappingRepository.class);
+        JpaTransactionManager transactionManager = new JpaTransactionManager(factory);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        owner = readWrite.execute(status -> {
+            User user = new User("bench@example.com", "hash", "Bench", "User");
+            entityManager.persist(user);
+            List<UrlMapping> mappings = new ArrayList<>();
+            for(int i = 0; i < LINKS; i++) {
+                mappings.add(new UrlMapping("code" + i, "https://www.example.com/landing/page/" + i + "?utm_source=newsletter", user));
+            }
+            repository.saveAll(mappings);
+            return user;
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        factoryBean.destroy();
+    }
+
+    @Test
+    void testProjectionPageMatchesEntityPage() {
+        List<UrlMappingResponse> entities = entityPage();
+        List<UrlMappingResponse> views = viewPage();
+
+        assertEquals(100, views.size());
+        for(int i = 0; i < views.size(); i++) {
+            assertEquals(entities.get(i).getShortCode(), views.get(i).getShortCode());
+            assertEquals(entities.get(i).getOriginalUrl(), views.get(i).getOriginalUrl());
+            assertEquals(entities.get(i).getCreatedAt(), views.get(i).getCreatedAt());
+        }
+    }
+
+    @Test
+    void testProjectionPageLoadsNoEntities() {
+        statistics.clear();
+        entityPage();
+        assertEquals(100, statistics.getEntityLoadCount());
+
+        statistics.clear();
+        viewPage();
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(0, statistics.getFlushCount());
+    }
+
+    @Test
+    @Tag("benchmark")
+    void benchmarkListingAllocation() {
+        ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported());
+        threads.setThreadAllocatedMemoryEnabled(true);
+        // Warm up so both paths have their queries and proxies cached
+        for(int i = 0; i < ITERATIONS; i++) {
+            entityPage();
+            viewPage();
+        }
+        long entity = measure(threads, this::entityPage);
+        long view = measure(threads, this::viewPage);
+        System.out.printf("Entity listing: %d bytes/page, projection listing: %d bytes/page%n", entity, view);
+        assertTrue(view < entity, "Projection listing should allocate less per page");
+    }
+
+    private long measure(ThreadMXBean threads, Supplier<List<UrlMappingResponse>> listing) {
+        long threadId = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(threadId);
+        for(int i = 0; i < ITERATIONS; i++) {
+            assertFalse(listing.get().isEmpty());
+        }
+        return (threads.getThreadAllocatedBytes(threadId) - before) / ITERATIONS;
+    }
+
+    private List<UrlMappingResponse> entityPage() {
+        return readWrite.execute(status -> {
+            Page<UrlMapping> page = repository.findByOwner(owner, PAGE);
+            return page.map(m -> new UrlMappingResponse(m.getShortCode(), "http://localhost/" + m.getShortCode(),
+                    m.getOriginalUrl(), m.getCreatedAt(), m.getExpiresAt(), m.getIsActive())).getContent();
+        });
+    }
+
+    private List<UrlMappingResponse> viewPage() {
+        return readOnly.execute(status -> {
+            Page<UrlMappingView> page = repository.findViewsByOwner(owner, PAGE);
+            return page.map(v -> new UrlMappingResponse(v.shortCode(), "http://localhost/" + v.shortCode(),
+                    v.originalUrl(), v.createdAt(), v.expiresAt(), v.isActive())).getContent();
+        });
+    }
+}
@@ -0,0 +1,252 @@
+package com.pm.urlshortenerbackend.repository;
+
+import com.pm.urlshortenerbackend.model.User;
+import org.flywaydb.core.Flyway;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Guards the plans of the hot url_mappings queries against the migrated Postgres schema. H2 has
+ * no partial or INCLUDE indexes, so this needs Docker and is skipped without it. The tables are
+ * seeded with 100 owners of 1000 links each and 100 clicks on each of 1000 links, and vacuumed, so
+ * the planner has real statistics and an up-to-date visibility map for index-only scans. Keyset
+ * pages explain the SQL Hibernate generates for the repository methods, captured as it runs, and
+ * the statements of LinkExportRepository, each with its parameters bound.
+ *
+ * Author: Sathwik Pillalamarri
+ * Date: 2/25/26
+ * Project: url-shortener-backend
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+public class UrlMappingQueryPlanTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("urlshortener_plans")
+            .withUsername("test")
+            .withPassword("test");
+
+    private static JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private UrlMappingRepository urlMappingRepository;
+
+    // The schema comes from the migrations run below
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "none");
+        registry.add("spring.jpa.properties.hibernate.session_factory.statement_inspector", RecordingInspector.class::getName);
+    }
+
+    @BeforeAll
+    static void migrateAndSeed() {
+        Flyway.configure()
+                .dataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())
+                // Same as spring.flyway.postgresql.transactional-lock; see V11
+                .configuration(Map.of("flyway.postgresql.transactional.lock", "false"))
+                .load()
+                .migrate();
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword()));
+        jdbcTemplate.update("INSERT INTO users (email, password_hash, first_name, last_name) " +
+                "SELECT 'user' || i || '@example.com', 'hash', 'First', 'Last' FROM generate_series(1, 100) i");
+        // 10% inactive; 5% can expire, half of those already past their expiry
+        jdbcTemplate.update("INSERT INTO url_mappings (id, short_code, original_url, created_at, owner_id, expires_at, click_count, is_active) " +
+                "SELECT i, 'c' || i, 'https://www.example.com/landing/' || i, now() - i * interval '1 minute', " +
+                "i % 100 + 1, " +
+                "CASE WHEN i % 20 = 0 THEN now() + CASE WHEN i % 40 = 0 THEN interval '1 day' ELSE interval '-1 day' END END, " +
+                "i % 500, i % 10 <> 0 FROM generate_series(1, 100000) i");
+        jdbcTemplate.update("INSERT INTO click_events (id, url_mapping_id, clicked_at, country) " +
+                "SELECT i, i % 1000 + 1, now() - i * interval '1 second', 'DE' FROM generate_series(1, 100000) i");
+        jdbcTemplate.execute("VACUUM ANALYZE url_mappings");
+        jdbcTemplate.execute("VACUUM ANALYZE click_events");
+    }
+
+    @Test
+    void testRedirectLookupIsAnIndexOnlyScan() {
+        // The columns findRedirectTarget selects
+        String plan = explain("SELECT short_code, original_url, created_at, expires_at, is_active FROM url_mappings WHERE short_code = 'c4242'");
+
+        assertTrue(plan.contains("Index Only Scan using uq_url_mappings_short_code_lookup"), plan);
+    }
+
+    @Test
+    void testEntityLookupByShortCodeUsesAnIndex() {
+        String plan = explain("SELECT * FROM url_mappings WHERE short_code = 'c4242'");
+
+        assertTrue(plan.contains("Index Scan using uq_url_mappings_short_code_lookup"), plan);
+    }
+
+    @Test
+    void testActiveListingReadsThePartialIndexInOrder() {
+        String plan = explain("SELECT id, short_code, original_url, created_at, expires_at, is_active FROM url_mappings " +
+                "WHERE owner_id = " + ownerId() + " AND is_active = true ORDER BY created_at DESC, id DESC LIMIT 20");
+
+        assertTrue(plan.contains("idx_url_mappings_owner_active_created_id"), plan);
+        assertFalse(plan.contains("Sort"), plan);
+    }
+
+    @Test
+    void testActiveCountUsesThePartialIndex() {
+        String plan = explain("SELECT count(*) FROM url_mappings WHERE owner_id = " + ownerId() + " AND is_active = true");
+
+        assertTrue(plan.contains("idx_url_mappings_owner_active_created_id"), plan);
+    }
+
+    @Test
+    void testAllLinksListingKeepsTheOwnerIndex() {
+        String plan = explain("SELECT id, short_code FROM url_mappings WHERE owner_id = " + ownerId() +
+                " ORDER BY created_at DESC, id DESC LIMIT 20");
+
+        assertTrue(plan.contains("idx_url_mappings_owner_created_id"), plan);
+        assertFalse(plan.contains("Sort"), plan);
+    }
+
+    @Test
+    void testCursorPageIsABoundedRangeOfTheOwnerIndex() {
+        User owner = entityManager.find(User.class, ownerId());
+        UrlMappingView last = urlMappingRepository.findFirstByOwner(owner, PageRequest.of(0, 20)).get(19);
+
+        RecordingInspector.statements.clear();
+        urlMappingRepository.findByOwnerBefore(owner, last.createdAt(), last.id(), PageRequest.of(0, 20));
+        String plan = explain(lastStatement(), owner.getId(), Timestamp.valueOf(last.createdAt()), last.id(), 20);
+
+        assertTrue(plan.contains("Index Scan using idx_url_mappings_owner_created_id"), plan);
+        assertBoundedBy(plan, "ROW(created_at, id) <");
+        assertFalse(plan.contains("Sort"), plan);
+    }
+
+    @Test
+    void testActiveCursorPageIsABoundedRangeOfThePartialIndex() {
+        // The first owner's links are all inactive
+        User owner = entityManager.find(User.class, ownerId() + 1);
+        UrlMappingView last = urlMappingRepository.findFirstActiveByOwner(owner, PageRequest.of(0, 20)).get(19);
+
+        RecordingInspector.statements.clear();
+        urlMappingRepository.findActiveByOwnerBefore(owner, last.createdAt(), last.id(), PageRequest.of(0, 20));
+        String plan = explain(lastStatement(), owner.getId(), Timestamp.valueOf(last.createdAt()), last.id(), 20);
+
+        assertTrue(plan.contains("Index Scan using idx_url_mappings_owner_active_created_id"), plan);
+        assertBoundedBy(plan, "ROW(created_at, id) <");
+        assertFalse(plan.contains("Sort"), plan);
+    }
+
+    // Pages are smaller than what is left to export; a page that takes all the remaining rows may be sorted instead
+    @Test
+    void testExportLinkPagesAreABoundedRangeOfTheOwnerIndex() {
+        long ownerId = ownerId();
+        Map<String, Object> last = jdbcTemplate.queryForMap("SELECT created_at, id FROM url_mappings WHERE owner_id = ? " +
+                "ORDER BY created_at, id OFFSET 499 LIMIT 1", ownerId);
+
+        String first = explain(LinkExportRepository.FIRST_LINKS_SQL.formatted(LinkExportRepository.LINK_COLUMNS), ownerId, 100);
+        String next = explain(LinkExportRepository.NEXT_LINKS_SQL.formatted(LinkExportRepository.LINK_COLUMNS),
+                ownerId, last.get("created_at"), last.get("id"), 100);
+        String linkIds = explain(LinkExportRepository.NEXT_LINKS_SQL.formatted("id, created_at"),
+                ownerId, last.get("created_at"), last.get("id"), 100);
+
+        assertTrue(first.contains("Index Scan Backward using idx_url_mappings_owner_created_id"), first);
+        assertFalse(first.contains("Sort"), first);
+        assertTrue(next.contains("Index Scan Backward using idx_url_mappings_owner_created_id"), next);
+        assertBoundedBy(next, "ROW(created_at, id) >");
+        assertFalse(next.contains("Sort"), next);
+        assertTrue(linkIds.contains("Index Only Scan Backward using idx_url_mappings_owner_created_id"), linkIds);
+        assertFalse(linkIds.contains("Sort"), linkIds);
+    }
+
+    @Test
+    void testExportClickPagesAreABoundedRangeOfTheLinkIndex() {
+        String plan = explain(LinkExportRepository.CLICKS_SQL, 42L, 20000L, 20);
+
+        assertTrue(plan.contains("Index Scan using idx_click_events_url_mapping_id_id"), plan);
+        assertBoundedBy(plan, "(url_mapping_id = '42'::bigint) AND (id > '20000'::bigint)");
+        assertFalse(plan.contains("Sort"), plan);
+    }
+
+    @Test
+    void testExpirySweepUsesThePartialIndex() {
+        String update = explain("UPDATE url_mappings SET is_active = false " +
+                "WHERE expires_at IS NOT NULL AND expires_at < now() AND is_active = true");
+        String count = explain("SELECT owner_id, count(*) FROM url_mappings WHERE owner_id IS NOT NULL " +
+                "AND expires_at IS NOT NULL AND expires_at < now() AND is_active = true GROUP BY owner_id");
+
+        assertTrue(update.contains("idx_url_mappings_active_expires_at"), update);
+        assertTrue(count.contains("idx_url_mappings_active_expires_at"), count);
+    }
+
+    @Test
+    void testPopularLinksNarrowByOwnerWithoutAClickCountIndex() {
+        String plan = explain("SELECT * FROM url_mappings WHERE owner_id = " + ownerId() +
+                " AND click_count > 10 ORDER BY click_count DESC");
+
+        assertTrue(plan.contains("idx_url_mappings_owner_created_id"), plan);
+        assertFalse(plan.contains("Seq Scan"), plan);
+    }
+
+    @Test
+    void testLowValueIndexesAreGone() {
+        List<String> indexes = jdbcTemplate.queryForList("SELECT indexname FROM pg_indexes WHERE tablename = 'url_mappings'", String.class);
+
+        assertFalse(indexes.contains("idx_url_mappings_owner_id"), indexes::toString);
+        assertFalse(indexes.contains("idx_url_mappings_is_active"), indexes::toString);
+        assertFalse(indexes.contains("idx_url_mappings_expires_at"), indexes::toString);
+        assertFalse(indexes.contains("idx_url_mappings_short_code"), indexes::toString);
+        assertFalse(indexes.contains("uk_url_mappings_short_code"), indexes::toString);
+        assertFalse(indexes.contains("uq_url_mappings_short_code_redirect"), indexes::toString);
+    }
+
+    private static long ownerId() {
+        return jdbcTemplate.queryForObject("SELECT min(id) FROM users", Long.class);
+    }
+
+    private static String explain(String sql, Object... args) {
+        return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class, args));
+    }
+
+    // The bound has to be an index condition: as a filter every row before the page would be read and dropped
+    private static void assertBoundedBy(String plan, String condition) {
+        assertTrue(plan.lines().anyMatch(line -> line.contains("Index Cond:") && line.contains(condition)), plan);
+    }
+
+    private static String lastStatement() {
+        assertFalse(RecordingInspector.statements.isEmpty());
+        return RecordingInspector.statements.get(RecordingInspector.statements.size() - 1);
+    }
+
+    // Records the SQL Hibernate sends, so the plans above are those of the generated statements
+    public static class RecordingInspector implements StatementInspector {
+        static final List<String> statements = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            statements.add(sql);
+            return sql;
+        }
+    }
+}
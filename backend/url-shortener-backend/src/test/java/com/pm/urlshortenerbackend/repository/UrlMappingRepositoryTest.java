@@ -1,12 +1,15 @@
 package com.pm.urlshortenerbackend.repository;
 
 import com.pm.urlshortenerbackend.model.UrlMapping;
+import com.pm.urlshortenerbackend.model.User;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -44,6 +47,32 @@ public class UrlMappingRepositoryTest {
         assertThat(found).isEmpty();
     }
 
+    @Test
+    void findRedirectTargetTest() {
+        UrlMapping url = new UrlMapping("abcde", "https://www.google.com", null, LocalDateTime.now().plusDays(1).withNano(0));
+
+        testEntityManager.persist(url);
+        testEntityManager.flush();
+        testEntityManager.clear();
+
+        Optional<RedirectTarget> found = urlMappingRepository.findRedirectTarget("abcde");
+        assertThat(found).isPresent();
+        assertThat(found.get().originalUrl()).isEqualTo("https://www.google.com");
+        assertThat(found.get().expiresAt()).isEqualTo(url.getExpiresAt());
+        assertThat(found.get().isActive()).isTrue();
+        assertThat(found.get().createdAt()).isNotNull();
+        assertThat(urlMappingRepository.findRedirectTarget("nonexistent")).isEmpty();
+    }
+
+    @Test
+    void existsByShortCodeTest() {
+        testEntityManager.persist(new UrlMapping("abcde", "https://www.google.com"));
+        testEntityManager.flush();
+
+        assertThat(urlMappingRepository.existsByShortCode("abcde")).isTrue();
+        assertThat(urlMappingRepository.existsByShortCode("nonexistent")).isFalse();
+    }
+
     @Test
     void findByOriginalUrlTest() {
         UrlMapping url = new UrlMapping();
@@ -63,4 +92,30 @@ public class UrlMappingRepositoryTest {
         Optional<UrlMapping> found = urlMappingRepository.findByOriginalUrl("https://www.nonexistent.com");
         assertThat(found).isEmpty();
     }
+
+    @Test
+    void findByOwnerBeforeTest_PagesThroughLinksCreatedInTheSameInstant() {
+        User owner = testEntityManager.persist(new User("owner@example.com", "hash", "John", "Doe"));
+        for(int i = 1; i <= 5; i++) {
+            UrlMapping url = new UrlMapping("code" + i, "https://www.google.com/" + i, owner);
+            url.setIsActive(i != 2);
+            testEntityManager.persist(url);
+        }
+        testEntityManager.flush();
+        // Ties on created_at are broken by id
+        LocalDateTime createdAt = LocalDateTime.of(2026, 1, 1, 10, 0);
+        testEntityManager.getEntityManager().createQuery("UPDATE UrlMapping u SET u.createdAt = :createdAt")
+                .setParameter("createdAt", createdAt)
+                .executeUpdate();
+        testEntityManager.clear();
+
+        List<UrlMappingView> first = urlMappingRepository.findFirstByOwner(owner, PageRequest.of(0, 2));
+        List<UrlMappingView> second = urlMappingRepository.findByOwnerBefore(owner, createdAt, first.get(1).id(), PageRequest.of(0, 2));
+        List<UrlMappingView> active = urlMappingRepository.findActiveByOwnerBefore(owner, createdAt, first.get(1).id(), PageRequest.of(0, 2));
+
+        assertThat(first).extracting(UrlMappingView::shortCode).containsExactly("code5", "code4");
+        assertThat(second).extracting(UrlMappingView::shortCode).containsExactly("code3", "code2");
+        assertThat(active).extracting(UrlMappingView::shortCode).containsExactly("code3", "code1");
+        assertThat(urlMappingRepository.findByOwnerBefore(owner, createdAt.plusSeconds(1), 0L, PageRequest.of(0, 10))).hasSize(5);
+    }
 }
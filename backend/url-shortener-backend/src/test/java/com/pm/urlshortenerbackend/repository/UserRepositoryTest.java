@@ -6,6 +6,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -91,4 +93,39 @@ class UserRepositoryTest {
         // Then
         assertThat(exists).isTrue();
     }
+
+    @Test
+    void updatePasswordHash_ShouldReplaceOnlyThatUsersHash() {
+        // Given
+        User user = entityManager.persistAndFlush(new User("test@example.com", "oldHash", "John", "Doe"));
+        User other = entityManager.persistAndFlush(new User("other@example.com", "otherHash", "Jane", "Doe"));
+        entityManager.clear();
+
+        // When
+        int updated = userRepository.updatePasswordHash(user.getId(), "newHash");
+
+        // Then
+        assertThat(updated).isEqualTo(1);
+        assertThat(userRepository.findById(user.getId()).orElseThrow().getPasswordHash()).isEqualTo("newHash");
+        assertThat(userRepository.findById(other.getId()).orElseThrow().getPasswordHash()).isEqualTo("otherHash");
+    }
+
+    @Test
+    void updatePasswordHashAndRevokeTokens_ShouldStoreTheRevocationForReload() {
+        // Given
+        User user = entityManager.persistAndFlush(new User("test@example.com", "oldHash", "John", "Doe"));
+        entityManager.persistAndFlush(new User("other@example.com", "otherHash", "Jane", "Doe"));
+        entityManager.clear();
+        Instant tokensValidAfter = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+
+        // When
+        int updated = userRepository.updatePasswordHashAndRevokeTokens(user.getId(), "newHash", tokensValidAfter);
+
+        // Then
+        assertThat(updated).isEqualTo(1);
+        assertThat(userRepository.findById(user.getId()).orElseThrow().getPasswordHash()).isEqualTo("newHash");
+        assertThat(userRepository.findTokenRevocationsAfter(tokensValidAfter.minusSeconds(60)))
+                .containsExactly(new TokenRevocation(user.getId(), tokensValidAfter));
+        assertThat(userRepository.findTokenRevocationsAfter(tokensValidAfter.plusSeconds(1))).isEmpty();
+    }
 }
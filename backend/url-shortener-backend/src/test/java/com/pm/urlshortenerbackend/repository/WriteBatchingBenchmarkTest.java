@@ -0,0 +1,202 @@
+package com.pm.urlshortenerbackend.repository;
+
+import com.pm.urlshortenerbackend.model.ClickEvent;
+import com.pm.urlshortenerbackend.model.UrlMapping;
+import com.pm.urlshortenerbackend.model.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares Hibernate write throughput for link creates and click events with the old id mappings
+ * (allocationSize = 1, IDENTITY for clicks, no JDBC batching) against pooled sequences with
+ * hibernate.jdbc.batch_size. Runs on in-memory H2, so every statement is in-process; against
+ * Postgres each saved statement is also a saved round trip. The throughput comparison is tagged
+ * benchmark and only runs with -Pbenchmarks.
+ *
+ * Author: Sathwik Pillalamarri
+ * Date: 2/23/26
+ * Project: url-shortener-backend
+ */
+public class WriteBatchingBenchmarkTest {
+    private static final int ROWS = 2000;
+    private static final int ROUNDS = 5;
+
+    @Test
+    void testPooledIdsAreUniqueAcrossTransactions() {
+        Writer writer = new Writer(true);
+        try {
+            List<UrlMapping> first = writer.createLinks(60);
+            List<UrlMapping> second = writer.createLinks(60);
+            writer.recordClicks(first, 60);
+
+            assertEquals(120, writer.count("SELECT COUNT(DISTINCT m.id) FROM UrlMapping m"));
+            assertEquals(60, writer.count("SELECT COUNT(DISTINCT c.id) FROM ClickEvent c"));
+            assertNotEquals(first.get(59).getId(), second.get(0).getId());
+        } finally {
+            writer.close();
+        }
+    }
+
+    @Test
+    void testPooledWritesPrepareAStatementPerBatch() {
+        // Old mappings: a sequence read and an insert per link, an IDENTITY insert per click
+        assertArrayEquals(new long[]{200, 100}, statementsFor100Rows(false));
+
+        // Two batches of 50 inserts each, plus at most two sequence reads for the 100 ids
+        long[] pooled = statementsFor100Rows(true);
+        assertTrue(pooled[0] <= 4, "Link creates prepared " + pooled[0] + " statements");
+        assertTrue(pooled[1] <= 4, "Click events prepared " + pooled[1] + " statements");
+    }
+
+    @Test
+    @Tag("benchmark")
+    void benchmarkCreateAndClickInserts() {
+        Result unpooled = run(false);
+        Result pooled = run(true);
+        System.out.printf("Link creates: unpooled %.0f rows/s (%d statements), pooled+batched %.0f rows/s (%d statements)%n",
+                unpooled.linksPerSecond, unpooled.linkStatements, pooled.linksPerSecond, pooled.linkStatements);
+        System.out.printf("Click events: unpooled %.0f rows/s (%d statements), pooled+batched %.0f rows/s (%d statements)%n",
+                unpooled.clicksPerSecond, unpooled.clickStatements, pooled.clicksPerSecond, pooled.clickStatements);
+
+        // One sequence read per 50 ids and one prepared insert per batch of 50 rows
+        assertTrue(pooled.linkStatements * 10 < unpooled.linkStatements, "Pooled links should need far fewer statements");
+        assertTrue(pooled.clickStatements * 10 < unpooled.clickStatements, "Pooled clicks should need far fewer statements");
+    }
+
+    private static long[] statementsFor100Rows(boolean pooled) {
+        Writer writer = new Writer(pooled);
+        try {
+            writer.statistics.clear();
+            List<UrlMapping> links = writer.createLinks(100);
+            long linkStatements = writer.statistics.getPrepareStatementCount();
+            writer.statistics.clear();
+            writer.recordClicks(links, 100);
+            return new long[]{linkStatements, writer.statistics.getPrepareStatementCount()};
+        } finally {
+            writer.close();
+        }
+    }
+
+    private Result run(boolean pooled) {
+        Writer writer = new Writer(pooled);
+        try {
+            // Warm up query plans, generators and the JIT before measuring
+            writer.recordClicks(writer.createLinks(ROWS), ROWS);
+
+            Result result = new Result();
+            for(int round = 0; round < ROUNDS; round++) {
+                writer.statistics.clear();
+                long start = System.nanoTime();
+                List<UrlMapping> links = writer.createLinks(ROWS);
+                long linkNanos = System.nanoTime() - start;
+                result.linkStatements = writer.statistics.getPrepareStatementCount();
+
+                writer.statistics.clear();
+                start = System.nanoTime();
+                writer.recordClicks(links, ROWS);
+                long clickNanos = System.nanoTime() - start;
+                result.clickStatements = writer.statistics.getPrepareStatementCount();
+
+                result.linksPerSecond = Math.max(result.linksPerSecond, ROWS * 1e9 / linkNanos);
+                result.clicksPerSecond = Math.max(result.clicksPerSecond, ROWS * 1e9 / clickNanos);
+            }
+            return result;
+        } finally {
+            writer.close();
+        }
+    }
+
+    private static class Result {
+        double linksPerSecond;
+        double clicksPerSecond;
+        long linkStatements;
+        long clickStatements;
+    }
+
+    private static class Writer {
+        private final LocalContainerEntityManagerFactoryBean factoryBean;
+        private final EntityManager entityManager;
+        private final TransactionTemplate transaction;
+        private final Statistics statistics;
+        private final User owner;
+        private int nextCode;
+
+        Writer(boolean pooled) {
+            Map<String, Object> properties = new HashMap<>();
+            properties.put("hibernate.hbm2ddl.auto", "create-drop");
+            properties.put("hibernate.generate_statistics", "true");
+            if(pooled) {
+                properties.put("hibernate.jdbc.batch_size", "50");
+                properties.put("hibernate.order_inserts", "true");
+                properties.put("hibernate.order_updates", "true");
+            }
+            factoryBean = new LocalContainerEntityManagerFactoryBean();
+            factoryBean.setDataSource(new DriverManagerDataSource("jdbc:h2:mem:writes-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1", "sa", ""));
+            factoryBean.setPackagesToScan("com.pm.urlshortenerbackend.model");
+            if(!pooled) {
+                factoryBean.setMappingResources("META-INF/unpooled-ids-orm.xml");
+            }
+            factoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+            factoryBean.setJpaPropertyMap(properties);
+            factoryBean.afterPropertiesSet();
+            EntityManagerFactory factory = factoryBean.getObject();
+
+            entityManager = SharedEntityManagerCreator.createSharedEntityManager(factory);
+            transaction = new TransactionTemplate(new JpaTransactionManager(factory));
+            statistics = factory.unwrap(SessionFactory.class).getStatistics();
+            owner = transaction.execute(status -> {
+                User user = new User("bench@example.com", "hash", "Bench", "User");
+                entityManager.persist(user);
+                return user;
+            });
+        }
+
+        List<UrlMapping> createLinks(int count) {
+            return transaction.execute(status -> {
+                List<UrlMapping> links = new ArrayList<>(count);
+                for(int i = 0; i < count; i++) {
+                    int code = nextCode++;
+                    UrlMapping mapping = new UrlMapping("code" + code, "https://www.example.com/landing/" + code, owner);
+                    entityManager.persist(mapping);
+                    links.add(mapping);
+                }
+                return links;
+            });
+        }
+
+        void recordClicks(List<UrlMapping> links, int count) {
+            transaction.executeWithoutResult(status -> {
+                for(int i = 0; i < count; i++) {
+                    ClickEvent click = new ClickEvent(entityManager.getReference(UrlMapping.class, links.get(i % links.size()).getId()),
+                            "hash", "Mozilla/5.0", "https://news.example.com/");
+                    entityManager.persist(click);
+                }
+            });
+        }
+
+        long count(String jpql) {
+            return transaction.execute(status -> entityManager.createQuery(jpql, Long.class).getSingleResult());
+        }
+
+        void close() {
+            factoryBean.destroy();
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.pm.urlshortenerbackend.resilience;
+
+import com.pm.urlshortenerbackend.exception.ServiceOverloadedException;
+import com.pm.urlshortenerbackend.health.UrlShortenerMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Author: Sathwik Pillalamarri
+ * Date: 2/5/26
+ * Project: url-shortener-backend
+ */
+public class DatabaseBulkheadTest {
+    private SimpleMeterRegistry meterRegistry;
+    private DatabaseBulkhead bulkhead;
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        bulkhead = new DatabaseBulkhead(2, Duration.ofMillis(20), 1, Duration.ofMillis(20), new UrlShortenerMetrics(meterRegistry));
+    }
+
+    @Test
+    void testExecuteReleasesPermit() {
+        String result = bulkhead.execute(DatabaseBulkhead.Priority.REDIRECT, () -> "ok");
+
+        assertEquals("ok", result);
+        assertEquals(2, bulkhead.availablePermits(DatabaseBulkhead.Priority.REDIRECT));
+    }
+
+    @Test
+    void testExecuteReleasesPermitOnFailure() {
+        assertThrows(IllegalStateException.class, () -> bulkhead.execute(DatabaseBulkhead.Priority.REDIRECT, () -> {
+            throw new IllegalStateException("boom");
+        }));
+
+        assertEquals(2, bulkhead.availablePermits(DatabaseBulkhead.Priority.REDIRECT));
+    }
+
+    @Test
+    void testRedirectTimesOutWhenFull() {
+        bulkhead.tryAcquire(DatabaseBulkhead.Priority.REDIRECT);
+        bulkhead.tryAcquire(DatabaseBulkhead.Priority.REDIRECT);
+
+        assertThrows(ServiceOverloadedException.class, () -> bulkhead.execute(DatabaseBulkhead.Priority.REDIRECT, () -> "ok"));
+        assertEquals(1.0, meterRegistry.get("db_bulkhead_shed_total").tag("priority", "redirect").counter().count());
+    }
+
+    @Test
+    void testManagementShedWhileRedirectsSaturated() {
+        bulkhead.tryAcquire(DatabaseBulkhead.Priority.REDIRECT);
+        bulkhead.tryAcquire(DatabaseBulkhead.Priority.REDIRECT);
+
+        assertFalse(bulkhead.tryAcquire(DatabaseBulkhead.Priority.MANAGEMENT));
+        assertEquals(1, bulkhead.availablePermits(DatabaseBulkhead.Priority.MANAGEMENT));
+        assertEquals(1.0, meterRegistry.get("db_bulkhead_shed_total").tag("priority", "management").counter().count());
+    }
+
+    @Test
+    void testManagementCannotStarveRedirects() {
+        assertTrue(bulkhead.tryAcquire(DatabaseBulkhead.Priority.MANAGEMENT));
+        assertFalse(bulkhead.tryAcquire(DatabaseBulkhead.Priority.MANAGEMENT));
+
+        assertTrue(bulkhead.tryAcquire(DatabaseBulkhead.Priority.REDIRECT));
+        assertTrue(bulkhead.tryAcquire(DatabaseBulkhead.Priority.REDIRECT));
+    }
+}
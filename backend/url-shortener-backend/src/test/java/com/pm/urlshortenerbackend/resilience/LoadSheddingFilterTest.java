@@ -0,0 +1,94 @@
+package com.pm.urlshortenerbackend.resilience;
+
+import com.pm.urlshortenerbackend.health.UrlShortenerMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Author: Sathwik Pillalamarri
+ * Date: 2/5/26
+ * Project: url-shortener-backend
+ */
+public class LoadSheddingFilterTest {
+    private DatabaseBulkhead bulkhead;
+    private RedisCircuitBreaker circuitBreaker;
+    private LoadSheddingFilter filter;
+
+    @BeforeEach
+    void setup() {
+        UrlShortenerMetrics metrics = new UrlShortenerMetrics(new SimpleMeterRegistry());
+        bulkhead = new DatabaseBulkhead(1, Duration.ofMillis(10), 1, Duration.ofMillis(10), metrics);
+        circuitBreaker = new RedisCircuitBreaker(1, Duration.ofSeconds(30), metrics);
+        filter = new LoadSheddingFilter(bulkhead, circuitBreaker);
+    }
+
+    @Test
+    void testManagementRequestPassesAndReleasesPermit() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/links"), response, chain);
+
+        assertNotNull(chain.getRequest());
+        assertEquals(200, response.getStatus());
+        assertEquals(1, bulkhead.availablePermits(DatabaseBulkhead.Priority.MANAGEMENT));
+    }
+
+    @Test
+    void testManagementRequestHoldsPermitOnlyWhileRedisIsDown() throws Exception {
+        int[] heldDuringRequest = new int[1];
+        MockFilterChain chain = new MockFilterChain() {
+            @Override
+            public void doFilter(ServletRequest request, ServletResponse response) {
+                heldDuringRequest[0] = bulkhead.availablePermits(DatabaseBulkhead.Priority.MANAGEMENT);
+            }
+        };
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/links"), new MockHttpServletResponse(), chain);
+        assertEquals(1, heldDuringRequest[0]);
+
+        circuitBreaker.recordFailure();
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/links"), new MockHttpServletResponse(), chain);
+        assertEquals(0, heldDuringRequest[0]);
+        assertEquals(1, bulkhead.availablePermits(DatabaseBulkhead.Priority.MANAGEMENT));
+    }
+
+    @Test
+    void testManagementRequestShedWhileRedirectsSaturated() throws Exception {
+        bulkhead.tryAcquire(DatabaseBulkhead.Priority.REDIRECT);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/links/abc123/stats"), response, chain);
+
+        assertNull(chain.getRequest());
+        assertEquals(503, response.getStatus());
+        assertEquals("1", response.getHeader("Retry-After"));
+    }
+
+    @Test
+    void testRedirectsAreNotFiltered() throws Exception {
+        bulkhead.tryAcquire(DatabaseBulkhead.Priority.REDIRECT);
+
+        for(String path : new String[]{"/abc123", "/api/abc123", "/actuator/health", "/auth/login",
+                "/api/links/import", "/api/links/export/clicks"}) {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            MockFilterChain chain = new MockFilterChain();
+
+            filter.doFilter(new MockHttpServletRequest("GET", path), response, chain);
+
+            assertNotNull(chain.getRequest(), path);
+            assertEquals(200, response.getStatus());
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.pm.urlshortenerbackend.resilience;
+
+import com.pm.urlshortenerbackend.health.UrlShortenerMetrics;
+import io.lettuce.core.RedisException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Author: Sathwik Pillalamarri
+ * Date: 2/4/26
+ * Project: url-shortener-backend
+ */
+public class RedisCircuitBreakerTest {
+    private SimpleMeterRegistry meterRegistry;
+    private RedisCircuitBreaker circuitBreaker;
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        circuitBreaker = new RedisCircuitBreaker(2, Duration.ofMillis(50), new UrlShortenerMetrics(meterRegistry));
+    }
+
+    @Test
+    void testOpensAfterConsecutiveFailures() {
+        circuitBreaker.recordFailure();
+        assertEquals(RedisCircuitBreaker.State.CLOSED, circuitBreaker.getState());
+
+        circuitBreaker.recordFailure();
+
+        assertEquals(RedisCircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertFalse(circuitBreaker.tryAcquire());
+        assertEquals(1.0, meterRegistry.get("redis_circuit_breaker_opened_total").counter().count());
+        assertEquals(1.0, meterRegistry.get("redis_circuit_breaker_rejected_total").counter().count());
+        assertEquals(1.0, meterRegistry.get("redis_circuit_breaker_state").gauge().value());
+    }
+
+    @Test
+    void testHalfOpenAdmitsSingleProbe() throws InterruptedException {
+        openBreaker();
+        Thread.sleep(60);
+
+        assertTrue(circuitBreaker.tryAcquire());
+        assertEquals(RedisCircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+        assertFalse(circuitBreaker.tryAcquire());
+    }
+
+    @Test
+    void testSuccessfulProbeClosesBreaker() throws InterruptedException {
+        openBreaker();
+        Thread.sleep(60);
+
+        assertTrue(circuitBreaker.tryAcquire());
+        circuitBreaker.recordSuccess();
+
+        assertEquals(RedisCircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        assertTrue(circuitBreaker.tryAcquire());
+    }
+
+    @Test
+    void testLateSuccessDoesNotCloseAnOpenBreaker() {
+        openBreaker();
+
+        // A slow call admitted before the breaker opened finishes fine
+        circuitBreaker.recordSuccess();
+
+        assertEquals(RedisCircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertFalse(circuitBreaker.tryAcquire());
+    }
+
+    @Test
+    void testFailedProbeReopensBreaker() throws InterruptedException {
+        openBreaker();
+        Thread.sleep(60);
+
+        assertTrue(circuitBreaker.tryAcquire());
+        circuitBreaker.recordFailure();
+
+        assertEquals(RedisCircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertFalse(circuitBreaker.tryAcquire());
+        assertEquals(2.0, meterRegistry.get("redis_circuit_breaker_opened_total").counter().count());
+    }
+
+    @Test
+    void testLostProbeIsRetried() throws InterruptedException {
+        openBreaker();
+        Thread.sleep(60);
+        assertTrue(circuitBreaker.tryAcquire());
+
+        // The probe never reports back
+        Thread.sleep(60);
+
+        assertTrue(circuitBreaker.tryAcquire());
+    }
+
+    @Test
+    void testCallFallsBackAndCountsFailures() {
+        assertEquals("value", circuitBreaker.call("GET", "key", () -> "value", "fallback"));
+
+        assertEquals("fallback", circuitBreaker.call("GET", "key", () -> {
+            throw new RedisConnectionFailureException("down");
+        }, "fallback"));
+        // Lettuce exceptions from callers outside Spring Data count the same way
+        assertNull(circuitBreaker.call("EVAL", "key", () -> {
+            throw new RedisException("down");
+        }));
+
+        assertEquals(RedisCircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertEquals("fallback", circuitBreaker.call("GET", "key", () -> "value", "fallback"));
+    }
+
+    private void openBreaker() {
+        circuitBreaker.recordFailure();
+        circuitBreaker.recordFailure();
+        assertEquals(RedisCircuitBreaker.State.OPEN, circuitBreaker.getState());
+    }
+}
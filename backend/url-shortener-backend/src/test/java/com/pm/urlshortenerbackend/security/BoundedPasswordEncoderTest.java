@@ -0,0 +1,111 @@
+package com.pm.urlshortenerbackend.security;
+
+import com.pm.urlshortenerbackend.exception.ServiceOverloadedException;
+import com.pm.urlshortenerbackend.health.UrlShortenerMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Author: Sathwik Pillalamarri
+ * Date: 2/10/26
+ * Project: url-shortener-backend
+ */
+public class BoundedPasswordEncoderTest {
+    private SimpleMeterRegistry registry;
+    private BoundedPasswordEncoder encoder;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        encoder = new BoundedPasswordEncoder(4, 1, 1, new UrlShortenerMetrics(registry));
+    }
+
+    @AfterEach
+    void tearDown() {
+        encoder.destroy();
+    }
+
+    @Test
+    void testEncodeAndMatchRunOnHashingPool() {
+        String hash = encoder.encode("password123");
+
+        assertTrue(encoder.matches("password123", hash));
+        assertFalse(encoder.matches("wrong", hash));
+    }
+
+    @Test
+    void testRejectsWhenPoolAndQueueAreFull() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode(new BlockingPassword(started, release)));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode("queued"));
+        Thread.sleep(100);
+
+        assertThrows(ServiceOverloadedException.class, () -> encoder.encode("rejected"));
+        assertEquals(1.0, registry.get("password_hash_rejected_total").counter().count());
+
+        release.countDown();
+        assertNotNull(running.get(5, TimeUnit.SECONDS));
+        assertNotNull(queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testUpgradeEncodingFlagsLowerCostHashes() {
+        String legacyHash = new BCryptPasswordEncoder(4).encode("password123");
+        String strongerHash = new BCryptPasswordEncoder(5).encode("password123");
+        BoundedPasswordEncoder stronger = new BoundedPasswordEncoder(5, 1, 1, new UrlShortenerMetrics(registry));
+        try {
+            assertTrue(stronger.upgradeEncoding(legacyHash));
+            assertFalse(stronger.upgradeEncoding(strongerHash));
+        } finally {
+            stronger.destroy();
+        }
+    }
+
+    @Test
+    void testCalibrationStaysWithinBounds() {
+        assertEquals(4, BoundedPasswordEncoder.calibrateStrength(Duration.ZERO, 4, 8));
+        assertEquals(4, BoundedPasswordEncoder.calibrateStrength(Duration.ofNanos(1), 4, 8));
+        assertEquals(8, BoundedPasswordEncoder.calibrateStrength(Duration.ofMinutes(1), 4, 8));
+    }
+
+    // BCrypt reads the password through toString(), which lets the test hold a hashing thread
+    private record BlockingPassword(CountDownLatch started, CountDownLatch release) implements CharSequence {
+        @Override
+        public String toString() {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "password123";
+        }
+
+        @Override
+        public int length() {
+            return toString().length();
+        }
+
+        @Override
+        public char charAt(int index) {
+            return toString().charAt(index);
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return toString().subSequence(start, end);
+        }
+    }
+}
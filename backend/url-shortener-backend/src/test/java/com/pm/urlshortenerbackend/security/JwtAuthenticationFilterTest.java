@@ -1,7 +1,15 @@
 package com.pm.urlshortenerbackend.security;
 
+import com.pm.urlshortenerbackend.health.UrlShortenerMetrics;
+import com.pm.urlshortenerbackend.repository.UserRepository;
+import com.pm.urlshortenerbackend.resilience.RedisCircuitBreaker;
+import com.pm.urlshortenerbackend.service.SessionCacheService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.MalformedJwtException;
+import io.jsonwebtoken.security.SignatureException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -11,6 +19,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -18,7 +27,11 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 
 import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Collections;
+import java.util.Date;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -45,11 +58,18 @@ class JwtAuthenticationFilterTest {
     @Mock
     private UserDetails userDetails;
 
+    private SessionCacheService sessionCacheService;
+
     private JwtAuthenticationFilter jwtAuthenticationFilter;
 
     @BeforeEach
     void setUp() {
-        jwtAuthenticationFilter = new JwtAuthenticationFilter(userDetailsService, jwtUtil);
+        RedisCircuitBreaker circuitBreaker = new RedisCircuitBreaker(3, Duration.ofSeconds(30),
+                new UrlShortenerMetrics(new SimpleMeterRegistry()));
+        sessionCacheService = new SessionCacheService(mock(StringRedisTemplate.class, RETURNS_DEEP_STUBS), circuitBreaker,
+                mock(UserRepository.class),
+                100, Duration.ofSeconds(60), 86400000L);
+        jwtAuthenticationFilter = new JwtAuthenticationFilter(userDetailsService, jwtUtil, sessionCacheService);
         SecurityContextHolder.clearContext();
     }
 
@@ -61,10 +81,10 @@ class JwtAuthenticationFilterTest {
 
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
         when(request.getRequestURI()).thenReturn("/api/links");
-        when(jwtUtil.extractUsername(token)).thenReturn(username);
+        when(jwtUtil.parseClaims(token)).thenReturn(claimsFor(username));
         when(userDetailsService.loadUserByUsername(username)).thenReturn(userDetails);
+        when(userDetails.getUsername()).thenReturn(username);
         when(userDetails.getAuthorities()).thenReturn(Collections.emptyList());
-        when(jwtUtil.validateToken(token, userDetails)).thenReturn(true);
 
         // When
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
@@ -89,7 +109,7 @@ class JwtAuthenticationFilterTest {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         assertThat(authentication).isNull();
         verify(filterChain).doFilter(request, response);
-        verify(jwtUtil, never()).extractUsername(anyString());
+        verify(jwtUtil, never()).parseClaims(anyString());
     }
 
     @Test
@@ -105,7 +125,7 @@ class JwtAuthenticationFilterTest {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         assertThat(authentication).isNull();
         verify(filterChain).doFilter(request, response);
-        verify(jwtUtil, never()).extractUsername(anyString());
+        verify(jwtUtil, never()).parseClaims(anyString());
     }
 
     @Test
@@ -115,7 +135,7 @@ class JwtAuthenticationFilterTest {
 
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
         when(request.getRequestURI()).thenReturn("/api/links");
-        when(jwtUtil.extractUsername(token)).thenThrow(new ExpiredJwtException(null, null, "Token expired"));
+        when(jwtUtil.parseClaims(token)).thenThrow(new ExpiredJwtException(null, null, "Token expired"));
 
         // When
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
@@ -134,7 +154,7 @@ class JwtAuthenticationFilterTest {
 
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
         when(request.getRequestURI()).thenReturn("/api/links");
-        when(jwtUtil.extractUsername(token)).thenThrow(new MalformedJwtException("Malformed token"));
+        when(jwtUtil.parseClaims(token)).thenThrow(new MalformedJwtException("Malformed token"));
 
         // When
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
@@ -154,7 +174,7 @@ class JwtAuthenticationFilterTest {
 
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
         when(request.getRequestURI()).thenReturn("/api/links");
-        when(jwtUtil.extractUsername(token)).thenReturn(username);
+        when(jwtUtil.parseClaims(token)).thenReturn(claimsFor(username));
         when(userDetailsService.loadUserByUsername(username))
                 .thenThrow(new UsernameNotFoundException("User not found"));
 
@@ -165,20 +185,17 @@ class JwtAuthenticationFilterTest {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         assertThat(authentication).isNull();
         verify(filterChain).doFilter(request, response);
-        verify(jwtUtil, never()).validateToken(anyString(), any());
+        assertThat(sessionCacheService.getPrincipal(username)).isNull();
     }
 
     @Test
     void doFilterInternal_WithInvalidToken_ShouldNotSetAuthentication() throws ServletException, IOException {
         // Given
         String token = "invalid-jwt-token";
-        String username = "test@example.com";
 
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
         when(request.getRequestURI()).thenReturn("/api/links");
-        when(jwtUtil.extractUsername(token)).thenReturn(username);
-        when(userDetailsService.loadUserByUsername(username)).thenReturn(userDetails);
-        when(jwtUtil.validateToken(token, userDetails)).thenReturn(false);
+        when(jwtUtil.parseClaims(token)).thenThrow(new SignatureException("Invalid signature"));
 
         // When
         jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
@@ -187,6 +204,87 @@ class JwtAuthenticationFilterTest {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         assertThat(authentication).isNull();
         verify(filterChain).doFilter(request, response);
+        verify(userDetailsService, never()).loadUserByUsername(anyString());
+    }
+
+    @Test
+    void doFilterInternal_WithCachedPrincipal_ShouldNotReloadUser() throws ServletException, IOException {
+        // Given
+        String token = "valid-jwt-token";
+        String username = "test@example.com";
+
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
+        when(jwtUtil.parseClaims(token)).thenReturn(claimsFor(username));
+        when(userDetailsService.loadUserByUsername(username)).thenReturn(userDetails);
+        when(userDetails.getUsername()).thenReturn(username);
+        when(userDetails.getAuthorities()).thenReturn(Collections.emptyList());
+
+        // When
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+        SecurityContextHolder.clearContext();
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+
+        // Then
+        assertThat(SecurityContextHolder.getContext().getAuthentication().getPrincipal()).isEqualTo(userDetails);
+        verify(userDetailsService, times(1)).loadUserByUsername(username);
+        verify(jwtUtil, times(2)).parseClaims(token);
+    }
+
+    @Test
+    void doFilterInternal_WithUserIdClaim_ShouldBuildPrincipalWithoutLoadingUser() throws ServletException, IOException {
+        // Given
+        String token = "valid-jwt-token";
+        String username = "test@example.com";
+        Claims claims = Jwts.claims()
+                .subject(username)
+                .issuedAt(new Date())
+                .add(JwtUtil.USER_ID_CLAIM, 42)
+                .add(JwtUtil.ROLES_CLAIM, List.of("ROLE_USER"))
+                .build();
+
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
+        when(jwtUtil.parseClaims(token)).thenReturn(claims);
+
+        // When
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+
+        // Then
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertThat(authentication.getPrincipal()).isInstanceOf(UserPrincipal.class);
+        UserPrincipal principal = (UserPrincipal) authentication.getPrincipal();
+        assertThat(principal.getId()).isEqualTo(42L);
+        assertThat(principal.getUsername()).isEqualTo(username);
+        assertThat(principal.getUser()).isNull();
+        assertThat(authentication.getAuthorities()).extracting("authority").containsExactly("ROLE_USER");
+        verifyNoInteractions(userDetailsService);
+        verify(filterChain).doFilter(request, response);
+    }
+
+    @Test
+    void doFilterInternal_WithTokenIssuedBeforeRevocation_ShouldNotSetAuthentication() throws ServletException, IOException {
+        // Given
+        String token = "revoked-jwt-token";
+        String username = "test@example.com";
+        Claims claims = Jwts.claims()
+                .subject(username)
+                .issuedAt(new Date(System.currentTimeMillis() - 60_000))
+                .add(JwtUtil.USER_ID_CLAIM, 42)
+                .add(JwtUtil.ROLES_CLAIM, List.of("ROLE_USER"))
+                .build();
+
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
+        when(jwtUtil.parseClaims(token)).thenReturn(claims);
+        sessionCacheService.putPrincipal(username, userDetails);
+        sessionCacheService.revokeUser(42L, username, Instant.now());
+
+        // When
+        jwtAuthenticationFilter.doFilterInternal(request, response, filterChain);
+
+        // Then
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        assertThat(sessionCacheService.getPrincipal(username)).isNull();
+        verify(userDetailsService, never()).loadUserByUsername(anyString());
+        verify(filterChain).doFilter(request, response);
     }
 
     @Test
@@ -226,6 +324,19 @@ class JwtAuthenticationFilterTest {
         assertThat(result).isTrue();
     }
 
+    @Test
+    void shouldNotFilter_WithApiRedirect_ShouldReturnTrue() throws ServletException {
+        // Given
+        when(request.getRequestURI()).thenReturn("/api/abc123");
+        when(request.getMethod()).thenReturn("GET");
+
+        // When
+        boolean result = jwtAuthenticationFilter.shouldNotFilter(request);
+
+        // Then
+        assertThat(result).isTrue();
+    }
+
     @Test
     void shouldNotFilter_WithProtectedEndpoint_ShouldReturnFalse() throws ServletException {
         // Given
@@ -255,6 +366,10 @@ class JwtAuthenticationFilterTest {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         assertThat(authentication).isEqualTo(existingAuth);
         verify(filterChain).doFilter(request, response);
-        verify(jwtUtil, never()).extractUsername(anyString());
+        verify(jwtUtil, never()).parseClaims(anyString());
+    }
+
+    private static Claims claimsFor(String username) {
+        return Jwts.claims().subject(username).issuedAt(new Date()).build();
     }
 }
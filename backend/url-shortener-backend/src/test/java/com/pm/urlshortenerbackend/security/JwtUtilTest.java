@@ -0,0 +1,56 @@
+package com.pm.urlshortenerbackend.security;
+
+import com.pm.urlshortenerbackend.model.User;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Author: Sathwik Pillalamarri
+ * Date: 2/9/26
+ * Project: url-shortener-backend
+ */
+public class JwtUtilTest {
+    private JwtUtil jwtUtil;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = jwtUtil(86400000L);
+    }
+
+    @Test
+    void testTokenCarriesUserIdAndRoles() {
+        User user = new User("test@example.com", "hash", "Test", "User");
+        user.setId(42L);
+
+        Claims claims = jwtUtil.parseClaims(jwtUtil.generateToken(new UserPrincipal(user)));
+
+        assertEquals("test@example.com", claims.getSubject());
+        assertEquals(42L, claims.get(JwtUtil.USER_ID_CLAIM, Long.class));
+        assertEquals(List.of("ROLE_USER"), claims.get(JwtUtil.ROLES_CLAIM, List.class));
+        assertNotNull(claims.getId());
+    }
+
+    @Test
+    void testValidateTokenRejectsExpiredToken() {
+        JwtUtil expiring = jwtUtil(-1000L);
+        String token = expiring.generateToken(new UserPrincipal(new User("test@example.com", "hash", "Test", "User")));
+
+        assertFalse(expiring.validateToken(token));
+        assertThrows(ExpiredJwtException.class, () -> expiring.parseClaims(token));
+    }
+
+    private static JwtUtil jwtUtil(long expiration) {
+        JwtUtil util = new JwtUtil();
+        ReflectionTestUtils.setField(util, "secret", "test-secret-key-that-is-long-enough-for-hs256");
+        ReflectionTestUtils.setField(util, "jwtExpiration", expiration);
+        util.init();
+        return util;
+    }
+}
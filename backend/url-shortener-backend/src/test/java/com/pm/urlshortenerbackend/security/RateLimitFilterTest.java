@@ -0,0 +1,185 @@
+package com.pm.urlshortenerbackend.security;
+
+import com.pm.urlshortenerbackend.config.RateLimitConfig;
+import com.pm.urlshortenerbackend.health.UrlShortenerMetrics;
+import com.pm.urlshortenerbackend.resilience.RedisCircuitBreaker;
+import io.github.bucket4j.distributed.proxy.ProxyManager;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import redis.embedded.RedisServer;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Author: Sathwik Pillalamarri
+ * Date: 2/12/26
+ * Project: url-shortener-backend
+ */
+public class RateLimitFilterTest {
+    private static final int PORT = 6374;
+    private static final int UNUSED_PORT = 6399;
+
+    private static RedisServer redisServer;
+    private static LettuceConnectionFactory connectionFactory;
+
+    private SimpleMeterRegistry registry;
+    private UrlShortenerMetrics metrics;
+
+    @BeforeAll
+    static void startRedis() {
+        redisServer = new RedisServer(PORT);
+        redisServer.start();
+        connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration("localhost", PORT));
+        connectionFactory.afterPropertiesSet();
+    }
+
+    @AfterAll
+    static void stopRedis() {
+        connectionFactory.destroy();
+        redisServer.stop();
+    }
+
+    @BeforeEach
+    void setUp() {
+        try(RedisConnection connection = connectionFactory.getConnection()) {
+            connection.serverCommands().flushAll();
+        }
+        registry = new SimpleMeterRegistry();
+        metrics = new UrlShortenerMetrics(registry);
+    }
+
+    @Test
+    void testLimitIsSharedAcrossInstances() throws Exception {
+        RateLimitFilter first = filter(connectionFactory);
+        RateLimitFilter second = filter(connectionFactory);
+
+        assertEquals(200, send(first, "POST", "/auth/login", "10.0.0.1").getStatus());
+        assertEquals(200, send(second, "POST", "/auth/login", "10.0.0.1").getStatus());
+
+        MockHttpServletResponse rejected = send(first, "POST", "/auth/login", "10.0.0.1");
+        assertEquals(429, rejected.getStatus());
+        assertTrue(Long.parseLong(rejected.getHeader("Retry-After")) >= 1);
+        assertEquals(1.0, registry.get("rate_limit_rejected_total").tag("policy", "auth").counter().count());
+
+        // Other clients and other endpoint classes have their own buckets
+        assertEquals(200, send(second, "POST", "/auth/login", "10.0.0.2").getStatus());
+        assertEquals(200, send(second, "POST", "/api/links", "10.0.0.1").getStatus());
+    }
+
+    @Test
+    void testRedirectsUseLocalBucketsOnly() throws Exception {
+        RateLimitFilter first = filter(connectionFactory);
+        RateLimitFilter second = filter(connectionFactory);
+
+        assertEquals(200, send(first, "GET", "/abc123", "10.0.0.1").getStatus());
+        assertEquals(200, send(first, "GET", "/abc123", "10.0.0.1").getStatus());
+        assertEquals(429, send(first, "GET", "/abc123", "10.0.0.1").getStatus());
+        assertEquals(200, send(second, "GET", "/abc123", "10.0.0.1").getStatus());
+
+        try(RedisConnection connection = connectionFactory.getConnection()) {
+            assertEquals(0L, connection.serverCommands().dbSize());
+        }
+    }
+
+    @Test
+    void testForwardedHeadersDoNotChangeTheBucket() throws Exception {
+        RateLimitFilter filter = filter(connectionFactory);
+
+        for(int i = 0; i < 2; i++) {
+            assertEquals(200, send(filter, "POST", "/auth/login", "10.0.0.1", "203.0.113." + i).getStatus());
+        }
+        assertEquals(429, send(filter, "POST", "/auth/login", "10.0.0.1", "203.0.113.9").getStatus());
+    }
+
+    @Test
+    void testLocalBucketsExpireAfterTheirLastUse() throws Exception {
+        Duration period = Duration.ofMillis(1500);
+        RateLimitFilter filter = new RateLimitFilter(proxyManager(connectionFactory), circuitBreaker(), metrics,
+                2, period, 2, period, 2, period, 2, period, 100);
+
+        assertEquals(200, send(filter, "GET", "/abc123", "10.0.0.1").getStatus());
+        assertEquals(200, send(filter, "GET", "/abc123", "10.0.0.1").getStatus());
+        Thread.sleep(1200);
+        assertEquals(200, send(filter, "GET", "/abc123", "10.0.0.1").getStatus());
+
+        // Past one period since creation but not since the last use: the bucket is kept and still part drained
+        Thread.sleep(400);
+        assertEquals(200, send(filter, "GET", "/abc123", "10.0.0.1").getStatus());
+        assertEquals(429, send(filter, "GET", "/abc123", "10.0.0.1").getStatus());
+    }
+
+    @Test
+    void testUnlimitedEndpointsAreNotFiltered() throws Exception {
+        RateLimitFilter filter = filter(connectionFactory);
+
+        for(int i = 0; i < 5; i++) {
+            assertEquals(200, send(filter, "GET", "/api/links", "10.0.0.1").getStatus());
+            assertEquals(200, send(filter, "OPTIONS", "/auth/login", "10.0.0.1").getStatus());
+        }
+    }
+
+    @Test
+    void testFallsBackToLocalBucketsWhenRedisIsDown() throws Exception {
+        LettuceConnectionFactory deadFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration("localhost", UNUSED_PORT));
+        deadFactory.afterPropertiesSet();
+        try {
+            RateLimitFilter filter = filter(deadFactory);
+
+            assertEquals(200, send(filter, "POST", "/api/links", "10.0.0.1").getStatus());
+            assertEquals(200, send(filter, "POST", "/api/links", "10.0.0.1").getStatus());
+            assertEquals(429, send(filter, "POST", "/api/links", "10.0.0.1").getStatus());
+        } finally {
+            deadFactory.destroy();
+        }
+    }
+
+    @Test
+    void testPolicyResolution() {
+        assertEquals(RateLimitPolicy.AUTH, RateLimitPolicy.resolve(new MockHttpServletRequest("POST", "/auth/register")));
+        assertEquals(RateLimitPolicy.CREATE, RateLimitPolicy.resolve(new MockHttpServletRequest("POST", "/api/links")));
+        assertEquals(RateLimitPolicy.REDIRECT, RateLimitPolicy.resolve(new MockHttpServletRequest("GET", "/api/abc123")));
+        assertEquals(RateLimitPolicy.ANALYTICS, RateLimitPolicy.resolve(new MockHttpServletRequest("GET", "/api/links/abc123/stats")));
+        assertNull(RateLimitPolicy.resolve(new MockHttpServletRequest("DELETE", "/api/links/abc123")));
+    }
+
+    private RateLimitFilter filter(LettuceConnectionFactory factory) {
+        Duration minute = Duration.ofMinutes(1);
+        return new RateLimitFilter(proxyManager(factory), circuitBreaker(), metrics,
+                2, minute, 2, minute, 2, minute, 2, minute, 100);
+    }
+
+    private static ProxyManager<String> proxyManager(LettuceConnectionFactory factory) {
+        return new RateLimitConfig().rateLimitProxyManager(factory, Duration.ofSeconds(1));
+    }
+
+    private RedisCircuitBreaker circuitBreaker() {
+        return new RedisCircuitBreaker(3, Duration.ofSeconds(30), metrics);
+    }
+
+    private static MockHttpServletResponse send(RateLimitFilter filter, String method, String path, String ip) throws Exception {
+        return send(filter, method, path, ip, null);
+    }
+
+    private static MockHttpServletResponse send(RateLimitFilter filter, String method, String path, String ip, String forwardedFor) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        request.setRemoteAddr(ip);
+        if(forwardedFor != null) {
+            request.addHeader("X-Forwarded-For", forwardedFor);
+            request.addHeader("X-Real-IP", forwardedFor);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
@@ -0,0 +1,187 @@
+package com.pm.urlshortenerbackend.security;
+
+import com.pm.urlshortenerbackend.config.SecurityConfig;
+import com.pm.urlshortenerbackend.health.UrlShortenerMetrics;
+import com.pm.urlshortenerbackend.service.SessionCacheService;
+import com.pm.urlshortenerbackend.service.impl.UserDetailsServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.web.FilterChainProxy;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.ExceptionTranslationFilter;
+import org.springframework.security.web.authentication.AnonymousAuthenticationFilter;
+import org.springframework.security.web.authentication.logout.LogoutFilter;
+import org.springframework.security.web.context.SecurityContextHolderFilter;
+import org.springframework.security.web.csrf.CsrfFilter;
+import org.springframework.security.web.savedrequest.RequestCacheAwareFilter;
+import org.springframework.security.web.servletapi.SecurityContextHolderAwareRequestFilter;
+import org.springframework.security.web.session.SessionManagementFilter;
+import org.springframework.test.context.junit.jupiter.web.SpringJUnitWebConfig;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.CorsConfigurationSource;
+import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
+import org.springframework.web.servlet.config.annotation.EnableWebMvc;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Runs GET /{shortCode} through the security filters from SecurityConfig and compares the CPU
+ * spent per request in the dedicated redirect chain with the main chain redirects used to share.
+ * The CPU comparisons are tagged benchmark and only run with -Pbenchmarks.
+ *
+ * Author: Sathwik Pillalamarri
+ * Date: 2/7/26
+ * Project: url-shortener-backend
+ */
+@SpringJUnitWebConfig(classes = {SecurityConfig.class, RedirectFilterChainBenchmarkTest.TestBeans.class})
+public class RedirectFilterChainBenchmarkTest {
+    private static final int REQUESTS = 20_000;
+    private static final FilterChain TERMINAL = (request, response) -> { };
+
+    @Autowired
+    private FilterChainProxy springSecurityFilterChain;
+
+    @Autowired
+    private JwtAuthenticationFilter jwtAuthenticationFilter;
+
+    @Test
+    void testRedirectsUseDedicatedChain() {
+        List<SecurityFilterChain> chains = springSecurityFilterChain.getFilterChains();
+
+        assertEquals(2, chains.size());
+        assertTrue(chains.get(0).matches(redirectRequest()));
+        assertFalse(chains.get(0).getFilters().contains(jwtAuthenticationFilter));
+        assertTrue(chains.get(1).getFilters().contains(jwtAuthenticationFilter));
+        assertFalse(chains.get(0).matches(new MockHttpServletRequest("GET", "/api/links")));
+    }
+
+    @Test
+    void testRedirectChainCarriesNoRequestState() {
+        List<Class<?>> redirectFilters = springSecurityFilterChain.getFilterChains().get(0).getFilters().stream()
+                .<Class<?>>map(Filter::getClass)
+                .toList();
+
+        for(Class<?> disabled : List.of(CsrfFilter.class, LogoutFilter.class, RequestCacheAwareFilter.class,
+                AnonymousAuthenticationFilter.class, SecurityContextHolderFilter.class, SessionManagementFilter.class,
+                ExceptionTranslationFilter.class, SecurityContextHolderAwareRequestFilter.class)) {
+            assertFalse(redirectFilters.contains(disabled), disabled.getSimpleName());
+        }
+        assertTrue(redirectFilters.size() < springSecurityFilterChain.getFilterChains().get(1).getFilters().size());
+    }
+
+    @Test
+    @Tag("benchmark")
+    void benchmarkRedirectSecurityCpu() throws Exception {
+        List<SecurityFilterChain> chains = springSecurityFilterChain.getFilterChains();
+        FilterChainProxy mainChainOnly = new FilterChainProxy(chains.get(1));
+
+        // Warm up both paths
+        run(mainChainOnly, REQUESTS);
+        run(springSecurityFilterChain, REQUESTS);
+
+        long sharedNanos = run(mainChainOnly, REQUESTS);
+        long dedicatedNanos = run(springSecurityFilterChain, REQUESTS);
+
+        System.out.printf("Main chain: %d ns/redirect (%d filters), redirect chain: %d ns/redirect (%d filters)%n",
+                sharedNanos, chains.get(1).getFilters().size(), dedicatedNanos, chains.get(0).getFilters().size());
+        assertTrue(dedicatedNanos < sharedNanos, "The redirect chain should cost less CPU than the main chain");
+    }
+
+    @Test
+    @Tag("benchmark")
+    void benchmarkShouldNotFilterMatcher() {
+        String path = "/abc123";
+        Pattern precompiled = Pattern.compile("^/[a-zA-Z0-9]{1,10}$");
+        boolean sink = false;
+        for(int i = 0; i < REQUESTS; i++) {
+            sink ^= path.matches("^/[a-zA-Z0-9]{1,10}$");
+            sink ^= precompiled.matcher(path).matches();
+        }
+
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        long start = threads.getCurrentThreadCpuTime();
+        for(int i = 0; i < REQUESTS; i++) {
+            sink ^= path.matches("^/[a-zA-Z0-9]{1,10}$");
+        }
+        long perCallCompiling = (threads.getCurrentThreadCpuTime() - start) / REQUESTS;
+
+        start = threads.getCurrentThreadCpuTime();
+        for(int i = 0; i < REQUESTS; i++) {
+            sink ^= precompiled.matcher(path).matches();
+        }
+        long perCallPrecompiled = (threads.getCurrentThreadCpuTime() - start) / REQUESTS;
+
+        System.out.printf("String.matches: %d ns/call, precompiled pattern: %d ns/call (%b)%n", perCallCompiling, perCallPrecompiled, sink);
+        assertTrue(perCallPrecompiled < perCallCompiling);
+    }
+
+    // Thread CPU time per request, so the numbers are not skewed by scheduling on a busy machine
+    private long run(FilterChainProxy proxy, int requests) throws Exception {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        long start = threads.getCurrentThreadCpuTime();
+        for(int i = 0; i < requests; i++) {
+            proxy.doFilter(redirectRequest(), new MockHttpServletResponse(), TERMINAL);
+        }
+        return (threads.getCurrentThreadCpuTime() - start) / requests;
+    }
+
+    private static MockHttpServletRequest redirectRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/abc123");
+        request.addHeader("User-Agent", "benchmark");
+        return request;
+    }
+
+    // MVC is needed for the path matchers used by the main chain
+    @Configuration
+    @EnableWebMvc
+    static class TestBeans {
+        @Bean
+        JwtAuthenticationEntryPoint jwtAuthenticationEntryPoint() {
+            return new JwtAuthenticationEntryPoint();
+        }
+
+        // Boot's converters, so duration-typed @Value parameters resolve as they do in the application
+        @Bean
+        static ConversionService conversionService() {
+            return ApplicationConversionService.getSharedInstance();
+        }
+
+        @Bean
+        UrlShortenerMetrics urlShortenerMetrics() {
+            return new UrlShortenerMetrics(new SimpleMeterRegistry());
+        }
+
+        @Bean
+        UserDetailsServiceImpl userDetailsService() {
+            return mock(UserDetailsServiceImpl.class);
+        }
+
+        @Bean
+        JwtAuthenticationFilter jwtAuthenticationFilter(UserDetailsServiceImpl userDetailsService) {
+            return new JwtAuthenticationFilter(userDetailsService, mock(JwtUtil.class), mock(SessionCacheService.class));
+        }
+
+        @Bean
+        CorsConfigurationSource corsConfigurationSource() {
+            UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
+            source.registerCorsConfiguration("/**", new CorsConfiguration().applyPermitDefaultValues());
+            return source;
+        }
+    }
+}
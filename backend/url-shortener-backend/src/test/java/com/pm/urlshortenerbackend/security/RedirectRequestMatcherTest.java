@@ -0,0 +1,35 @@
+package com.pm.urlshortenerbackend.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Author: Sathwik Pillalamarri
+ * Date: 2/7/26
+ * Project: url-shortener-backend
+ */
+public class RedirectRequestMatcherTest {
+
+    @Test
+    void testMatchesPublicAndApiRedirects() {
+        assertTrue(matches("GET", "/abc123"));
+        assertTrue(matches("GET", "/api/abc123"));
+    }
+
+    @Test
+    void testRejectsNonRedirects() {
+        assertFalse(matches("GET", "/api/links"));
+        assertFalse(matches("GET", "/api/links/abc123"));
+        assertFalse(matches("GET", "/auth/login"));
+        assertFalse(matches("GET", "/api/test-protected"));
+        assertFalse(matches("GET", "/abc12345678"));
+        assertFalse(matches("POST", "/abc123"));
+        assertFalse(matches("DELETE", "/api/abc123"));
+    }
+
+    private static boolean matches(String method, String path) {
+        return RedirectRequestMatcher.INSTANCE.matches(new MockHttpServletRequest(method, path));
+    }
+}
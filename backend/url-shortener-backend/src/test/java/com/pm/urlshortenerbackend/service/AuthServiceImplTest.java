@@ -1,10 +1,12 @@
 package com.pm.urlshortenerbackend.service;
 
 import com.pm.urlshortenerbackend.dto.AuthResponse;
+import com.pm.urlshortenerbackend.dto.ChangePasswordRequest;
 import com.pm.urlshortenerbackend.dto.LoginRequest;
 import com.pm.urlshortenerbackend.dto.RegisterRequest;
 import com.pm.urlshortenerbackend.exception.EmailAlreadyExistsException;
 import com.pm.urlshortenerbackend.exception.InvalidCredentialsException;
+import com.pm.urlshortenerbackend.exception.TooManyLoginAttemptsException;
 import com.pm.urlshortenerbackend.model.User;
 import com.pm.urlshortenerbackend.repository.UserRepository;
 import com.pm.urlshortenerbackend.security.JwtUtil;
@@ -12,12 +14,15 @@ import com.pm.urlshortenerbackend.service.impl.AuthServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.Optional;
 
@@ -25,6 +30,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -45,11 +51,17 @@ class AuthServiceImplTest {
     @Mock
     private UserDetails userDetails;
 
+    @Mock
+    private LoginAttemptService loginAttemptService;
+
+    @Mock
+    private SessionCacheService sessionCacheService;
+
     private AuthServiceImpl authService;
 
     @BeforeEach
     void setUp() {
-        authService = new AuthServiceImpl(userRepository, passwordEncoder, jwtUtil, userDetailsService);
+        authService = new AuthServiceImpl(userRepository, passwordEncoder, jwtUtil, userDetailsService, loginAttemptService, sessionCacheService);
     }
 
     @Test
@@ -113,7 +125,7 @@ class AuthServiceImplTest {
         when(jwtUtil.generateToken(userDetails)).thenReturn("jwt-token");
 
         // When
-        AuthResponse response = authService.login(request);
+        AuthResponse response = authService.login(request, "127.0.0.1");
 
         // Then
         assertThat(response).isNotNull();
@@ -124,6 +136,55 @@ class AuthServiceImplTest {
         verify(userRepository).findByEmailIgnoreCase("test@example.com");
         verify(passwordEncoder).matches("password123", "hashedPassword");
         verify(jwtUtil).generateToken(userDetails);
+        verify(loginAttemptService).recordSuccess("test@example.com", "127.0.0.1");
+    }
+
+    @Test
+    void login_WithLegacyHash_ShouldRehashPassword() {
+        // Given
+        LoginRequest request = new LoginRequest("test@example.com", "password123");
+        User user = new User("test@example.com", "legacyHash", "John", "Doe");
+        user.setId(1L);
+
+        when(userRepository.findByEmailIgnoreCase("test@example.com")).thenReturn(Optional.of(user));
+        when(passwordEncoder.matches("password123", "legacyHash")).thenReturn(true);
+        when(passwordEncoder.upgradeEncoding("legacyHash")).thenReturn(true);
+        when(passwordEncoder.encode("password123")).thenReturn("strongerHash");
+        when(userDetailsService.loadUserByUsername("test@example.com")).thenReturn(userDetails);
+        when(jwtUtil.generateToken(userDetails)).thenReturn("jwt-token");
+
+        // When
+        authService.login(request, "127.0.0.1");
+
+        // Then
+        verify(userRepository).updatePasswordHash(1L, "strongerHash");
+    }
+
+    @Test
+    void hashingMethods_ShouldNotRunInsideATransaction() {
+        // A transaction here would hold a pooled connection while the hash waits on the encoder pool
+        assertThat(AuthServiceImpl.class.isAnnotationPresent(Transactional.class)).isFalse();
+        for(String method : new String[]{"register", "login", "changePassword"}) {
+            for(var declared : AuthServiceImpl.class.getDeclaredMethods()) {
+                if(declared.getName().equals(method)) {
+                    assertThat(declared.isAnnotationPresent(Transactional.class)).as(method).isFalse();
+                }
+            }
+        }
+    }
+
+    @Test
+    void login_WhenBlocked_ShouldSkipLookupAndHashing() {
+        // Given
+        LoginRequest request = new LoginRequest("test@example.com", "password123");
+        doThrow(new TooManyLoginAttemptsException("blocked", 900))
+                .when(loginAttemptService).checkAllowed("test@example.com", "127.0.0.1");
+
+        // When & Then
+        assertThatThrownBy(() -> authService.login(request, "127.0.0.1"))
+                .isInstanceOf(TooManyLoginAttemptsException.class);
+
+        verifyNoInteractions(userRepository, passwordEncoder);
     }
 
     @Test
@@ -133,7 +194,7 @@ class AuthServiceImplTest {
         when(userRepository.findByEmailIgnoreCase("nonexistent@example.com")).thenReturn(Optional.empty());
 
         // When & Then
-        assertThatThrownBy(() -> authService.login(request))
+        assertThatThrownBy(() -> authService.login(request, "127.0.0.1"))
                 .isInstanceOf(InvalidCredentialsException.class)
                 .hasMessage("Invalid email or password");
 
@@ -151,13 +212,14 @@ class AuthServiceImplTest {
         when(passwordEncoder.matches("wrongpassword", "hashedPassword")).thenReturn(false);
 
         // When & Then
-        assertThatThrownBy(() -> authService.login(request))
+        assertThatThrownBy(() -> authService.login(request, "127.0.0.1"))
                 .isInstanceOf(InvalidCredentialsException.class)
                 .hasMessage("Invalid email or password");
 
         verify(userRepository).findByEmailIgnoreCase("test@example.com");
         verify(passwordEncoder).matches("wrongpassword", "hashedPassword");
         verify(jwtUtil, never()).generateToken(any());
+        verify(loginAttemptService).recordFailure("test@example.com", "127.0.0.1");
     }
 
     @Test
@@ -185,4 +247,41 @@ class AuthServiceImplTest {
         assertThat(result).isFalse();
         verify(userRepository).existsByEmailIgnoreCase("existing@example.com");
     }
+
+    @Test
+    void changePassword_WithCurrentPassword_ShouldRevokeOlderTokens() {
+        // Given
+        User user = new User("test@example.com", "hashedPassword", "John", "Doe");
+        user.setId(1L);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(passwordEncoder.matches("password123", "hashedPassword")).thenReturn(true);
+        when(passwordEncoder.encode("newPassword456")).thenReturn("newHash");
+        when(userDetailsService.loadUserByUsername("test@example.com")).thenReturn(userDetails);
+        when(jwtUtil.generateToken(userDetails)).thenReturn("jwt-token");
+
+        // When
+        AuthResponse response = authService.changePassword(1L, new ChangePasswordRequest("password123", "newPassword456"));
+
+        // Then
+        assertThat(response.getToken()).isEqualTo("jwt-token");
+        ArgumentCaptor<Instant> tokensValidAfter = ArgumentCaptor.forClass(Instant.class);
+        verify(userRepository).updatePasswordHashAndRevokeTokens(eq(1L), eq("newHash"), tokensValidAfter.capture());
+        verify(sessionCacheService).revokeUser(1L, "test@example.com", tokensValidAfter.getValue());
+    }
+
+    @Test
+    void changePassword_WithWrongCurrentPassword_ShouldThrowException() {
+        // Given
+        User user = new User("test@example.com", "hashedPassword", "John", "Doe");
+        user.setId(1L);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(passwordEncoder.matches("wrongpassword", "hashedPassword")).thenReturn(false);
+
+        // When & Then
+        assertThatThrownBy(() -> authService.changePassword(1L, new ChangePasswordRequest("wrongpassword", "newPassword456")))
+                .isInstanceOf(InvalidCredentialsException.class);
+
+        assertThat(user.getPasswordHash()).isEqualTo("hashedPassword");
+        verify(sessionCacheService, never()).revokeUser(any(), any(), any());
+    }
 }
@@ -1,9 +1,13 @@
 package com.pm.urlshortenerbackend.service;
 
+import com.pm.urlshortenerbackend.health.UrlShortenerMetrics;
+import com.pm.urlshortenerbackend.resilience.RedisCircuitBreaker;
 import com.pm.urlshortenerbackend.service.impl.CacheServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
+import org.springframework.dao.QueryTimeoutException;
 import org.springframework.data.redis.RedisConnectionFailureException;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.ValueOperations;
@@ -23,6 +27,7 @@ import static org.mockito.Mockito.*;
 public class CacheServiceTest {
     private RedisTemplate<String, Object> redisTemplate;
     private ValueOperations<String, Object> valueOps;
+    private RedisCircuitBreaker circuitBreaker;
     private CacheService cacheService;
 
     @BeforeEach
@@ -32,7 +37,8 @@ public class CacheServiceTest {
 
         when(redisTemplate.opsForValue()).thenReturn(valueOps);
 
-        cacheService = new CacheServiceImpl(redisTemplate);
+        circuitBreaker = new RedisCircuitBreaker(3, Duration.ofSeconds(30), new UrlShortenerMetrics(new SimpleMeterRegistry()));
+        cacheService = new CacheServiceImpl(redisTemplate, circuitBreaker);
     }
 
     @Test
@@ -101,7 +107,7 @@ public class CacheServiceTest {
 
     @Test
     void testGetUrlMapping_Success() {
-        when(valueOps.get("url:abc123")).thenReturn("http://example.com");
+        when(valueOps.get("url:{abc123}")).thenReturn("http://example.com");
 
         Optional<String> result = cacheService.getUrlMapping("abc123", String.class);
 
@@ -117,4 +123,44 @@ public class CacheServiceTest {
 
         assertFalse(result.isPresent());
     }
+
+    @Test
+    void testGetFromCache_LatencyBudgetExceeded() {
+        when(valueOps.get("key1")).thenThrow(new QueryTimeoutException("Command timed out after 5 millisecond(s)"));
+
+        Optional<String> result = cacheService.get("key1", String.class);
+
+        assertFalse(result.isPresent());
+    }
+
+    @Test
+    void testOpenCircuitSkipsRedis() {
+        when(valueOps.get("key1")).thenThrow(new RedisConnectionFailureException("Redis down"));
+
+        for (int i = 0; i < 3; i++) {
+            cacheService.get("key1", String.class);
+        }
+        Optional<String> result = cacheService.get("key1", String.class);
+        cacheService.put("key1", "value1", 60);
+
+        assertFalse(result.isPresent());
+        assertEquals(RedisCircuitBreaker.State.OPEN, circuitBreaker.getState());
+        verify(valueOps, times(3)).get("key1");
+        verify(valueOps, never()).set(anyString(), any(), any(Duration.class));
+    }
+
+    @Test
+    void testSuccessfulCallResetsFailureCount() {
+        when(valueOps.get("key1"))
+                .thenThrow(new RedisConnectionFailureException("Redis down"))
+                .thenThrow(new RedisConnectionFailureException("Redis down"))
+                .thenReturn("value1")
+                .thenThrow(new RedisConnectionFailureException("Redis down"));
+
+        for (int i = 0; i < 4; i++) {
+            cacheService.get("key1", String.class);
+        }
+
+        assertEquals(RedisCircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
 }
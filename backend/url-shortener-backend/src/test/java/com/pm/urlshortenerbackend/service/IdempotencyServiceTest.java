@@ -0,0 +1,106 @@
+package com.pm.urlshortenerbackend.service;
+
+import com.pm.urlshortenerbackend.dto.CreateUrlRequest;
+import com.pm.urlshortenerbackend.exception.IdempotencyKeyReusedException;
+import com.pm.urlshortenerbackend.health.UrlShortenerMetrics;
+import com.pm.urlshortenerbackend.resilience.RedisCircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import redis.embedded.RedisServer;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Author: Sathwik Pillalamarri
+ * Date: 2/21/26
+ * Project: url-shortener-backend
+ */
+public class IdempotencyServiceTest {
+    private static final int PORT = 6377;
+
+    private static RedisServer redisServer;
+    private static LettuceConnectionFactory connectionFactory;
+
+    private IdempotencyService idempotencyService;
+
+    @BeforeAll
+    static void startRedis() {
+        redisServer = new RedisServer(PORT);
+        redisServer.start();
+        connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration("localhost", PORT));
+        connectionFactory.afterPropertiesSet();
+    }
+
+    @AfterAll
+    static void stopRedis() {
+        connectionFactory.destroy();
+        redisServer.stop();
+    }
+
+    @BeforeEach
+    void setUp() {
+        try(RedisConnection connection = connectionFactory.getConnection()) {
+            connection.serverCommands().flushAll();
+        }
+        idempotencyService = newService();
+    }
+
+    @Test
+    void testRetryIsAnsweredOnAnotherInstance() {
+        idempotencyService.remember(7L, "key-1", request("https://example.com/a", null), "abc123");
+
+        // A fresh instance has nothing locally, so this comes from Redis
+        assertEquals(Optional.of("abc123"), newService().findShortCode(7L, "key-1", request("https://example.com/a", null)));
+        assertEquals(Optional.empty(), newService().findShortCode(8L, "key-1", request("https://example.com/a", null)));
+    }
+
+    @Test
+    void testKeyReusedForAnotherRequestIsRejected() {
+        LocalDateTime expiresAt = LocalDateTime.of(2030, 1, 1, 0, 0);
+        idempotencyService.remember(7L, "key-1", request("https://example.com/a", expiresAt), "abc123");
+
+        assertThrows(IdempotencyKeyReusedException.class,
+                () -> idempotencyService.findShortCode(7L, "key-1", request("https://example.com/b", expiresAt)));
+        assertThrows(IdempotencyKeyReusedException.class,
+                () -> idempotencyService.findShortCode(7L, "key-1", request("https://example.com/a", null)));
+    }
+
+    @Test
+    void testFirstAnswerKeepsTheKey() {
+        idempotencyService.remember(7L, "key-1", request("https://example.com/a", null), "abc123");
+        newService().remember(7L, "key-1", request("https://example.com/a", null), "def456");
+
+        assertEquals(Optional.of("abc123"), newService().findShortCode(7L, "key-1", request("https://example.com/a", null)));
+    }
+
+    @Test
+    void testKeyValidation() {
+        assertTrue(IdempotencyService.isValidKey("4f1c2d9e-retry"));
+        assertFalse(IdempotencyService.isValidKey(" "));
+        assertFalse(IdempotencyService.isValidKey("k".repeat(IdempotencyService.MAX_KEY_LENGTH + 1)));
+    }
+
+    private static IdempotencyService newService() {
+        RedisCircuitBreaker circuitBreaker = new RedisCircuitBreaker(3, Duration.ofSeconds(30),
+                new UrlShortenerMetrics(new SimpleMeterRegistry()));
+        return new IdempotencyService(new StringRedisTemplate(connectionFactory), circuitBreaker, Duration.ofHours(1), 100);
+    }
+
+    private static CreateUrlRequest request(String originalUrl, LocalDateTime expiresAt) {
+        CreateUrlRequest request = new CreateUrlRequest();
+        request.setOriginalUrl(originalUrl);
+        request.setExpiresAt(expiresAt);
+        return request;
+    }
+}
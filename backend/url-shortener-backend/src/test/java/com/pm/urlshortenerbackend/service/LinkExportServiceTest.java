@@ -0,0 +1,110 @@
+package com.pm.urlshortenerbackend.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pm.urlshortenerbackend.exception.InvalidExportException;
+import com.pm.urlshortenerbackend.repository.LinkExportRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Streams exports from an in-memory H2 database with a page size smaller than the data,
+ * so every export crosses several keyset pages.
+ *
+ * Author: Sathwik Pillalamarri
+ * Date: 2/16/26
+ * Project: url-shortener-backend
+ */
+public class LinkExportServiceTest {
+    private static final long OWNER_ID = 9L;
+
+    private JdbcTemplate jdbcTemplate;
+    private LinkExportService exportService;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:export-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE url_mappings (id BIGINT PRIMARY KEY, short_code VARCHAR(255) NOT NULL UNIQUE, " +
+                "original_url VARCHAR(2048) NOT NULL, created_at TIMESTAMP NOT NULL, owner_id BIGINT, expires_at TIMESTAMP, " +
+                "click_count BIGINT, is_active BOOLEAN)");
+        jdbcTemplate.execute("CREATE TABLE click_events (id BIGINT PRIMARY KEY, url_mapping_id BIGINT NOT NULL, clicked_at TIMESTAMP NOT NULL, " +
+                "ip_address_hash VARCHAR(64), user_agent VARCHAR(500), referrer VARCHAR(500), device_type VARCHAR(50), " +
+                "browser VARCHAR(100), operating_system VARCHAR(100), country VARCHAR(100), city VARCHAR(100))");
+
+        for(long id = 1; id <= 5; id++) {
+            jdbcTemplate.update("INSERT INTO url_mappings VALUES (?, ?, ?, TIMESTAMP '2026-01-01 10:00:00', ?, NULL, 0, TRUE)",
+                    id, "code" + id, "https://example.com/" + id + (id == 3 ? "?a=1,b=\"2\"" : ""), id == 4 ? 99L : OWNER_ID);
+        }
+        // Click ids interleave across links so the export has to order by link, then click
+        long[][] clicks = {{1, 2}, {2, 1}, {3, 2}, {4, 5}, {5, 1}, {6, 4}, {7, 2}};
+        for(long[] click : clicks) {
+            jdbcTemplate.update("INSERT INTO click_events (id, url_mapping_id, clicked_at, country) VALUES (?, ?, TIMESTAMP '2026-01-02 12:30:00', 'DE')",
+                    click[0], click[1]);
+        }
+
+        exportService = new LinkExportService(new LinkExportRepository(jdbcTemplate, 2), new ObjectMapper());
+    }
+
+    @Test
+    void testCsvExportStreamsOwnLinksAcrossPages() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exportService.exportLinks(OWNER_ID, LinkExportService.Format.CSV, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(5, lines.length);
+        assertEquals("id,shortCode,originalUrl,createdAt,expiresAt,clickCount,isActive", lines[0]);
+        assertEquals("1,code1,https://example.com/1,2026-01-01T10:00,,0,true", lines[1]);
+        assertEquals("3,code3,\"https://example.com/3?a=1,b=\"\"2\"\"\",2026-01-01T10:00,,0,true", lines[3]);
+        assertTrue(lines[4].startsWith("5,code5,"));
+    }
+
+    @Test
+    void testCsvExportNeutralizesFormulas() throws IOException {
+        jdbcTemplate.update("UPDATE click_events SET referrer = '=HYPERLINK(\"http://evil.example\")', user_agent = '@SUM(A1)' WHERE id = 2");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exportService.exportClicks(OWNER_ID, LinkExportService.Format.CSV, out);
+
+        String csv = out.toString(StandardCharsets.UTF_8);
+        assertTrue(csv.contains("\"'=HYPERLINK(\"\"http://evil.example\"\")\""));
+        assertTrue(csv.contains(",'@SUM(A1)"));
+        assertFalse(csv.contains(",=") || csv.contains(",@"));
+    }
+
+    @Test
+    void testNdjsonClickExportWalksEveryLinkOfTheOwner() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ObjectMapper mapper = new ObjectMapper();
+
+        exportService.exportClicks(OWNER_ID, LinkExportService.Format.NDJSON, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        long[] expectedIds = {2, 5, 1, 3, 7, 4};
+        assertEquals(expectedIds.length, lines.length);
+        for(int i = 0; i < lines.length; i++) {
+            JsonNode row = mapper.readTree(lines[i]);
+            assertEquals(expectedIds[i], row.get("id").asLong());
+            assertNotEquals(4, row.get("urlMappingId").asLong());
+            assertEquals("DE", row.get("country").asText());
+            assertTrue(row.get("referrer").isNull());
+        }
+        assertEquals("code1", mapper.readTree(lines[0]).get("shortCode").asText());
+        assertEquals("2026-01-02T12:30", mapper.readTree(lines[0]).get("clickedAt").asText());
+    }
+
+    @Test
+    void testUnknownFormatIsRejected() {
+        assertEquals(LinkExportService.Format.NDJSON, LinkExportService.Format.from("ndjson"));
+        assertThrows(InvalidExportException.class, () -> LinkExportService.Format.from("parquet"));
+    }
+}
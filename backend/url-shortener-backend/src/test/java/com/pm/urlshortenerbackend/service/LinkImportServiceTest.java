@@ -0,0 +1,219 @@
+package com.pm.urlshortenerbackend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.pm.urlshortenerbackend.dto.BatchCreateUrlResponse;
+import com.pm.urlshortenerbackend.dto.BatchCreateUrlResult;
+import com.pm.urlshortenerbackend.dto.CreateUrlRequest;
+import com.pm.urlshortenerbackend.dto.CreateUrlResponse;
+import com.pm.urlshortenerbackend.dto.ImportJobResponse;
+import com.pm.urlshortenerbackend.exception.InvalidImportException;
+import com.pm.urlshortenerbackend.exception.QuotaExceededException;
+import com.pm.urlshortenerbackend.health.UrlShortenerMetrics;
+import com.pm.urlshortenerbackend.model.QuotaPlan;
+import com.pm.urlshortenerbackend.model.User;
+import com.pm.urlshortenerbackend.resilience.RedisCircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.util.unit.DataSize;
+import redis.embedded.RedisServer;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Author: Sathwik Pillalamarri
+ * Date: 2/15/26
+ * Project: url-shortener-backend
+ */
+public class LinkImportServiceTest {
+    private static final int PORT = 6376;
+
+    private static RedisServer redisServer;
+    private static LettuceConnectionFactory connectionFactory;
+
+    private UrlService urlService;
+    private QuotaService quotaService;
+    private QuotaService.Reservation reservation;
+    private UrlShortenerMetrics metrics;
+    private ObjectMapper objectMapper;
+    private User owner;
+    private List<Integer> chunkSizes;
+
+    @BeforeAll
+    static void startRedis() {
+        redisServer = new RedisServer(PORT);
+        redisServer.start();
+        connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration("localhost", PORT));
+        connectionFactory.afterPropertiesSet();
+    }
+
+    @AfterAll
+    static void stopRedis() {
+        connectionFactory.destroy();
+        redisServer.stop();
+    }
+
+    @BeforeEach
+    void setUp() {
+        try(RedisConnection connection = connectionFactory.getConnection()) {
+            connection.serverCommands().flushAll();
+        }
+        metrics = new UrlShortenerMetrics(new SimpleMeterRegistry());
+        objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        owner = new User("owner@example.com", "hash", "Test", "Owner");
+        owner.setId(7L);
+        quotaService = mock(QuotaService.class);
+        reservation = new QuotaService.Reservation(owner.getId(), System.currentTimeMillis());
+        when(quotaService.acquire(eq(owner.getId()), anyInt())).thenReturn(reservation);
+        when(quotaService.getPlan(owner.getId())).thenReturn(QuotaPlan.ENTERPRISE);
+        urlService = mock(UrlService.class);
+        chunkSizes = new ArrayList<>();
+
+        // Links containing "invalid" fail validation, everything else is created
+        when(urlService.createShortUrls(anyList(), eq(owner), eq(false))).thenAnswer(invocation -> {
+            List<CreateUrlRequest> requests = invocation.getArgument(0);
+            chunkSizes.add(requests.size());
+            List<BatchCreateUrlResult> results = new ArrayList<>();
+            for(int i = 0; i < requests.size(); i++) {
+                String url = requests.get(i).getOriginalUrl();
+                results.add(url.contains("invalid")
+                        ? new BatchCreateUrlResult(i, url, "Invalid URL format")
+                        : new BatchCreateUrlResult(i, BatchCreateUrlResult.Status.CREATED,
+                                new CreateUrlResponse("code" + i, "http://localhost/code" + i, url, LocalDateTime.now())));
+            }
+            return new BatchCreateUrlResponse(results);
+        });
+    }
+
+    @Test
+    void testCsvImportIsWrittenInChunks() throws IOException {
+        long spoolFilesBefore = spoolFileCount();
+        String csv = "url,expiresAt\n" +
+                "https://example.com/1\n" +
+                "\"https://example.com/2?a=1,b=2\",2099-01-01T00:00:00\n" +
+                "\n" +
+                "https://invalid.example.com\n" +
+                "https://example.com/4,not-a-date\n" +
+                "https://example.com/5\n";
+
+        ImportJobResponse job = service(2, DataSize.ofMegabytes(1)).startImport(stream(csv), ImportJobResponse.Format.CSV, owner);
+
+        ImportJobResponse finished = service(2, DataSize.ofMegabytes(1)).getJob(job.getJobId(), owner.getId());
+        assertEquals(ImportJobResponse.Status.COMPLETED, finished.getStatus());
+        assertEquals(7, finished.getLinesRead());
+        assertEquals(3, finished.getCreated());
+        assertEquals(2, finished.getFailed());
+        assertEquals(List.of("line 6: Invalid expiresAt: not-a-date", "line 5: Invalid URL format"), finished.getErrors());
+        assertEquals(List.of(2, 2), chunkSizes);
+        verify(quotaService, times(2)).acquire(owner.getId(), 2);
+        verify(quotaService).release(reservation, 1);
+        assertEquals(spoolFilesBefore, spoolFileCount());
+    }
+
+    @Test
+    void testNdjsonImportRecordsMalformedLines() {
+        String ndjson = "{\"originalUrl\":\"https://example.com/a\"}\n" +
+                "{not json}\n" +
+                "{\"originalUrl\":\"https://example.com/b\",\"expiresAt\":\"2099-01-01T00:00:00\"}\n";
+
+        LinkImportService service = service(10, DataSize.ofMegabytes(1));
+        ImportJobResponse job = service.startImport(stream(ndjson), ImportJobResponse.Format.NDJSON, owner);
+
+        ImportJobResponse finished = service.getJob(job.getJobId(), owner.getId());
+        assertEquals(ImportJobResponse.Status.COMPLETED, finished.getStatus());
+        assertEquals(2, finished.getCreated());
+        assertEquals(1, finished.getFailed());
+        assertTrue(finished.getErrors().get(0).startsWith("line 2: Malformed JSON"));
+        assertEquals(List.of(2), chunkSizes);
+        assertNull(service.getJob(job.getJobId(), 99L));
+    }
+
+    @Test
+    void testImportStopsWhenQuotaIsExhausted() {
+        when(quotaService.acquire(owner.getId(), 2))
+                .thenReturn(reservation)
+                .thenThrow(new QuotaExceededException("Daily link limit of 2 reached", 60));
+        String csv = "https://example.com/1\nhttps://example.com/2\nhttps://example.com/3\nhttps://example.com/4\n";
+
+        LinkImportService service = service(2, DataSize.ofMegabytes(1));
+        ImportJobResponse job = service.startImport(stream(csv), ImportJobResponse.Format.CSV, owner);
+
+        ImportJobResponse finished = service.getJob(job.getJobId(), owner.getId());
+        assertEquals(ImportJobResponse.Status.FAILED, finished.getStatus());
+        assertEquals(2, finished.getCreated());
+        assertEquals("Daily link limit of 2 reached", finished.getError());
+        assertEquals(List.of(2), chunkSizes);
+        verify(quotaService, never()).release(any(), anyInt());
+    }
+
+    @Test
+    void testImportLargerThanTheMinuteQuotaIsPaced() {
+        when(quotaService.getPlan(owner.getId())).thenReturn(QuotaPlan.FREE);
+        when(quotaService.acquire(owner.getId(), 10))
+                .thenReturn(reservation)
+                .thenThrow(new QuotaExceededException("Link creation quota exceeded: 10 per minute", 1))
+                .thenReturn(reservation);
+        StringBuilder csv = new StringBuilder();
+        for(int i = 0; i < 25; i++) {
+            csv.append("https://example.com/").append(i).append('\n');
+        }
+
+        LinkImportService service = service(1000, DataSize.ofMegabytes(1));
+        ImportJobResponse job = service.startImport(stream(csv.toString()), ImportJobResponse.Format.CSV, owner);
+
+        ImportJobResponse finished = service.getJob(job.getJobId(), owner.getId());
+        assertEquals(ImportJobResponse.Status.COMPLETED, finished.getStatus());
+        assertEquals(25, finished.getCreated());
+        assertEquals(List.of(10, 10, 5), chunkSizes);
+        verify(quotaService, times(3)).acquire(owner.getId(), 10);
+        verify(quotaService).acquire(owner.getId(), 5);
+    }
+
+    @Test
+    void testOversizedUploadIsRejected() throws IOException {
+        long spoolFilesBefore = spoolFileCount();
+        String csv = "https://example.com/1\n".repeat(100);
+
+        assertThrows(InvalidImportException.class,
+                () -> service(10, DataSize.ofBytes(512)).startImport(stream(csv), ImportJobResponse.Format.CSV, owner));
+        verifyNoInteractions(urlService);
+        assertEquals(spoolFilesBefore, spoolFileCount());
+    }
+
+    // Runs imports on the calling thread so the job has finished when startImport returns
+    private LinkImportService service(int chunkSize, DataSize maxSize) {
+        RedisCircuitBreaker circuitBreaker = new RedisCircuitBreaker(3, Duration.ofSeconds(30), metrics);
+        return new LinkImportService(urlService, quotaService, new StringRedisTemplate(connectionFactory), circuitBreaker,
+                objectMapper, Runnable::run, chunkSize, maxSize, Duration.ofHours(1), Duration.ofSeconds(5), 100);
+    }
+
+    private static ByteArrayInputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static long spoolFileCount() throws IOException {
+        try(Stream<Path> files = Files.list(Path.of(System.getProperty("java.io.tmpdir")))) {
+            return files.filter(file -> file.getFileName().toString().startsWith("link-import-")).count();
+        }
+    }
+}
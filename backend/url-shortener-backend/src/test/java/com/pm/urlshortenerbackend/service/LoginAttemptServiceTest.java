@@ -0,0 +1,169 @@
+package com.pm.urlshortenerbackend.service;
+
+import com.pm.urlshortenerbackend.exception.TooManyLoginAttemptsException;
+import com.pm.urlshortenerbackend.health.UrlShortenerMetrics;
+import com.pm.urlshortenerbackend.resilience.RedisCircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import redis.embedded.RedisServer;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Author: Sathwik Pillalamarri
+ * Date: 2/11/26
+ * Project: url-shortener-backend
+ */
+public class LoginAttemptServiceTest {
+    private static final int PORT = 6373;
+    private static final int UNUSED_PORT = 6399;
+
+    private static RedisServer redisServer;
+    private static LettuceConnectionFactory connectionFactory;
+
+    private SimpleMeterRegistry registry;
+    private UrlShortenerMetrics metrics;
+
+    @BeforeAll
+    static void startRedis() {
+        redisServer = new RedisServer(PORT);
+        redisServer.start();
+        connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration("localhost", PORT));
+        connectionFactory.afterPropertiesSet();
+    }
+
+    @AfterAll
+    static void stopRedis() {
+        connectionFactory.destroy();
+        redisServer.stop();
+    }
+
+    @BeforeEach
+    void setUp() {
+        try(RedisConnection connection = connectionFactory.getConnection()) {
+            connection.serverCommands().flushAll();
+        }
+        registry = new SimpleMeterRegistry();
+        metrics = new UrlShortenerMetrics(registry);
+    }
+
+    @Test
+    void testAccountIsDelayedLongerWithEachFailure() {
+        LoginAttemptService service = service(new StringRedisTemplate(connectionFactory));
+
+        for(int i = 0; i < 3; i++) {
+            service.checkAllowed("User@Example.com", "10.0.0.1");
+            service.recordFailure("User@Example.com", "10.0.0.1");
+        }
+
+        TooManyLoginAttemptsException first = assertThrows(TooManyLoginAttemptsException.class,
+                () -> service.checkAllowed("user@example.com", "10.0.0.2"));
+        assertEquals(1, first.getRetryAfterSeconds());
+        assertEquals(1.0, registry.get("login_attempts_blocked_total").tag("scope", "account").counter().count());
+        service.checkAllowed("other@example.com", "10.0.0.1");
+
+        for(int i = 0; i < 3; i++) {
+            service.recordFailure("user@example.com", "10.0.0.3");
+        }
+        TooManyLoginAttemptsException later = assertThrows(TooManyLoginAttemptsException.class,
+                () -> service.checkAllowed("user@example.com", "10.0.0.2"));
+        assertEquals(8, later.getRetryAfterSeconds());
+
+        // Capped at the maximum delay rather than locking the account for the window
+        for(int i = 0; i < 3; i++) {
+            service.recordFailure("user@example.com", "10.0.0.3");
+        }
+        assertEquals(10, assertThrows(TooManyLoginAttemptsException.class,
+                () -> service.checkAllowed("user@example.com", "10.0.0.2")).getRetryAfterSeconds());
+    }
+
+    @Test
+    void testKnownClientIsNotDelayedByOthersFailures() {
+        LoginAttemptService service = service(new StringRedisTemplate(connectionFactory));
+        service.recordSuccess("user@example.com", "10.0.0.1");
+
+        for(int i = 0; i < 4; i++) {
+            service.recordFailure("user@example.com", "10.0.0.9");
+        }
+
+        service.checkAllowed("User@Example.com", "10.0.0.1");
+        assertThrows(TooManyLoginAttemptsException.class, () -> service.checkAllowed("user@example.com", "10.0.0.2"));
+        // Known on every instance, not only the one that saw the login
+        service(new StringRedisTemplate(connectionFactory)).checkAllowed("user@example.com", "10.0.0.1");
+    }
+
+    @Test
+    void testMessagesNameNeitherAccountNorAddress() {
+        LoginAttemptService service = service(new StringRedisTemplate(connectionFactory));
+        for(int i = 0; i < 5; i++) {
+            service.recordFailure("user@example.com", "10.0.0.1");
+        }
+
+        TooManyLoginAttemptsException byIp = assertThrows(TooManyLoginAttemptsException.class,
+                () -> service.checkAllowed("user@example.com", "10.0.0.1"));
+        TooManyLoginAttemptsException byAccount = assertThrows(TooManyLoginAttemptsException.class,
+                () -> service.checkAllowed("user@example.com", "10.0.0.2"));
+
+        for(TooManyLoginAttemptsException ex : new TooManyLoginAttemptsException[]{byIp, byAccount}) {
+            assertFalse(ex.getMessage().contains("user@example.com"));
+            assertFalse(ex.getMessage().contains("10.0.0."));
+        }
+    }
+
+    @Test
+    void testIpIsBlockedAcrossAccounts() {
+        LoginAttemptService service = service(new StringRedisTemplate(connectionFactory));
+
+        for(int i = 0; i < 5; i++) {
+            service.recordFailure("user" + i + "@example.com", "10.0.0.1");
+        }
+
+        TooManyLoginAttemptsException ex = assertThrows(TooManyLoginAttemptsException.class,
+                () -> service.checkAllowed("fresh@example.com", "10.0.0.1"));
+        assertEquals(60, ex.getRetryAfterSeconds());
+        assertEquals(1.0, registry.get("login_attempts_blocked_total").tag("scope", "ip").counter().count());
+    }
+
+    @Test
+    void testSuccessClearsAccountWindow() {
+        LoginAttemptService service = service(new StringRedisTemplate(connectionFactory));
+        for(int i = 0; i < 3; i++) {
+            service.recordFailure("user@example.com", null);
+        }
+
+        service.recordSuccess("user@example.com", null);
+
+        service.checkAllowed("user@example.com", null);
+    }
+
+    @Test
+    void testFallsBackToLocalWindowWhenRedisIsDown() {
+        LettuceConnectionFactory deadFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration("localhost", UNUSED_PORT));
+        deadFactory.afterPropertiesSet();
+        try {
+            LoginAttemptService service = service(new StringRedisTemplate(deadFactory));
+            for(int i = 0; i < 3; i++) {
+                service.recordFailure("user@example.com", "10.0.0.1");
+            }
+
+            assertThrows(TooManyLoginAttemptsException.class, () -> service.checkAllowed("user@example.com", "10.0.0.1"));
+        } finally {
+            deadFactory.destroy();
+        }
+    }
+
+    private LoginAttemptService service(StringRedisTemplate template) {
+        RedisCircuitBreaker circuitBreaker = new RedisCircuitBreaker(3, Duration.ofSeconds(30), metrics);
+        return new LoginAttemptService(template, circuitBreaker, metrics, Duration.ofMinutes(1), 3, 5,
+                Duration.ofSeconds(10), Duration.ofDays(30), 100);
+    }
+}
@@ -0,0 +1,176 @@
+package com.pm.urlshortenerbackend.service;
+
+import com.pm.urlshortenerbackend.config.QuotaPlanProperties;
+import com.pm.urlshortenerbackend.dto.QuotaStatusResponse;
+import com.pm.urlshortenerbackend.exception.QuotaExceededException;
+import com.pm.urlshortenerbackend.health.UrlShortenerMetrics;
+import com.pm.urlshortenerbackend.model.QuotaPlan;
+import com.pm.urlshortenerbackend.model.User;
+import com.pm.urlshortenerbackend.repository.UrlMappingRepository;
+import com.pm.urlshortenerbackend.repository.UserRepository;
+import com.pm.urlshortenerbackend.resilience.RedisCircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import redis.embedded.RedisServer;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Author: Sathwik Pillalamarri
+ * Date: 2/13/26
+ * Project: url-shortener-backend
+ */
+public class QuotaServiceTest {
+    private static final int PORT = 6375;
+    private static final int UNUSED_PORT = 6399;
+    private static final Long USER_ID = 42L;
+
+    private static RedisServer redisServer;
+    private static LettuceConnectionFactory connectionFactory;
+
+    private SimpleMeterRegistry registry;
+    private UrlShortenerMetrics metrics;
+    private UserRepository userRepository;
+    private UrlMappingRepository urlMappingRepository;
+    private QuotaPlanProperties planProperties;
+
+    @BeforeAll
+    static void startRedis() {
+        redisServer = new RedisServer(PORT);
+        redisServer.start();
+        connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration("localhost", PORT));
+        connectionFactory.afterPropertiesSet();
+    }
+
+    @AfterAll
+    static void stopRedis() {
+        connectionFactory.destroy();
+        redisServer.stop();
+    }
+
+    @BeforeEach
+    void setUp() {
+        try(RedisConnection connection = connectionFactory.getConnection()) {
+            connection.serverCommands().flushAll();
+        }
+        registry = new SimpleMeterRegistry();
+        metrics = new UrlShortenerMetrics(registry);
+        userRepository = mock(UserRepository.class);
+        urlMappingRepository = mock(UrlMappingRepository.class);
+        when(userRepository.findQuotaPlanById(USER_ID)).thenReturn(Optional.of(QuotaPlan.FREE));
+        when(userRepository.getReferenceById(USER_ID)).thenReturn(new User());
+        planProperties = new QuotaPlanProperties();
+    }
+
+    @Test
+    void testMinuteQuotaRejectsWithoutConsuming() {
+        QuotaService service = service(new StringRedisTemplate(connectionFactory));
+
+        service.acquire(USER_ID, 8);
+        service.acquire(USER_ID, 2);
+        QuotaExceededException ex = assertThrows(QuotaExceededException.class, () -> service.acquire(USER_ID, 1));
+
+        assertTrue(ex.getRetryAfterSeconds() >= 1 && ex.getRetryAfterSeconds() <= 60);
+        assertEquals(1.0, registry.get("quota_exceeded_total").tag("window", "minute").counter().count());
+
+        QuotaStatusResponse status = service.getStatus(USER_ID);
+        assertEquals(QuotaPlan.FREE, status.getPlan());
+        assertEquals(10, status.getMinuteUsed());
+        assertEquals(10, status.getDayUsed());
+        assertEquals(10, status.getTotalUsed());
+    }
+
+    @Test
+    void testTotalIsSeededFromExistingLinks() {
+        when(urlMappingRepository.countByOwner(any(User.class))).thenReturn(QuotaPlan.FREE.getTotal() - 1);
+        QuotaService service = service(new StringRedisTemplate(connectionFactory));
+
+        service.acquire(USER_ID, 1);
+        QuotaExceededException ex = assertThrows(QuotaExceededException.class, () -> service.acquire(USER_ID, 1));
+
+        assertEquals(0, ex.getRetryAfterSeconds());
+        verify(urlMappingRepository, times(1)).countByOwner(any(User.class));
+    }
+
+    @Test
+    void testReleaseReturnsQuota() {
+        QuotaService service = service(new StringRedisTemplate(connectionFactory));
+
+        QuotaService.Reservation reservation = service.acquire(USER_ID, 10);
+        service.release(reservation, 3);
+        service.acquire(USER_ID, 3);
+
+        assertEquals(10, service.getStatus(USER_ID).getMinuteUsed());
+    }
+
+    @Test
+    void testReleaseOnlyReturnsQuotaToTheWindowsItWasTakenFrom() {
+        QuotaService service = service(new StringRedisTemplate(connectionFactory));
+        QuotaService.Reservation earlier = new QuotaService.Reservation(USER_ID, System.currentTimeMillis() - Duration.ofMinutes(2).toMillis());
+
+        service.acquire(USER_ID, 10);
+        service.release(earlier, 3);
+
+        assertThrows(QuotaExceededException.class, () -> service.acquire(USER_ID, 1));
+        assertEquals(10, service.getStatus(USER_ID).getMinuteUsed());
+        assertEquals(7, service.getStatus(USER_ID).getTotalUsed());
+    }
+
+    @Test
+    void testRequestLargerThanTheMinuteLimitIsRejectedOutright() {
+        QuotaService service = service(new StringRedisTemplate(connectionFactory));
+
+        QuotaExceededException ex = assertThrows(QuotaExceededException.class,
+                () -> service.acquire(USER_ID, (int) QuotaPlan.FREE.getPerMinute() + 1));
+
+        assertEquals(0, ex.getRetryAfterSeconds());
+        assertEquals(0, service.getStatus(USER_ID).getMinuteUsed());
+    }
+
+    @Test
+    void testConfiguredPlanWinsOverTheStoredOne() {
+        planProperties.getPlans().put(USER_ID, QuotaPlan.UNLIMITED);
+        QuotaService service = service(new StringRedisTemplate(connectionFactory));
+
+        service.acquire(USER_ID, 1000);
+        service.acquire(USER_ID, 1000);
+
+        assertEquals(QuotaPlan.UNLIMITED, service.getStatus(USER_ID).getPlan());
+        assertEquals(2000, service.getStatus(USER_ID).getMinuteUsed());
+        verify(userRepository, never()).findQuotaPlanById(USER_ID);
+    }
+
+    @Test
+    void testFallsBackToLocalCountersWhenRedisIsDown() {
+        LettuceConnectionFactory deadFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration("localhost", UNUSED_PORT));
+        deadFactory.afterPropertiesSet();
+        try {
+            QuotaService service = service(new StringRedisTemplate(deadFactory));
+
+            service.acquire(USER_ID, 10);
+
+            assertThrows(QuotaExceededException.class, () -> service.acquire(USER_ID, 1));
+            assertEquals(10, service.getStatus(USER_ID).getMinuteUsed());
+        } finally {
+            deadFactory.destroy();
+        }
+    }
+
+    private QuotaService service(StringRedisTemplate template) {
+        RedisCircuitBreaker circuitBreaker = new RedisCircuitBreaker(3, Duration.ofSeconds(30), metrics);
+        return new QuotaService(template, circuitBreaker, userRepository, urlMappingRepository, metrics, planProperties,
+                Duration.ofMinutes(5), 100);
+    }
+}
@@ -0,0 +1,85 @@
+package com.pm.urlshortenerbackend.service;
+
+import com.pm.urlshortenerbackend.health.UrlShortenerMetrics;
+import com.pm.urlshortenerbackend.resilience.RedisCircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import redis.embedded.RedisServer;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Author: Sathwik Pillalamarri
+ * Date: 2/24/26
+ * Project: url-shortener-backend
+ */
+public class ReadYourWritesServiceTest {
+    private static final int PORT = 6378;
+
+    private static RedisServer redisServer;
+    private static LettuceConnectionFactory connectionFactory;
+
+    @BeforeAll
+    static void startRedis() {
+        redisServer = new RedisServer(PORT);
+        redisServer.start();
+        connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration("localhost", PORT));
+        connectionFactory.afterPropertiesSet();
+    }
+
+    @AfterAll
+    static void stopRedis() {
+        connectionFactory.destroy();
+        redisServer.stop();
+    }
+
+    @BeforeEach
+    void setUp() {
+        try(RedisConnection connection = connectionFactory.getConnection()) {
+            connection.serverCommands().flushAll();
+        }
+    }
+
+    @Test
+    void testWriteIsSeenByOtherInstances() {
+        newService("jdbc:postgresql://replica/urlshortener", Duration.ofSeconds(5)).recordWrite(7L);
+
+        assertTrue(newService("jdbc:postgresql://replica/urlshortener", Duration.ofSeconds(5)).hasRecentWrite(7L));
+        assertFalse(newService("jdbc:postgresql://replica/urlshortener", Duration.ofSeconds(5)).hasRecentWrite(8L));
+    }
+
+    @Test
+    void testWriteIsForgottenAfterTheWindow() throws InterruptedException {
+        ReadYourWritesService service = newService("jdbc:postgresql://replica/urlshortener", Duration.ofMillis(100));
+        service.recordWrite(7L);
+        assertTrue(service.hasRecentWrite(7L));
+
+        Thread.sleep(250);
+        assertFalse(service.hasRecentWrite(7L));
+    }
+
+    @Test
+    void testDoesNothingWithoutReplicas() {
+        ReadYourWritesService service = newService("", Duration.ofSeconds(5));
+        service.recordWrite(7L);
+
+        assertFalse(service.isEnabled());
+        assertFalse(service.hasRecentWrite(7L));
+        assertFalse(new StringRedisTemplate(connectionFactory).hasKey("rw:7"));
+    }
+
+    private static ReadYourWritesService newService(String replicaUrls, Duration window) {
+        RedisCircuitBreaker circuitBreaker = new RedisCircuitBreaker(3, Duration.ofSeconds(30),
+                new UrlShortenerMetrics(new SimpleMeterRegistry()));
+        return new ReadYourWritesService(new StringRedisTemplate(connectionFactory), circuitBreaker, replicaUrls, window, 100);
+    }
+}
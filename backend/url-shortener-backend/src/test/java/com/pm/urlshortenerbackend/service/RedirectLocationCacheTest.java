@@ -0,0 +1,139 @@
+package com.pm.urlshortenerbackend.service;
+
+import com.pm.urlshortenerbackend.health.UrlShortenerMetrics;
+import com.pm.urlshortenerbackend.resilience.RedisCircuitBreaker;
+import com.pm.urlshortenerbackend.scheduler.RedisSubscriptionScheduler;
+import com.pm.urlshortenerbackend.util.CacheKeys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import redis.embedded.RedisServer;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Author: Sathwik Pillalamarri
+ * Date: 2/27/26
+ * Project: url-shortener-backend
+ */
+public class RedirectLocationCacheTest {
+    private static final int PORT = 6382;
+
+    private static RedisServer redisServer;
+    private static LettuceConnectionFactory connectionFactory;
+
+    private final List<RedisMessageListenerContainer> containers = new ArrayList<>();
+    private final SessionCacheService sessionCacheService = mock(SessionCacheService.class);
+
+    @BeforeAll
+    static void startRedis() {
+        redisServer = new RedisServer(PORT);
+        redisServer.start();
+        connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration("localhost", PORT));
+        connectionFactory.afterPropertiesSet();
+    }
+
+    @AfterAll
+    static void stopRedis() {
+        connectionFactory.destroy();
+        redisServer.stop();
+    }
+
+    @AfterEach
+    void stopContainers() throws Exception {
+        for(RedisMessageListenerContainer container : containers) {
+            container.destroy();
+        }
+    }
+
+    @Test
+    void testInvalidationReachesOtherInstances() throws InterruptedException {
+        RedirectLocationCache first = subscribed(newCache(connectionFactory));
+        RedirectLocationCache second = subscribed(newCache(connectionFactory));
+        first.put("abc123", "https://www.example.com/old");
+        second.put("abc123", "https://www.example.com/old");
+
+        first.invalidate("abc123");
+
+        assertNull(first.get("abc123"));
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while(second.get("abc123") != null && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertNull(second.get("abc123"));
+    }
+
+    @Test
+    void testInvalidatesLocallyWhileRedisIsDown() {
+        LettuceConnectionFactory deadFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration("localhost", 6399));
+        deadFactory.afterPropertiesSet();
+        try {
+            RedirectLocationCache cache = newCache(deadFactory);
+            cache.put("abc123", "https://www.example.com/old");
+
+            cache.invalidate("abc123");
+
+            assertNull(cache.get("abc123"));
+        } finally {
+            deadFactory.destroy();
+        }
+    }
+
+    @Test
+    void testSubscriptionIsRetriedUntilRedisAnswers() {
+        LettuceConnectionFactory deadFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration("localhost", 6399));
+        deadFactory.afterPropertiesSet();
+        try {
+            RedirectLocationCache cache = newCache(deadFactory);
+            RedisMessageListenerContainer container = container(deadFactory, cache);
+
+            new RedisSubscriptionScheduler(container, cache, sessionCacheService).ensureSubscribed();
+
+            assertFalse(container.isListening());
+        } finally {
+            deadFactory.destroy();
+        }
+
+        RedirectLocationCache cache = newCache(connectionFactory);
+        cache.put("abc123", "https://www.example.com/old");
+        RedisMessageListenerContainer container = container(connectionFactory, cache);
+
+        new RedisSubscriptionScheduler(container, cache, sessionCacheService).ensureSubscribed();
+
+        // Entries cached while unsubscribed may have missed an invalidation
+        assertTrue(container.isListening());
+        assertNull(cache.get("abc123"));
+    }
+
+    private RedirectLocationCache subscribed(RedirectLocationCache cache) {
+        new RedisSubscriptionScheduler(container(connectionFactory, cache), cache, sessionCacheService).ensureSubscribed();
+        return cache;
+    }
+
+    private RedisMessageListenerContainer container(LettuceConnectionFactory factory, RedirectLocationCache cache) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(factory);
+        container.addMessageListener(cache, new ChannelTopic(CacheKeys.REDIRECT_INVALIDATION_CHANNEL));
+        container.afterPropertiesSet();
+        containers.add(container);
+        return container;
+    }
+
+    private static RedirectLocationCache newCache(LettuceConnectionFactory factory) {
+        RedisCircuitBreaker circuitBreaker = new RedisCircuitBreaker(3, Duration.ofSeconds(30),
+                new UrlShortenerMetrics(new SimpleMeterRegistry()));
+        return new RedirectLocationCache(new StringRedisTemplate(factory), circuitBreaker, 100, Duration.ofSeconds(30));
+    }
+}
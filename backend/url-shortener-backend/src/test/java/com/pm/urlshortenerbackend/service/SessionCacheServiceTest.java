@@ -0,0 +1,200 @@
+package com.pm.urlshortenerbackend.service;
+
+import com.pm.urlshortenerbackend.health.UrlShortenerMetrics;
+import com.pm.urlshortenerbackend.repository.TokenRevocation;
+import com.pm.urlshortenerbackend.repository.UserRepository;
+import com.pm.urlshortenerbackend.resilience.RedisCircuitBreaker;
+import com.pm.urlshortenerbackend.util.CacheKeys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import redis.embedded.RedisServer;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Author: Sathwik Pillalamarri
+ * Date: 2/8/26
+ * Project: url-shortener-backend
+ */
+public class SessionCacheServiceTest {
+    private static final int PORT = 6383;
+    private static final Long USER_ID = 7L;
+    private static final String USERNAME = "test@example.com";
+
+    private static RedisServer redisServer;
+    private static LettuceConnectionFactory connectionFactory;
+
+    private SessionCacheService sessionCacheService;
+    private UserDetails userDetails;
+
+    @BeforeAll
+    static void startRedis() {
+        redisServer = new RedisServer(PORT);
+        redisServer.start();
+        connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration("localhost", PORT));
+        connectionFactory.afterPropertiesSet();
+    }
+
+    @AfterAll
+    static void stopRedis() {
+        connectionFactory.destroy();
+        redisServer.stop();
+    }
+
+    @BeforeEach
+    void setUp() {
+        try(RedisConnection connection = connectionFactory.getConnection()) {
+            connection.serverCommands().flushAll();
+        }
+        sessionCacheService = newService(connectionFactory);
+        userDetails = User.withUsername(USERNAME).password("hash").roles("USER").build();
+    }
+
+    @Test
+    void testCachedPrincipalIsReturned() {
+        sessionCacheService.putPrincipal(USERNAME, userDetails);
+
+        assertSame(userDetails, sessionCacheService.getPrincipal(USERNAME));
+        assertNull(sessionCacheService.getPrincipal("other@example.com"));
+    }
+
+    @Test
+    void testEvictUserDropsPrincipalWithoutRevokingTokens() {
+        sessionCacheService.putPrincipal(USERNAME, userDetails);
+
+        sessionCacheService.evictUser(USERNAME);
+
+        assertNull(sessionCacheService.getPrincipal(USERNAME));
+        assertFalse(sessionCacheService.isRevoked(USER_ID, secondsAgo(60)));
+    }
+
+    @Test
+    void testRevokeUserRejectsOlderTokensOnly() {
+        sessionCacheService.putPrincipal(USERNAME, userDetails);
+
+        sessionCacheService.revokeUser(USER_ID, USERNAME, Instant.now());
+
+        assertNull(sessionCacheService.getPrincipal(USERNAME));
+        assertTrue(sessionCacheService.isRevoked(USER_ID, secondsAgo(60)));
+        assertFalse(sessionCacheService.isRevoked(USER_ID, secondsAgo(-1)));
+        assertFalse(sessionCacheService.isRevoked(8L, secondsAgo(60)));
+    }
+
+    @Test
+    void testRevocationReachesRunningInstances() throws Exception {
+        SessionCacheService other = newService(connectionFactory);
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(other, new ChannelTopic(CacheKeys.SESSION_REVOCATION_CHANNEL));
+        container.afterPropertiesSet();
+        container.start();
+        try {
+            sessionCacheService.revokeUser(USER_ID, USERNAME, Instant.now());
+
+            long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+            while(!other.isRevoked(USER_ID, secondsAgo(60)) && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertTrue(other.isRevoked(USER_ID, secondsAgo(60)));
+        } finally {
+            container.destroy();
+        }
+    }
+
+    @Test
+    void testRevocationIsLoadedByInstancesStartedLater() {
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.findTokenRevocationsAfter(any())).thenReturn(List.of(new TokenRevocation(USER_ID, Instant.now())));
+        SessionCacheService later = newService(connectionFactory, userRepository);
+        assertFalse(later.isRevoked(USER_ID, secondsAgo(60)));
+
+        later.loadRevocations();
+
+        assertTrue(later.isRevoked(USER_ID, secondsAgo(60)));
+        assertFalse(later.isRevoked(8L, secondsAgo(60)));
+    }
+
+    @Test
+    void testRevocationMadeWhileRedisIsDownIsReloadedByOtherInstances() {
+        LettuceConnectionFactory deadFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration("localhost", 6399));
+        deadFactory.afterPropertiesSet();
+        try {
+            // The broadcast is lost, the users row is what the other instance reloads
+            Instant tokensValidAfter = Instant.now();
+            newService(deadFactory).revokeUser(USER_ID, USERNAME, tokensValidAfter);
+            UserRepository userRepository = mock(UserRepository.class);
+            when(userRepository.findTokenRevocationsAfter(any())).thenReturn(List.of(new TokenRevocation(USER_ID, tokensValidAfter)));
+            SessionCacheService other = newService(deadFactory, userRepository);
+
+            other.loadRevocations();
+
+            assertTrue(other.isRevoked(USER_ID, secondsAgo(60)));
+        } finally {
+            deadFactory.destroy();
+        }
+    }
+
+    @Test
+    void testReloadKeepsRevocationsWhileTheDatabaseIsDown() {
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.findTokenRevocationsAfter(any()))
+                .thenReturn(List.of(new TokenRevocation(USER_ID, Instant.now())))
+                .thenThrow(new DataAccessResourceFailureException("down"));
+        SessionCacheService service = newService(connectionFactory, userRepository);
+        service.loadRevocations();
+
+        service.loadRevocations();
+
+        assertTrue(service.isRevoked(USER_ID, secondsAgo(60)));
+    }
+
+    @Test
+    void testRevokesLocallyWhileRedisIsDown() {
+        LettuceConnectionFactory deadFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration("localhost", 6399));
+        deadFactory.afterPropertiesSet();
+        try {
+            SessionCacheService service = newService(deadFactory);
+
+            service.revokeUser(USER_ID, USERNAME, Instant.now());
+
+            assertTrue(service.isRevoked(USER_ID, secondsAgo(60)));
+        } finally {
+            deadFactory.destroy();
+        }
+    }
+
+    private static SessionCacheService newService(LettuceConnectionFactory factory) {
+        return newService(factory, mock(UserRepository.class));
+    }
+
+    private static SessionCacheService newService(LettuceConnectionFactory factory, UserRepository userRepository) {
+        RedisCircuitBreaker circuitBreaker = new RedisCircuitBreaker(3, Duration.ofSeconds(30),
+                new UrlShortenerMetrics(new SimpleMeterRegistry()));
+        return new SessionCacheService(new StringRedisTemplate(factory), circuitBreaker, userRepository,
+                100, Duration.ofSeconds(60), 86400000L);
+    }
+
+    private static Date secondsAgo(int seconds) {
+        return new Date(System.currentTimeMillis() - seconds * 1000L);
+    }
+}
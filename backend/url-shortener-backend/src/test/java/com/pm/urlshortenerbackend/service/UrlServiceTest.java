@@ -1,16 +1,32 @@
 package com.pm.urlshortenerbackend.service;
 
+import com.pm.urlshortenerbackend.datasource.ReadRouting;
+import com.pm.urlshortenerbackend.dto.BatchCreateUrlResponse;
+import com.pm.urlshortenerbackend.dto.BatchCreateUrlResult;
 import com.pm.urlshortenerbackend.dto.CreateUrlRequest;
 import com.pm.urlshortenerbackend.dto.CreateUrlResponse;
+import com.pm.urlshortenerbackend.dto.CursorPageResponse;
 import com.pm.urlshortenerbackend.dto.UrlMappingResponse;
+import com.pm.urlshortenerbackend.dto.UserUrlSummary;
+import com.pm.urlshortenerbackend.exception.InvalidCursorException;
 import com.pm.urlshortenerbackend.exception.InvalidUrlException;
+import com.pm.urlshortenerbackend.exception.ServiceOverloadedException;
+import com.pm.urlshortenerbackend.exception.UrlExpiredException;
 import com.pm.urlshortenerbackend.exception.UnauthorizedAccessException;
 import com.pm.urlshortenerbackend.exception.UrlNotFoundException;
 import com.pm.urlshortenerbackend.model.UrlMapping;
 import com.pm.urlshortenerbackend.model.User;
+import com.pm.urlshortenerbackend.repository.RedirectTarget;
+import com.pm.urlshortenerbackend.repository.UrlMappingBatchRepository;
 import com.pm.urlshortenerbackend.repository.UrlMappingRepository;
+import com.pm.urlshortenerbackend.repository.UrlMappingView;
+import com.pm.urlshortenerbackend.resilience.DatabaseBulkhead;
+import com.pm.urlshortenerbackend.resilience.RedisCircuitBreaker;
 import com.pm.urlshortenerbackend.service.impl.IdGenerationServiceImpl;
 import com.pm.urlshortenerbackend.service.impl.UrlServiceImpl;
+import com.pm.urlshortenerbackend.util.CacheKeys;
+import com.pm.urlshortenerbackend.util.LinkCursor;
+import com.pm.urlshortenerbackend.util.UrlHash;
 import io.micrometer.core.instrument.Timer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -20,7 +36,9 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.redis.core.StringRedisTemplate;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
@@ -45,9 +63,22 @@ public class UrlServiceTest {
     @Mock
     private CacheService cacheService;
 
+    @Mock
+    private UrlMappingBatchRepository batchRepository;
+
+    @Mock
+    private UserLinkStatsService linkStats;
+
     @Mock
     private com.pm.urlshortenerbackend.health.UrlShortenerMetrics metrics;
 
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    private DatabaseBulkhead bulkhead;
+
+    private RedirectLocationCache redirectLocations;
+
     private UrlService urlService;
 
     private final String baseUrl = "http://localhost:8080";
@@ -64,11 +95,19 @@ public class UrlServiceTest {
         when(metrics.startUrlCreationTimer()).thenReturn(mockSample);
         when(metrics.startUrlRetrievalTimer()).thenReturn(mockSample);
         
+        bulkhead = new DatabaseBulkhead(2, Duration.ofMillis(10), 2, Duration.ofMillis(10), metrics);
+        redirectLocations = new RedirectLocationCache(redisTemplate, new RedisCircuitBreaker(3, Duration.ofSeconds(30), metrics),
+                10000, Duration.ofSeconds(30));
+        
         urlService = new UrlServiceImpl(
                 repository,
                 idGenerationServiceImpl,
                 cacheService,
                 metrics,
+                bulkhead,
+                batchRepository,
+                linkStats,
+                redirectLocations,
                 baseUrl,
                 maxLength,
                 cacheTtl,
@@ -90,7 +129,7 @@ public class UrlServiceTest {
         savedMapping.setOriginalUrl("https://www.example.com");
         savedMapping.setCreatedAt(LocalDateTime.now());
 
-        when(repository.findByOriginalUrl("https://www.example.com")).thenReturn(Optional.empty());
+        when(repository.findDuplicateCandidates(anyLong(), eq("https://www.example.com"))).thenReturn(List.of());
         when(idGenerationServiceImpl.generateUniqueShortCode()).thenReturn("abc123");
         when(repository.save(any(UrlMapping.class))).thenReturn(savedMapping);
 
@@ -118,7 +157,7 @@ public class UrlServiceTest {
         existingMapping.setOriginalUrl("https://www.example.com");
         existingMapping.setCreatedAt(LocalDateTime.now());
 
-        when(repository.findByOriginalUrl("https://www.example.com")).thenReturn(Optional.of(existingMapping));
+        when(repository.findDuplicateCandidates(anyLong(), eq("https://www.example.com"))).thenReturn(List.of(existingMapping));
 
         // Act
         CreateUrlResponse response = urlService.createShortUrl(request);
@@ -134,6 +173,43 @@ public class UrlServiceTest {
         verify(cacheService).putUrlMapping("existing123", existingMapping, cacheTtl);
     }
 
+    @Test
+    void testCreateShortUrl_HashCollisionIsNotADuplicate() {
+        CreateUrlRequest request = new CreateUrlRequest();
+        request.setOriginalUrl("https://www.example.com/a");
+
+        // Same hash bucket, different URL
+        UrlMapping collision = new UrlMapping("other1", "https://www.example.com/b");
+        UrlMapping savedMapping = new UrlMapping("abc123", "https://www.example.com/a");
+        savedMapping.setCreatedAt(LocalDateTime.now());
+
+        when(repository.findDuplicateCandidates(eq(UrlHash.of("https://www.example.com/a")), eq("https://www.example.com/a")))
+                .thenReturn(List.of(collision));
+        when(idGenerationServiceImpl.generateUniqueShortCode()).thenReturn("abc123");
+        when(repository.save(any(UrlMapping.class))).thenReturn(savedMapping);
+
+        CreateUrlResponse response = urlService.createShortUrl(request);
+
+        assertEquals("abc123", response.getShortCode());
+        verify(repository).save(argThat(mapping -> UrlHash.of("https://www.example.com/a") == mapping.getUrlHash()));
+    }
+
+    @Test
+    void testCreateShortUrl_DuplicateIgnoresHostCase() {
+        CreateUrlRequest request = new CreateUrlRequest();
+        request.setOriginalUrl("HTTPS://WWW.Example.com/Path");
+
+        UrlMapping existingMapping = new UrlMapping("existing123", "https://www.example.com/Path");
+        existingMapping.setCreatedAt(LocalDateTime.now());
+
+        when(repository.findDuplicateCandidates(eq(existingMapping.getUrlHash()), anyString())).thenReturn(List.of(existingMapping));
+
+        CreateUrlResponse response = urlService.createShortUrl(request);
+
+        assertEquals("existing123", response.getShortCode());
+        verify(repository, never()).save(any(UrlMapping.class));
+    }
+
     @Test
     void testCreateShortUrl_InvalidUrl_Null() {
         // Arrange
@@ -146,7 +222,7 @@ public class UrlServiceTest {
         });
 
         assertEquals("URL is null or exceeds max length", exception.getMessage());
-        verify(repository, never()).findByOriginalUrl(anyString());
+        verify(repository, never()).findDuplicateCandidates(anyLong(), anyString());
         verify(repository, never()).save(any(UrlMapping.class));
     }
 
@@ -165,6 +241,18 @@ public class UrlServiceTest {
         assertEquals("URL is null or exceeds max length", exception.getMessage());
     }
 
+    @Test
+    void testCreateShortUrl_InvalidUrl_TooManyBytes() {
+        // Within the character limit, but three bytes per character in UTF-8
+        CreateUrlRequest request = new CreateUrlRequest();
+        request.setOriginalUrl("https://www.example.com/" + "\u20ac".repeat(1000));
+
+        InvalidUrlException exception = assertThrows(InvalidUrlException.class, () -> urlService.createShortUrl(request));
+
+        assertEquals("URL is null or exceeds max length", exception.getMessage());
+        verify(repository, never()).save(any(UrlMapping.class));
+    }
+
     @Test
     void testCreateShortUrl_InvalidUrl_BadProtocol() {
         // Arrange
@@ -212,7 +300,7 @@ public class UrlServiceTest {
         // Assert
         assertEquals("https://www.example.com", originalUrl);
         verify(cacheService).getUrlMapping(shortCode, UrlMapping.class);
-        verify(repository, never()).findByShortCode(anyString());
+        verify(repository, never()).findRedirectTarget(anyString());
     }
 
     @Test
@@ -225,7 +313,7 @@ public class UrlServiceTest {
         dbMapping.setCreatedAt(LocalDateTime.now());
 
         when(cacheService.getUrlMapping(shortCode, UrlMapping.class)).thenReturn(Optional.empty());
-        when(repository.findByShortCode(shortCode)).thenReturn(Optional.of(dbMapping));
+        when(repository.findRedirectTarget(shortCode)).thenReturn(Optional.of(redirectTarget(dbMapping)));
 
         // Act
         String originalUrl = urlService.getOriginalUrl(shortCode);
@@ -233,7 +321,27 @@ public class UrlServiceTest {
         // Assert
         assertEquals("https://www.example.com", originalUrl);
         verify(cacheService).getUrlMapping(shortCode, UrlMapping.class);
-        verify(repository).findByShortCode(shortCode);
+        verify(repository).findRedirectTarget(shortCode);
+        verify(cacheService).putUrlMapping(shortCode, dbMapping, cacheTtl);
+    }
+
+    @Test
+    void testGetOriginalUrl_CacheMissReadsThePrimary() {
+        String shortCode = "abc123";
+        UrlMapping dbMapping = new UrlMapping();
+        dbMapping.setShortCode(shortCode);
+        dbMapping.setOriginalUrl("https://www.example.com");
+        dbMapping.setCreatedAt(LocalDateTime.now());
+
+        when(cacheService.getUrlMapping(shortCode, UrlMapping.class)).thenReturn(Optional.empty());
+        // A replica may still have the row as it was before a deactivation, and the result is cached
+        when(repository.findRedirectTarget(shortCode)).thenAnswer(invocation -> {
+            assertTrue(ReadRouting.isPinnedToPrimary());
+            return Optional.of(redirectTarget(dbMapping));
+        });
+
+        assertEquals("https://www.example.com", urlService.getOriginalUrl(shortCode));
+        assertFalse(ReadRouting.isPinnedToPrimary());
         verify(cacheService).putUrlMapping(shortCode, dbMapping, cacheTtl);
     }
 
@@ -243,7 +351,7 @@ public class UrlServiceTest {
         String shortCode = "nonexistent";
 
         when(cacheService.getUrlMapping(shortCode, UrlMapping.class)).thenReturn(Optional.empty());
-        when(repository.findByShortCode(shortCode)).thenReturn(Optional.empty());
+        when(repository.findRedirectTarget(shortCode)).thenReturn(Optional.empty());
 
         // Act & Assert
         UrlNotFoundException exception = assertThrows(UrlNotFoundException.class, () -> {
@@ -252,7 +360,7 @@ public class UrlServiceTest {
 
         assertTrue(exception.getMessage().contains(shortCode));
         verify(cacheService).getUrlMapping(shortCode, UrlMapping.class);
-        verify(repository).findByShortCode(shortCode);
+        verify(repository).findRedirectTarget(shortCode);
         verify(cacheService, never()).putUrlMapping(anyString(), any(), anyLong());
     }
 
@@ -278,7 +386,7 @@ public class UrlServiceTest {
         assertNotNull(response.getCreatedAt());
 
         verify(cacheService).getUrlMapping(shortCode, UrlMapping.class);
-        verify(repository, never()).findByShortCode(anyString());
+        verify(repository, never()).findRedirectTarget(anyString());
     }
 
     @Test
@@ -291,7 +399,7 @@ public class UrlServiceTest {
         dbMapping.setCreatedAt(LocalDateTime.now());
 
         when(cacheService.getUrlMapping(shortCode, UrlMapping.class)).thenReturn(Optional.empty());
-        when(repository.findByShortCode(shortCode)).thenReturn(Optional.of(dbMapping));
+        when(repository.findRedirectTarget(shortCode)).thenReturn(Optional.of(redirectTarget(dbMapping)));
 
         // Act
         UrlMappingResponse response = urlService.getUrlMapping(shortCode);
@@ -304,7 +412,7 @@ public class UrlServiceTest {
         assertNotNull(response.getCreatedAt());
 
         verify(cacheService).getUrlMapping(shortCode, UrlMapping.class);
-        verify(repository).findByShortCode(shortCode);
+        verify(repository).findRedirectTarget(shortCode);
         verify(cacheService).putUrlMapping(shortCode, dbMapping, cacheTtl);
     }
 
@@ -314,7 +422,7 @@ public class UrlServiceTest {
         String shortCode = "nonexistent";
 
         when(cacheService.getUrlMapping(shortCode, UrlMapping.class)).thenReturn(Optional.empty());
-        when(repository.findByShortCode(shortCode)).thenReturn(Optional.empty());
+        when(repository.findRedirectTarget(shortCode)).thenReturn(Optional.empty());
 
         // Act & Assert
         UrlNotFoundException exception = assertThrows(UrlNotFoundException.class, () -> {
@@ -323,10 +431,113 @@ public class UrlServiceTest {
 
         assertTrue(exception.getMessage().contains(shortCode));
         verify(cacheService).getUrlMapping(shortCode, UrlMapping.class);
-        verify(repository).findByShortCode(shortCode);
+        verify(repository).findRedirectTarget(shortCode);
         verify(cacheService, never()).putUrlMapping(anyString(), any(), anyLong());
     }
 
+    @Test
+    void testGetOriginalUrl_ExpiredWithoutSecondLookup() {
+        // Arrange
+        String shortCode = "abc123";
+        UrlMapping dbMapping = new UrlMapping();
+        dbMapping.setShortCode(shortCode);
+        dbMapping.setOriginalUrl("https://www.example.com");
+        dbMapping.setCreatedAt(LocalDateTime.now().minusDays(2));
+        dbMapping.setExpiresAt(LocalDateTime.now().minusDays(1));
+
+        when(cacheService.getUrlMapping(shortCode, UrlMapping.class)).thenReturn(Optional.empty());
+        when(repository.findRedirectTarget(shortCode)).thenReturn(Optional.of(redirectTarget(dbMapping)));
+
+        // Act & Assert
+        assertThrows(UrlExpiredException.class, () -> urlService.getOriginalUrl(shortCode));
+        verify(cacheService, times(1)).getUrlMapping(shortCode, UrlMapping.class);
+        verify(repository, times(1)).findRedirectTarget(shortCode);
+    }
+
+    @Test
+    void testGetUrlMapping_BulkheadFull() {
+        // Arrange - both redirect permits are held by in-flight lookups
+        String shortCode = "abc123";
+        when(cacheService.getUrlMapping(shortCode, UrlMapping.class)).thenReturn(Optional.empty());
+        assertTrue(bulkhead.tryAcquire(DatabaseBulkhead.Priority.REDIRECT));
+        assertTrue(bulkhead.tryAcquire(DatabaseBulkhead.Priority.REDIRECT));
+
+        // Act & Assert
+        assertThrows(ServiceOverloadedException.class, () -> urlService.getOriginalUrl(shortCode));
+        verify(repository, never()).findRedirectTarget(anyString());
+        verify(metrics).incrementRedirectLookupShed();
+        verify(metrics, never()).incrementError();
+    }
+
+    @Test
+    void testGetRedirectLocation_ServedLocallyAfterFirstLookup() {
+        // Arrange
+        String shortCode = "abc123";
+        UrlMapping dbMapping = new UrlMapping();
+        dbMapping.setShortCode(shortCode);
+        dbMapping.setOriginalUrl("https://www.example.com/café?q=ü");
+        dbMapping.setCreatedAt(LocalDateTime.now());
+
+        when(cacheService.getUrlMapping(shortCode, UrlMapping.class)).thenReturn(Optional.empty());
+        when(repository.findRedirectTarget(shortCode)).thenReturn(Optional.of(redirectTarget(dbMapping)));
+
+        // Act
+        String first = urlService.getRedirectLocation(shortCode);
+        String second = urlService.getRedirectLocation(shortCode);
+
+        // Assert - encoded once, second call never leaves the JVM
+        assertEquals("https://www.example.com/caf%C3%A9?q=%C3%BC", first);
+        assertSame(first, second);
+        verify(cacheService, times(1)).getUrlMapping(shortCode, UrlMapping.class);
+        verify(repository, times(1)).findRedirectTarget(shortCode);
+    }
+
+    @Test
+    void testGetRedirectLocation_InvalidatedOnDeactivate() {
+        // Arrange
+        String shortCode = "abc123";
+        User owner = createTestUser(1L, "owner@example.com");
+        UrlMapping dbMapping = new UrlMapping();
+        dbMapping.setShortCode(shortCode);
+        dbMapping.setOriginalUrl("https://www.example.com");
+        dbMapping.setCreatedAt(LocalDateTime.now());
+        dbMapping.setOwner(owner);
+
+        when(cacheService.getUrlMapping(shortCode, UrlMapping.class)).thenReturn(Optional.empty());
+        when(repository.findRedirectTarget(shortCode)).thenReturn(Optional.of(redirectTarget(dbMapping)));
+        when(repository.findByShortCode(shortCode)).thenReturn(Optional.of(dbMapping));
+        when(repository.findByShortCodeAndOwner(shortCode, owner)).thenReturn(Optional.of(dbMapping));
+        urlService.getRedirectLocation(shortCode);
+
+        // Act
+        urlService.deactivateUrl(shortCode, owner);
+        urlService.getRedirectLocation(shortCode);
+
+        // Assert - the first lookup and the refill after invalidation; the deactivation loads the entity
+        verify(repository, times(2)).findRedirectTarget(shortCode);
+        verify(repository).findByShortCode(shortCode);
+        // Other instances are told to drop their copy
+        verify(redisTemplate).convertAndSend(CacheKeys.REDIRECT_INVALIDATION_CHANNEL, shortCode);
+    }
+
+    @Test
+    void testGetRedirectLocation_Expired() {
+        // Arrange
+        String shortCode = "abc123";
+        UrlMapping cachedMapping = new UrlMapping();
+        cachedMapping.setShortCode(shortCode);
+        cachedMapping.setOriginalUrl("https://www.example.com");
+        cachedMapping.setCreatedAt(LocalDateTime.now().minusDays(2));
+        cachedMapping.setExpiresAt(LocalDateTime.now().minusDays(1));
+
+        when(cacheService.getUrlMapping(shortCode, UrlMapping.class)).thenReturn(Optional.of(cachedMapping));
+
+        // Act & Assert
+        assertThrows(UrlExpiredException.class, () -> urlService.getRedirectLocation(shortCode));
+        assertThrows(UrlExpiredException.class, () -> urlService.getRedirectLocation(shortCode));
+        verify(cacheService, times(2)).getUrlMapping(shortCode, UrlMapping.class);
+    }
+
     // ========== Edge Cases and Integration Tests ==========
 
     @Test
@@ -337,6 +548,10 @@ public class UrlServiceTest {
                 idGenerationServiceImpl,
                 cacheService,
                 metrics,
+                bulkhead,
+                batchRepository,
+                linkStats,
+                redirectLocations,
                 baseUrl,
                 maxLength,
                 cacheTtl,
@@ -363,8 +578,8 @@ public class UrlServiceTest {
         assertEquals("abc123", response.getShortCode());
         
         // Verify duplicate detection was skipped
-        verify(repository, never()).findByOriginalUrl(anyString());
-        verify(repository, never()).findByOriginalUrlAndOwner(anyString(), any());
+        verify(repository, never()).findDuplicateCandidates(anyLong(), anyString());
+        verify(repository, never()).findDuplicateCandidatesByOwner(any(), anyLong(), anyString());
         verify(repository).save(any(UrlMapping.class));
     }
 
@@ -380,7 +595,7 @@ public class UrlServiceTest {
         savedMapping.setOriginalUrl("https://secure.example.com/path?param=value");
         savedMapping.setCreatedAt(LocalDateTime.now());
 
-        when(repository.findByOriginalUrl(anyString())).thenReturn(Optional.empty());
+        when(repository.findDuplicateCandidates(anyLong(), anyString())).thenReturn(List.of());
         when(idGenerationServiceImpl.generateUniqueShortCode()).thenReturn("abc123");
         when(repository.save(any(UrlMapping.class))).thenReturn(savedMapping);
 
@@ -405,7 +620,7 @@ public class UrlServiceTest {
                 .thenReturn(Optional.empty())
                 .thenReturn(Optional.of(dbMapping)); // Second call - cache hit
 
-        when(repository.findByShortCode(shortCode)).thenReturn(Optional.of(dbMapping));
+        when(repository.findRedirectTarget(shortCode)).thenReturn(Optional.of(redirectTarget(dbMapping)));
 
         // Act - First call (cache miss)
         String originalUrl1 = urlService.getOriginalUrl(shortCode);
@@ -419,12 +634,29 @@ public class UrlServiceTest {
 
         // Verify cache behavior
         verify(cacheService, times(2)).getUrlMapping(shortCode, UrlMapping.class);
-        verify(repository, times(1)).findByShortCode(shortCode); // Only called once
+        verify(repository, times(1)).findRedirectTarget(shortCode); // Only called once
         verify(cacheService, times(1)).putUrlMapping(shortCode, dbMapping, cacheTtl);
     }
 
     // ========== Task 5.1 Tests: User Ownership Functionality ==========
 
+    private UrlMappingView cursorMapping(Long id, String shortCode, User owner, LocalDateTime createdAt) {
+        UrlMapping mapping = new UrlMapping(shortCode, "https://www.example.com/" + shortCode, owner, null);
+        mapping.setId(id);
+        mapping.setCreatedAt(createdAt);
+        return view(mapping);
+    }
+
+    private UrlMappingView view(UrlMapping mapping) {
+        return new UrlMappingView(mapping.getId(), mapping.getShortCode(), mapping.getOriginalUrl(),
+                mapping.getCreatedAt(), mapping.getExpiresAt(), mapping.getIsActive());
+    }
+
+    private RedirectTarget redirectTarget(UrlMapping mapping) {
+        return new RedirectTarget(mapping.getShortCode(), mapping.getOriginalUrl(), mapping.getCreatedAt(),
+                mapping.getExpiresAt(), mapping.getIsActive());
+    }
+
     private User createTestUser(Long id, String email) {
         User user = new User();
         user.setId(id);
@@ -442,16 +674,9 @@ public class UrlServiceTest {
         CreateUrlRequest request = new CreateUrlRequest();
         request.setOriginalUrl("https://www.example.com");
 
-        UrlMapping savedMapping = new UrlMapping();
-        savedMapping.setId(123L);
-        savedMapping.setShortCode("abc123");
-        savedMapping.setOriginalUrl("https://www.example.com");
-        savedMapping.setOwner(owner);
-        savedMapping.setCreatedAt(LocalDateTime.now());
-
-        when(repository.findByOriginalUrlAndOwner("https://www.example.com", owner)).thenReturn(Optional.empty());
-        when(idGenerationServiceImpl.generateUniqueShortCode()).thenReturn("abc123");
-        when(repository.save(any(UrlMapping.class))).thenReturn(savedMapping);
+        when(batchRepository.allocateIds(1)).thenReturn(List.of(123L));
+        when(idGenerationServiceImpl.generateUniqueShortCodes(List.of(123L))).thenReturn(List.of("abc123"));
+        when(batchRepository.insertAllIfAbsent(anyList())).thenReturn(List.of());
 
         // Act
         CreateUrlResponse response = urlService.createShortUrl(request, owner);
@@ -460,9 +685,14 @@ public class UrlServiceTest {
         assertNotNull(response);
         assertEquals("abc123", response.getShortCode());
         assertEquals("https://www.example.com", response.getOriginalUrl());
+        assertTrue(response.isCreated());
 
-        verify(repository).findByOriginalUrlAndOwner("https://www.example.com", owner);
-        verify(repository).save(any(UrlMapping.class));
+        // No lookup before the insert; the unique index decides
+        verify(repository, never()).findDuplicateCandidatesByOwner(any(), anyLong(), anyString());
+        verify(repository, never()).save(any(UrlMapping.class));
+        verify(batchRepository).insertAllIfAbsent(argThat(mappings -> mappings.size() == 1 && mappings.get(0).getId() == 123L
+                && mappings.get(0).getOwner() == owner && mappings.get(0).getUrlHash() == UrlHash.of("https://www.example.com")));
+        verify(linkStats).recordCreated(1L, 1);
         verify(cacheService).putUrlMapping(eq("abc123"), any(UrlMapping.class), eq(cacheTtl));
     }
 
@@ -480,8 +710,12 @@ public class UrlServiceTest {
         existingMapping.setOwner(owner);
         existingMapping.setCreatedAt(LocalDateTime.now());
 
-        when(repository.findByOriginalUrlAndOwner("https://www.example.com", owner))
-                .thenReturn(Optional.of(existingMapping));
+        // The insert conflicts with the existing row, which is then read back
+        when(batchRepository.allocateIds(1)).thenReturn(List.of(123L));
+        when(idGenerationServiceImpl.generateUniqueShortCodes(List.of(123L))).thenReturn(List.of("abc123"));
+        when(batchRepository.insertAllIfAbsent(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(repository.findDuplicateCandidatesByOwner(eq(owner), anyLong(), eq("https://www.example.com")))
+                .thenReturn(List.of(existingMapping));
 
         // Act
         CreateUrlResponse response = urlService.createShortUrl(request, owner);
@@ -490,13 +724,30 @@ public class UrlServiceTest {
         assertNotNull(response);
         assertEquals("existing123", response.getShortCode());
         assertEquals("https://www.example.com", response.getOriginalUrl());
+        // Nothing was inserted, so the caller hands the quota back
+        assertFalse(response.isCreated());
 
-        verify(repository).findByOriginalUrlAndOwner("https://www.example.com", owner);
         verify(repository, never()).save(any(UrlMapping.class));
-        verify(idGenerationServiceImpl, never()).generateUniqueShortCode();
+        verify(linkStats, never()).recordCreated(any(), anyInt());
         verify(cacheService).putUrlMapping("existing123", existingMapping, cacheTtl);
     }
 
+    @Test
+    void testCreateShortUrl_WithUser_HashCollisionIsRejected() {
+        User owner = createTestUser(1L, "test@example.com");
+        CreateUrlRequest request = new CreateUrlRequest();
+        request.setOriginalUrl("https://www.example.com/a");
+
+        when(batchRepository.allocateIds(1)).thenReturn(List.of(123L));
+        when(idGenerationServiceImpl.generateUniqueShortCodes(List.of(123L))).thenReturn(List.of("abc123"));
+        when(batchRepository.insertAllIfAbsent(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(repository.findDuplicateCandidatesByOwner(eq(owner), anyLong(), anyString()))
+                .thenReturn(List.of(new UrlMapping("other1", "https://www.example.com/b", owner)));
+
+        assertThrows(InvalidUrlException.class, () -> urlService.createShortUrl(request, owner));
+        verify(cacheService, never()).putUrlMapping(anyString(), any(), anyLong());
+    }
+
     @Test
     void testCreateShortUrl_WithUser_ExpirationDate() {
         // Arrange
@@ -506,17 +757,9 @@ public class UrlServiceTest {
         LocalDateTime expirationDate = LocalDateTime.now().plusDays(7);
         request.setExpiresAt(expirationDate);
 
-        UrlMapping savedMapping = new UrlMapping();
-        savedMapping.setId(123L);
-        savedMapping.setShortCode("abc123");
-        savedMapping.setOriginalUrl("https://www.example.com");
-        savedMapping.setOwner(owner);
-        savedMapping.setExpiresAt(expirationDate);
-        savedMapping.setCreatedAt(LocalDateTime.now());
-
-        when(repository.findByOriginalUrlAndOwner("https://www.example.com", owner)).thenReturn(Optional.empty());
-        when(idGenerationServiceImpl.generateUniqueShortCode()).thenReturn("abc123");
-        when(repository.save(any(UrlMapping.class))).thenReturn(savedMapping);
+        when(batchRepository.allocateIds(1)).thenReturn(List.of(123L));
+        when(idGenerationServiceImpl.generateUniqueShortCodes(List.of(123L))).thenReturn(List.of("abc123"));
+        when(batchRepository.insertAllIfAbsent(anyList())).thenReturn(List.of());
 
         // Act
         CreateUrlResponse response = urlService.createShortUrl(request, owner);
@@ -524,8 +767,8 @@ public class UrlServiceTest {
         // Assert
         assertNotNull(response);
         assertEquals("abc123", response.getShortCode());
-        verify(repository).save(argThat(mapping -> 
-            mapping.getExpiresAt() != null && mapping.getExpiresAt().equals(expirationDate)
+        verify(batchRepository).insertAllIfAbsent(argThat(mappings ->
+            mappings.get(0).getExpiresAt() != null && mappings.get(0).getExpiresAt().equals(expirationDate)
         ));
     }
 
@@ -547,10 +790,10 @@ public class UrlServiceTest {
         mapping2.setOwner(owner);
         mapping2.setCreatedAt(LocalDateTime.now());
 
-        List<UrlMapping> mappings = Arrays.asList(mapping1, mapping2);
-        Page<UrlMapping> page = new PageImpl<>(mappings, pageable, 2);
+        List<UrlMappingView> mappings = Arrays.asList(view(mapping1), view(mapping2));
+        Page<UrlMappingView> page = new PageImpl<>(mappings, pageable, 2);
 
-        when(repository.findByOwner(owner, pageable)).thenReturn(page);
+        when(repository.findViewsByOwner(owner, pageable)).thenReturn(page);
 
         // Act
         Page<UrlMappingResponse> result = urlService.getUserUrls(owner, pageable);
@@ -561,7 +804,8 @@ public class UrlServiceTest {
         assertEquals("abc123", result.getContent().get(0).getShortCode());
         assertEquals("def456", result.getContent().get(1).getShortCode());
 
-        verify(repository).findByOwner(owner, pageable);
+        verify(repository).findViewsByOwner(owner, pageable);
+        verify(repository, never()).findByOwner(any(), any());
     }
 
     @Test
@@ -575,7 +819,7 @@ public class UrlServiceTest {
         });
 
         assertEquals("Owner cannot be null", exception.getMessage());
-        verify(repository, never()).findByOwner(any(), any());
+        verify(repository, never()).findViewsByOwner(any(), any());
     }
 
     @Test
@@ -591,10 +835,10 @@ public class UrlServiceTest {
         activeMapping.setIsActive(true);
         activeMapping.setCreatedAt(LocalDateTime.now());
 
-        List<UrlMapping> mappings = Arrays.asList(activeMapping);
-        Page<UrlMapping> page = new PageImpl<>(mappings, pageable, 1);
+        List<UrlMappingView> mappings = Arrays.asList(view(activeMapping));
+        Page<UrlMappingView> page = new PageImpl<>(mappings, pageable, 1);
 
-        when(repository.findByOwnerAndIsActive(owner, true, pageable)).thenReturn(page);
+        when(repository.findViewsByOwnerAndIsActive(owner, true, pageable)).thenReturn(page);
 
         // Act
         Page<UrlMappingResponse> result = urlService.getUserActiveUrls(owner, pageable);
@@ -604,7 +848,7 @@ public class UrlServiceTest {
         assertEquals(1, result.getContent().size());
         assertEquals("abc123", result.getContent().get(0).getShortCode());
 
-        verify(repository).findByOwnerAndIsActive(owner, true, pageable);
+        verify(repository).findViewsByOwnerAndIsActive(owner, true, pageable);
     }
 
     @Test
@@ -618,7 +862,64 @@ public class UrlServiceTest {
         });
 
         assertEquals("Owner cannot be null", exception.getMessage());
-        verify(repository, never()).findByOwnerAndIsActive(any(), any(), any());
+        verify(repository, never()).findViewsByOwnerAndIsActive(any(), any(), any());
+    }
+
+    @Test
+    void testGetUserUrlsByCursor_SeeksPastCursor() {
+        // Arrange
+        User owner = createTestUser(1L, "test@example.com");
+        LocalDateTime createdAt = LocalDateTime.of(2026, 2, 1, 12, 0, 0, 123456000);
+        List<UrlMappingView> firstPage = Arrays.asList(
+                cursorMapping(30L, "code30", owner, createdAt.plusMinutes(2)),
+                cursorMapping(20L, "code20", owner, createdAt),
+                cursorMapping(10L, "code10", owner, createdAt));
+        when(repository.findFirstByOwner(owner, PageRequest.of(0, 3))).thenReturn(firstPage);
+
+        // Act
+        CursorPageResponse<UrlMappingResponse> first = urlService.getUserUrls(owner, null, 2, false, false);
+
+        // Assert
+        assertEquals(2, first.getItems().size());
+        assertEquals("code20", first.getItems().get(1).getShortCode());
+        assertTrue(first.isHasMore());
+        assertNull(first.getApproximateTotal());
+
+        LinkCursor cursor = LinkCursor.decode(first.getNextCursor());
+        assertEquals(createdAt, cursor.getCreatedAt());
+        assertEquals(20L, cursor.getId());
+
+        when(repository.findByOwnerBefore(owner, createdAt, 20L, PageRequest.of(0, 3)))
+                .thenReturn(List.of(cursorMapping(10L, "code10", owner, createdAt)));
+        CursorPageResponse<UrlMappingResponse> second = urlService.getUserUrls(owner, first.getNextCursor(), 2, false, false);
+
+        assertEquals(1, second.getItems().size());
+        assertFalse(second.isHasMore());
+        assertNull(second.getNextCursor());
+        verify(repository, never()).countByOwner(any());
+    }
+
+    @Test
+    void testGetUserUrlsByCursor_TotalComesFromCounters() {
+        // Arrange
+        User owner = createTestUser(1L, "test@example.com");
+        when(repository.findFirstActiveByOwner(eq(owner), any())).thenReturn(List.of());
+        when(linkStats.getSummary(1L)).thenReturn(new UserUrlSummary(50, 42, 7));
+
+        // Act
+        CursorPageResponse<UrlMappingResponse> result = urlService.getUserUrls(owner, null, 10, true, true);
+
+        // Assert
+        assertEquals(42L, result.getApproximateTotal());
+        verify(repository, never()).countByOwnerAndIsActive(any(), any());
+    }
+
+    @Test
+    void testGetUserUrlsByCursor_RejectsTamperedCursor() {
+        User owner = createTestUser(1L, "test@example.com");
+
+        assertThrows(InvalidCursorException.class, () -> urlService.getUserUrls(owner, "not-a-cursor", 10, false, false));
+        verify(repository, never()).findByOwnerBefore(any(), any(), any(), any());
     }
 
     @Test
@@ -801,7 +1102,7 @@ public class UrlServiceTest {
         savedMapping.setOwner(null); // Anonymous URL
         savedMapping.setCreatedAt(LocalDateTime.now());
 
-        when(repository.findByOriginalUrl("https://www.example.com")).thenReturn(Optional.empty());
+        when(repository.findDuplicateCandidates(anyLong(), eq("https://www.example.com"))).thenReturn(List.of());
         when(idGenerationServiceImpl.generateUniqueShortCode()).thenReturn("abc123");
         when(repository.save(any(UrlMapping.class))).thenReturn(savedMapping);
 
@@ -813,8 +1114,8 @@ public class UrlServiceTest {
         assertEquals("abc123", response.getShortCode());
 
         // Verify that user-specific duplicate detection was not called
-        verify(repository, never()).findByOriginalUrlAndOwner(any(), any());
-        verify(repository).findByOriginalUrl("https://www.example.com");
+        verify(repository, never()).findDuplicateCandidatesByOwner(any(), anyLong(), any());
+        verify(repository).findDuplicateCandidates(anyLong(), eq("https://www.example.com"));
         verify(repository).save(argThat(mapping -> mapping.getOwner() == null));
     }
 
@@ -826,31 +1127,14 @@ public class UrlServiceTest {
         CreateUrlRequest request = new CreateUrlRequest();
         request.setOriginalUrl("https://www.example.com");
 
-        // Mock for user1 - no existing URL
-        when(repository.findByOriginalUrlAndOwner("https://www.example.com", user1))
-                .thenReturn(Optional.empty());
-        
-        // Mock for user2 - no existing URL
-        when(repository.findByOriginalUrlAndOwner("https://www.example.com", user2))
-                .thenReturn(Optional.empty());
-
-        UrlMapping savedMapping1 = new UrlMapping();
-        savedMapping1.setShortCode("abc123");
-        savedMapping1.setOriginalUrl("https://www.example.com");
-        savedMapping1.setOwner(user1);
-
-        UrlMapping savedMapping2 = new UrlMapping();
-        savedMapping2.setShortCode("def456");
-        savedMapping2.setOriginalUrl("https://www.example.com");
-        savedMapping2.setOwner(user2);
-
-        when(idGenerationServiceImpl.generateUniqueShortCode())
-                .thenReturn("abc123")
-                .thenReturn("def456");
-        
-        when(repository.save(any(UrlMapping.class)))
-                .thenReturn(savedMapping1)
-                .thenReturn(savedMapping2);
+        when(batchRepository.allocateIds(1))
+                .thenReturn(List.of(1L))
+                .thenReturn(List.of(2L));
+        when(idGenerationServiceImpl.generateUniqueShortCodes(anyList()))
+                .thenReturn(List.of("abc123"))
+                .thenReturn(List.of("def456"));
+        // The unique index is per owner, so neither insert conflicts
+        when(batchRepository.insertAllIfAbsent(anyList())).thenReturn(List.of());
 
         // Act
         CreateUrlResponse response1 = urlService.createShortUrl(request, user1);
@@ -861,10 +1145,106 @@ public class UrlServiceTest {
         assertNotNull(response2);
         assertEquals("abc123", response1.getShortCode());
         assertEquals("def456", response2.getShortCode());
-        
+
         // Both users should be able to create URLs for the same original URL
-        verify(repository).findByOriginalUrlAndOwner("https://www.example.com", user1);
-        verify(repository).findByOriginalUrlAndOwner("https://www.example.com", user2);
-        verify(repository, times(2)).save(any(UrlMapping.class));
+        verify(batchRepository, times(2)).insertAllIfAbsent(anyList());
+        verify(linkStats).recordCreated(1L, 1);
+        verify(linkStats).recordCreated(2L, 1);
+    }
+
+    // ========== Batch Creation ==========
+
+    @Test
+    void testCreateShortUrls_MixedBatch() {
+        User owner = new User("owner@example.com", "hash", "Owner", "User");
+        owner.setId(7L);
+        UrlMapping existing = new UrlMapping("old123", "https://www.example.com/existing", owner);
+        existing.setCreatedAt(LocalDateTime.now());
+
+        when(repository.findDuplicateCandidatesByOwnerIn(eq(owner), anyCollection(), anyCollection())).thenReturn(List.of(existing));
+        when(batchRepository.allocateIds(2)).thenReturn(List.of(100L, 101L));
+        when(idGenerationServiceImpl.generateUniqueShortCodes(List.of(100L, 101L))).thenReturn(List.of("new100", "new101"));
+
+        BatchCreateUrlResponse response = urlService.createShortUrls(List.of(
+                batchItem("https://www.example.com/a"),
+                batchItem("ftp://www.example.com/invalid"),
+                batchItem("https://www.example.com/existing"),
+                batchItem("https://www.example.com/b"),
+                batchItem("https://www.example.com/a")
+        ), owner);
+
+        assertEquals(2, response.getCreated());
+        assertEquals(2, response.getExisting());
+        assertEquals(1, response.getFailed());
+
+        List<BatchCreateUrlResult> results = response.getResults();
+        assertEquals(BatchCreateUrlResult.Status.CREATED, results.get(0).getStatus());
+        assertEquals("new100", results.get(0).getShortCode());
+        assertEquals(BatchCreateUrlResult.Status.FAILED, results.get(1).getStatus());
+        assertNotNull(results.get(1).getError());
+        assertEquals("old123", results.get(2).getShortCode());
+        assertEquals("new101", results.get(3).getShortCode());
+        assertEquals(BatchCreateUrlResult.Status.EXISTING, results.get(4).getStatus());
+        assertEquals("new100", results.get(4).getShortCode());
+
+        // One dedup query, one id allocation, one batched insert and one pipelined cache write
+        verify(repository, times(1)).findDuplicateCandidatesByOwnerIn(eq(owner), anyCollection(), anyCollection());
+        verify(batchRepository).insertAllIfAbsent(argThat(mappings -> mappings.size() == 2 && mappings.get(0).getId() == 100L));
+        verify(cacheService).putUrlMappings(argThat(mappings -> mappings.size() == 3), eq(cacheTtl));
+        verify(repository, never()).save(any(UrlMapping.class));
+        verify(linkStats).recordCreated(7L, 2);
+    }
+
+    @Test
+    void testCreateShortUrls_AllExistingSkipsInsert() {
+        User owner = new User("owner@example.com", "hash", "Owner", "User");
+        owner.setId(7L);
+        UrlMapping existing = new UrlMapping("old123", "https://www.example.com/existing", owner);
+
+        when(repository.findDuplicateCandidatesByOwnerIn(eq(owner), anyCollection(), anyCollection())).thenReturn(List.of(existing));
+
+        BatchCreateUrlResponse response = urlService.createShortUrls(List.of(batchItem("https://www.example.com/existing")), owner);
+
+        assertEquals(0, response.getCreated());
+        assertEquals(1, response.getExisting());
+        verify(batchRepository, never()).allocateIds(anyInt());
+        verify(batchRepository, never()).insertAllIfAbsent(any());
+        verify(linkStats, never()).recordCreated(any(), anyInt());
+    }
+
+    @Test
+    void testCreateShortUrls_ConcurrentInsertResolvesToExistingLink() {
+        User owner = new User("owner@example.com", "hash", "Owner", "User");
+        owner.setId(7L);
+        // Written by a concurrent request after this batch checked for duplicates
+        UrlMapping winner = new UrlMapping("won123", "https://www.example.com/b", owner);
+
+        when(repository.findDuplicateCandidatesByOwnerIn(eq(owner), anyCollection(), anyCollection()))
+                .thenReturn(List.of())
+                .thenReturn(List.of(winner));
+        when(batchRepository.allocateIds(2)).thenReturn(List.of(100L, 101L));
+        when(idGenerationServiceImpl.generateUniqueShortCodes(List.of(100L, 101L))).thenReturn(List.of("new100", "new101"));
+        when(batchRepository.insertAllIfAbsent(anyList())).thenAnswer(invocation -> {
+            List<UrlMapping> mappings = invocation.getArgument(0);
+            return List.of(mappings.get(1));
+        });
+
+        BatchCreateUrlResponse response = urlService.createShortUrls(List.of(
+                batchItem("https://www.example.com/a"),
+                batchItem("https://www.example.com/b")
+        ), owner);
+
+        assertEquals(1, response.getCreated());
+        assertEquals(1, response.getExisting());
+        assertEquals("new100", response.getResults().get(0).getShortCode());
+        assertEquals("won123", response.getResults().get(1).getShortCode());
+        verify(linkStats).recordCreated(7L, 1);
+        verify(cacheService).putUrlMappings(argThat(mappings -> mappings.containsKey("won123") && !mappings.containsKey("new101")), eq(cacheTtl));
+    }
+
+    private static CreateUrlRequest batchItem(String originalUrl) {
+        CreateUrlRequest request = new CreateUrlRequest();
+        request.setOriginalUrl(originalUrl);
+        return request;
     }
-}
\ No newline at end of file
+}
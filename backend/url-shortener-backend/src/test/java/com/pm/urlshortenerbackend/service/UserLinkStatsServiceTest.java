@@ -0,0 +1,206 @@
+package com.pm.urlshortenerbackend.service;
+
+import com.pm.urlshortenerbackend.dto.UserUrlSummary;
+import com.pm.urlshortenerbackend.model.UrlMapping;
+import com.pm.urlshortenerbackend.model.User;
+import com.pm.urlshortenerbackend.model.UserLinkStats;
+import com.pm.urlshortenerbackend.repository.UrlMappingRepository;
+import com.pm.urlshortenerbackend.repository.UserLinkStatsRepository;
+import com.pm.urlshortenerbackend.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the counters against Hibernate on in-memory H2, so the relative UPDATEs and the
+ * reconciliation queries are exercised as written rather than mocked.
+ *
+ * Author: Sathwik Pillalamarri
+ * Date: 2/19/26
+ * Project: url-shortener-backend
+ */
+public class UserLinkStatsServiceTest {
+    private LocalContainerEntityManagerFactoryBean factoryBean;
+    private EntityManager entityManager;
+    private UserLinkStatsRepository statsRepository;
+    private UrlMappingRepository urlMappingRepository;
+    private UserRepository userRepository;
+    private JpaTransactionManager transactionManager;
+    private TransactionTemplate transaction;
+    private UserLinkStatsService linkStats;
+    private User alice;
+    private User bob;
+
+    @BeforeEach
+    void setUp() {
+        factoryBean = new LocalContainerEntityManagerFactoryBean();
+        factoryBean.setDataSource(new DriverManagerDataSource("jdbc:h2:mem:link-stats-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1", "sa", ""));
+        factoryBean.setPackagesToScan("com.pm.urlshortenerbackend.model");
+        factoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factoryBean.setJpaPropertyMap(Map.of("hibernate.hbm2ddl.auto", "create-drop"));
+        factoryBean.afterPropertiesSet();
+        EntityManagerFactory factory = factoryBean.getObject();
+
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(factory);
+        JpaRepositoryFactory repositories = new JpaRepositoryFactory(entityManager);
+        statsRepository = repositories.getRepository(UserLinkStatsRepository.class);
+        urlMappingRepository = repositories.getRepository(UrlMappingRepository.class);
+        userRepository = repositories.getRepository(UserRepository.class);
+        transactionManager = new JpaTransactionManager(factory);
+        transaction = new TransactionTemplate(transactionManager);
+        // A batch size of 1 makes reconcile() walk several batches with three users
+        linkStats = new UserLinkStatsService(statsRepository, urlMappingRepository, userRepository, transactionManager, 1);
+
+        transaction.executeWithoutResult(status -> {
+            alice = new User("alice@example.com", "hash", "Alice", "User");
+            bob = new User("bob@example.com", "hash", "Bob", "User");
+            entityManager.persist(alice);
+            entityManager.persist(bob);
+            entityManager.persist(new User("carol@example.com", "hash", "Carol", "User"));
+
+            List<UrlMapping> mappings = new ArrayList<>();
+            for(int i = 0; i < 3; i++) {
+                UrlMapping mapping = new UrlMapping("alice" + i, "https://www.example.com/" + i, alice);
+                mapping.setClickCount((long) i);
+                mapping.setIsActive(i != 0);
+                mappings.add(mapping);
+            }
+            mappings.add(new UrlMapping("bob0", "https://www.example.com/bob", bob));
+            urlMappingRepository.saveAll(mappings);
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        factoryBean.destroy();
+    }
+
+    @Test
+    void testFirstReadInitializesFromUrlMappings() {
+        UserUrlSummary summary = linkStats.getSummary(alice.getId());
+
+        assertEquals(3, summary.getTotalUrls());
+        assertEquals(2, summary.getActiveUrls());
+        assertEquals(3, summary.getTotalClicks());
+        assertTrue(statsRepository.existsById(alice.getId()));
+    }
+
+    @Test
+    void testRecordedChangesAdjustExistingCounters() {
+        linkStats.getSummary(alice.getId());
+
+        transaction.executeWithoutResult(status -> {
+            linkStats.recordCreated(alice.getId(), 2);
+            linkStats.recordActiveChange(alice.getId(), -1);
+            linkStats.recordExpired(Map.of(alice.getId(), 1L));
+            linkStats.recordClick(alice.getId());
+        });
+
+        UserUrlSummary summary = linkStats.getSummary(alice.getId());
+        assertEquals(5, summary.getTotalUrls());
+        assertEquals(2, summary.getActiveUrls());
+        assertEquals(4, summary.getTotalClicks());
+    }
+
+    @Test
+    void testClicksAreWrittenOncePerFlush() {
+        linkStats.getSummary(alice.getId());
+
+        for(int i = 0; i < 50; i++) {
+            linkStats.recordClick(alice.getId());
+        }
+        linkStats.recordClick(bob.getId());
+
+        // Nothing touches the counter rows until the flush, but reads already include the clicks
+        assertEquals(3, statsRepository.findById(alice.getId()).orElseThrow().getTotalClicks());
+        assertEquals(53, linkStats.getSummary(alice.getId()).getTotalClicks());
+
+        // Bob has no row yet, so his click is left to the first read
+        assertEquals(2, linkStats.flushClicks());
+        assertEquals(53, statsRepository.findById(alice.getId()).orElseThrow().getTotalClicks());
+        assertFalse(statsRepository.existsById(bob.getId()));
+        assertEquals(53, linkStats.getSummary(alice.getId()).getTotalClicks());
+        assertEquals(0, linkStats.flushClicks());
+    }
+
+    @Test
+    void testChangesBeforeFirstReadAreNotCountedTwice() {
+        transaction.executeWithoutResult(status -> linkStats.recordCreated(bob.getId(), 1));
+
+        assertFalse(statsRepository.existsById(bob.getId()));
+        assertEquals(1, linkStats.getSummary(bob.getId()).getTotalUrls());
+    }
+
+    @Test
+    void testReconcileCorrectsDriftAndFillsMissingRows() {
+        transaction.executeWithoutResult(status -> statsRepository.save(new UserLinkStats(alice.getId(), 10, 10, 10)));
+        linkStats.getSummary(bob.getId());
+
+        // Alice drifted and Carol has no row; Bob is already correct
+        assertEquals(2, linkStats.reconcile());
+
+        UserUrlSummary summary = linkStats.getSummary(alice.getId());
+        assertEquals(3, summary.getTotalUrls());
+        assertEquals(2, summary.getActiveUrls());
+        assertEquals(3, summary.getTotalClicks());
+        assertEquals(3, statsRepository.count());
+        assertEquals(0, linkStats.reconcile());
+    }
+
+    @Test
+    void testClicksArePendingOnlyOnceTheirTransactionCommits() {
+        linkStats.getSummary(alice.getId());
+
+        transaction.executeWithoutResult(status -> {
+            linkStats.recordClick(alice.getId());
+            assertEquals(3, linkStats.getSummary(alice.getId()).getTotalClicks());
+            status.setRollbackOnly();
+        });
+        assertEquals(3, linkStats.getSummary(alice.getId()).getTotalClicks());
+
+        transaction.executeWithoutResult(status -> linkStats.recordClick(alice.getId()));
+        assertEquals(4, linkStats.getSummary(alice.getId()).getTotalClicks());
+    }
+
+    @Test
+    void testFlushSkipsClicksAnotherInstanceRecordedBeforeAReconcile() {
+        linkStats.getSummary(alice.getId());
+        UserLinkStatsService otherInstance = new UserLinkStatsService(statsRepository, urlMappingRepository, userRepository, transactionManager, 1);
+
+        click(otherInstance, "alice1");
+        // The recount already has the other instance's pending click
+        linkStats.reconcile();
+        assertEquals(4, statsRepository.findById(alice.getId()).orElseThrow().getTotalClicks());
+
+        otherInstance.flushClicks();
+        assertEquals(4, statsRepository.findById(alice.getId()).orElseThrow().getTotalClicks());
+
+        click(otherInstance, "alice1");
+        otherInstance.flushClicks();
+        assertEquals(5, statsRepository.findById(alice.getId()).orElseThrow().getTotalClicks());
+        assertEquals(0, linkStats.reconcile());
+    }
+
+    // What ClickTrackingServiceImpl.logClick does for a click on the given link
+    private void click(UserLinkStatsService instance, String shortCode) {
+        transaction.executeWithoutResult(status -> {
+            urlMappingRepository.incrementClickCount(shortCode);
+            instance.recordClick(alice.getId());
+        });
+    }
+}
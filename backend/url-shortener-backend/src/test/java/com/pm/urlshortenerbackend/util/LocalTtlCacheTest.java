@@ -0,0 +1,77 @@
+package com.pm.urlshortenerbackend.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Author: Sathwik Pillalamarri
+ * Date: 2/6/26
+ * Project: url-shortener-backend
+ */
+public class LocalTtlCacheTest {
+
+    @Test
+    void testGetReturnsStoredValue() {
+        LocalTtlCache<String, String> cache = new LocalTtlCache<>(10, Duration.ofMinutes(1));
+        cache.put("a", "1");
+
+        assertEquals("1", cache.get("a"));
+        assertNull(cache.get("b"));
+    }
+
+    @Test
+    void testEntriesExpire() throws InterruptedException {
+        LocalTtlCache<String, String> cache = new LocalTtlCache<>(10, Duration.ofMinutes(1));
+        cache.put("a", "1", Duration.ofMillis(20));
+
+        Thread.sleep(40);
+
+        assertNull(cache.get("a"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void testTtlCannotExceedDefault() throws InterruptedException {
+        LocalTtlCache<String, String> cache = new LocalTtlCache<>(10, Duration.ofMillis(20));
+        cache.put("a", "1", Duration.ofDays(1));
+
+        Thread.sleep(40);
+
+        assertNull(cache.get("a"));
+    }
+
+    @Test
+    void testNonPositiveTtlIsNotCached() {
+        LocalTtlCache<String, String> cache = new LocalTtlCache<>(10, Duration.ofMinutes(1));
+        cache.put("a", "1", Duration.ofSeconds(-5));
+
+        assertNull(cache.get("a"));
+    }
+
+    @Test
+    void testSizeIsBounded() {
+        LocalTtlCache<Integer, Integer> cache = new LocalTtlCache<>(100, Duration.ofMinutes(1));
+        for(int i = 0; i < 1000; i++) {
+            cache.put(i, i);
+        }
+
+        assertTrue(cache.size() <= 100);
+        assertEquals(999, cache.get(999));
+    }
+
+    @Test
+    void testInvalidate() {
+        LocalTtlCache<String, String> cache = new LocalTtlCache<>(10, Duration.ofMinutes(1));
+        cache.put("a", "1");
+        cache.put("b", "2");
+
+        cache.invalidate("a");
+        assertNull(cache.get("a"));
+
+        cache.invalidateAll();
+        assertNull(cache.get("b"));
+    }
+}
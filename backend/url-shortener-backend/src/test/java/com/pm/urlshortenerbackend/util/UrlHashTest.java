@@ -0,0 +1,40 @@
+package com.pm.urlshortenerbackend.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Author: Sathwik Pillalamarri
+ * Date: 2/20/26
+ * Project: url-shortener-backend
+ */
+public class UrlHashTest {
+    @Test
+    void testSchemeAndHostAreCaseInsensitive() {
+        assertEquals("https://www.example.com/Path?Q=1", UrlHash.normalize("HTTPS://WWW.Example.COM/Path?Q=1"));
+        assertEquals(UrlHash.of("https://example.com/a"), UrlHash.of("HTTPS://Example.com/a"));
+        assertTrue(UrlHash.sameUrl("https://example.com/a", "https://EXAMPLE.com/a"));
+    }
+
+    @Test
+    void testPathQueryAndUserInfoKeepTheirCase() {
+        assertNotEquals(UrlHash.of("https://example.com/a"), UrlHash.of("https://example.com/A"));
+        assertFalse(UrlHash.sameUrl("https://example.com/?q=a", "https://example.com/?q=A"));
+        assertEquals("https://User@example.com:8080/", UrlHash.normalize("https://User@EXAMPLE.com:8080"));
+    }
+
+    @Test
+    void testEmptyPathIsTheRootPath() {
+        assertEquals("https://example.com/", UrlHash.normalize("https://example.com"));
+        assertEquals("https://example.com/?q=1", UrlHash.normalize("https://example.com?q=1"));
+        assertEquals(UrlHash.of("https://example.com/"), UrlHash.of("https://example.com"));
+    }
+
+    @Test
+    void testHashIsStable() {
+        // Stored in url_mappings, so the value for a given URL must never change
+        assertEquals(UrlHash.of("https://example.com/"), UrlHash.of("https://example.com/"));
+        assertNotEquals(0L, UrlHash.of("https://example.com/"));
+    }
+}